@@ -0,0 +1,490 @@
+package com.increff.pos.analytics;
+
+import com.increff.pos.dao.ReportDao;
+import com.increff.pos.entity.OrderItemEntity;
+import com.increff.pos.exception.ApiException;
+import com.increff.pos.exception.ApiStatus;
+import com.increff.pos.model.domain.AnalyticsDimension;
+import com.increff.pos.model.internal.AnalyticsCell;
+import com.increff.pos.model.internal.AnalyticsLineRow;
+import com.increff.pos.model.internal.AnalyticsQuery;
+import com.increff.pos.model.internal.AnalyticsResult;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Stream;
+
+@Component
+public class SalesColumnStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(SalesColumnStore.class);
+    private static final ZoneId IST = ZoneId.of("Asia/Kolkata");
+    private static final int LOAD_BATCH_SIZE = 8192;
+    private static final int SPLIT_THRESHOLD = 1 << 16;
+    private static final long MAX_RETRY_BACKOFF_MS = 300_000;
+
+    private final ReportDao reportDao;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int maxLoadAttempts;
+    private final long retryBackoffMs;
+    private final ForkJoinPool pool;
+    private final Object appendLock = new Object();
+
+    private volatile Columns columns = Columns.empty();
+    private volatile boolean loaded;
+    private volatile boolean failed;
+    private volatile String lastLoadError;
+    private volatile Thread loader;
+    private List<PendingOrder> pending = new ArrayList<>();
+
+    @Autowired
+    public SalesColumnStore(ReportDao reportDao, PlatformTransactionManager transactionManager,
+                            @Value("${app.analytics.enabled:false}") boolean enabled,
+                            @Value("${app.analytics.parallelism:0}") int parallelism,
+                            @Value("${app.analytics.load.max-attempts:5}") int maxLoadAttempts,
+                            @Value("${app.analytics.load.retry-backoff-ms:5000}") long retryBackoffMs) {
+        this.reportDao = reportDao;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.enabled = enabled;
+        this.maxLoadAttempts = maxLoadAttempts;
+        this.retryBackoffMs = retryBackoffMs;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startLoading() {
+        if (!enabled) return;
+        loader = Thread.ofVirtual().name("sales-analytics-loader").start(this::loadWithRetry);
+    }
+
+    public void loadWithRetry() {
+        long backoff = retryBackoffMs;
+        for (int attempt = 1; !load(); attempt++) {
+            if (attempt >= maxLoadAttempts) {
+                logger.error("Giving up on the sales analytics store after {} failed load attempts", attempt);
+                synchronized (appendLock) {
+                    pending = null;
+                    failed = true;
+                }
+                return;
+            }
+            logger.warn("Sales analytics load attempt {} failed, retrying in {} ms", attempt, backoff);
+            try {
+                Thread.sleep(backoff);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            backoff = Math.min(backoff * 2, MAX_RETRY_BACKOFF_MS);
+        }
+    }
+
+    public boolean load() {
+        long started = System.nanoTime();
+        BitSet loadedOrders = new BitSet();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<AnalyticsLineRow> rows = reportDao.streamInvoicedLineItems()) {
+                    LineBatch batch = new LineBatch(LOAD_BATCH_SIZE);
+                    rows.forEach(row -> {
+                        loadedOrders.set(row.orderId());
+                        batch.add(epochDay(row.createdAt()), row.clientId(), row.productId(), row.quantity(),
+                                toPaise(row.sellingPrice(), row.quantity()));
+                        if (batch.isFull()) {
+                            append(batch);
+                            batch.clear();
+                        }
+                    });
+                    append(batch);
+                }
+            });
+        } catch (RuntimeException e) {
+            logger.error("Failed to load sales analytics store: {}", e.getMessage(), e);
+            // Drop whatever the failed scan appended; orders committed meanwhile stay pending for the next attempt.
+            synchronized (appendLock) {
+                columns = Columns.empty();
+                lastLoadError = e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage();
+            }
+            return false;
+        }
+
+        synchronized (appendLock) {
+            for (PendingOrder order : pending) {
+                if (!loadedOrders.get(order.orderId())) append(order.lines());
+            }
+            pending = null;
+            lastLoadError = null;
+            loaded = true;
+        }
+        logger.info("Loaded {} invoiced line items into the sales analytics store in {} ms", columns.size(),
+                (System.nanoTime() - started) / 1_000_000);
+        return true;
+    }
+
+    public void appendInvoicedOrder(Integer orderId, ZonedDateTime createdAt, Integer clientId,
+                                    List<OrderItemEntity> items) {
+        if (!enabled || items.isEmpty()) return;
+
+        int day = epochDay(createdAt);
+        LineBatch lines = new LineBatch(items.size());
+        for (OrderItemEntity item : items) {
+            lines.add(day, clientId, item.getProductId(), item.getQuantity(),
+                    toPaise(item.getSellingPrice(), item.getQuantity()));
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    appendCommitted(orderId, lines);
+                }
+            });
+        } else {
+            appendCommitted(orderId, lines);
+        }
+    }
+
+    public AnalyticsResult query(AnalyticsQuery query) {
+        if (!enabled) {
+            throw new ApiException(ApiStatus.BAD_REQUEST, "Sales analytics is disabled");
+        }
+        if (failed) {
+            throw new ApiException(ApiStatus.INTERNAL_ERROR, "Sales analytics failed to load: " + lastLoadError);
+        }
+        if (!loaded) {
+            String detail = lastLoadError == null ? "" : " (last attempt failed: " + lastLoadError + ")";
+            throw new ApiException(ApiStatus.CONFLICT, "Sales analytics is still loading" + detail + ", retry shortly");
+        }
+
+        Columns snapshot = columns;
+        Filter filter = new Filter(
+                query.startDate() == null ? Integer.MIN_VALUE : Math.toIntExact(query.startDate().toEpochDay()),
+                query.endDate() == null ? Integer.MAX_VALUE : Math.toIntExact(query.endDate().toEpochDay()),
+                query.clientId(), query.productId());
+
+        GroupTable groups = pool.invoke(new GroupTask(snapshot, query.rows(), query.columns(), filter, 0,
+                snapshot.size()));
+
+        List<AnalyticsCell> cells = groups.toCells();
+        cells.sort(Comparator.comparingInt(AnalyticsCell::row)
+                .thenComparing(Comparator.comparingLong(AnalyticsCell::revenuePaise).reversed()));
+        if (query.topPerRow() != null) {
+            cells = limitPerRow(cells, query.topPerRow());
+        }
+        return new AnalyticsResult(cells, snapshot.size());
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public boolean isFailed() {
+        return failed;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        Thread current = loader;
+        if (current != null) {
+            current.interrupt();
+        }
+        pool.shutdownNow();
+    }
+
+    private void appendCommitted(Integer orderId, LineBatch lines) {
+        synchronized (appendLock) {
+            if (loaded) {
+                append(lines);
+            } else if (pending != null) {
+                pending.add(new PendingOrder(orderId, lines));
+            }
+        }
+    }
+
+    private void append(LineBatch lines) {
+        synchronized (appendLock) {
+            if (lines.size == 0) return;
+            Columns current = columns;
+            int required = current.size() + lines.size;
+            Columns target = required <= current.capacity() ? current : current.grow(required);
+            System.arraycopy(lines.day, 0, target.day(), current.size(), lines.size);
+            System.arraycopy(lines.client, 0, target.client(), current.size(), lines.size);
+            System.arraycopy(lines.product, 0, target.product(), current.size(), lines.size);
+            System.arraycopy(lines.quantity, 0, target.quantity(), current.size(), lines.size);
+            System.arraycopy(lines.revenue, 0, target.revenue(), current.size(), lines.size);
+            columns = target.withSize(required);
+        }
+    }
+
+    private static List<AnalyticsCell> limitPerRow(List<AnalyticsCell> cells, int limit) {
+        Map<Integer, Integer> taken = new HashMap<>();
+        List<AnalyticsCell> limited = new ArrayList<>();
+        for (AnalyticsCell cell : cells) {
+            if (taken.merge(cell.row(), 1, Integer::sum) <= limit) limited.add(cell);
+        }
+        return limited;
+    }
+
+    private static int epochDay(ZonedDateTime createdAt) {
+        return Math.toIntExact(createdAt.withZoneSameInstant(IST).toLocalDate().toEpochDay());
+    }
+
+    private static long toPaise(BigDecimal sellingPrice, int quantity) {
+        return sellingPrice.multiply(BigDecimal.valueOf(quantity)).movePointRight(2)
+                .setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    private record PendingOrder(Integer orderId, LineBatch lines) {
+    }
+
+    private record Filter(int startDay, int endDay, Integer clientId, Integer productId) {
+    }
+
+    private record Columns(int[] day, int[] client, int[] product, int[] quantity, long[] revenue, int size) {
+
+        private static Columns empty() {
+            return new Columns(new int[0], new int[0], new int[0], new int[0], new long[0], 0);
+        }
+
+        private int capacity() {
+            return day.length;
+        }
+
+        private Columns grow(int minCapacity) {
+            int capacity = Math.max(minCapacity, capacity() + (capacity() >> 1));
+            return new Columns(Arrays.copyOf(day, capacity), Arrays.copyOf(client, capacity),
+                    Arrays.copyOf(product, capacity), Arrays.copyOf(quantity, capacity),
+                    Arrays.copyOf(revenue, capacity), size);
+        }
+
+        private Columns withSize(int newSize) {
+            return new Columns(day, client, product, quantity, revenue, newSize);
+        }
+    }
+
+    private static final class LineBatch {
+
+        private final int[] day;
+        private final int[] client;
+        private final int[] product;
+        private final int[] quantity;
+        private final long[] revenue;
+        private int size;
+
+        private LineBatch(int capacity) {
+            this.day = new int[capacity];
+            this.client = new int[capacity];
+            this.product = new int[capacity];
+            this.quantity = new int[capacity];
+            this.revenue = new long[capacity];
+        }
+
+        private void add(int day, int client, int product, int quantity, long revenue) {
+            this.day[size] = day;
+            this.client[size] = client;
+            this.product[size] = product;
+            this.quantity[size] = quantity;
+            this.revenue[size] = revenue;
+            size++;
+        }
+
+        private boolean isFull() {
+            return size == day.length;
+        }
+
+        private void clear() {
+            size = 0;
+        }
+    }
+
+    private static final class GroupTask extends RecursiveTask<GroupTable> {
+
+        private final Columns columns;
+        private final AnalyticsDimension rows;
+        private final AnalyticsDimension cols;
+        private final Filter filter;
+        private final int from;
+        private final int to;
+
+        private GroupTask(Columns columns, AnalyticsDimension rows, AnalyticsDimension cols, Filter filter, int from,
+                          int to) {
+            this.columns = columns;
+            this.rows = rows;
+            this.cols = cols;
+            this.filter = filter;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected GroupTable compute() {
+            if (to - from <= SPLIT_THRESHOLD) {
+                return scan();
+            }
+            int mid = (from + to) >>> 1;
+            GroupTask left = new GroupTask(columns, rows, cols, filter, from, mid);
+            left.fork();
+            GroupTable right = new GroupTask(columns, rows, cols, filter, mid, to).compute();
+            return left.join().mergeFrom(right);
+        }
+
+        private GroupTable scan() {
+            GroupTable table = new GroupTable();
+            int[] day = columns.day();
+            int[] client = columns.client();
+            int[] product = columns.product();
+            boolean anyClient = filter.clientId() == null;
+            boolean anyProduct = filter.productId() == null;
+            int clientId = anyClient ? 0 : filter.clientId();
+            int productId = anyProduct ? 0 : filter.productId();
+            MonthLookup months = new MonthLookup();
+
+            for (int i = from; i < to; i++) {
+                int d = day[i];
+                if (d < filter.startDay() || d > filter.endDay()) continue;
+                if (!anyClient && client[i] != clientId) continue;
+                if (!anyProduct && product[i] != productId) continue;
+
+                long key = ((long) value(rows, i, months) << 32) | (value(cols, i, months) & 0xffffffffL);
+                table.add(key, columns.quantity()[i], columns.revenue()[i]);
+            }
+            return table;
+        }
+
+        private int value(AnalyticsDimension dimension, int i, MonthLookup months) {
+            if (dimension == null) return 0;
+            return switch (dimension) {
+                case DAY -> columns.day()[i];
+                case WEEK -> columns.day()[i] - Math.floorMod(columns.day()[i] + 3, 7);
+                case MONTH -> months.of(columns.day()[i]);
+                case CLIENT -> columns.client()[i];
+                case PRODUCT -> columns.product()[i];
+            };
+        }
+    }
+
+    private static final class MonthLookup {
+
+        private int lastDay = Integer.MIN_VALUE;
+        private int lastMonth;
+
+        private int of(int epochDay) {
+            if (epochDay != lastDay) {
+                LocalDate date = LocalDate.ofEpochDay(epochDay);
+                lastDay = epochDay;
+                lastMonth = date.getYear() * 12 + date.getMonthValue() - 1;
+            }
+            return lastMonth;
+        }
+    }
+
+    private static final class GroupTable {
+
+        private long[] keys = new long[64];
+        private long[] quantity = new long[64];
+        private long[] revenue = new long[64];
+        private long[] lines = new long[64];
+        private boolean[] used = new boolean[64];
+        private int size;
+
+        private void add(long key, long qty, long paise) {
+            add(key, qty, paise, 1);
+        }
+
+        private void add(long key, long qty, long paise, long lineCount) {
+            int slot = slot(key);
+            if (!used[slot]) {
+                used[slot] = true;
+                keys[slot] = key;
+                if (++size * 2 > keys.length) {
+                    resize();
+                    slot = slot(key);
+                }
+            }
+            quantity[slot] += qty;
+            revenue[slot] += paise;
+            lines[slot] += lineCount;
+        }
+
+        private GroupTable mergeFrom(GroupTable other) {
+            for (int i = 0; i < other.keys.length; i++) {
+                if (other.used[i]) add(other.keys[i], other.quantity[i], other.revenue[i], other.lines[i]);
+            }
+            return this;
+        }
+
+        private List<AnalyticsCell> toCells() {
+            List<AnalyticsCell> cells = new ArrayList<>(size);
+            for (int i = 0; i < keys.length; i++) {
+                if (used[i]) {
+                    cells.add(new AnalyticsCell((int) (keys[i] >> 32), (int) keys[i], quantity[i], revenue[i],
+                            lines[i]));
+                }
+            }
+            return cells;
+        }
+
+        private int slot(long key) {
+            int mask = keys.length - 1;
+            int slot = (int) (mix(key) & mask);
+            while (used[slot] && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            long[] oldQuantity = quantity;
+            long[] oldRevenue = revenue;
+            long[] oldLines = lines;
+            boolean[] oldUsed = used;
+            int capacity = oldKeys.length * 2;
+            keys = new long[capacity];
+            quantity = new long[capacity];
+            revenue = new long[capacity];
+            lines = new long[capacity];
+            used = new boolean[capacity];
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (!oldUsed[i]) continue;
+                int slot = slot(oldKeys[i]);
+                used[slot] = true;
+                keys[slot] = oldKeys[i];
+                quantity[slot] = oldQuantity[i];
+                revenue[slot] = oldRevenue[i];
+                lines[slot] = oldLines[i];
+            }
+        }
+
+        private static long mix(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return h ^ (h >>> 32);
+        }
+    }
+}
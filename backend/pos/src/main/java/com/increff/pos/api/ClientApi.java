@@ -4,9 +4,12 @@ import com.increff.pos.dao.ClientDao;
 import com.increff.pos.entity.ClientEntity;
 import com.increff.pos.exception.ApiException;
 import com.increff.pos.exception.ApiStatus;
+import com.increff.pos.model.domain.PaginationMode;
+import com.increff.pos.model.internal.KeysetPage;
+import com.increff.pos.model.internal.PageCursor;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,14 +29,19 @@ public class ClientApi {
 
     @Transactional(readOnly = true)
     public ClientEntity getCheckById(Integer clientId) {
-        return clientDao.selectById(clientId)
-                .orElseThrow(() -> new ApiException(
-                        ApiStatus.NOT_FOUND, "Client not found: " + clientId, "clientId", "Client not found: " + clientId));
+        return clientDao.selectCachedById(clientId).orElseThrow(() -> clientNotFound(clientId));
     }
 
     @Transactional(readOnly = true)
-    public Page<ClientEntity> getClientsList(String clientName, Boolean enabled, Pageable pageable) {
-        return clientDao.selectByFilters(clientName, enabled, pageable);
+    public Slice<ClientEntity> getClientsList(String clientName, Boolean enabled, Pageable pageable,
+                                              PaginationMode mode) {
+        return clientDao.selectByFilters(clientName, enabled, pageable, mode);
+    }
+
+    @Transactional(readOnly = true)
+    public KeysetPage<ClientEntity> getClientsKeyset(String clientName, Boolean enabled, PageCursor cursor,
+                                                     Integer pageSize) {
+        return clientDao.selectKeysetByFilters(clientName, enabled, cursor, pageSize);
     }
 
     public ClientEntity createClient(ClientEntity client) {
@@ -44,7 +52,7 @@ public class ClientApi {
     }
 
     public ClientEntity updateClient(Integer clientId, ClientEntity client) {
-        ClientEntity existing = getCheckById(clientId);
+        ClientEntity existing = clientDao.selectById(clientId).orElseThrow(() -> clientNotFound(clientId));
         if (clientDao.selectByClientNameExcludingId(client.getClientName(), clientId).isPresent())
             throw new ApiException(ApiStatus.CONFLICT, "Client already exists", "clientName", "Client already exists");
         existing.setClientName(client.getClientName());
@@ -52,7 +60,7 @@ public class ClientApi {
     }
 
     public ClientEntity toggle(Integer clientId, Boolean enabled) {
-        ClientEntity client = getCheckById(clientId);
+        ClientEntity client = clientDao.selectById(clientId).orElseThrow(() -> clientNotFound(clientId));
         if (!client.getEnabled().equals(enabled)) {
             client.setEnabled(enabled);
             return clientDao.save(client);
@@ -73,10 +81,20 @@ public class ClientApi {
         return clientDao.selectIdsByIdInAndEnabled(clientIds, enabled);
     }
 
+    @Transactional(readOnly = true)
+    public List<ClientEntity> getByClientNames(List<String> clientNames) {
+        return clientDao.selectByClientNames(clientNames);
+    }
+
     @Transactional(readOnly = true)
     public Integer getClientIdByName(String clientName) {
-        return clientDao.selectByClientName(clientName).map(ClientEntity::getId)
+        return clientDao.selectCachedByClientName(clientName).map(ClientEntity::getId)
                 .orElseThrow(() -> new ApiException(ApiStatus.NOT_FOUND, "Client not found: " + clientName,
                         "clientName", "Client not found: " + clientName));
     }
+
+    private ApiException clientNotFound(Integer clientId) {
+        return new ApiException(ApiStatus.NOT_FOUND, "Client not found: " + clientId, "clientId",
+                "Client not found: " + clientId);
+    }
 }
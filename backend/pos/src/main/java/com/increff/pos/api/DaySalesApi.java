@@ -1,8 +1,10 @@
 package com.increff.pos.api;
 
+import com.increff.pos.cache.ReportCache;
 import com.increff.pos.dao.DaySalesDao;
 import com.increff.pos.dao.ReportDao;
 import com.increff.pos.entity.DaySalesEntity;
+import com.increff.pos.model.data.DaySalesData;
 import com.increff.pos.model.internal.DaySalesAggregate;
 import com.increff.pos.util.ConversionUtil;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,43 +13,96 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 public class DaySalesApi {
 
+    private static final ZoneId IST = ZoneId.of("Asia/Kolkata");
+    private static final ZoneId UTC = ZoneId.of("UTC");
+
     @Autowired
     private DaySalesDao daySalesDao;
 
     @Autowired
     private ReportDao reportDao;
 
+    @Autowired
+    private ReportCache reportCache;
+
     public void calculateForDate(LocalDate date) {
-        ZoneId ist = ZoneId.of("Asia/Kolkata");
-        ZoneId utc = ZoneId.of("UTC");
+        reconcileForDate(date);
+    }
 
-        ZonedDateTime istStart = date.atStartOfDay(ist);
-        ZonedDateTime istEnd = istStart.plusDays(1);
+    public boolean reconcileForDate(LocalDate date) {
+        Optional<DaySalesEntity> existing = daySalesDao.selectByDateForUpdate(date);
 
-        ZonedDateTime utcStart = istStart.withZoneSameInstant(utc);
-        ZonedDateTime utcEnd = istEnd.withZoneSameInstant(utc);
+        ZonedDateTime istStart = date.atStartOfDay(IST);
+        ZonedDateTime utcStart = istStart.withZoneSameInstant(UTC);
+        ZonedDateTime utcEnd = istStart.plusDays(1).withZoneSameInstant(UTC);
 
         DaySalesAggregate aggregate = reportDao.selectDaySalesByDate(utcStart, utcEnd);
+        DaySalesEntity expected = ConversionUtil.daySalesAggregateToEntity(date, aggregate);
+
+        if (existing.isEmpty()) {
+            daySalesDao.upsert(date, expected.getInvoicedOrdersCount(), expected.getInvoicedItemsCount(),
+                    expected.getTotalRevenue());
+            reportCache.evictDay(date);
+            return aggregate.getInvoicedOrdersCount() > 0;
+        }
+
+        DaySalesEntity current = existing.get();
+        if (matches(current, expected)) {
+            return false;
+        }
+        current.setInvoicedOrdersCount(expected.getInvoicedOrdersCount());
+        current.setInvoicedItemsCount(expected.getInvoicedItemsCount());
+        current.setTotalRevenue(expected.getTotalRevenue());
+        reportCache.evictDay(date);
+        return true;
+    }
+
+    public void addInvoicedOrder(ZonedDateTime orderCreatedAt, int itemsCount, BigDecimal revenue) {
+        LocalDate date = orderCreatedAt.withZoneSameInstant(IST).toLocalDate();
+        daySalesDao.increment(date, 1, itemsCount, revenue.setScale(2, RoundingMode.HALF_UP));
+        reportCache.evictDay(date);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<LocalDate> getLatestDateBefore(LocalDate date) {
+        return daySalesDao.selectLatestDateBefore(date);
+    }
 
-        DaySalesEntity entity = ConversionUtil.daySalesAggregateToEntity(date, aggregate);
-        daySalesDao.save(entity);
+    @Transactional(readOnly = true)
+    public Page<DaySalesData> findByDateRange(LocalDate startDate, LocalDate endDate, Pageable pageable) {
+        return ConversionUtil.listToPage(findAllByDateRange(startDate, endDate), pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public void forEachByDateRange(LocalDate startDate, LocalDate endDate, Consumer<DaySalesData> action) {
+        try (Stream<DaySalesData> stream = daySalesDao.streamDataByDateRange(startDate, endDate)) {
+            stream.forEach(action);
+        }
     }
 
     @Transactional(readOnly = true)
-    public Page<DaySalesEntity> findByDateRange(LocalDate startDate, LocalDate endDate, Pageable pageable) {
-        return daySalesDao.selectByDateRange(startDate, endDate, pageable);
+    public List<DaySalesData> findAllByDateRange(LocalDate startDate, LocalDate endDate) {
+        return reportCache.getDaySales(startDate, endDate, () -> daySalesDao.selectAllByDateRange(startDate, endDate)
+                .stream().map(ConversionUtil::daySalesEntityToData).toList());
     }
 
-    public List<DaySalesEntity> findAllByDateRange(LocalDate startDate, LocalDate endDate) {
-        return daySalesDao.selectAllByDateRange(startDate, endDate);
+    private static boolean matches(DaySalesEntity current, DaySalesEntity expected) {
+        return current.getInvoicedOrdersCount().equals(expected.getInvoicedOrdersCount())
+                && current.getInvoicedItemsCount().equals(expected.getInvoicedItemsCount())
+                && current.getTotalRevenue().compareTo(expected.getTotalRevenue()) == 0;
     }
 }
@@ -0,0 +1,84 @@
+package com.increff.pos.api;
+
+import com.increff.pos.dao.DaySalesDao;
+import com.increff.pos.dao.HourSalesDao;
+import com.increff.pos.dao.ReportDao;
+import com.increff.pos.entity.HourSalesEntity;
+import com.increff.pos.model.internal.OrderSalesRow;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@Transactional
+public class HourSalesApi {
+
+    private static final ZoneId IST = ZoneId.of("Asia/Kolkata");
+    private static final ZoneId UTC = ZoneId.of("UTC");
+
+    @Autowired
+    private HourSalesDao hourSalesDao;
+
+    @Autowired
+    private DaySalesDao daySalesDao;
+
+    @Autowired
+    private ReportDao reportDao;
+
+    public void addInvoicedOrder(ZonedDateTime orderCreatedAt, Integer clientId, int itemsCount, BigDecimal revenue) {
+        ZonedDateTime ist = orderCreatedAt.withZoneSameInstant(IST);
+        hourSalesDao.increment(ist.toLocalDate(), ist.getHour(), clientId, 1, itemsCount,
+                revenue.setScale(2, RoundingMode.HALF_UP));
+    }
+
+    public int rebuildForDate(LocalDate date) {
+        // Invoicing increments the day row before its hour buckets, so holding the day row lock keeps in-flight
+        // invoices for this date out until the snapshot below has replaced the buckets.
+        daySalesDao.selectByDateForUpdate(date);
+
+        ZonedDateTime istStart = date.atStartOfDay(IST);
+        List<OrderSalesRow> orders = reportDao.selectOrderSales(istStart.withZoneSameInstant(UTC),
+                istStart.plusDays(1).withZoneSameInstant(UTC));
+
+        Map<String, HourSalesEntity> buckets = new LinkedHashMap<>();
+        for (OrderSalesRow order : orders) {
+            int hour = order.createdAt().withZoneSameInstant(IST).getHour();
+            HourSalesEntity bucket = buckets.computeIfAbsent(hour + ":" + order.clientId(),
+                    key -> newBucket(date, hour, order.clientId()));
+            bucket.setInvoicedOrdersCount(bucket.getInvoicedOrdersCount() + 1);
+            bucket.setInvoicedItemsCount(bucket.getInvoicedItemsCount() + Math.toIntExact(order.itemsCount()));
+            bucket.setTotalRevenue(bucket.getTotalRevenue().add(order.revenue()));
+        }
+        buckets.values().forEach(bucket ->
+                bucket.setTotalRevenue(bucket.getTotalRevenue().setScale(2, RoundingMode.HALF_UP)));
+
+        hourSalesDao.deleteByDate(date);
+        hourSalesDao.saveAll(List.copyOf(buckets.values()));
+        return buckets.size();
+    }
+
+    @Transactional(readOnly = true)
+    public List<HourSalesEntity> getByDate(LocalDate date, Integer clientId) {
+        return hourSalesDao.selectByDate(date, clientId);
+    }
+
+    private static HourSalesEntity newBucket(LocalDate date, int hour, Integer clientId) {
+        HourSalesEntity bucket = new HourSalesEntity();
+        bucket.setDate(date);
+        bucket.setHour(hour);
+        bucket.setClientId(clientId);
+        bucket.setInvoicedOrdersCount(0);
+        bucket.setInvoicedItemsCount(0);
+        bucket.setTotalRevenue(BigDecimal.ZERO);
+        return bucket;
+    }
+}
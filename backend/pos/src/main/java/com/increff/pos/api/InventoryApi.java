@@ -6,13 +6,20 @@ import com.increff.pos.entity.OrderItemEntity;
 import com.increff.pos.entity.ProductEntity;
 import com.increff.pos.exception.ApiException;
 import com.increff.pos.exception.ApiStatus;
+import com.increff.pos.ledger.StockLedger;
+import com.increff.pos.model.data.InventoryData;
+import com.increff.pos.model.domain.PaginationMode;
+import com.increff.pos.model.internal.KeysetPage;
+import com.increff.pos.model.internal.PageCursor;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -24,8 +31,29 @@ public class InventoryApi {
     @Autowired
     private InventoryDao inventoryDao;
 
-    public List<InventoryEntity> getAllForEnabledClients() {
-        return inventoryDao.selectAllForEnabledClients();
+    @Autowired(required = false)
+    private StockLedger stockLedger;
+
+    @Transactional(readOnly = true)
+    public List<InventoryData> getDataForEnabledClients() {
+        return inventoryDao.selectDataForEnabledClients();
+    }
+
+    @Transactional(readOnly = true)
+    public Slice<InventoryData> getDataPagedForEnabledClients(String barcode, String productName, Pageable pageable,
+                                                              PaginationMode mode) {
+        return inventoryDao.selectDataPagedForEnabledClients(barcode, productName, pageable, mode);
+    }
+
+    public Map<Integer, Integer> getAvailableQuantities(Collection<Integer> productIds) {
+        if (stockLedger != null) {
+            List<Integer> existing = inventoryDao.selectByProductIds(List.copyOf(productIds)).stream()
+                    .map(InventoryEntity::getProductId).toList();
+            stockLedger.load(existing);
+            return existing.stream().collect(Collectors.toMap(productId -> productId, stockLedger::getAvailable));
+        }
+        return inventoryDao.selectByProductIds(List.copyOf(productIds)).stream()
+                .collect(Collectors.toMap(InventoryEntity::getProductId, InventoryEntity::getQuantity));
     }
 
     public List<InventoryEntity> getCheckByProductIds(List<Integer> productIds) {
@@ -36,76 +64,111 @@ public class InventoryApi {
         return inventories;
     }
 
-    public Page<InventoryEntity> getPagedForEnabledClients(String barcode, String productName, Pageable pageable) {
-        return inventoryDao.selectPagedForEnabledClients(barcode, productName, pageable);
+    public KeysetPage<InventoryEntity> getKeysetForEnabledClients(String barcode, String productName,
+                                                                  PageCursor cursor, Integer pageSize) {
+        return inventoryDao.selectKeysetForEnabledClients(barcode, productName, cursor, pageSize);
     }
 
     public InventoryEntity upsert(InventoryEntity input) {
         validateQuantity(input.getQuantity());
-        InventoryEntity entity = inventoryDao.selectByProductId(input.getProductId())
-                .orElseGet(() -> createNew(input.getProductId()));
-        entity.setQuantity(input.getQuantity());
-        return inventoryDao.save(entity);
+        return writeAbsolute(List.of(input)).getFirst();
     }
 
-    public List<InventoryEntity> validateAndUpdateInventory(List<OrderItemEntity> items, Map<Integer, ProductEntity> productMap) {
+    public void validateAndUpdateInventory(Integer orderId, List<OrderItemEntity> items,
+                                           Map<Integer, ProductEntity> productMap) {
 
-        List<Integer> productIds = items.stream().map(OrderItemEntity::getProductId).distinct().toList();
-        List<InventoryEntity> inventories = getCheckByProductIds(productIds);
+        reserve(orderId, sumQuantityByProduct(items), productMap);
+    }
 
-        Map<Integer, InventoryEntity> inventoryMap = inventories.stream()
-                .collect(Collectors.toMap(InventoryEntity::getProductId, i -> i));
+    public void reserve(Integer orderId, Map<Integer, Integer> quantityByProduct,
+                        Map<Integer, ProductEntity> productMap) {
 
-        List<InventoryEntity> updated = new ArrayList<>();
+        if (stockLedger != null) {
+            reserveFromLedger(orderId, quantityByProduct, productMap);
+            return;
+        }
 
-        for (OrderItemEntity item : items) {
+        List<Integer> failed = inventoryDao.decrementIfAvailable(quantityByProduct);
 
-            InventoryEntity inventory = inventoryMap.get(item.getProductId());
+        if (failed.isEmpty()) {
+            return;
+        }
 
-            ProductEntity product = productMap.get(item.getProductId());
+        checkInventoryExists(failed);
+        throwInsufficient(productMap.get(failed.getFirst()));
+    }
 
-            if (inventory.getQuantity() < item.getQuantity()) {
-                throw new ApiException(
-                        ApiStatus.CONFLICT, "Insufficient inventory for product: " + product.getProductName(),
-                        "quantity", "Insufficient inventory"
-                );
-            }
+    public void restoreInventory(Integer orderId, List<OrderItemEntity> items) {
 
-            inventory.setQuantity(inventory.getQuantity() - item.getQuantity());
+        Map<Integer, Integer> quantityByProduct = sumQuantityByProduct(items);
 
-            updated.add(inventory);
+        if (stockLedger != null) {
+            stockLedger.load(quantityByProduct.keySet());
+            runAfterCompletion(true, () -> stockLedger.release(orderId, quantityByProduct));
+            return;
         }
 
-        return bulkUpsert(updated);
+        List<Integer> failed = inventoryDao.increment(quantityByProduct);
+
+        if (!failed.isEmpty()) {
+            checkInventoryExists(failed);
+        }
     }
 
-    public List<InventoryEntity> restoreInventory(List<OrderItemEntity> items) {
-        List<Integer> productIds = items.stream().map(OrderItemEntity::getProductId).distinct().toList();
+    public List<InventoryEntity> bulkUpsert(List<InventoryEntity> updated) {
+        updated.forEach(inventory -> validateQuantity(inventory.getQuantity()));
+        return writeAbsolute(updated);
+    }
+
+    private void reserveFromLedger(Integer orderId, Map<Integer, Integer> quantityByProduct,
+                                   Map<Integer, ProductEntity> productMap) {
+        Integer failed = stockLedger.reserve(orderId, quantityByProduct);
+        if (failed != null) {
+            throwInsufficient(productMap.get(failed));
+        }
+        runAfterCompletion(false, () -> stockLedger.release(orderId, quantityByProduct));
+    }
 
-        List<InventoryEntity> inventories = getCheckByProductIds(productIds);
-        Map<Integer, InventoryEntity> inventoryMap = inventories.stream()
-                .collect(Collectors.toMap(InventoryEntity::getProductId, inventory -> inventory));
+    private List<InventoryEntity> writeAbsolute(List<InventoryEntity> inventories) {
+        if (stockLedger == null) {
+            return inventoryDao.upsertAll(inventories);
+        }
+        stockLedger.flush();
+        List<InventoryEntity> saved = inventoryDao.upsertAll(inventories);
+        List<Integer> productIds = saved.stream().map(InventoryEntity::getProductId).toList();
+        runAfterCompletion(true, () -> stockLedger.evict(productIds));
+        return saved;
+    }
 
-        List<InventoryEntity> updatedInventories = new ArrayList<>();
-        
-        for (OrderItemEntity item : items) {
-            InventoryEntity inventory = inventoryMap.get(item.getProductId());
-            int availableQty = inventory.getQuantity();
-            inventory.setQuantity(availableQty + item.getQuantity());
-            updatedInventories.add(inventory);
+    private void runAfterCompletion(boolean onCommit, Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            if (onCommit) action.run();
+            return;
         }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if ((status == STATUS_COMMITTED) == onCommit) action.run();
+            }
+        });
+    }
 
-        return bulkUpsert(updatedInventories);
+    private void throwInsufficient(ProductEntity product) {
+        throw new ApiException(
+                ApiStatus.CONFLICT, "Insufficient inventory for product: " + product.getProductName(),
+                "quantity", "Insufficient inventory"
+        );
     }
 
-    public List<InventoryEntity> bulkUpsert(List<InventoryEntity> updated) {
-        return inventoryDao.saveAll(updated);
+    private Map<Integer, Integer> sumQuantityByProduct(List<OrderItemEntity> items) {
+        return items.stream().collect(Collectors.toMap(OrderItemEntity::getProductId, OrderItemEntity::getQuantity,
+                Integer::sum));
     }
 
-    private InventoryEntity createNew(Integer productId) {
-        InventoryEntity entity = new InventoryEntity();
-        entity.setProductId(productId);
-        return entity;
+    private void checkInventoryExists(List<Integer> productIds) {
+        if (inventoryDao.selectByProductIds(productIds).size() != productIds.size())
+            throw new ApiException(ApiStatus.NOT_FOUND, "Inventory not found for one or more products", "productId",
+                    "Inventory not found for one or more products");
     }
 
     private void validateQuantity(Integer quantity) {
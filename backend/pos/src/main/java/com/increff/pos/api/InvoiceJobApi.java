@@ -0,0 +1,77 @@
+package com.increff.pos.api;
+
+import com.increff.pos.dao.InvoiceJobDao;
+import com.increff.pos.entity.InvoiceJobEntity;
+import com.increff.pos.exception.ApiException;
+import com.increff.pos.exception.ApiStatus;
+import com.increff.pos.model.domain.InvoiceJobStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+@Service
+@Transactional
+public class InvoiceJobApi {
+
+    private static final Set<InvoiceJobStatus> UNFINISHED = EnumSet.of(InvoiceJobStatus.QUEUED,
+            InvoiceJobStatus.RUNNING);
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    @Autowired
+    private InvoiceJobDao invoiceJobDao;
+
+    public Optional<InvoiceJobEntity> getUnfinishedByOrderId(Integer orderId) {
+        return invoiceJobDao.selectByOrderIdAndStatusIn(orderId, UNFINISHED);
+    }
+
+    public InvoiceJobEntity create(Integer orderId) {
+        InvoiceJobEntity job = new InvoiceJobEntity();
+        job.setOrderId(orderId);
+        job.setActiveOrderId(orderId);
+        job.setStatus(InvoiceJobStatus.QUEUED);
+        job.setAttempts(0);
+        return invoiceJobDao.save(job);
+    }
+
+    @Transactional(readOnly = true)
+    public InvoiceJobEntity getCheckById(Integer jobId) {
+        return invoiceJobDao.selectById(jobId).orElseThrow(() -> new ApiException(ApiStatus.NOT_FOUND,
+                "Invoice job not found: " + jobId, "jobId", "Invoice job not found: " + jobId));
+    }
+
+    public List<Integer> requeueUnfinished(ZonedDateTime staleBefore) {
+        invoiceJobDao.requeueRunningUpdatedBefore(staleBefore);
+        return invoiceJobDao.selectByStatusIn(EnumSet.of(InvoiceJobStatus.QUEUED)).stream()
+                .map(InvoiceJobEntity::getId).toList();
+    }
+
+    public void markRunning(InvoiceJobEntity job) {
+        job.setStatus(InvoiceJobStatus.RUNNING);
+        job.setAttempts(job.getAttempts() + 1);
+        job.setErrorMessage(null);
+    }
+
+    public void markCompleted(InvoiceJobEntity job) {
+        job.setStatus(InvoiceJobStatus.COMPLETED);
+        job.setActiveOrderId(null);
+        job.setErrorMessage(null);
+        job.setCompletedAt(ZonedDateTime.now(ZoneId.of("UTC")));
+    }
+
+    public void markFailed(InvoiceJobEntity job, String errorMessage) {
+        job.setStatus(InvoiceJobStatus.FAILED);
+        job.setActiveOrderId(null);
+        job.setCompletedAt(ZonedDateTime.now(ZoneId.of("UTC")));
+        if (errorMessage != null && errorMessage.length() > MAX_ERROR_LENGTH) {
+            errorMessage = errorMessage.substring(0, MAX_ERROR_LENGTH);
+        }
+        job.setErrorMessage(errorMessage);
+    }
+}
@@ -3,16 +3,20 @@ package com.increff.pos.api;
 import com.increff.pos.dao.OrderDao;
 import com.increff.pos.entity.OrderEntity;
 import com.increff.pos.model.domain.OrderStatus;
+import com.increff.pos.model.domain.PaginationMode;
 import com.increff.pos.exception.ApiException;
 import com.increff.pos.exception.ApiStatus;
+import com.increff.pos.model.internal.KeysetPage;
+import com.increff.pos.model.internal.PageCursor;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.ZonedDateTime;
+import java.util.List;
 
 @Service
 @Transactional
@@ -21,23 +25,40 @@ public class OrderApi {
     @Autowired
     private OrderDao orderDao;
 
-    public Page<OrderEntity> search(OrderStatus status, Integer clientId, ZonedDateTime start, ZonedDateTime end,
-                                    Integer page, Integer pageSize) {
+    @Transactional(readOnly = true)
+    public Slice<OrderEntity> search(OrderStatus status, Integer clientId, ZonedDateTime start, ZonedDateTime end,
+                                     Integer page, Integer pageSize, PaginationMode mode) {
 
         Pageable pageable = PageRequest.of(page, pageSize);
-        return orderDao.selectByFilters(status, clientId, start, end, pageable);
+        return orderDao.selectByFilters(status, clientId, start, end, pageable, mode);
+    }
+
+    @Transactional(readOnly = true)
+    public KeysetPage<OrderEntity> searchKeyset(OrderStatus status, Integer clientId, ZonedDateTime start,
+                                                ZonedDateTime end, PageCursor cursor, Integer pageSize) {
+        return orderDao.selectKeysetByFilters(status, clientId, start, end, cursor, pageSize);
     }
 
     public OrderEntity create(OrderEntity order) {
         return orderDao.save(order);
     }
 
+    public List<OrderEntity> createAll(List<OrderEntity> orders) {
+        return orderDao.saveAll(orders);
+    }
+
     public OrderEntity getCheckById(Integer orderId) {
         return orderDao.selectById(orderId)
                 .orElseThrow(() -> new ApiException(
                         ApiStatus.NOT_FOUND, "Order not found", "orderId", "Order not found: " + orderId));
     }
 
+    public OrderEntity getCheckByIdForUpdate(Integer orderId) {
+        return orderDao.selectByIdForUpdate(orderId)
+                .orElseThrow(() -> new ApiException(
+                        ApiStatus.NOT_FOUND, "Order not found", "orderId", "Order not found: " + orderId));
+    }
+
     public OrderEntity updateStatus(OrderEntity order, OrderStatus status) {
         order.setStatus(status);
         return orderDao.save(order);
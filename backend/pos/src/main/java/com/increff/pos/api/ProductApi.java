@@ -4,9 +4,12 @@ import com.increff.pos.dao.ProductDao;
 import com.increff.pos.entity.ProductEntity;
 import com.increff.pos.exception.ApiException;
 import com.increff.pos.exception.ApiStatus;
+import com.increff.pos.model.domain.PaginationMode;
+import com.increff.pos.model.internal.KeysetPage;
+import com.increff.pos.model.internal.PageCursor;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -27,12 +30,12 @@ public class ProductApi {
 
     @Transactional(readOnly = true)
     public ProductEntity getCheckProductById(Integer id) {
-        return productDao.selectById(id).orElseThrow(() ->
+        return productDao.selectCachedById(id).orElseThrow(() ->
                 new ApiException(ApiStatus.NOT_FOUND, "Product not found", "productId", "Product not found"));
     }
 
     public List<ProductEntity> getByIds(List<Integer> ids) {
-        return productDao.selectByIds(ids);
+        return productDao.selectCachedByIds(ids);
     }
 
     public ProductEntity createProduct(ProductEntity product) {
@@ -42,6 +45,10 @@ public class ProductApi {
         return productDao.save(product);
     }
 
+    public List<ProductEntity> createAll(List<ProductEntity> products) {
+        return productDao.saveAll(products);
+    }
+
     public ProductEntity updateProduct(Integer productId, ProductEntity product) {
 
         ProductEntity existing = productDao.selectById(productId).orElseThrow(() ->
@@ -70,8 +77,15 @@ public class ProductApi {
     }
 
     @Transactional(readOnly = true)
-    public Page<ProductEntity> searchProducts(Integer clientId, String barcode, String productName, Pageable pageable) {
-        return productDao.selectByFilters(clientId, barcode, productName, pageable);
+    public Slice<ProductEntity> searchProducts(Integer clientId, String barcode, String productName, Pageable pageable,
+                                               PaginationMode mode) {
+        return productDao.selectByFilters(clientId, barcode, productName, pageable, mode);
+    }
+
+    @Transactional(readOnly = true)
+    public KeysetPage<ProductEntity> searchProductsKeyset(Integer clientId, String barcode, String productName,
+                                                          PageCursor cursor, Integer pageSize) {
+        return productDao.selectKeysetByFilters(clientId, barcode, productName, cursor, pageSize);
     }
 
     public ProductEntity getCheckByName(String name) {
@@ -84,8 +98,18 @@ public class ProductApi {
         return product;
     }
 
+    @Transactional(readOnly = true)
+    public List<ProductEntity> getByBarcodes(List<String> barcodes) {
+        return productDao.selectByBarcodes(barcodes);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ProductEntity> getByClientIdsAndProductNames(List<Integer> clientIds, List<String> productNames) {
+        return productDao.selectByClientIdsAndProductNames(clientIds, productNames);
+    }
+
     public ProductEntity getCheckByBarcode(String barcode) {
-        ProductEntity product = productDao.selectByBarcode(barcode).orElse(null);
+        ProductEntity product = productDao.selectCachedByBarcode(barcode).orElse(null);
 
         if(Objects.isNull(product)) {
                 throw new ApiException(ApiStatus.NOT_FOUND, "Product not found: " + barcode, "barcode",
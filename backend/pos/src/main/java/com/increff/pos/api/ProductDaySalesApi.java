@@ -0,0 +1,95 @@
+package com.increff.pos.api;
+
+import com.increff.pos.cache.ReportCache;
+import com.increff.pos.dao.DaySalesDao;
+import com.increff.pos.dao.ProductDaySalesDao;
+import com.increff.pos.dao.ReportDao;
+import com.increff.pos.dao.SalesRollupWatermarkDao;
+import com.increff.pos.entity.OrderItemEntity;
+import com.increff.pos.entity.ProductDaySalesEntity;
+import com.increff.pos.entity.SalesRollupWatermarkEntity;
+import com.increff.pos.model.internal.ProductDaySalesRow;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Service
+@Transactional
+public class ProductDaySalesApi {
+
+    private static final ZoneId IST = ZoneId.of("Asia/Kolkata");
+    private static final ZoneId UTC = ZoneId.of("UTC");
+
+    @Autowired
+    private ProductDaySalesDao productDaySalesDao;
+
+    @Autowired
+    private DaySalesDao daySalesDao;
+
+    @Autowired
+    private SalesRollupWatermarkDao salesRollupWatermarkDao;
+
+    @Autowired
+    private ReportDao reportDao;
+
+    @Autowired
+    private ReportCache reportCache;
+
+    public void addInvoicedItems(ZonedDateTime orderCreatedAt, Integer clientId, List<OrderItemEntity> items) {
+        Map<Integer, Integer> quantityByProduct = new HashMap<>();
+        Map<Integer, BigDecimal> revenueByProduct = new HashMap<>();
+        for (OrderItemEntity item : items) {
+            quantityByProduct.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+            revenueByProduct.merge(item.getProductId(),
+                    item.getSellingPrice().multiply(BigDecimal.valueOf(item.getQuantity())), BigDecimal::add);
+        }
+        revenueByProduct.replaceAll((productId, revenue) -> revenue.setScale(2, RoundingMode.HALF_UP));
+
+        LocalDate date = orderCreatedAt.withZoneSameInstant(IST).toLocalDate();
+        productDaySalesDao.increment(date, clientId, quantityByProduct, revenueByProduct);
+    }
+
+    public int rebuildForDate(LocalDate date) {
+        // Invoicing increments the day row before these product rows, so holding the day row lock keeps in-flight
+        // invoices for this date out until the snapshot below has replaced the rows.
+        daySalesDao.selectByDateForUpdate(date);
+
+        ZonedDateTime istStart = date.atStartOfDay(IST);
+        List<ProductDaySalesRow> rows = reportDao.selectProductDaySales(istStart.withZoneSameInstant(UTC),
+                istStart.plusDays(1).withZoneSameInstant(UTC));
+
+        productDaySalesDao.deleteByDate(date);
+        productDaySalesDao.saveAll(rows.stream().map(row -> toEntity(date, row)).toList());
+        reportCache.evictDay(date);
+        return rows.size();
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<SalesRollupWatermarkEntity> getWatermark() {
+        return salesRollupWatermarkDao.selectWatermark();
+    }
+
+    public SalesRollupWatermarkEntity updateWatermark(LocalDate firstDate, LocalDate lastDate) {
+        return salesRollupWatermarkDao.updateWatermark(firstDate, lastDate);
+    }
+
+    private static ProductDaySalesEntity toEntity(LocalDate date, ProductDaySalesRow row) {
+        ProductDaySalesEntity entity = new ProductDaySalesEntity();
+        entity.setDate(date);
+        entity.setClientId(row.clientId());
+        entity.setProductId(row.productId());
+        entity.setQuantity(Math.toIntExact(row.quantity()));
+        entity.setRevenue(row.revenue().setScale(2, RoundingMode.HALF_UP));
+        return entity;
+    }
+}
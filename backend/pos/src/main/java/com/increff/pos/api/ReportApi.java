@@ -1,30 +1,136 @@
 package com.increff.pos.api;
 
+import com.increff.pos.cache.ReportCache;
+import com.increff.pos.dao.PartitionedSalesReportQuery;
+import com.increff.pos.dao.ProductDaySalesDao;
 import com.increff.pos.dao.ReportDao;
+import com.increff.pos.dao.SalesRollupWatermarkDao;
+import com.increff.pos.entity.SalesRollupWatermarkEntity;
 import com.increff.pos.model.internal.SalesReportRow;
+import com.increff.pos.util.ConversionUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @Transactional(readOnly = true)
 public class ReportApi {
 
+    private static final ZoneId IST = ZoneId.of("Asia/Kolkata");
+
     @Autowired
     private ReportDao reportDao;
 
+    @Autowired
+    private PartitionedSalesReportQuery partitionedSalesReportQuery;
+
+    @Autowired
+    private ProductDaySalesDao productDaySalesDao;
+
+    @Autowired
+    private SalesRollupWatermarkDao salesRollupWatermarkDao;
+
+    @Autowired
+    private ReportCache reportCache;
+
+    // The sales report reads run without an enclosing transaction: long ranges fan out to
+    // PartitionedSalesReportQuery, whose partitions each borrow their own connection, and a caller still holding
+    // one while it waits on them can starve the pool under concurrent reports.
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Page<SalesReportRow> getSalesReport(ZonedDateTime startDate, ZonedDateTime endDate, Integer clientId,
             Pageable pageable) {
-        return reportDao.selectByFiltersSalesPage(startDate, endDate, clientId, pageable);
+        return ConversionUtil.listToPage(getAllSalesReport(startDate, endDate, clientId), pageable);
     }
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<SalesReportRow> getAllSalesReport(ZonedDateTime startDate, ZonedDateTime endDate, Integer clientId) {
-        return reportDao.selectAllSalesReport(startDate, endDate, clientId);
+        return reportCache.getSales(startDate, endDate, clientId, () -> loadSalesReport(startDate, endDate, clientId));
+    }
+
+    public void forEachSalesRow(ZonedDateTime startDate, ZonedDateTime endDate, Integer clientId,
+                                Consumer<SalesReportRow> action) {
+        List<SalesReportRow> rows = selectWithRollup(startDate, endDate, clientId);
+        if (Objects.nonNull(rows)) {
+            rows.forEach(action);
+            return;
+        }
+        try (Stream<SalesReportRow> stream = reportDao.streamAllSalesReport(startDate, endDate, clientId)) {
+            stream.forEach(action);
+        }
+    }
+
+    public List<SalesReportRow> getSalesPartition(ZonedDateTime startDate, ZonedDateTime endExclusive,
+                                                  Integer clientId) {
+        List<SalesReportRow> rows = selectWithRollup(startDate, endExclusive.minusNanos(1), clientId);
+        if (Objects.isNull(rows)) {
+            return reportDao.selectSalesRows(startDate, endExclusive, clientId);
+        }
+        return rows;
     }
-}
 
+    private List<SalesReportRow> loadSalesReport(ZonedDateTime startDate, ZonedDateTime endDate, Integer clientId) {
+        List<SalesReportRow> rows = selectWithRollup(startDate, endDate, clientId);
+        if (Objects.isNull(rows)) {
+            return partitionedSalesReportQuery.selectAll(startDate, endDate, clientId);
+        }
+        return rows;
+    }
+
+    private List<SalesReportRow> selectWithRollup(ZonedDateTime startDate, ZonedDateTime endDate, Integer clientId) {
+        if (Objects.isNull(startDate) || Objects.isNull(endDate)) {
+            return null;
+        }
+        Optional<SalesRollupWatermarkEntity> watermark = salesRollupWatermarkDao.selectWatermark();
+        if (watermark.isEmpty()) {
+            return null;
+        }
+
+        ZonedDateTime endExclusive = endDate.plusNanos(1);
+        LocalDate firstWholeDay = firstWholeDay(startDate);
+        LocalDate lastWholeDay = endExclusive.withZoneSameInstant(IST).toLocalDate().minusDays(1);
+
+        LocalDate fromDate = later(firstWholeDay, watermark.get().getFirstDate());
+        LocalDate toDate = earlier(lastWholeDay, watermark.get().getLastDate());
+        if (fromDate.isAfter(toDate)) {
+            return null;
+        }
+
+        ZonedDateTime rollupStart = fromDate.atStartOfDay(IST);
+        ZonedDateTime rollupEnd = toDate.plusDays(1).atStartOfDay(IST);
+
+        List<SalesReportRow> rows = new ArrayList<>(productDaySalesDao.selectSalesRows(fromDate, toDate, clientId));
+        if (startDate.isBefore(rollupStart)) {
+            rows.addAll(reportDao.selectSalesRows(startDate, rollupStart, clientId));
+        }
+        if (rollupEnd.isBefore(endExclusive)) {
+            rows.addAll(reportDao.selectSalesRows(rollupEnd, endExclusive, clientId));
+        }
+        return ConversionUtil.mergeSalesReportRows(rows);
+    }
+
+    private static LocalDate firstWholeDay(ZonedDateTime start) {
+        LocalDate day = start.withZoneSameInstant(IST).toLocalDate();
+        return day.atStartOfDay(IST).toInstant().equals(start.toInstant()) ? day : day.plusDays(1);
+    }
+
+    private static LocalDate later(LocalDate a, LocalDate b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    private static LocalDate earlier(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
+    }
+}
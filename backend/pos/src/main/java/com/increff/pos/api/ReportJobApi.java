@@ -0,0 +1,112 @@
+package com.increff.pos.api;
+
+import com.increff.pos.dao.ReportJobDao;
+import com.increff.pos.entity.ReportJobEntity;
+import com.increff.pos.exception.ApiException;
+import com.increff.pos.exception.ApiStatus;
+import com.increff.pos.model.domain.ReportJobStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+@Transactional
+public class ReportJobApi {
+
+    private static final Set<ReportJobStatus> UNFINISHED = EnumSet.of(ReportJobStatus.QUEUED,
+            ReportJobStatus.RUNNING);
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    @Autowired
+    private ReportJobDao reportJobDao;
+
+    public ReportJobEntity create(ReportJobEntity job) {
+        job.setStatus(ReportJobStatus.QUEUED);
+        job.setTotalPartitions(0);
+        job.setCompletedPartitions(0);
+        return reportJobDao.save(job);
+    }
+
+    @Transactional(readOnly = true)
+    public ReportJobEntity getCheckById(Integer jobId) {
+        return reportJobDao.selectById(jobId).orElseThrow(() -> new ApiException(ApiStatus.NOT_FOUND,
+                "Report job not found: " + jobId, "jobId", "Report job not found: " + jobId));
+    }
+
+    public List<Integer> requeueUnfinished(ZonedDateTime staleBefore) {
+        reportJobDao.requeueRunningUpdatedBefore(staleBefore);
+        return reportJobDao.selectByStatusIn(EnumSet.of(ReportJobStatus.QUEUED)).stream()
+                .map(ReportJobEntity::getId).toList();
+    }
+
+    public boolean start(Integer jobId, int totalPartitions) {
+        ReportJobEntity job = getCheckById(jobId);
+        if (job.getStatus() != ReportJobStatus.QUEUED) {
+            return false;
+        }
+        job.setStatus(ReportJobStatus.RUNNING);
+        job.setTotalPartitions(totalPartitions);
+        job.setCompletedPartitions(0);
+        job.setErrorMessage(null);
+        return true;
+    }
+
+    public void updateProgress(Integer jobId, int completedPartitions) {
+        getCheckById(jobId).setCompletedPartitions(completedPartitions);
+    }
+
+    public boolean complete(Integer jobId, String filePath, long fileSize) {
+        ReportJobEntity job = getCheckById(jobId);
+        if (job.getStatus() != ReportJobStatus.RUNNING) {
+            return false;
+        }
+        job.setStatus(ReportJobStatus.COMPLETED);
+        job.setFilePath(filePath);
+        job.setFileSize(fileSize);
+        job.setCompletedPartitions(job.getTotalPartitions());
+        job.setCompletedAt(ZonedDateTime.now(ZoneId.of("UTC")));
+        return true;
+    }
+
+    public void fail(Integer jobId, String errorMessage) {
+        ReportJobEntity job = getCheckById(jobId);
+        if (job.getStatus() != ReportJobStatus.RUNNING) {
+            return;
+        }
+        job.setStatus(ReportJobStatus.FAILED);
+        job.setCompletedAt(ZonedDateTime.now(ZoneId.of("UTC")));
+        if (errorMessage != null && errorMessage.length() > MAX_ERROR_LENGTH) {
+            errorMessage = errorMessage.substring(0, MAX_ERROR_LENGTH);
+        }
+        job.setErrorMessage(errorMessage);
+    }
+
+    public ReportJobEntity cancel(Integer jobId) {
+        ReportJobEntity job = getCheckById(jobId);
+        if (!UNFINISHED.contains(job.getStatus())) {
+            throw new ApiException(ApiStatus.BAD_REQUEST, "Only queued or running report jobs can be cancelled",
+                    "jobId", "Report job is " + job.getStatus());
+        }
+        job.setStatus(ReportJobStatus.CANCELLED);
+        job.setCompletedAt(ZonedDateTime.now(ZoneId.of("UTC")));
+        return job;
+    }
+
+    @Transactional(readOnly = true)
+    public List<ReportJobEntity> getCompletedOldestFirst() {
+        return reportJobDao.selectByStatusOrderByCompletedAt(ReportJobStatus.COMPLETED);
+    }
+
+    public void markExpired(Integer jobId) {
+        ReportJobEntity job = getCheckById(jobId);
+        job.setStatus(ReportJobStatus.EXPIRED);
+        job.setFilePath(null);
+        job.setFileSize(null);
+    }
+}
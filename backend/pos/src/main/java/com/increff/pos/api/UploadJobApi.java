@@ -0,0 +1,149 @@
+package com.increff.pos.api;
+
+import com.increff.pos.dao.UploadJobDao;
+import com.increff.pos.dao.UploadJobErrorDao;
+import com.increff.pos.entity.UploadJobEntity;
+import com.increff.pos.entity.UploadJobErrorEntity;
+import com.increff.pos.exception.ApiException;
+import com.increff.pos.exception.ApiStatus;
+import com.increff.pos.model.data.TsvUploadError;
+import com.increff.pos.model.domain.UploadJobStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+@Transactional
+public class UploadJobApi {
+
+    private static final Set<UploadJobStatus> UNFINISHED = EnumSet.of(UploadJobStatus.QUEUED,
+            UploadJobStatus.RUNNING);
+    private static final Set<UploadJobStatus> RESUMABLE = EnumSet.of(UploadJobStatus.FAILED,
+            UploadJobStatus.CANCELLED);
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    @Autowired
+    private UploadJobDao uploadJobDao;
+
+    @Autowired
+    private UploadJobErrorDao uploadJobErrorDao;
+
+    public UploadJobEntity create(UploadJobEntity job) {
+        job.setStatus(UploadJobStatus.QUEUED);
+        job.setLastCommittedRow(1);
+        job.setProcessedRows(0);
+        job.setSuccessRows(0);
+        job.setErrorRows(0);
+        return uploadJobDao.save(job);
+    }
+
+    @Transactional(readOnly = true)
+    public UploadJobEntity getCheckById(Integer jobId) {
+        return uploadJobDao.selectById(jobId).orElseThrow(() -> new ApiException(ApiStatus.NOT_FOUND,
+                "Upload job not found: " + jobId, "jobId", "Upload job not found: " + jobId));
+    }
+
+    public List<Integer> requeueUnfinished(ZonedDateTime staleBefore) {
+        uploadJobDao.requeueRunningUpdatedBefore(staleBefore);
+        return uploadJobDao.selectByStatusIn(EnumSet.of(UploadJobStatus.QUEUED)).stream()
+                .map(UploadJobEntity::getId).toList();
+    }
+
+    public boolean start(Integer jobId) {
+        UploadJobEntity job = getCheckById(jobId);
+        if (job.getStatus() != UploadJobStatus.QUEUED) {
+            return false;
+        }
+        job.setStatus(UploadJobStatus.RUNNING);
+        job.setErrorMessage(null);
+        return true;
+    }
+
+    public void recordChunk(Integer jobId, int lastRow, int processed, int succeeded, List<TsvUploadError> errors) {
+        UploadJobEntity job = getCheckById(jobId);
+        job.setLastCommittedRow(lastRow);
+        job.setProcessedRows(job.getProcessedRows() + processed);
+        job.setSuccessRows(job.getSuccessRows() + succeeded);
+        job.setErrorRows(job.getErrorRows() + errors.size());
+        uploadJobErrorDao.saveAll(errors.stream().map(error -> {
+            UploadJobErrorEntity entity = new UploadJobErrorEntity();
+            entity.setJobId(jobId);
+            entity.setFileRow(error.getRowNumber());
+            entity.setMessage(truncate(error.getErrorMessage()));
+            return entity;
+        }).toList());
+    }
+
+    public boolean complete(Integer jobId) {
+        UploadJobEntity job = getCheckById(jobId);
+        if (job.getStatus() != UploadJobStatus.RUNNING) {
+            return false;
+        }
+        job.setStatus(UploadJobStatus.COMPLETED);
+        job.setCompletedAt(ZonedDateTime.now(ZoneId.of("UTC")));
+        return true;
+    }
+
+    public void fail(Integer jobId, String errorMessage) {
+        UploadJobEntity job = getCheckById(jobId);
+        if (job.getStatus() != UploadJobStatus.RUNNING) {
+            return;
+        }
+        job.setStatus(UploadJobStatus.FAILED);
+        job.setCompletedAt(ZonedDateTime.now(ZoneId.of("UTC")));
+        job.setErrorMessage(truncate(errorMessage));
+    }
+
+    public UploadJobEntity cancel(Integer jobId) {
+        UploadJobEntity job = getCheckById(jobId);
+        if (!UNFINISHED.contains(job.getStatus())) {
+            throw new ApiException(ApiStatus.BAD_REQUEST, "Only queued or running upload jobs can be cancelled",
+                    "jobId", "Upload job is " + job.getStatus());
+        }
+        job.setStatus(UploadJobStatus.CANCELLED);
+        job.setCompletedAt(ZonedDateTime.now(ZoneId.of("UTC")));
+        return job;
+    }
+
+    public UploadJobEntity resume(Integer jobId) {
+        UploadJobEntity job = getCheckById(jobId);
+        if (!RESUMABLE.contains(job.getStatus())) {
+            throw new ApiException(ApiStatus.BAD_REQUEST, "Only failed or cancelled upload jobs can be resumed",
+                    "jobId", "Upload job is " + job.getStatus());
+        }
+        job.setStatus(UploadJobStatus.QUEUED);
+        job.setCompletedAt(null);
+        return job;
+    }
+
+    @Transactional(readOnly = true)
+    public List<UploadJobEntity> getResumableCompletedBefore(ZonedDateTime cutoff) {
+        return uploadJobDao.selectByStatusInAndCompletedAtBefore(RESUMABLE, cutoff);
+    }
+
+    public void markExpired(Integer jobId) {
+        UploadJobEntity job = getCheckById(jobId);
+        if (!RESUMABLE.contains(job.getStatus())) {
+            return;
+        }
+        job.setStatus(UploadJobStatus.EXPIRED);
+    }
+
+    @Transactional(readOnly = true)
+    public List<UploadJobErrorEntity> getErrors(Integer jobId) {
+        return uploadJobErrorDao.selectByJobId(jobId);
+    }
+
+    private static String truncate(String message) {
+        if (message != null && message.length() > MAX_ERROR_LENGTH) {
+            return message.substring(0, MAX_ERROR_LENGTH);
+        }
+        return message;
+    }
+}
@@ -0,0 +1,10 @@
+package com.increff.pos.cache;
+
+public record CacheStats(
+        String name,
+        int size,
+        int maxSize,
+        long hits,
+        long misses,
+        long evictions
+) {}
@@ -0,0 +1,69 @@
+package com.increff.pos.cache;
+
+import com.increff.pos.entity.AbstractEntity;
+import com.increff.pos.entity.ClientEntity;
+import com.increff.pos.entity.ProductEntity;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+public class CatalogCache {
+
+    private final EntityCache<ProductEntity> products;
+    private final EntityCache<ClientEntity> clients;
+
+    public CatalogCache(@Value("${app.cache.catalog.max-size:10000}") int maxSize,
+                        @Value("${app.cache.catalog.ttl-seconds:600}") long ttlSeconds) {
+        Duration ttl = Duration.ofSeconds(ttlSeconds);
+        this.products = new EntityCache<>("product", maxSize, ttl, ProductEntity::getId, ProductEntity::getBarcode,
+                CatalogCache::copyOf);
+        this.clients = new EntityCache<>("client", maxSize, ttl, ClientEntity::getId, ClientEntity::getClientName,
+                CatalogCache::copyOf);
+    }
+
+    public EntityCache<ProductEntity> products() {
+        return products;
+    }
+
+    public EntityCache<ClientEntity> clients() {
+        return clients;
+    }
+
+    public List<CacheStats> stats() {
+        List<CacheStats> stats = new ArrayList<>(products.stats());
+        stats.addAll(clients.stats());
+        return stats;
+    }
+
+    private static ProductEntity copyOf(ProductEntity source) {
+        ProductEntity copy = new ProductEntity();
+        copy.setId(source.getId());
+        copy.setProductName(source.getProductName());
+        copy.setMrp(source.getMrp());
+        copy.setClientId(source.getClientId());
+        copy.setBarcode(source.getBarcode());
+        copy.setImageUrl(source.getImageUrl());
+        copyAudit(source, copy);
+        return copy;
+    }
+
+    private static ClientEntity copyOf(ClientEntity source) {
+        ClientEntity copy = new ClientEntity();
+        copy.setId(source.getId());
+        copy.setClientName(source.getClientName());
+        copy.setEnabled(source.getEnabled());
+        copy.setName(source.getName());
+        copyAudit(source, copy);
+        return copy;
+    }
+
+    private static void copyAudit(AbstractEntity source, AbstractEntity copy) {
+        copy.setVersion(source.getVersion());
+        copy.setCreatedAt(source.getCreatedAt());
+        copy.setUpdatedAt(source.getUpdatedAt());
+    }
+}
@@ -0,0 +1,32 @@
+package com.increff.pos.cache;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+
+@Component
+public class CountCache {
+
+    private final BoundedCache<String, Long> cache;
+
+    @Autowired
+    private EntityVersionTracker versionTracker;
+
+    public CountCache(@Value("${app.cache.count.max-size:1000}") int maxSize,
+                      @Value("${app.cache.count.ttl-seconds:300}") long ttlSeconds) {
+        this.cache = new BoundedCache<>("count", maxSize, Duration.ofSeconds(ttlSeconds));
+    }
+
+    public Long getOrCount(String filterKey, List<Class<?>> sources, Supplier<Long> counter) {
+        String key = filterKey + "@" + versionTracker.snapshot(sources);
+        return cache.computeIfAbsent(key, k -> counter.get());
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+}
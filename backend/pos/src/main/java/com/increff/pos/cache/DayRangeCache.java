@@ -0,0 +1,81 @@
+package com.increff.pos.cache;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+public class DayRangeCache<K extends DayRangeCache.DayRange, V> {
+
+    private final BoundedCache<K, List<V>> closed;
+    private final BoundedCache<K, List<V>> open;
+    private final Clock clock;
+    private final AtomicLong generation = new AtomicLong();
+
+    public DayRangeCache(String name, int maxSize, Duration closedTtl, Duration openTtl, Clock clock) {
+        this.closed = new BoundedCache<>(name + ".closed", maxSize, closedTtl);
+        this.open = new BoundedCache<>(name + ".open", maxSize, openTtl);
+        this.clock = clock;
+    }
+
+    public List<V> get(K key, Supplier<List<V>> loader) {
+        BoundedCache<K, List<V>> target = isClosed(key) ? closed : open;
+        List<V> cached = target.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        long observed = generation.get();
+        List<V> loaded = List.copyOf(loader.get());
+        store(target, key, loaded, observed);
+        return loaded;
+    }
+
+    public void evictDay(LocalDate date) {
+        evictNow(date);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evictNow(date);
+                }
+            });
+        }
+    }
+
+    public List<CacheStats> stats() {
+        return List.of(closed.stats(), open.stats());
+    }
+
+    private boolean isClosed(K key) {
+        return key.lastDay().isBefore(LocalDate.now(clock));
+    }
+
+    private synchronized void evictNow(LocalDate date) {
+        generation.incrementAndGet();
+        closed.invalidateIf(key -> key.covers(date));
+        open.invalidateIf(key -> key.covers(date));
+    }
+
+    private synchronized void store(BoundedCache<K, List<V>> target, K key, List<V> value, long observed) {
+        if (generation.get() != observed) {
+            return;
+        }
+        target.put(key, value);
+    }
+
+    public interface DayRange {
+
+        LocalDate firstDay();
+
+        LocalDate lastDay();
+
+        default boolean covers(LocalDate date) {
+            return !date.isBefore(firstDay()) && !date.isAfter(lastDay());
+        }
+    }
+}
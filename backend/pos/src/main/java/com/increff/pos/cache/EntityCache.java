@@ -0,0 +1,126 @@
+package com.increff.pos.cache;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+public class EntityCache<T> {
+
+    private final BoundedCache<Integer, T> byId;
+    private final BoundedCache<String, Integer> idByKey;
+    private final Function<T, Integer> idOf;
+    private final Function<T, String> keyOf;
+    private final UnaryOperator<T> copier;
+    private final AtomicLong generation = new AtomicLong();
+
+    public EntityCache(String name, int maxSize, Duration ttl, Function<T, Integer> idOf, Function<T, String> keyOf,
+                       UnaryOperator<T> copier) {
+        this.byId = new BoundedCache<>(name + ".id", maxSize, ttl);
+        this.idByKey = new BoundedCache<>(name + ".key", maxSize, ttl);
+        this.idOf = idOf;
+        this.keyOf = keyOf;
+        this.copier = copier;
+    }
+
+    public Optional<T> getById(Integer id, Function<Integer, Optional<T>> loader) {
+        T cached = byId.get(id);
+        if (cached != null) {
+            return Optional.of(copier.apply(cached));
+        }
+        long observed = generation.get();
+        Optional<T> loaded = loader.apply(id);
+        loaded.ifPresent(entity -> store(entity, observed));
+        return loaded.map(copier);
+    }
+
+    public List<T> getByIds(List<Integer> ids, Function<List<Integer>, List<T>> loader) {
+        Map<Integer, T> found = new LinkedHashMap<>();
+        List<Integer> missing = new ArrayList<>();
+        for (Integer id : ids) {
+            T cached = byId.get(id);
+            if (cached != null) found.put(id, copier.apply(cached));
+            else missing.add(id);
+        }
+        if (missing.isEmpty()) {
+            return new ArrayList<>(found.values());
+        }
+
+        long observed = generation.get();
+        for (T entity : loader.apply(missing)) {
+            store(entity, observed);
+            found.put(idOf.apply(entity), copier.apply(entity));
+        }
+        return ids.stream().distinct().map(found::get).filter(Objects::nonNull).toList();
+    }
+
+    public Optional<T> getByKey(String key, Function<String, Optional<T>> loader) {
+        if (key == null) {
+            return loader.apply(null);
+        }
+        Integer id = idByKey.get(key);
+        if (id != null) {
+            T cached = byId.get(id);
+            if (cached != null && key.equals(keyOf.apply(cached))) {
+                return Optional.of(copier.apply(cached));
+            }
+            idByKey.invalidate(key);
+        }
+        long observed = generation.get();
+        Optional<T> loaded = loader.apply(key);
+        loaded.ifPresent(entity -> store(entity, observed));
+        return loaded.map(copier);
+    }
+
+    public void evict(Integer id, String... keys) {
+        evictNow(id, keys);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evictNow(id, keys);
+                }
+            });
+        }
+    }
+
+    public synchronized void evictAll() {
+        generation.incrementAndGet();
+        byId.invalidateAll();
+        idByKey.invalidateAll();
+    }
+
+    public List<CacheStats> stats() {
+        return List.of(byId.stats(), idByKey.stats());
+    }
+
+    private synchronized void evictNow(Integer id, String... keys) {
+        generation.incrementAndGet();
+        if (id != null) {
+            T cached = byId.peek(id);
+            if (cached != null) idByKey.invalidate(keyOf.apply(cached));
+            byId.invalidate(id);
+        }
+        for (String key : keys) {
+            if (key != null) idByKey.invalidate(key);
+        }
+    }
+
+    private synchronized void store(T entity, long observed) {
+        if (generation.get() != observed) {
+            return;
+        }
+        T snapshot = copier.apply(entity);
+        byId.put(idOf.apply(snapshot), snapshot);
+        idByKey.put(keyOf.apply(snapshot), idOf.apply(snapshot));
+    }
+}
@@ -0,0 +1,86 @@
+package com.increff.pos.cache;
+
+import com.increff.pos.entity.ProductEntity;
+import com.increff.pos.model.data.DaySalesData;
+import com.increff.pos.model.internal.SalesReportRow;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+@Component
+public class ReportCache {
+
+    private static final ZoneId IST = ZoneId.of("Asia/Kolkata");
+
+    private final EntityVersionTracker versionTracker;
+    private final DayRangeCache<SalesKey, SalesReportRow> sales;
+    private final DayRangeCache<DaySalesKey, DaySalesData> daySales;
+
+    @Autowired
+    public ReportCache(EntityVersionTracker versionTracker,
+                       @Value("${app.cache.report.max-size:200}") int maxSize,
+                       @Value("${app.cache.report.closed-ttl-seconds:86400}") long closedTtlSeconds,
+                       @Value("${app.cache.report.open-ttl-seconds:60}") long openTtlSeconds) {
+        this(versionTracker, maxSize, closedTtlSeconds, openTtlSeconds, Clock.system(IST));
+    }
+
+    ReportCache(EntityVersionTracker versionTracker, int maxSize, long closedTtlSeconds, long openTtlSeconds,
+                Clock clock) {
+        Duration closedTtl = Duration.ofSeconds(closedTtlSeconds);
+        Duration openTtl = Duration.ofSeconds(openTtlSeconds);
+        this.versionTracker = versionTracker;
+        this.sales = new DayRangeCache<>("report.sales", maxSize, closedTtl, openTtl, clock);
+        this.daySales = new DayRangeCache<>("report.daySales", maxSize, closedTtl, openTtl, clock);
+    }
+
+    public List<SalesReportRow> getSales(ZonedDateTime startDate, ZonedDateTime endDate, Integer clientId,
+                                         Supplier<List<SalesReportRow>> loader) {
+        SalesKey key = new SalesKey(istDay(startDate, LocalDate.MIN), istDay(endDate, LocalDate.MAX),
+                instant(startDate), instant(endDate), clientId, versionTracker.version(ProductEntity.class));
+        return sales.get(key, loader);
+    }
+
+    public List<DaySalesData> getDaySales(LocalDate startDate, LocalDate endDate,
+                                          Supplier<List<DaySalesData>> loader) {
+        DaySalesKey key = new DaySalesKey(Objects.requireNonNullElse(startDate, LocalDate.MIN),
+                Objects.requireNonNullElse(endDate, LocalDate.MAX));
+        return daySales.get(key, loader);
+    }
+
+    public void evictDay(LocalDate date) {
+        sales.evictDay(date);
+        daySales.evictDay(date);
+    }
+
+    public List<CacheStats> stats() {
+        List<CacheStats> stats = new ArrayList<>(sales.stats());
+        stats.addAll(daySales.stats());
+        return stats;
+    }
+
+    private static LocalDate istDay(ZonedDateTime dateTime, LocalDate unbounded) {
+        return dateTime == null ? unbounded : dateTime.withZoneSameInstant(IST).toLocalDate();
+    }
+
+    private static Instant instant(ZonedDateTime dateTime) {
+        return dateTime == null ? null : dateTime.toInstant();
+    }
+
+    private record SalesKey(LocalDate firstDay, LocalDate lastDay, Instant start, Instant end, Integer clientId,
+                            long productVersion) implements DayRangeCache.DayRange {
+    }
+
+    private record DaySalesKey(LocalDate firstDay, LocalDate lastDay) implements DayRangeCache.DayRange {
+    }
+}
@@ -0,0 +1,23 @@
+package com.increff.pos.controller;
+
+import com.increff.pos.dto.CacheDto;
+import com.increff.pos.model.data.CacheStatsData;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/cache")
+public class CacheController {
+
+    @Autowired
+    private CacheDto cacheDto;
+
+    @GetMapping("/stats")
+    public List<CacheStatsData> getStats() {
+        return cacheDto.getStats();
+    }
+}
@@ -1,12 +1,15 @@
 package com.increff.pos.controller;
 
 import com.increff.pos.dto.InventoryDto;
+import com.increff.pos.dto.UploadJobDto;
 import com.increff.pos.model.data.InventoryData;
 import com.increff.pos.model.data.PagedResponse;
+import com.increff.pos.model.data.UploadJobData;
 import com.increff.pos.model.form.InventoryForm;
 import com.increff.pos.model.form.InventorySearchForm;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -19,6 +22,9 @@ public class InventoryController {
     @Autowired
     private InventoryDto inventoryDto;
 
+    @Autowired
+    private UploadJobDto uploadJobDto;
+
     @GetMapping
     public List<InventoryData> getAll() {
         return inventoryDto.getAll();
@@ -39,4 +45,9 @@ public class InventoryController {
         inventoryDto.uploadTsv(file);
     }
 
+    @PostMapping("/upload/tsv/jobs")
+    public ResponseEntity<UploadJobData> submitInventoryUploadJob(@RequestParam("file") MultipartFile file) {
+        return ResponseEntity.accepted().body(uploadJobDto.submitInventoryUpload(file));
+    }
+
 }
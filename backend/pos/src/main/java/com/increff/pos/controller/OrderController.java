@@ -1,9 +1,12 @@
 package com.increff.pos.controller;
 
 import com.increff.pos.dto.OrderDto;
-import com.increff.pos.model.data.InvoiceSummaryData;
+import com.increff.pos.idempotency.IdempotencyStore;
+import com.increff.pos.model.data.InvoiceJobData;
+import com.increff.pos.model.data.OrderBatchData;
 import com.increff.pos.model.data.OrderData;
 import com.increff.pos.model.data.OrderItemData;
+import com.increff.pos.model.form.OrderBatchForm;
 import com.increff.pos.model.form.OrderForm;
 import com.increff.pos.model.form.OrderPageForm;
 import com.increff.pos.model.data.OrderPageData;
@@ -32,8 +35,14 @@ public class OrderController {
     }
 
     @PostMapping
-    public OrderData create(@RequestBody @Valid OrderForm form) {
-        return orderDto.create(form);
+    public OrderData create(@RequestBody @Valid OrderForm form,
+                            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        return orderDto.create(form, idempotencyKey);
+    }
+
+    @PostMapping("/batch")
+    public OrderBatchData createBatch(@RequestBody @Valid OrderBatchForm form) {
+        return orderDto.createBatch(form);
     }
 
     @PostMapping("/{id}/cancel")
@@ -43,8 +52,14 @@ public class OrderController {
     }
 
     @PostMapping("/{id}/invoice")
-    public InvoiceSummaryData generateInvoice(@PathVariable Integer id) {
-        return orderDto.generateInvoice(id);
+    public ResponseEntity<InvoiceJobData> generateInvoice(@PathVariable Integer id,
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        return ResponseEntity.accepted().body(orderDto.generateInvoice(id, idempotencyKey));
+    }
+
+    @GetMapping("/invoice-jobs/{jobId}")
+    public InvoiceJobData getInvoiceJob(@PathVariable Integer jobId) {
+        return orderDto.getInvoiceJob(jobId);
     }
 
     @GetMapping("/{id}/invoice/download")
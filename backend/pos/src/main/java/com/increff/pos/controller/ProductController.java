@@ -1,12 +1,15 @@
 package com.increff.pos.controller;
 
 import com.increff.pos.dto.ProductDto;
+import com.increff.pos.dto.UploadJobDto;
 import com.increff.pos.model.data.PagedResponse;
 import com.increff.pos.model.data.ProductData;
+import com.increff.pos.model.data.UploadJobData;
 import com.increff.pos.model.form.ProductForm;
 import com.increff.pos.model.form.ProductSearchForm;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -19,6 +22,9 @@ public class ProductController {
     @Autowired
     private ProductDto productDto;
 
+    @Autowired
+    private UploadJobDto uploadJobDto;
+
     @GetMapping
     public List<ProductData> getAll() {
         return productDto.getAll();
@@ -39,6 +45,11 @@ public class ProductController {
         productDto.uploadProductsTsv(file);
     }
 
+    @PostMapping("/upload/tsv/jobs")
+    public ResponseEntity<UploadJobData> submitProductUploadJob(@RequestParam("file") MultipartFile file) {
+        return ResponseEntity.accepted().body(uploadJobDto.submitProductUpload(file));
+    }
+
     @PutMapping("/{id}")
     public ProductData update(@PathVariable Integer id, @Valid @RequestBody ProductForm productForm) {
         return productDto.updateProduct(id, productForm);
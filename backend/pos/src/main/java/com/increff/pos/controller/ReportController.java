@@ -1,24 +1,30 @@
 package com.increff.pos.controller;
 
 import com.increff.pos.dto.ReportDto;
-import com.increff.pos.model.data.DaySalesData;
+import com.increff.pos.export.ExportFormat;
+import com.increff.pos.model.data.DaySalesBackfillData;
 import com.increff.pos.model.data.DaySalesPageData;
+import com.increff.pos.model.data.ReportJobData;
+import com.increff.pos.model.data.SalesAnalyticsData;
 import com.increff.pos.model.data.SalesReportPageData;
-import com.increff.pos.model.data.SalesReportRowData;
+import com.increff.pos.model.data.SalesRollupData;
+import com.increff.pos.model.data.TodaySalesData;
+import com.increff.pos.model.form.DaySalesBackfillForm;
 import com.increff.pos.model.form.DaySalesReportForm;
+import com.increff.pos.model.form.SalesAnalyticsForm;
 import com.increff.pos.model.form.SalesReportForm;
-import com.increff.pos.util.CsvExportUtil;
+import com.increff.pos.model.form.SalesRollupBackfillForm;
+import com.increff.pos.model.domain.ReportJobType;
+import com.increff.pos.model.internal.ReportJobDownload;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.io.IOException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.List;
 
 @RestController
 @RequestMapping("/reports")
@@ -36,14 +42,37 @@ public class ReportController {
     }
 
     @PostMapping("/sales/export")
-    public ResponseEntity<byte[]> exportSalesReport(@RequestBody @Valid SalesReportForm form) throws IOException {
+    public ResponseEntity<StreamingResponseBody> exportSalesReport(@RequestBody @Valid SalesReportForm form,
+            @RequestParam(required = false) String format, @RequestParam(defaultValue = "false") boolean gzip,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        ExportFormat exportFormat = ExportFormat.resolve(format, accept);
+        return buildExportResponse(reportDto.exportSalesReport(form, exportFormat, gzip), exportFormat, gzip,
+                "sales-report");
+    }
+
+    @PostMapping("/sales/rollup/backfill")
+    public SalesRollupData backfillSalesRollup(@RequestBody @Valid SalesRollupBackfillForm form) {
+        return reportDto.backfillSalesRollup(form);
+    }
 
-        List<SalesReportRowData> rows = reportDto.getAllSalesReportForExport(form);
-        byte[] csvData = CsvExportUtil.exportSalesReportToCsv(rows);
+    @PostMapping("/analytics")
+    public SalesAnalyticsData getSalesAnalytics(@RequestBody @Valid SalesAnalyticsForm form) {
+        return reportDto.getSalesAnalytics(form);
+    }
 
-        String filename = buildFilename("sales-report");
+    @GetMapping("/sales/today")
+    public TodaySalesData getTodaySales(@RequestParam(required = false) Integer clientId) {
+        return reportDto.getTodaySales(clientId);
+    }
+
+    @PostMapping("/day-sales/backfill")
+    public ResponseEntity<DaySalesBackfillData> backfillDaySales(@RequestBody @Valid DaySalesBackfillForm form) {
+        return ResponseEntity.accepted().body(reportDto.backfillDaySales(form));
+    }
 
-        return buildCsvResponse(csvData, filename);
+    @GetMapping("/day-sales/backfill")
+    public DaySalesBackfillData getDaySalesBackfill() {
+        return reportDto.getDaySalesBackfill();
     }
 
     @PostMapping("/day-sales")
@@ -52,27 +81,59 @@ public class ReportController {
     }
 
     @PostMapping("/day-sales/export")
-    public ResponseEntity<byte[]> exportDaySalesReport(@RequestBody @Valid DaySalesReportForm form) throws IOException {
+    public ResponseEntity<StreamingResponseBody> exportDaySalesReport(@RequestBody @Valid DaySalesReportForm form,
+            @RequestParam(required = false) String format, @RequestParam(defaultValue = "false") boolean gzip,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        ExportFormat exportFormat = ExportFormat.resolve(format, accept);
+        return buildExportResponse(reportDto.exportDaySales(form, exportFormat, gzip), exportFormat, gzip,
+                "day-sales-report");
+    }
+
+    @PostMapping("/jobs/sales")
+    public ResponseEntity<ReportJobData> submitSalesReportJob(@RequestBody @Valid SalesReportForm form,
+            @RequestParam(required = false) String format, @RequestParam(defaultValue = "false") boolean gzip,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        return ResponseEntity.accepted().body(reportDto.submitSalesReportJob(form, ExportFormat.resolve(format,
+                accept), gzip));
+    }
 
-        List<DaySalesData> rows = reportDto.getAllDaySalesForExport(form);
-        byte[] csvData = CsvExportUtil.exportDaySalesReportToCsv(rows);
+    @PostMapping("/jobs/day-sales")
+    public ResponseEntity<ReportJobData> submitDaySalesReportJob(@RequestBody @Valid DaySalesReportForm form,
+            @RequestParam(required = false) String format, @RequestParam(defaultValue = "false") boolean gzip,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        return ResponseEntity.accepted().body(reportDto.submitDaySalesReportJob(form, ExportFormat.resolve(format,
+                accept), gzip));
+    }
 
-        String filename = buildFilename("day-sales-report");
+    @GetMapping("/jobs/{jobId}")
+    public ReportJobData getReportJob(@PathVariable Integer jobId) {
+        return reportDto.getReportJob(jobId);
+    }
+
+    @PostMapping("/jobs/{jobId}/cancel")
+    public ReportJobData cancelReportJob(@PathVariable Integer jobId) {
+        return reportDto.cancelReportJob(jobId);
+    }
 
-        return buildCsvResponse(csvData, filename);
+    @GetMapping("/jobs/{jobId}/download")
+    public ResponseEntity<StreamingResponseBody> downloadReportJob(@PathVariable Integer jobId) {
+        ReportJobDownload download = reportDto.downloadReportJob(jobId);
+        return buildExportResponse(download.body(), download.format(), download.gzip(),
+                download.type() == ReportJobType.SALES ? "sales-report" : "day-sales-report");
     }
 
-    private ResponseEntity<byte[]> buildCsvResponse(byte[] data, String filename) {
+    private ResponseEntity<StreamingResponseBody> buildExportResponse(StreamingResponseBody body, ExportFormat format,
+                                                                     boolean gzip, String prefix) {
 
         HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.parseMediaType("text/csv"));
-        headers.setContentDispositionFormData("attachment", filename);
-        headers.setContentLength(data.length);
+        headers.setContentType(gzip ? ExportFormat.GZIP : format.mediaType());
+        headers.setContentDispositionFormData("attachment", buildFilename(prefix, format, gzip));
 
-        return new ResponseEntity<>(data, headers, HttpStatus.OK);
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
     }
 
-    private String buildFilename(String prefix) {
-        return prefix + "-" + LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd")) + ".csv";
+    private String buildFilename(String prefix, ExportFormat format, boolean gzip) {
+        return prefix + "-" + LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd")) + "."
+                + format.extension() + (gzip ? ".gz" : "");
     }
 }
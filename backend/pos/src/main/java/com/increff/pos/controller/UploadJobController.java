@@ -0,0 +1,46 @@
+package com.increff.pos.controller;
+
+import com.increff.pos.dto.UploadJobDto;
+import com.increff.pos.model.data.UploadJobData;
+import com.increff.pos.model.internal.UploadJobErrorExport;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/upload-jobs")
+public class UploadJobController {
+
+    @Autowired
+    private UploadJobDto uploadJobDto;
+
+    @GetMapping("/{jobId}")
+    public UploadJobData getUploadJob(@PathVariable Integer jobId) {
+        return uploadJobDto.getUploadJob(jobId);
+    }
+
+    @PostMapping("/{jobId}/cancel")
+    public UploadJobData cancelUploadJob(@PathVariable Integer jobId) {
+        return uploadJobDto.cancelUploadJob(jobId);
+    }
+
+    @PostMapping("/{jobId}/resume")
+    public ResponseEntity<UploadJobData> resumeUploadJob(@PathVariable Integer jobId) {
+        return ResponseEntity.accepted().body(uploadJobDto.resumeUploadJob(jobId));
+    }
+
+    @GetMapping("/{jobId}/errors")
+    public ResponseEntity<byte[]> downloadUploadJobErrors(@PathVariable Integer jobId) {
+        UploadJobErrorExport export = uploadJobDto.exportUploadJobErrors(jobId);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType("text/tab-separated-values"));
+        headers.setContentDispositionFormData("attachment", export.filename());
+        headers.setContentLength(export.body().length);
+
+        return new ResponseEntity<>(export.body(), headers, HttpStatus.OK);
+    }
+}
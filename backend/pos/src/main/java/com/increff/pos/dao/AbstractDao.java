@@ -1,22 +1,51 @@
 package com.increff.pos.dao;
 
+import com.increff.pos.cache.CountCache;
+import com.increff.pos.cache.EntityVersionTracker;
+import com.increff.pos.entity.AbstractEntity;
+import com.increff.pos.model.domain.PaginationMode;
+import com.increff.pos.model.internal.KeysetPage;
+import com.increff.pos.model.internal.PageCursor;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
-public abstract class AbstractDao<T> {
+public abstract class AbstractDao<T extends AbstractEntity> {
 
     @PersistenceContext
     protected EntityManager em;
 
+    @Autowired
+    protected CountCache countCache;
+
+    @Autowired
+    protected QueryRegistry queryRegistry;
+
+    @Autowired
+    protected EntityVersionTracker versionTracker;
+
     private final Class<T> entityClass;
 
     protected AbstractDao(Class<T> entityClass) {
@@ -73,8 +102,25 @@ public abstract class AbstractDao<T> {
         return em.createQuery(cq).getResultList();
     }
 
-    protected Page<T> executePagedQuery(CriteriaQuery<T> dataQuery, CriteriaQuery<Long> countQuery, Pageable pageable) {
-        List<T> data = em.createQuery(dataQuery).setFirstResult((int) pageable.getOffset())
+    // One conditional UPDATE, so a row that was written after the cutoff (a job another node is still running) is
+    // left alone. Bulk updates skip @PreUpdate and @Version, so both are bumped here.
+    protected <S extends Enum<S>> int updateStatusIfUpdatedBefore(S from, S to, ZonedDateTime cutoff) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaUpdate<T> cu = cb.createCriteriaUpdate(entityClass);
+        Root<T> root = cu.from(entityClass);
+        Path<Long> version = root.get("version");
+
+        cu.set(root.<S>get("status"), to)
+                .set(root.<ZonedDateTime>get("updatedAt"), ZonedDateTime.now(ZoneId.of("UTC")))
+                .set(version, cb.sum(version, 1L))
+                .where(cb.equal(root.get("status"), from), cb.lessThan(root.get("updatedAt"), cutoff));
+
+        return em.createQuery(cu).executeUpdate();
+    }
+
+    protected <R> Page<R> executePagedQuery(CriteriaQuery<R> dataQuery, CriteriaQuery<Long> countQuery,
+                                            Pageable pageable) {
+        List<R> data = em.createQuery(dataQuery).setFirstResult((int) pageable.getOffset())
                 .setMaxResults(pageable.getPageSize()).getResultList();
 
         Long total = em.createQuery(countQuery).getSingleResult();
@@ -82,5 +128,97 @@ public abstract class AbstractDao<T> {
         return new PageImpl<>(data, pageable, total);
     }
 
+    protected <R> Slice<R> executePagedQuery(CriteriaQuery<R> dataQuery, CriteriaQuery<Long> countQuery,
+                                             Pageable pageable, PaginationMode mode, String filterKey,
+                                             List<Class<?>> sources) {
+        if (mode == PaginationMode.HAS_NEXT) {
+            return executeSliceQuery(dataQuery, pageable);
+        }
+        if (mode != PaginationMode.CACHED_COUNT) {
+            return executePagedQuery(dataQuery, countQuery, pageable);
+        }
+
+        List<R> data = em.createQuery(dataQuery).setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize()).getResultList();
+
+        Long total = countCache.getOrCount(filterKey, sources, () -> em.createQuery(countQuery).getSingleResult());
+
+        return new PageImpl<>(data, pageable, total);
+    }
+
+    protected <R> Slice<R> executeSliceQuery(CriteriaQuery<R> dataQuery, Pageable pageable) {
+        List<R> data = new ArrayList<>(em.createQuery(dataQuery).setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1).getResultList());
+
+        boolean hasNext = data.size() > pageable.getPageSize();
+        if (hasNext) {
+            data.removeLast();
+        }
+
+        return new SliceImpl<>(data, pageable, hasNext);
+    }
+
+    protected KeysetPage<T> executeKeysetQuery(CriteriaQuery<T> cq, Root<T> root, List<Predicate> predicates,
+                                               PageCursor cursor, int pageSize) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        boolean backward = Objects.nonNull(cursor) && cursor.backward();
+
+        List<Predicate> where = new ArrayList<>(predicates);
+        if (Objects.nonNull(cursor)) {
+            where.add(buildSeekPredicate(cb, root, cursor));
+        }
+
+        cq.select(root).where(where.toArray(new Predicate[0])).orderBy(buildKeysetOrder(cb, root, backward));
+
+        List<T> rows = new ArrayList<>(em.createQuery(cq).setMaxResults(pageSize + 1).getResultList());
+        boolean hasMore = rows.size() > pageSize;
+        if (hasMore) {
+            rows.removeLast();
+        }
+        if (backward) {
+            Collections.reverse(rows);
+        }
+        if (rows.isEmpty()) {
+            return new KeysetPage<>(rows, null, null);
+        }
+
+        boolean hasNext = backward || hasMore;
+        boolean hasPrev = backward ? hasMore : Objects.nonNull(cursor);
+
+        PageCursor next = hasNext ? toCursor(rows.getLast(), false) : null;
+        PageCursor prev = hasPrev ? toCursor(rows.getFirst(), true) : null;
+
+        return new KeysetPage<>(rows, next, prev);
+    }
+
+    protected List<Order> buildKeysetOrder(CriteriaBuilder cb, Root<T> root, boolean ascending) {
+        if (ascending) {
+            return List.of(cb.asc(root.get("createdAt")), cb.asc(root.get("id")));
+        }
+        return List.of(cb.desc(root.get("createdAt")), cb.desc(root.get("id")));
+    }
+
+    private Predicate buildSeekPredicate(CriteriaBuilder cb, Root<T> root, PageCursor cursor) {
+        Path<ZonedDateTime> createdAt = root.get("createdAt");
+        Path<Integer> id = root.get("id");
+
+        if (cursor.backward()) {
+            return cb.or(cb.greaterThan(createdAt, cursor.createdAt()),
+                    cb.and(cb.equal(createdAt, cursor.createdAt()), cb.greaterThan(id, cursor.id())));
+        }
+        return cb.or(cb.lessThan(createdAt, cursor.createdAt()),
+                cb.and(cb.equal(createdAt, cursor.createdAt()), cb.lessThan(id, cursor.id())));
+    }
+
+    private PageCursor toCursor(T entity, boolean backward) {
+        Integer id = (Integer) em.getEntityManagerFactory().getPersistenceUnitUtil().getIdentifier(entity);
+        return new PageCursor(entity.getCreatedAt(), id, backward);
+    }
+
+    protected boolean isMySql() {
+        return em.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class).getJdbcServices()
+                .getDialect() instanceof MySQLDialect;
+    }
+
     protected abstract boolean isNew(T entity);
 }
@@ -1,12 +1,17 @@
 package com.increff.pos.dao;
 
+import com.increff.pos.cache.CatalogCache;
 import com.increff.pos.entity.ClientEntity;
+import com.increff.pos.model.domain.PaginationMode;
+import com.increff.pos.model.internal.KeysetPage;
+import com.increff.pos.model.internal.PageCursor;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
-import org.springframework.data.domain.Page;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Repository;
 
 import java.util.ArrayList;
@@ -16,6 +21,9 @@ import java.util.Optional;
 @Repository
 public class ClientDao extends AbstractDao<ClientEntity> {
 
+    @Autowired
+    private CatalogCache catalogCache;
+
     public ClientDao() {
         super(ClientEntity.class);
     }
@@ -25,6 +33,20 @@ public class ClientDao extends AbstractDao<ClientEntity> {
         return entity.getId() == null;
     }
 
+    @Override
+    public ClientEntity save(ClientEntity entity) {
+        catalogCache.clients().evict(entity.getId(), entity.getClientName());
+        return super.save(entity);
+    }
+
+    public Optional<ClientEntity> selectCachedById(Integer id) {
+        return catalogCache.clients().getById(id, this::selectById);
+    }
+
+    public Optional<ClientEntity> selectCachedByClientName(String clientName) {
+        return catalogCache.clients().getByKey(clientName, this::selectByClientName);
+    }
+
     public List<ClientEntity> selectAll() {
         CriteriaBuilder cb = em.getCriteriaBuilder();
         CriteriaQuery<ClientEntity> cq = cb.createQuery(ClientEntity.class);
@@ -33,31 +55,43 @@ public class ClientDao extends AbstractDao<ClientEntity> {
         return em.createQuery(cq).getResultList();
     }
 
-    public Page<ClientEntity> selectByFilters(String clientName, Boolean enabled, Pageable pageable) {
+    public Slice<ClientEntity> selectByFilters(String clientName, Boolean enabled, Pageable pageable,
+                                               PaginationMode mode) {
         CriteriaBuilder cb = em.getCriteriaBuilder();
         CriteriaQuery<ClientEntity> dataQuery = buildSelectQuery(cb, clientName, enabled);
         CriteriaQuery<Long> countQuery = buildCountQuery(cb, clientName, enabled);
-        return executePagedQuery(dataQuery, countQuery, pageable);
+        String filterKey = "client|" + clientName + "|" + enabled;
+        return executePagedQuery(dataQuery, countQuery, pageable, mode, filterKey, List.of(ClientEntity.class));
     }
 
-    public List<Integer> selectIdsByIdInAndEnabled(List<Integer> ids, Boolean enabled) {
-        if (ids == null || ids.isEmpty()) return List.of();
+    public KeysetPage<ClientEntity> selectKeysetByFilters(String clientName, Boolean enabled, PageCursor cursor,
+                                                          int pageSize) {
         CriteriaBuilder cb = em.getCriteriaBuilder();
-        CriteriaQuery<Integer> cq = cb.createQuery(Integer.class);
+        CriteriaQuery<ClientEntity> cq = cb.createQuery(ClientEntity.class);
         Root<ClientEntity> root = cq.from(ClientEntity.class);
-        List<Predicate> predicates = new ArrayList<>();
-        predicates.add(root.get("id").in(ids));
-        if (enabled != null) predicates.add(cb.equal(root.get("enabled"), enabled));
-        cq.select(root.get("id")).where(predicates.toArray(new Predicate[0]));
-        return em.createQuery(cq).getResultList();
+        List<Predicate> predicates = buildPredicates(cb, root, clientName, enabled);
+        return executeKeysetQuery(cq, root, predicates, cursor, pageSize);
+    }
+
+    public List<Integer> selectIdsByIdInAndEnabled(List<Integer> ids, Boolean enabled) {
+        if (ids == null || ids.isEmpty()) return List.of();
+        if (enabled == null) {
+            return queryRegistry.create(em, QueryRegistry.CLIENT_IDS_BY_IDS, Integer.class)
+                    .setParameter("ids", ids).getResultList();
+        }
+        return queryRegistry.create(em, QueryRegistry.CLIENT_IDS_BY_IDS_AND_ENABLED, Integer.class)
+                .setParameter("ids", ids).setParameter("enabled", enabled).getResultList();
+    }
+
+    public List<ClientEntity> selectByClientNames(List<String> clientNames) {
+        if (clientNames == null || clientNames.isEmpty()) return List.of();
+        return queryRegistry.create(em, QueryRegistry.CLIENTS_BY_NAMES, ClientEntity.class)
+                .setParameter("clientNames", clientNames).getResultList();
     }
 
     public Optional<ClientEntity> selectByClientName(String clientName) {
-        CriteriaBuilder cb = em.getCriteriaBuilder();
-        CriteriaQuery<ClientEntity> cq = cb.createQuery(ClientEntity.class);
-        Root<ClientEntity> root = cq.from(ClientEntity.class);
-        cq.select(root).where(cb.equal(root.get("field2"), clientName));
-        return em.createQuery(cq).getResultList().stream().findFirst();
+        return queryRegistry.create(em, QueryRegistry.CLIENT_BY_NAME, ClientEntity.class)
+                .setParameter("clientName", clientName).getResultList().stream().findFirst();
     }
 
     public Optional<ClientEntity> selectByClientNameExcludingId(String clientName, Integer clientId) {
@@ -75,7 +109,7 @@ public class ClientDao extends AbstractDao<ClientEntity> {
         CriteriaQuery<ClientEntity> cq = cb.createQuery(ClientEntity.class);
         Root<ClientEntity> root = cq.from(ClientEntity.class);
         List<Predicate> predicates = buildPredicates(cb, root, clientName, enabled);
-        cq.select(root).where(predicates.toArray(new Predicate[0]));
+        cq.select(root).where(predicates.toArray(new Predicate[0])).orderBy(buildKeysetOrder(cb, root, false));
         return cq;
     }
 
@@ -1,24 +1,68 @@
 package com.increff.pos.dao;
 
 import com.increff.pos.entity.DaySalesEntity;
+import com.increff.pos.idgen.IdAllocator;
+import com.increff.pos.model.data.DaySalesData;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
 import jakarta.persistence.criteria.*;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public class DaySalesDao extends AbstractDao<DaySalesEntity>{
 
+    private static final String MYSQL_INCREMENT_SQL = "INSERT INTO pos_day_sales (id, date, invoiced_orders_count, "
+            + "invoiced_items_count, total_revenue, version, created_at, updated_at) VALUES (?, ?, ?, ?, ?, 0, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE invoiced_orders_count = invoiced_orders_count + VALUES(invoiced_orders_count), "
+            + "invoiced_items_count = invoiced_items_count + VALUES(invoiced_items_count), "
+            + "total_revenue = total_revenue + VALUES(total_revenue), version = version + 1, "
+            + "updated_at = VALUES(updated_at)";
+
+    private static final String H2_INCREMENT_SQL = "MERGE INTO pos_day_sales t USING (SELECT CAST(? AS INTEGER) AS id, "
+            + "CAST(? AS DATE) AS sale_date, CAST(? AS INTEGER) AS orders, CAST(? AS INTEGER) AS items, "
+            + "CAST(? AS DECIMAL(15, 2)) AS revenue, CAST(? AS TIMESTAMP(6) WITH TIME ZONE) AS ts) s "
+            + "ON t.date = s.sale_date "
+            + "WHEN MATCHED THEN UPDATE SET invoiced_orders_count = t.invoiced_orders_count + s.orders, "
+            + "invoiced_items_count = t.invoiced_items_count + s.items, total_revenue = t.total_revenue + s.revenue, "
+            + "version = t.version + 1, updated_at = s.ts "
+            + "WHEN NOT MATCHED THEN INSERT (id, date, invoiced_orders_count, invoiced_items_count, total_revenue, "
+            + "version, created_at, updated_at) VALUES (s.id, s.sale_date, s.orders, s.items, s.revenue, 0, s.ts, s.ts)";
+
+    private static final String MYSQL_UPSERT_SQL = "INSERT INTO pos_day_sales (id, date, invoiced_orders_count, "
+            + "invoiced_items_count, total_revenue, version, created_at, updated_at) VALUES (?, ?, ?, ?, ?, 0, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE invoiced_orders_count = VALUES(invoiced_orders_count), "
+            + "invoiced_items_count = VALUES(invoiced_items_count), total_revenue = VALUES(total_revenue), "
+            + "version = version + 1, updated_at = VALUES(updated_at)";
+
+    private static final String H2_UPSERT_SQL = "MERGE INTO pos_day_sales t USING (SELECT CAST(? AS INTEGER) AS id, "
+            + "CAST(? AS DATE) AS sale_date, CAST(? AS INTEGER) AS orders, CAST(? AS INTEGER) AS items, "
+            + "CAST(? AS DECIMAL(15, 2)) AS revenue, CAST(? AS TIMESTAMP(6) WITH TIME ZONE) AS ts) s "
+            + "ON t.date = s.sale_date "
+            + "WHEN MATCHED THEN UPDATE SET invoiced_orders_count = s.orders, invoiced_items_count = s.items, "
+            + "total_revenue = s.revenue, version = t.version + 1, updated_at = s.ts "
+            + "WHEN NOT MATCHED THEN INSERT (id, date, invoiced_orders_count, invoiced_items_count, total_revenue, "
+            + "version, created_at, updated_at) VALUES (s.id, s.sale_date, s.orders, s.items, s.revenue, 0, s.ts, s.ts)";
+
     @PersistenceContext
     private EntityManager em;
 
+    @Autowired
+    private IdAllocator idAllocator;
+
     public DaySalesDao() {
         super(DaySalesEntity.class);
     }
@@ -38,6 +82,52 @@ public class DaySalesDao extends AbstractDao<DaySalesEntity>{
         return em.createQuery(cq).getResultList().stream().findFirst();
     }
 
+    public Optional<DaySalesEntity> selectByDateForUpdate(LocalDate date) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<DaySalesEntity> cq = cb.createQuery(DaySalesEntity.class);
+        Root<DaySalesEntity> root = cq.from(DaySalesEntity.class);
+
+        cq.select(root).where(cb.equal(root.get("date"), date));
+
+        return em.createQuery(cq).setLockMode(LockModeType.PESSIMISTIC_WRITE).getResultList().stream().findFirst();
+    }
+
+    public void increment(LocalDate date, int ordersCount, int itemsCount, BigDecimal revenue) {
+        write(MYSQL_INCREMENT_SQL, H2_INCREMENT_SQL, date, ordersCount, itemsCount, revenue);
+    }
+
+    public void upsert(LocalDate date, int ordersCount, int itemsCount, BigDecimal revenue) {
+        write(MYSQL_UPSERT_SQL, H2_UPSERT_SQL, date, ordersCount, itemsCount, revenue);
+    }
+
+    public Optional<LocalDate> selectLatestDateBefore(LocalDate date) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<LocalDate> cq = cb.createQuery(LocalDate.class);
+        Root<DaySalesEntity> root = cq.from(DaySalesEntity.class);
+
+        cq.select(cb.greatest(root.<LocalDate>get("date"))).where(cb.lessThan(root.get("date"), date));
+
+        return Optional.ofNullable(em.createQuery(cq).getSingleResult());
+    }
+
+    private void write(String mySqlStatement, String h2Statement, LocalDate date, int ordersCount, int itemsCount,
+                       BigDecimal revenue) {
+        boolean mySql = isMySql();
+        ZonedDateTime now = ZonedDateTime.now(ZoneId.of("UTC"));
+
+        Query query = em.createNativeQuery(mySql ? mySqlStatement : h2Statement);
+        query.setParameter(1, Math.toIntExact(idAllocator.next("day_sales_id")));
+        query.setParameter(2, date);
+        query.setParameter(3, ordersCount);
+        query.setParameter(4, itemsCount);
+        query.setParameter(5, revenue);
+        query.setParameter(6, now);
+        if (mySql) query.setParameter(7, now);
+        query.executeUpdate();
+
+        versionTracker.bumpAfterBulkWrite(DaySalesEntity.class);
+    }
+
     public Page<DaySalesEntity> selectByDateRange(LocalDate startDate, LocalDate endDate, Pageable pageable) {
         CriteriaBuilder cb = em.getCriteriaBuilder();
 
@@ -54,6 +144,20 @@ public class DaySalesDao extends AbstractDao<DaySalesEntity>{
         return em.createQuery(cq).getResultList();
     }
 
+    public Stream<DaySalesData> streamDataByDateRange(LocalDate startDate, LocalDate endDate) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<DaySalesData> cq = cb.createQuery(DaySalesData.class);
+        Root<DaySalesEntity> root = cq.from(DaySalesEntity.class);
+
+        List<Predicate> predicates = buildDatePredicates(cb, root, startDate, endDate);
+
+        cq.select(cb.construct(DaySalesData.class, root.get("date"), root.get("invoicedOrdersCount"),
+                        root.get("invoicedItemsCount"), root.get("totalRevenue")))
+                .where(predicates.toArray(new Predicate[0])).orderBy(cb.desc(root.get("date")));
+
+        return StreamingQuery.stream(em, cq);
+    }
+
     private CriteriaQuery<DaySalesEntity> buildDateRangeQuery(CriteriaBuilder cb, LocalDate startDate,
                                                               LocalDate endDate) {
 
@@ -0,0 +1,97 @@
+package com.increff.pos.dao;
+
+import com.increff.pos.entity.HourSalesEntity;
+import com.increff.pos.idgen.IdAllocator;
+import jakarta.persistence.Query;
+import jakarta.persistence.criteria.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+@Repository
+public class HourSalesDao extends AbstractDao<HourSalesEntity> {
+
+    private static final String MYSQL_INCREMENT_SQL = "INSERT INTO pos_hour_sales (id, date, sale_hour, client_id, "
+            + "invoiced_orders_count, invoiced_items_count, total_revenue, version, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, 0, %1$s, %1$s) "
+            + "ON DUPLICATE KEY UPDATE invoiced_orders_count = invoiced_orders_count + VALUES(invoiced_orders_count), "
+            + "invoiced_items_count = invoiced_items_count + VALUES(invoiced_items_count), "
+            + "total_revenue = total_revenue + VALUES(total_revenue), version = version + 1, "
+            + "updated_at = VALUES(updated_at)";
+
+    private static final String H2_INCREMENT_SQL = "MERGE INTO pos_hour_sales t USING (SELECT "
+            + "CAST(? AS INTEGER) AS id, CAST(? AS DATE) AS sale_date, CAST(? AS INTEGER) AS sale_hour, "
+            + "CAST(? AS INTEGER) AS client_id, CAST(? AS INTEGER) AS orders, CAST(? AS INTEGER) AS items, "
+            + "CAST(? AS DECIMAL(15, 2)) AS revenue) s "
+            + "ON t.date = s.sale_date AND t.sale_hour = s.sale_hour AND t.client_id = s.client_id "
+            + "WHEN MATCHED THEN UPDATE SET invoiced_orders_count = t.invoiced_orders_count + s.orders, "
+            + "invoiced_items_count = t.invoiced_items_count + s.items, total_revenue = t.total_revenue + s.revenue, "
+            + "version = t.version + 1, updated_at = %1$s "
+            + "WHEN NOT MATCHED THEN INSERT (id, date, sale_hour, client_id, invoiced_orders_count, "
+            + "invoiced_items_count, total_revenue, version, created_at, updated_at) VALUES (s.id, s.sale_date, "
+            + "s.sale_hour, s.client_id, s.orders, s.items, s.revenue, 0, %1$s, %1$s)";
+
+    @Autowired
+    private IdAllocator idAllocator;
+
+    public HourSalesDao() {
+        super(HourSalesEntity.class);
+    }
+
+    @Override
+    protected boolean isNew(HourSalesEntity entity) {
+        return entity.getId() == null;
+    }
+
+    public void increment(LocalDate date, int hour, Integer clientId, int ordersCount, int itemsCount,
+                          BigDecimal revenue) {
+        boolean mySql = isMySql();
+        String sql = String.format(mySql ? MYSQL_INCREMENT_SQL : H2_INCREMENT_SQL,
+                mySql ? "UTC_TIMESTAMP(6)" : "CURRENT_TIMESTAMP");
+
+        Query query = em.createNativeQuery(sql);
+        query.setParameter(1, Math.toIntExact(idAllocator.next("hour_sales_id")));
+        query.setParameter(2, date);
+        query.setParameter(3, hour);
+        query.setParameter(4, clientId);
+        query.setParameter(5, ordersCount);
+        query.setParameter(6, itemsCount);
+        query.setParameter(7, revenue);
+        query.executeUpdate();
+
+        versionTracker.bumpAfterBulkWrite(HourSalesEntity.class);
+    }
+
+    public int deleteByDate(LocalDate date) {
+        em.flush();
+
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaDelete<HourSalesEntity> cd = cb.createCriteriaDelete(HourSalesEntity.class);
+        Root<HourSalesEntity> root = cd.from(HourSalesEntity.class);
+        cd.where(cb.equal(root.get("date"), date));
+
+        int deleted = em.createQuery(cd).executeUpdate();
+        versionTracker.bumpAfterBulkWrite(HourSalesEntity.class);
+        return deleted;
+    }
+
+    public List<HourSalesEntity> selectByDate(LocalDate date, Integer clientId) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<HourSalesEntity> cq = cb.createQuery(HourSalesEntity.class);
+        Root<HourSalesEntity> root = cq.from(HourSalesEntity.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(root.get("date"), date));
+        if (clientId != null) {
+            predicates.add(cb.equal(root.get("clientId"), clientId));
+        }
+
+        cq.select(root).where(predicates.toArray(new Predicate[0])).orderBy(cb.asc(root.get("hour")));
+
+        return em.createQuery(cq).getResultList();
+    }
+}
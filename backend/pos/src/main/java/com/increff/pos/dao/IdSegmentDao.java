@@ -0,0 +1,113 @@
+package com.increff.pos.dao;
+
+import com.increff.pos.exception.ApiException;
+import com.increff.pos.exception.ApiStatus;
+import com.increff.pos.idgen.IdSegment;
+import com.increff.pos.idgen.IdSegmentSource;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.Statement;
+
+@Repository
+public class IdSegmentDao implements IdSegmentSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdSegmentDao.class);
+    private static final String CREATE_TABLE = "CREATE TABLE IF NOT EXISTS id_generator "
+            + "(gen_name VARCHAR(255) NOT NULL, gen_value BIGINT, PRIMARY KEY (gen_name))";
+    private static final String SELECT_FOR_UPDATE = "SELECT gen_value FROM id_generator WHERE gen_name = ? FOR UPDATE";
+    private static final String UPDATE_VALUE = "UPDATE id_generator SET gen_value = ? WHERE gen_name = ?";
+    private static final String INSERT_VALUE = "INSERT INTO id_generator (gen_name, gen_value) VALUES (?, ?)";
+    private static final int MAX_ATTEMPTS = 3;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @PostConstruct
+    public void createTableIfMissing() {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute(CREATE_TABLE);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to create id_generator table", e);
+        }
+    }
+
+    @Override
+    public IdSegment lease(String segmentName, int size) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return leaseOnce(segmentName, size);
+            } catch (SQLIntegrityConstraintViolationException e) {
+                if (attempt >= MAX_ATTEMPTS) {
+                    throw leaseFailure(segmentName, e);
+                }
+            } catch (SQLException e) {
+                throw leaseFailure(segmentName, e);
+            }
+        }
+    }
+
+    private IdSegment leaseOnce(String segmentName, int size) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                IdSegment segment = reserve(connection, segmentName, size);
+                connection.commit();
+                return segment;
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    private IdSegment reserve(Connection connection, String segmentName, int size) throws SQLException {
+        Long current = selectForUpdate(connection, segmentName);
+
+        if (current == null) {
+            execute(connection, INSERT_VALUE, segmentName, 1L + size);
+            return new IdSegment(1L, 1L + size);
+        }
+
+        execute(connection, UPDATE_VALUE, current + size, segmentName);
+        return new IdSegment(current, current + size);
+    }
+
+    private Long selectForUpdate(Connection connection, String segmentName) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(SELECT_FOR_UPDATE)) {
+            statement.setString(1, segmentName);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (!resultSet.next()) {
+                    return null;
+                }
+                long value = resultSet.getLong(1);
+                return resultSet.wasNull() ? 1L : value;
+            }
+        }
+    }
+
+    private void execute(Connection connection, String sql, Object first, Object second) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setObject(1, first);
+            statement.setObject(2, second);
+            statement.executeUpdate();
+        }
+    }
+
+    private ApiException leaseFailure(String segmentName, SQLException e) {
+        logger.error("Failed to lease ID segment for {}: {}", segmentName, e.getMessage(), e);
+        return new ApiException(ApiStatus.INTERNAL_ERROR, "Failed to lease ID segment for " + segmentName);
+    }
+}
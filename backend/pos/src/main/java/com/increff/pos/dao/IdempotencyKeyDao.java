@@ -0,0 +1,35 @@
+package com.increff.pos.dao;
+
+import com.increff.pos.entity.IdempotencyKeyEntity;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaDelete;
+import jakarta.persistence.criteria.Root;
+import org.springframework.stereotype.Repository;
+
+import java.time.ZonedDateTime;
+import java.util.Optional;
+
+@Repository
+public class IdempotencyKeyDao extends AbstractDao<IdempotencyKeyEntity> {
+
+    public IdempotencyKeyDao() {
+        super(IdempotencyKeyEntity.class);
+    }
+
+    @Override
+    protected boolean isNew(IdempotencyKeyEntity entity) {
+        return entity.getVersion() == null;
+    }
+
+    public Optional<IdempotencyKeyEntity> selectByKey(String key) {
+        return Optional.ofNullable(em.find(IdempotencyKeyEntity.class, key));
+    }
+
+    public int deleteExpired(ZonedDateTime now) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaDelete<IdempotencyKeyEntity> cd = cb.createCriteriaDelete(IdempotencyKeyEntity.class);
+        Root<IdempotencyKeyEntity> root = cd.from(IdempotencyKeyEntity.class);
+        cd.where(cb.lessThan(root.get("expiresAt"), now));
+        return em.createQuery(cd).executeUpdate();
+    }
+}
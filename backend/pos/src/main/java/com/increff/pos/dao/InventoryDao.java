@@ -3,39 +3,124 @@ package com.increff.pos.dao;
 import com.increff.pos.entity.ClientEntity;
 import com.increff.pos.entity.InventoryEntity;
 import com.increff.pos.entity.ProductEntity;
+import com.increff.pos.model.data.InventoryData;
+import com.increff.pos.model.domain.PaginationMode;
+import com.increff.pos.model.internal.KeysetPage;
+import com.increff.pos.idgen.IdAllocator;
+import com.increff.pos.model.internal.PageCursor;
+import jakarta.persistence.Query;
 import jakarta.persistence.criteria.*;
+import org.hibernate.Session;
 
-import org.springframework.data.domain.Page;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Repository;
 
+import java.sql.PreparedStatement;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
 
 @Repository
 public class InventoryDao extends AbstractDao<InventoryEntity> {
 
+    private static final int UPSERT_CHUNK_SIZE = 500;
+
+    private static final String MYSQL_UPSERT_PREFIX =
+            "INSERT INTO inventory (id, product_id, quantity, version, created_at, updated_at) VALUES ";
+    private static final String MYSQL_UPSERT_ROW = "(?, ?, ?, 0, ?, ?)";
+    private static final String MYSQL_UPSERT_SUFFIX = " ON DUPLICATE KEY UPDATE quantity = VALUES(quantity), "
+            + "version = version + 1, updated_at = VALUES(updated_at)";
+
+    private static final String H2_UPSERT_PREFIX = "MERGE INTO inventory t USING (SELECT v.C1 AS id, "
+            + "v.C2 AS product_id, v.C3 AS quantity, v.C4 AS ts FROM (VALUES ";
+    private static final String H2_UPSERT_ROW = "(CAST(? AS INTEGER), CAST(? AS INTEGER), CAST(? AS INTEGER), "
+            + "CAST(? AS TIMESTAMP(6) WITH TIME ZONE))";
+    private static final String H2_UPSERT_SUFFIX = ") v) s ON t.product_id = s.product_id "
+            + "WHEN MATCHED THEN UPDATE SET quantity = s.quantity, version = t.version + 1, updated_at = s.ts "
+            + "WHEN NOT MATCHED THEN INSERT (id, product_id, quantity, version, created_at, updated_at) "
+            + "VALUES (s.id, s.product_id, s.quantity, 0, s.ts, s.ts)";
+
+    private static final String DECREMENT_SQL = "UPDATE inventory SET quantity = quantity - ?, version = version + 1, "
+            + "updated_at = %s WHERE product_id = ? AND quantity >= ?";
+    private static final String INCREMENT_SQL = "UPDATE inventory SET quantity = quantity + ?, version = version + 1, "
+            + "updated_at = %s WHERE product_id = ?";
+
+    @Autowired
+    private IdAllocator idAllocator;
+
     public InventoryDao() { super(InventoryEntity.class); }
 
     @Override
     protected boolean isNew(InventoryEntity entity) { return entity.getId() == null; }
 
     public Optional<InventoryEntity> selectByProductId(Integer productId) {
-        CriteriaBuilder cb = em.getCriteriaBuilder();
-        CriteriaQuery<InventoryEntity> cq = cb.createQuery(InventoryEntity.class);
-        Root<InventoryEntity> root = cq.from(InventoryEntity.class);
-        cq.select(root).where(cb.equal(root.get("productId"), productId));
-        return em.createQuery(cq).setMaxResults(1).getResultList().stream().findFirst();
+        return queryRegistry.create(em, QueryRegistry.INVENTORY_BY_PRODUCT_ID, InventoryEntity.class)
+                .setParameter("productId", productId).setMaxResults(1).getResultList().stream().findFirst();
     }
 
     public List<InventoryEntity> selectByProductIds(List<Integer> productIds) {
         if (productIds == null || productIds.isEmpty()) return List.of();
-        CriteriaBuilder cb = em.getCriteriaBuilder();
-        CriteriaQuery<InventoryEntity> cq = cb.createQuery(InventoryEntity.class);
-        Root<InventoryEntity> root = cq.from(InventoryEntity.class);
-        cq.select(root).where(root.get("productId").in(productIds));
-        return em.createQuery(cq).getResultList();
+        return queryRegistry.create(em, QueryRegistry.INVENTORIES_BY_PRODUCT_IDS, InventoryEntity.class)
+                .setParameter("productIds", productIds).getResultList();
+    }
+
+    public List<InventoryEntity> upsertAll(List<InventoryEntity> inventories) {
+        if (inventories == null || inventories.isEmpty()) return List.of();
+
+        Map<Integer, Integer> quantityByProduct = new LinkedHashMap<>();
+        for (InventoryEntity inventory : inventories)
+            quantityByProduct.put(inventory.getProductId(), inventory.getQuantity());
+
+        em.flush();
+
+        List<Integer> productIds = new ArrayList<>(quantityByProduct.keySet());
+        Map<Integer, Integer> existingIds = new HashMap<>();
+        for (InventoryEntity existing : selectByProductIds(productIds))
+            existingIds.put(existing.getProductId(), existing.getId());
+
+        boolean mySql = isMySql();
+        ZonedDateTime now = ZonedDateTime.now(ZoneId.of("UTC"));
+        List<Map.Entry<Integer, Integer>> rows = new ArrayList<>(quantityByProduct.entrySet());
+
+        for (int from = 0; from < rows.size(); from += UPSERT_CHUNK_SIZE) {
+            List<Map.Entry<Integer, Integer>> chunk = rows.subList(from, Math.min(from + UPSERT_CHUNK_SIZE, rows.size()));
+            Query query = em.createNativeQuery(buildUpsertSql(mySql, chunk.size()));
+            int position = 1;
+            for (Map.Entry<Integer, Integer> row : chunk) {
+                Integer id = existingIds.get(row.getKey());
+                query.setParameter(position++, id != null ? id : Math.toIntExact(idAllocator.next("inventory_id")));
+                query.setParameter(position++, row.getKey());
+                query.setParameter(position++, row.getValue());
+                query.setParameter(position++, now);
+                if (mySql) query.setParameter(position++, now);
+            }
+            query.executeUpdate();
+        }
+
+        em.clear();
+        versionTracker.bumpAfterBulkWrite(InventoryEntity.class);
+
+        return selectByProductIds(productIds);
+    }
+
+    public List<Integer> decrementIfAvailable(Map<Integer, Integer> quantityByProduct) {
+        return executeStockBatch(DECREMENT_SQL, quantityByProduct, true);
+    }
+
+    public List<Integer> increment(Map<Integer, Integer> quantityByProduct) {
+        return executeStockBatch(INCREMENT_SQL, quantityByProduct, false);
+    }
+
+    public List<Integer> applyDeltas(Map<Integer, Integer> deltaByProduct) {
+        return executeStockBatch(INCREMENT_SQL, deltaByProduct, false);
     }
 
     public List<InventoryEntity> selectAllForEnabledClients() {
@@ -46,19 +131,40 @@ public class InventoryDao extends AbstractDao<InventoryEntity> {
         return em.createQuery(cq).getResultList();
     }
 
-    public Page<InventoryEntity> selectPagedForEnabledClients(String barcode, String productName, Pageable pageable) {
-        CriteriaBuilder cb = em.getCriteriaBuilder();
-
-        CriteriaQuery<InventoryEntity> dataQuery = buildDataQuery(cb, barcode, productName);
-        CriteriaQuery<Long> countQuery = buildCountQuery(cb, barcode, productName);
+    public List<InventoryData> selectDataForEnabledClients() {
+        return em.createQuery(buildProjectionQuery(em.getCriteriaBuilder(), null, null)).getResultList();
+    }
 
-        return executePagedQuery(dataQuery, countQuery, pageable);
+    public Slice<InventoryData> selectDataPagedForEnabledClients(String barcode, String productName,
+                                                                 Pageable pageable, PaginationMode mode) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        String filterKey = "inventory|" + barcode + "|" + productName;
+        return executePagedQuery(buildProjectionQuery(cb, barcode, productName),
+                buildCountQuery(cb, barcode, productName), pageable, mode, filterKey,
+                List.of(InventoryEntity.class, ProductEntity.class, ClientEntity.class));
     }
 
-    private CriteriaQuery<InventoryEntity> buildDataQuery(CriteriaBuilder cb, String barcode, String productName) {
+    public KeysetPage<InventoryEntity> selectKeysetForEnabledClients(String barcode, String productName,
+                                                                     PageCursor cursor, int pageSize) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
         CriteriaQuery<InventoryEntity> cq = cb.createQuery(InventoryEntity.class);
         Root<InventoryEntity> inventory = cq.from(InventoryEntity.class);
-        cq.select(inventory).where(cb.exists(buildEnabledClientSubquery(cq, inventory, barcode, productName)));
+        List<Predicate> predicates = List.of(cb.exists(buildEnabledClientSubquery(cq, inventory, barcode, productName)));
+        return executeKeysetQuery(cq, inventory, predicates, cursor, pageSize);
+    }
+
+    private CriteriaQuery<InventoryData> buildProjectionQuery(CriteriaBuilder cb, String barcode, String productName) {
+        CriteriaQuery<InventoryData> cq = cb.createQuery(InventoryData.class);
+        Root<InventoryEntity> inventory = cq.from(InventoryEntity.class);
+        Root<ProductEntity> product = cq.from(ProductEntity.class);
+        Root<ClientEntity> client = cq.from(ClientEntity.class);
+
+        List<Predicate> predicates = buildEnabledClientPredicates(cb, inventory, product, client, barcode, productName);
+
+        cq.select(cb.construct(InventoryData.class, inventory.get("productId"), product.get("productName"),
+                        inventory.get("quantity"), product.get("barcode")))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(buildKeysetOrder(cb, inventory, false));
         return cq;
     }
 
@@ -76,6 +182,15 @@ public class InventoryDao extends AbstractDao<InventoryEntity> {
         Root<ProductEntity> product = sub.from(ProductEntity.class);
         Root<ClientEntity> client = sub.from(ClientEntity.class);
 
+        List<Predicate> predicates = buildEnabledClientPredicates(cb, inventory, product, client, barcode, productName);
+
+        sub.select(cb.literal(1)).where(predicates.toArray(new Predicate[0]));
+        return sub;
+    }
+
+    private List<Predicate> buildEnabledClientPredicates(CriteriaBuilder cb, Root<InventoryEntity> inventory,
+                                                         Root<ProductEntity> product, Root<ClientEntity> client,
+                                                         String barcode, String productName) {
         List<Predicate> predicates = new ArrayList<>();
         predicates.add(cb.equal(product.get("id"), inventory.get("productId")));
         predicates.add(cb.equal(client.get("id"), product.get("clientId")));
@@ -87,7 +202,46 @@ public class InventoryDao extends AbstractDao<InventoryEntity> {
         if (productName != null && !productName.trim().isEmpty())
             predicates.add(cb.like(cb.lower(product.get("productName")), "%" + productName.toLowerCase().trim() + "%"));
 
-        sub.select(cb.literal(1)).where(predicates.toArray(new Predicate[0]));
-        return sub;
+        return predicates;
+    }
+
+    private String buildUpsertSql(boolean mySql, int rowCount) {
+        String row = mySql ? MYSQL_UPSERT_ROW : H2_UPSERT_ROW;
+        StringBuilder sql = new StringBuilder(mySql ? MYSQL_UPSERT_PREFIX : H2_UPSERT_PREFIX);
+        for (int i = 0; i < rowCount; i++) {
+            if (i > 0) sql.append(", ");
+            sql.append(row);
+        }
+        return sql.append(mySql ? MYSQL_UPSERT_SUFFIX : H2_UPSERT_SUFFIX).toString();
+    }
+
+    private List<Integer> executeStockBatch(String sqlTemplate, Map<Integer, Integer> quantityByProduct,
+                                            boolean conditional) {
+        if (quantityByProduct == null || quantityByProduct.isEmpty()) return List.of();
+
+        em.flush();
+
+        String sql = String.format(sqlTemplate, isMySql() ? "UTC_TIMESTAMP(6)" : "CURRENT_TIMESTAMP");
+        List<Integer> productIds = new ArrayList<>(new TreeMap<>(quantityByProduct).keySet());
+        List<Integer> failed = new ArrayList<>();
+
+        em.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                for (Integer productId : productIds) {
+                    int quantity = quantityByProduct.get(productId);
+                    statement.setInt(1, quantity);
+                    statement.setInt(2, productId);
+                    if (conditional) statement.setInt(3, quantity);
+                    statement.addBatch();
+                }
+                int[] counts = statement.executeBatch();
+                for (int i = 0; i < counts.length; i++) {
+                    if (counts[i] == 0) failed.add(productIds.get(i));
+                }
+            }
+        });
+
+        versionTracker.bumpAfterBulkWrite(InventoryEntity.class);
+        return failed;
     }
 }
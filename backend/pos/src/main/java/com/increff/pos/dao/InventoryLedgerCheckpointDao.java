@@ -0,0 +1,33 @@
+package com.increff.pos.dao;
+
+import com.increff.pos.entity.InventoryLedgerCheckpointEntity;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class InventoryLedgerCheckpointDao extends AbstractDao<InventoryLedgerCheckpointEntity> {
+
+    private static final Integer CHECKPOINT_ID = 1;
+
+    public InventoryLedgerCheckpointDao() {
+        super(InventoryLedgerCheckpointEntity.class);
+    }
+
+    @Override
+    protected boolean isNew(InventoryLedgerCheckpointEntity entity) {
+        return entity.getVersion() == null;
+    }
+
+    public long selectLastSequence() {
+        return selectById(CHECKPOINT_ID).map(InventoryLedgerCheckpointEntity::getLastSequence).orElse(0L);
+    }
+
+    public void updateLastSequence(long lastSequence) {
+        InventoryLedgerCheckpointEntity checkpoint = selectById(CHECKPOINT_ID).orElseGet(() -> {
+            InventoryLedgerCheckpointEntity created = new InventoryLedgerCheckpointEntity();
+            created.setId(CHECKPOINT_ID);
+            return created;
+        });
+        checkpoint.setLastSequence(lastSequence);
+        save(checkpoint);
+    }
+}
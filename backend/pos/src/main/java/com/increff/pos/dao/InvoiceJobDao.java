@@ -0,0 +1,47 @@
+package com.increff.pos.dao;
+
+import com.increff.pos.entity.InvoiceJobEntity;
+import com.increff.pos.model.domain.InvoiceJobStatus;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.springframework.stereotype.Repository;
+
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public class InvoiceJobDao extends AbstractDao<InvoiceJobEntity> {
+
+    public InvoiceJobDao() {
+        super(InvoiceJobEntity.class);
+    }
+
+    @Override
+    protected boolean isNew(InvoiceJobEntity entity) {
+        return entity.getId() == null;
+    }
+
+    public Optional<InvoiceJobEntity> selectByOrderIdAndStatusIn(Integer orderId, Collection<InvoiceJobStatus> statuses) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<InvoiceJobEntity> cq = cb.createQuery(InvoiceJobEntity.class);
+        Root<InvoiceJobEntity> root = cq.from(InvoiceJobEntity.class);
+        cq.select(root).where(cb.equal(root.get("orderId"), orderId), root.get("status").in(statuses))
+                .orderBy(cb.desc(root.get("id")));
+        return em.createQuery(cq).setMaxResults(1).getResultList().stream().findFirst();
+    }
+
+    public List<InvoiceJobEntity> selectByStatusIn(Collection<InvoiceJobStatus> statuses) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<InvoiceJobEntity> cq = cb.createQuery(InvoiceJobEntity.class);
+        Root<InvoiceJobEntity> root = cq.from(InvoiceJobEntity.class);
+        cq.select(root).where(root.get("status").in(statuses)).orderBy(cb.asc(root.get("id")));
+        return em.createQuery(cq).getResultList();
+    }
+
+    public int requeueRunningUpdatedBefore(ZonedDateTime cutoff) {
+        return updateStatusIfUpdatedBefore(InvoiceJobStatus.RUNNING, InvoiceJobStatus.QUEUED, cutoff);
+    }
+}
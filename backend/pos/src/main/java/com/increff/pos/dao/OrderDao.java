@@ -2,19 +2,24 @@ package com.increff.pos.dao;
 
 import com.increff.pos.entity.OrderEntity;
 import com.increff.pos.model.domain.OrderStatus;
+import com.increff.pos.model.domain.PaginationMode;
+import com.increff.pos.model.internal.KeysetPage;
+import com.increff.pos.model.internal.PageCursor;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Repository;
 
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public class OrderDao extends AbstractDao<OrderEntity>{
@@ -31,8 +36,21 @@ public class OrderDao extends AbstractDao<OrderEntity>{
         return entity.getId() == null;
     }
 
-    public Page<OrderEntity> selectByFilters(OrderStatus status, Integer clientId, ZonedDateTime start, ZonedDateTime end,
-                                    Pageable pageable) {
+    public Optional<OrderEntity> selectByIdForUpdate(Integer id) {
+        return Optional.ofNullable(em.find(OrderEntity.class, id, LockModeType.PESSIMISTIC_WRITE));
+    }
+
+    public List<Integer> selectExistingIds(List<Integer> ids) {
+        if (ids == null || ids.isEmpty()) return List.of();
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Integer> cq = cb.createQuery(Integer.class);
+        Root<OrderEntity> root = cq.from(OrderEntity.class);
+        cq.select(root.get("id")).where(root.get("id").in(ids));
+        return em.createQuery(cq).getResultList();
+    }
+
+    public Slice<OrderEntity> selectByFilters(OrderStatus status, Integer clientId, ZonedDateTime start,
+                                              ZonedDateTime end, Pageable pageable, PaginationMode mode) {
 
         CriteriaBuilder cb = em.getCriteriaBuilder();
 
@@ -40,7 +58,21 @@ public class OrderDao extends AbstractDao<OrderEntity>{
 
         CriteriaQuery<Long> countQuery = buildCountQuery(cb, status, clientId, start, end);
 
-        return executePagedQuery(dataQuery, countQuery, pageable);
+        String filterKey = "order|" + status + "|" + clientId + "|" + start + "|" + end;
+
+        return executePagedQuery(dataQuery, countQuery, pageable, mode, filterKey, List.of(OrderEntity.class));
+    }
+
+    public KeysetPage<OrderEntity> selectKeysetByFilters(OrderStatus status, Integer clientId, ZonedDateTime start,
+                                                         ZonedDateTime end, PageCursor cursor, int pageSize) {
+
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<OrderEntity> cq = cb.createQuery(OrderEntity.class);
+        Root<OrderEntity> root = cq.from(OrderEntity.class);
+
+        List<Predicate> predicates = buildPredicates(cb, root, status, clientId, start, end);
+
+        return executeKeysetQuery(cq, root, predicates, cursor, pageSize);
     }
 
     private CriteriaQuery<OrderEntity> buildSearchQuery(CriteriaBuilder cb, OrderStatus status, Integer clientId,
@@ -51,7 +83,7 @@ public class OrderDao extends AbstractDao<OrderEntity>{
 
         List<Predicate> predicates = buildPredicates(cb, root, status, clientId, start, end);
 
-        cq.select(root).where(predicates.toArray(new Predicate[0])).orderBy(cb.desc(root.get("createdAt")));
+        cq.select(root).where(predicates.toArray(new Predicate[0])).orderBy(buildKeysetOrder(cb, root, false));
 
         return cq;
     }
@@ -0,0 +1,106 @@
+package com.increff.pos.dao;
+
+import com.increff.pos.model.internal.SalesReportRow;
+import com.increff.pos.util.ConversionUtil;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class PartitionedSalesReportQuery {
+
+    private static final ZoneId IST = ZoneId.of("Asia/Kolkata");
+
+    private final ReportDao reportDao;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService executor;
+    private final int minDays;
+    private final int weeklyMaxDays;
+
+    @Autowired
+    public PartitionedSalesReportQuery(ReportDao reportDao, PlatformTransactionManager transactionManager,
+                                       @Value("${app.report.partition.threads:4}") int threads,
+                                       @Value("${app.report.partition.min-days:14}") int minDays,
+                                       @Value("${app.report.partition.weekly-max-days:92}") int weeklyMaxDays) {
+        this.reportDao = reportDao;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.transactionTemplate.setReadOnly(true);
+        this.executor = Executors.newFixedThreadPool(threads,
+                Thread.ofVirtual().name("sales-report-partition-", 0).factory());
+        this.minDays = minDays;
+        this.weeklyMaxDays = weeklyMaxDays;
+    }
+
+    public List<SalesReportRow> selectAll(ZonedDateTime startDate, ZonedDateTime endDate, Integer clientId) {
+        // A caller inside a transaction already holds a connection; fanning out from there would need one more per
+        // partition while it waits, so stay on the caller's connection instead.
+        if (Objects.isNull(startDate) || Objects.isNull(endDate)
+                || Duration.between(startDate, endDate).toDays() < minDays
+                || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return reportDao.selectAllSalesReport(startDate, endDate, clientId);
+        }
+
+        List<ZonedDateTime> bounds = partition(startDate, endDate.plusNanos(1));
+        List<CompletableFuture<List<SalesReportRow>>> partitions = new ArrayList<>();
+        for (int i = 0; i + 1 < bounds.size(); i++) {
+            ZonedDateTime from = bounds.get(i);
+            ZonedDateTime to = bounds.get(i + 1);
+            partitions.add(CompletableFuture.supplyAsync(() -> transactionTemplate.execute(
+                    status -> reportDao.selectSalesRows(from, to, clientId)), executor));
+        }
+
+        List<SalesReportRow> rows = new ArrayList<>();
+        try {
+            partitions.forEach(partition -> rows.addAll(partition.join()));
+        } catch (CompletionException e) {
+            partitions.forEach(partition -> partition.cancel(false));
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return ConversionUtil.mergeSalesReportRows(rows);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<ZonedDateTime> partition(ZonedDateTime start, ZonedDateTime endExclusive) {
+        boolean weekly = Duration.between(start, endExclusive).toDays() <= weeklyMaxDays;
+        List<ZonedDateTime> bounds = new ArrayList<>();
+        bounds.add(start);
+        ZonedDateTime cursor = start;
+        while (cursor.isBefore(endExclusive)) {
+            LocalDate day = cursor.withZoneSameInstant(IST).toLocalDate();
+            LocalDate nextDay = weekly ? day.plusWeeks(1) : day.withDayOfMonth(1).plusMonths(1);
+            ZonedDateTime next = nextDay.atStartOfDay(IST);
+            cursor = next.isBefore(endExclusive) ? next : endExclusive;
+            bounds.add(cursor);
+        }
+        return bounds;
+    }
+}
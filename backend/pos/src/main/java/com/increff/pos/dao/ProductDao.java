@@ -1,12 +1,20 @@
 package com.increff.pos.dao;
 
+import com.increff.pos.cache.CatalogCache;
+import com.increff.pos.entity.ClientEntity;
 import com.increff.pos.entity.ProductEntity;
+import com.increff.pos.model.domain.PaginationMode;
+import com.increff.pos.model.internal.KeysetPage;
+import com.increff.pos.model.internal.PageCursor;
+import jakarta.persistence.criteria.AbstractQuery;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
-import org.springframework.data.domain.Page;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,6 +27,9 @@ import java.util.Optional;
 @Transactional
 public class ProductDao extends AbstractDao<ProductEntity> {
 
+    @Autowired
+    private CatalogCache catalogCache;
+
     public ProductDao() {
         super(ProductEntity.class);
     }
@@ -28,6 +39,25 @@ public class ProductDao extends AbstractDao<ProductEntity> {
         return entity.getId() == null;
     }
 
+    @Override
+    public ProductEntity save(ProductEntity entity) {
+        catalogCache.products().evict(entity.getId(), entity.getBarcode());
+        return super.save(entity);
+    }
+
+    public Optional<ProductEntity> selectCachedById(Integer id) {
+        return catalogCache.products().getById(id, this::selectById);
+    }
+
+    public List<ProductEntity> selectCachedByIds(List<Integer> ids) {
+        if (ids == null || ids.isEmpty()) return List.of();
+        return catalogCache.products().getByIds(ids, this::selectByIds);
+    }
+
+    public Optional<ProductEntity> selectCachedByBarcode(String barcode) {
+        return catalogCache.products().getByKey(barcode, this::selectByBarcode);
+    }
+
     public List<ProductEntity> selectAll() {
         CriteriaBuilder cb = em.getCriteriaBuilder();
         CriteriaQuery<ProductEntity> cq = cb.createQuery(ProductEntity.class);
@@ -37,11 +67,8 @@ public class ProductDao extends AbstractDao<ProductEntity> {
     }
 
     public Optional<ProductEntity> selectByBarcode(String barcode) {
-        CriteriaBuilder cb = em.getCriteriaBuilder();
-        CriteriaQuery<ProductEntity> cq = cb.createQuery(ProductEntity.class);
-        Root<ProductEntity> root = cq.from(ProductEntity.class);
-        cq.select(root).where(cb.equal(root.get("barcode"), barcode));
-        return em.createQuery(cq).getResultList().stream().findFirst();
+        return queryRegistry.create(em, QueryRegistry.PRODUCT_BY_BARCODE, ProductEntity.class)
+                .setParameter("barcode", barcode).getResultList().stream().findFirst();
     }
 
     public Optional<ProductEntity> selectByBarcodeExcludingId(String barcode, Integer id) {
@@ -79,11 +106,22 @@ public class ProductDao extends AbstractDao<ProductEntity> {
 
     public List<ProductEntity> selectByIds(List<Integer> ids) {
         if (ids == null || ids.isEmpty()) return List.of();
-        CriteriaBuilder cb = em.getCriteriaBuilder();
-        CriteriaQuery<ProductEntity> cq = cb.createQuery(ProductEntity.class);
-        Root<ProductEntity> root = cq.from(ProductEntity.class);
-        cq.select(root).where(root.get("id").in(ids));
-        return em.createQuery(cq).getResultList();
+        return queryRegistry.create(em, QueryRegistry.PRODUCTS_BY_IDS, ProductEntity.class)
+                .setParameter("ids", ids).getResultList();
+    }
+
+    public List<ProductEntity> selectByBarcodes(List<String> barcodes) {
+        if (barcodes == null || barcodes.isEmpty()) return List.of();
+        return queryRegistry.create(em, QueryRegistry.PRODUCTS_BY_BARCODES, ProductEntity.class)
+                .setParameter("barcodes", barcodes).getResultList();
+    }
+
+    public List<ProductEntity> selectByClientIdsAndProductNames(List<Integer> clientIds, List<String> productNames) {
+        if (clientIds == null || clientIds.isEmpty() || productNames == null || productNames.isEmpty()) {
+            return List.of();
+        }
+        return queryRegistry.create(em, QueryRegistry.PRODUCTS_BY_CLIENT_IDS_AND_NAMES, ProductEntity.class)
+                .setParameter("clientIds", clientIds).setParameter("productNames", productNames).getResultList();
     }
 
     public ProductEntity selectByName(String productName) {
@@ -99,33 +137,46 @@ public class ProductDao extends AbstractDao<ProductEntity> {
         return result.isEmpty() ? null : result.getFirst();
     }
 
-    public Page<ProductEntity> selectByFilters(Integer clientId, String barcode, String productName, Pageable pageable) {
+    public Slice<ProductEntity> selectByFilters(Integer clientId, String barcode, String productName, Pageable pageable,
+                                                PaginationMode mode) {
         CriteriaBuilder cb = em.getCriteriaBuilder();
         CriteriaQuery<ProductEntity> dataQuery = buildSelectQuery(cb, clientId, barcode, productName);
         CriteriaQuery<Long> countQuery = buildCountQuery(cb, clientId, barcode, productName);
-        return executePagedQuery(dataQuery, countQuery, pageable);
+        String filterKey = "product|" + clientId + "|" + barcode + "|" + productName;
+        return executePagedQuery(dataQuery, countQuery, pageable, mode, filterKey,
+                List.of(ProductEntity.class, ClientEntity.class));
+    }
+
+    public KeysetPage<ProductEntity> selectKeysetByFilters(Integer clientId, String barcode, String productName,
+                                                           PageCursor cursor, int pageSize) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<ProductEntity> cq = cb.createQuery(ProductEntity.class);
+        Root<ProductEntity> root = cq.from(ProductEntity.class);
+        List<Predicate> predicates = buildPredicates(cb, cq, root, clientId, barcode, productName);
+        return executeKeysetQuery(cq, root, predicates, cursor, pageSize);
     }
 
     private CriteriaQuery<ProductEntity> buildSelectQuery(CriteriaBuilder cb, Integer clientId, String barcode,
                                                           String productName) {
         CriteriaQuery<ProductEntity> cq = cb.createQuery(ProductEntity.class);
         Root<ProductEntity> root = cq.from(ProductEntity.class);
-        List<Predicate> predicates = buildPredicates(cb, root, clientId, barcode, productName);
-        cq.select(root).where(predicates.toArray(new Predicate[0]));
+        List<Predicate> predicates = buildPredicates(cb, cq, root, clientId, barcode, productName);
+        cq.select(root).where(predicates.toArray(new Predicate[0])).orderBy(buildKeysetOrder(cb, root, false));
         return cq;
     }
 
     private CriteriaQuery<Long> buildCountQuery(CriteriaBuilder cb, Integer clientId, String barcode, String productName) {
         CriteriaQuery<Long> cq = cb.createQuery(Long.class);
         Root<ProductEntity> root = cq.from(ProductEntity.class);
-        List<Predicate> predicates = buildPredicates(cb, root, clientId, barcode, productName);
+        List<Predicate> predicates = buildPredicates(cb, cq, root, clientId, barcode, productName);
         cq.select(cb.count(root)).where(predicates.toArray(new Predicate[0]));
         return cq;
     }
 
-    private List<Predicate> buildPredicates(CriteriaBuilder cb, Root<ProductEntity> root, Integer clientId,
-                                            String barcode, String productName) {
+    private List<Predicate> buildPredicates(CriteriaBuilder cb, AbstractQuery<?> cq, Root<ProductEntity> root,
+                                            Integer clientId, String barcode, String productName) {
         List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.exists(buildEnabledClientSubquery(cb, cq, root)));
 
         if (clientId != null)
             predicates.add(cb.equal(root.get("clientId"), clientId));
@@ -138,4 +189,13 @@ public class ProductDao extends AbstractDao<ProductEntity> {
 
         return predicates;
     }
+
+    private Subquery<Integer> buildEnabledClientSubquery(CriteriaBuilder cb, AbstractQuery<?> parent,
+                                                         Root<ProductEntity> product) {
+        Subquery<Integer> sub = parent.subquery(Integer.class);
+        Root<ClientEntity> client = sub.from(ClientEntity.class);
+        sub.select(cb.literal(1)).where(cb.equal(client.get("id"), product.get("clientId")),
+                cb.isTrue(client.get("enabled")));
+        return sub;
+    }
 }
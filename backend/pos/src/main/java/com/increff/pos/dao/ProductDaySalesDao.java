@@ -0,0 +1,113 @@
+package com.increff.pos.dao;
+
+import com.increff.pos.entity.ProductDaySalesEntity;
+import com.increff.pos.entity.ProductEntity;
+import com.increff.pos.idgen.IdAllocator;
+import com.increff.pos.model.internal.SalesReportRow;
+import jakarta.persistence.criteria.*;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Repository
+public class ProductDaySalesDao extends AbstractDao<ProductDaySalesEntity> {
+
+    private static final String MYSQL_INCREMENT_SQL = "INSERT INTO pos_product_day_sales (id, date, client_id, "
+            + "product_id, quantity, revenue, version, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, 0, %1$s, %1$s) "
+            + "ON DUPLICATE KEY UPDATE quantity = quantity + VALUES(quantity), revenue = revenue + VALUES(revenue), "
+            + "version = version + 1, updated_at = VALUES(updated_at)";
+
+    private static final String H2_INCREMENT_SQL = "MERGE INTO pos_product_day_sales t USING (SELECT "
+            + "CAST(? AS INTEGER) AS id, CAST(? AS DATE) AS sale_date, CAST(? AS INTEGER) AS client_id, "
+            + "CAST(? AS INTEGER) AS product_id, CAST(? AS INTEGER) AS quantity, CAST(? AS DECIMAL(15, 2)) AS revenue) s "
+            + "ON t.date = s.sale_date AND t.client_id = s.client_id AND t.product_id = s.product_id "
+            + "WHEN MATCHED THEN UPDATE SET quantity = t.quantity + s.quantity, revenue = t.revenue + s.revenue, "
+            + "version = t.version + 1, updated_at = %1$s "
+            + "WHEN NOT MATCHED THEN INSERT (id, date, client_id, product_id, quantity, revenue, version, created_at, "
+            + "updated_at) VALUES (s.id, s.sale_date, s.client_id, s.product_id, s.quantity, s.revenue, 0, %1$s, %1$s)";
+
+    @Autowired
+    private IdAllocator idAllocator;
+
+    public ProductDaySalesDao() {
+        super(ProductDaySalesEntity.class);
+    }
+
+    @Override
+    protected boolean isNew(ProductDaySalesEntity entity) {
+        return entity.getId() == null;
+    }
+
+    public void increment(LocalDate date, Integer clientId, Map<Integer, Integer> quantityByProduct,
+                          Map<Integer, BigDecimal> revenueByProduct) {
+        if (quantityByProduct == null || quantityByProduct.isEmpty()) return;
+
+        em.flush();
+
+        boolean mySql = isMySql();
+        String sql = String.format(mySql ? MYSQL_INCREMENT_SQL : H2_INCREMENT_SQL,
+                mySql ? "UTC_TIMESTAMP(6)" : "CURRENT_TIMESTAMP");
+        List<Integer> productIds = new ArrayList<>(new TreeMap<>(quantityByProduct).keySet());
+
+        em.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                for (Integer productId : productIds) {
+                    statement.setInt(1, Math.toIntExact(idAllocator.next("product_day_sales_id")));
+                    statement.setDate(2, Date.valueOf(date));
+                    statement.setInt(3, clientId);
+                    statement.setInt(4, productId);
+                    statement.setInt(5, quantityByProduct.get(productId));
+                    statement.setBigDecimal(6, revenueByProduct.get(productId));
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        });
+
+        versionTracker.bumpAfterBulkWrite(ProductDaySalesEntity.class);
+    }
+
+    public int deleteByDate(LocalDate date) {
+        em.flush();
+
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaDelete<ProductDaySalesEntity> cd = cb.createCriteriaDelete(ProductDaySalesEntity.class);
+        Root<ProductDaySalesEntity> root = cd.from(ProductDaySalesEntity.class);
+        cd.where(cb.equal(root.get("date"), date));
+
+        int deleted = em.createQuery(cd).executeUpdate();
+        versionTracker.bumpAfterBulkWrite(ProductDaySalesEntity.class);
+        return deleted;
+    }
+
+    public List<SalesReportRow> selectSalesRows(LocalDate fromDate, LocalDate toDate, Integer clientId) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<SalesReportRow> cq = cb.createQuery(SalesReportRow.class);
+
+        Root<ProductDaySalesEntity> sales = cq.from(ProductDaySalesEntity.class);
+        Root<ProductEntity> product = cq.from(ProductEntity.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(sales.get("productId"), product.get("id")));
+        predicates.add(cb.between(sales.get("date"), fromDate, toDate));
+        if (clientId != null) {
+            predicates.add(cb.equal(sales.get("clientId"), clientId));
+        }
+
+        cq.select(cb.construct(SalesReportRow.class, product.get("id"), product.get("productName"),
+                        cb.sumAsLong(sales.get("quantity")), cb.sum(sales.<BigDecimal>get("revenue"))))
+                .where(predicates.toArray(new Predicate[0]))
+                .groupBy(product.get("id"), product.get("productName"));
+
+        return em.createQuery(cq).getResultList();
+    }
+}
@@ -0,0 +1,63 @@
+package com.increff.pos.dao;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceUnit;
+import jakarta.persistence.TypedQuery;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+import static java.util.Map.entry;
+
+@Component
+public class QueryRegistry {
+
+    public static final String PRODUCT_BY_BARCODE = "product.selectByBarcode";
+    public static final String PRODUCTS_BY_IDS = "product.selectByIds";
+    public static final String PRODUCTS_BY_BARCODES = "product.selectByBarcodes";
+    public static final String PRODUCTS_BY_CLIENT_IDS_AND_NAMES = "product.selectByClientIdsAndProductNames";
+    public static final String INVENTORY_BY_PRODUCT_ID = "inventory.selectByProductId";
+    public static final String INVENTORIES_BY_PRODUCT_IDS = "inventory.selectByProductIds";
+    public static final String CLIENT_BY_NAME = "client.selectByClientName";
+    public static final String CLIENTS_BY_NAMES = "client.selectByClientNames";
+    public static final String CLIENT_IDS_BY_IDS = "client.selectIdsByIdIn";
+    public static final String CLIENT_IDS_BY_IDS_AND_ENABLED = "client.selectIdsByIdInAndEnabled";
+    public static final String USER_BY_EMAIL = "user.selectByEmail";
+    public static final String ORDER_ITEMS_BY_ORDER_ID = "orderItem.selectByOrderId";
+
+    private static final Map<String, String> QUERIES = Map.ofEntries(
+            entry(PRODUCT_BY_BARCODE, "SELECT p FROM ProductEntity p WHERE p.barcode = :barcode"),
+            entry(PRODUCTS_BY_IDS, "SELECT p FROM ProductEntity p WHERE p.id IN :ids"),
+            entry(PRODUCTS_BY_BARCODES, "SELECT p FROM ProductEntity p WHERE p.barcode IN :barcodes"),
+            entry(PRODUCTS_BY_CLIENT_IDS_AND_NAMES,
+                    "SELECT p FROM ProductEntity p WHERE p.clientId IN :clientIds AND p.productName IN :productNames"),
+            entry(INVENTORY_BY_PRODUCT_ID, "SELECT i FROM InventoryEntity i WHERE i.productId = :productId"),
+            entry(INVENTORIES_BY_PRODUCT_IDS, "SELECT i FROM InventoryEntity i WHERE i.productId IN :productIds"),
+            entry(CLIENT_BY_NAME, "SELECT c FROM ClientEntity c WHERE c.field2 = :clientName"),
+            entry(CLIENTS_BY_NAMES, "SELECT c FROM ClientEntity c WHERE c.field2 IN :clientNames"),
+            entry(CLIENT_IDS_BY_IDS, "SELECT c.id FROM ClientEntity c WHERE c.id IN :ids"),
+            entry(CLIENT_IDS_BY_IDS_AND_ENABLED,
+                    "SELECT c.id FROM ClientEntity c WHERE c.id IN :ids AND c.enabled = :enabled"),
+            entry(USER_BY_EMAIL, "SELECT u FROM UserEntity u WHERE u.email = :email"),
+            entry(ORDER_ITEMS_BY_ORDER_ID, "SELECT oi FROM OrderItemEntity oi WHERE oi.orderId = :orderId")
+    );
+
+    @PersistenceUnit
+    private EntityManagerFactory emf;
+
+    @PostConstruct
+    public void register() {
+        EntityManager em = emf.createEntityManager();
+        try {
+            QUERIES.forEach((name, jpql) -> emf.addNamedQuery(name, em.createQuery(jpql)));
+        } finally {
+            em.close();
+        }
+    }
+
+    public <T> TypedQuery<T> create(EntityManager em, String name, Class<T> resultClass) {
+        return em.createNamedQuery(name, resultClass);
+    }
+}
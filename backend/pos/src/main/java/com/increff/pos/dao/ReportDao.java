@@ -4,21 +4,21 @@ import com.increff.pos.entity.OrderEntity;
 import com.increff.pos.entity.OrderItemEntity;
 import com.increff.pos.entity.ProductEntity;
 import com.increff.pos.model.domain.OrderStatus;
+import com.increff.pos.model.internal.AnalyticsLineRow;
 import com.increff.pos.model.internal.DaySalesAggregate;
+import com.increff.pos.model.internal.OrderSalesRow;
+import com.increff.pos.model.internal.ProductDaySalesRow;
 import com.increff.pos.model.internal.SalesReportRow;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
-import jakarta.persistence.TypedQuery;
 import jakarta.persistence.criteria.*;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public class ReportDao {
@@ -26,32 +26,79 @@ public class ReportDao {
     @PersistenceContext
     private EntityManager em;
 
-    public Page<SalesReportRow> selectByFiltersSalesPage(ZonedDateTime startDate, ZonedDateTime endDate,
-                                                         Integer clientId, Pageable pageable) {
+    public List<SalesReportRow> selectAllSalesReport(ZonedDateTime startDate, ZonedDateTime endDate, Integer clientId) {
 
         CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<SalesReportRow> query = buildSalesDataQuery(cb, startDate, endDate, clientId);
+
+        return em.createQuery(query).getResultList();
+    }
 
-        CriteriaQuery<SalesReportRow> dataQuery = buildSalesDataQuery(cb, startDate, endDate, clientId);
+    public Stream<SalesReportRow> streamAllSalesReport(ZonedDateTime startDate, ZonedDateTime endDate,
+                                                       Integer clientId) {
 
-        TypedQuery<SalesReportRow> typedQuery = em.createQuery(dataQuery);
-        typedQuery.setFirstResult((int) pageable.getOffset());
-        typedQuery.setMaxResults(pageable.getPageSize());
+        CriteriaBuilder cb = em.getCriteriaBuilder();
 
-        List<SalesReportRow> rows = typedQuery.getResultList();
+        return StreamingQuery.stream(em, buildSalesDataQuery(cb, startDate, endDate, clientId));
+    }
 
-        CriteriaQuery<Long> countQuery = buildSalesCountQuery(cb, startDate, endDate, clientId);
+    public Stream<AnalyticsLineRow> streamInvoicedLineItems() {
 
-        Long total = em.createQuery(countQuery).getSingleResult();
+        CriteriaBuilder cb = em.getCriteriaBuilder();
 
-        return new PageImpl<>(rows, pageable, total);
+        CriteriaQuery<AnalyticsLineRow> cq = cb.createQuery(AnalyticsLineRow.class);
+
+        DaySalesRoots roots = createDaySalesRoots(cq);
+
+        cq.select(cb.construct(AnalyticsLineRow.class, roots.order.get("id"), roots.order.get("createdAt"),
+                        roots.order.get("clientId"), roots.item.get("productId"), roots.item.get("quantity"),
+                        roots.item.get("sellingPrice")))
+                .where(cb.equal(roots.item.get("orderId"), roots.order.get("id")),
+                        cb.equal(roots.order.get("status"), OrderStatus.INVOICED));
+
+        return StreamingQuery.stream(em, cq);
     }
 
-    public List<SalesReportRow> selectAllSalesReport(ZonedDateTime startDate, ZonedDateTime endDate, Integer clientId) {
+    public List<SalesReportRow> selectSalesRows(ZonedDateTime utcStart, ZonedDateTime utcEnd, Integer clientId) {
 
         CriteriaBuilder cb = em.getCriteriaBuilder();
-        CriteriaQuery<SalesReportRow> query = buildSalesDataQuery(cb, startDate, endDate, clientId);
 
-        return em.createQuery(query).getResultList();
+        CriteriaQuery<SalesReportRow> cq = cb.createQuery(SalesReportRow.class);
+
+        SalesRoots roots = createSalesRoots(cq);
+
+        List<Predicate> predicates = buildSalesJoinPredicates(cb, roots, clientId);
+        predicates.add(cb.greaterThanOrEqualTo(roots.order.get("createdAt"), utcStart));
+        predicates.add(cb.lessThan(roots.order.get("createdAt"), utcEnd));
+
+        cq.select(cb.construct(SalesReportRow.class, roots.product.get("id"), roots.product.get("productName"),
+                        cb.sumAsLong(roots.orderItem.get("quantity")),
+                        cb.sum(cb.prod(roots.orderItem.get("quantity"), roots.orderItem.get("sellingPrice")))))
+                .where(predicates.toArray(new Predicate[0]))
+                .groupBy(roots.product.get("id"), roots.product.get("productName"));
+
+        return em.createQuery(cq).getResultList();
+    }
+
+    public List<ProductDaySalesRow> selectProductDaySales(ZonedDateTime utcStart, ZonedDateTime utcEnd) {
+
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+
+        CriteriaQuery<ProductDaySalesRow> cq = cb.createQuery(ProductDaySalesRow.class);
+
+        SalesRoots roots = createSalesRoots(cq);
+
+        List<Predicate> predicates = buildSalesJoinPredicates(cb, roots, null);
+        predicates.add(cb.greaterThanOrEqualTo(roots.order.get("createdAt"), utcStart));
+        predicates.add(cb.lessThan(roots.order.get("createdAt"), utcEnd));
+
+        cq.select(cb.construct(ProductDaySalesRow.class, roots.product.get("id"), roots.product.get("clientId"),
+                        cb.sumAsLong(roots.orderItem.get("quantity")),
+                        cb.sum(cb.prod(roots.orderItem.get("quantity"), roots.orderItem.get("sellingPrice")))))
+                .where(predicates.toArray(new Predicate[0]))
+                .groupBy(roots.product.get("id"), roots.product.get("clientId"));
+
+        return em.createQuery(cq).getResultList();
     }
 
     public DaySalesAggregate selectDaySalesByDate(ZonedDateTime utcStart, ZonedDateTime utcEnd) {
@@ -63,6 +110,25 @@ public class ReportDao {
         return em.createQuery(query).getSingleResult();
     }
 
+    public List<OrderSalesRow> selectOrderSales(ZonedDateTime utcStart, ZonedDateTime utcEnd) {
+
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+
+        CriteriaQuery<OrderSalesRow> cq = cb.createQuery(OrderSalesRow.class);
+
+        DaySalesRoots roots = createDaySalesRoots(cq);
+
+        List<Predicate> predicates = buildDaySalesPredicates(cb, roots, utcStart, utcEnd);
+
+        cq.select(cb.construct(OrderSalesRow.class, roots.order.get("createdAt"), roots.order.get("clientId"),
+                        cb.sumAsLong(roots.item.get("quantity")),
+                        cb.sum(cb.prod(roots.item.get("quantity"), roots.item.get("sellingPrice")))))
+                .where(predicates.toArray(new Predicate[0]))
+                .groupBy(roots.order.get("id"), roots.order.get("createdAt"), roots.order.get("clientId"));
+
+        return em.createQuery(cq).getResultList();
+    }
+
     private CriteriaQuery<SalesReportRow> buildSalesDataQuery(CriteriaBuilder cb, ZonedDateTime startDate,
                                                               ZonedDateTime endDate, Integer clientId) {
 
@@ -84,22 +150,17 @@ public class ReportDao {
         return cq;
     }
 
-    private CriteriaQuery<Long> buildSalesCountQuery(CriteriaBuilder cb, ZonedDateTime startDate, ZonedDateTime endDate,
-                                                     Integer clientId) {
-
-        CriteriaQuery<Long> countQuery = cb.createQuery(Long.class);
-
-        SalesRoots roots = createSalesRoots(countQuery);
+    private List<Predicate> buildSalesPredicates(CriteriaBuilder cb, SalesRoots roots, ZonedDateTime startDate,
+                                                 ZonedDateTime endDate, Integer clientId) {
 
-        List<Predicate> predicates = buildSalesPredicates(cb, roots, startDate, endDate, clientId);
+        List<Predicate> predicates = buildSalesJoinPredicates(cb, roots, clientId);
 
-        countQuery.select(cb.countDistinct(roots.product.get("id"))).where(predicates.toArray(new Predicate[0]));
+        predicates.add(cb.between(roots.order.get("createdAt"), startDate, endDate));
 
-        return countQuery;
+        return predicates;
     }
 
-    private List<Predicate> buildSalesPredicates(CriteriaBuilder cb, SalesRoots roots, ZonedDateTime startDate,
-                                                 ZonedDateTime endDate, Integer clientId) {
+    private List<Predicate> buildSalesJoinPredicates(CriteriaBuilder cb, SalesRoots roots, Integer clientId) {
 
         List<Predicate> predicates = new ArrayList<>();
 
@@ -109,8 +170,6 @@ public class ReportDao {
 
         predicates.add(cb.equal(roots.order.get("status"), OrderStatus.INVOICED));
 
-        predicates.add(cb.between(roots.order.get("createdAt"), startDate, endDate));
-
         if (clientId != null) {
             predicates.add(cb.equal(roots.product.get("clientId"), clientId));
         }
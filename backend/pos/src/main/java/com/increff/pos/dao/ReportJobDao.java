@@ -0,0 +1,46 @@
+package com.increff.pos.dao;
+
+import com.increff.pos.entity.ReportJobEntity;
+import com.increff.pos.model.domain.ReportJobStatus;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.springframework.stereotype.Repository;
+
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public class ReportJobDao extends AbstractDao<ReportJobEntity> {
+
+    public ReportJobDao() {
+        super(ReportJobEntity.class);
+    }
+
+    @Override
+    protected boolean isNew(ReportJobEntity entity) {
+        return entity.getId() == null;
+    }
+
+    public List<ReportJobEntity> selectByStatusIn(Collection<ReportJobStatus> statuses) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<ReportJobEntity> cq = cb.createQuery(ReportJobEntity.class);
+        Root<ReportJobEntity> root = cq.from(ReportJobEntity.class);
+        cq.select(root).where(root.get("status").in(statuses)).orderBy(cb.asc(root.get("id")));
+        return em.createQuery(cq).getResultList();
+    }
+
+    public List<ReportJobEntity> selectByStatusOrderByCompletedAt(ReportJobStatus status) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<ReportJobEntity> cq = cb.createQuery(ReportJobEntity.class);
+        Root<ReportJobEntity> root = cq.from(ReportJobEntity.class);
+        cq.select(root).where(cb.equal(root.get("status"), status))
+                .orderBy(cb.asc(root.get("completedAt")), cb.asc(root.get("id")));
+        return em.createQuery(cq).getResultList();
+    }
+
+    public int requeueRunningUpdatedBefore(ZonedDateTime cutoff) {
+        return updateStatusIfUpdatedBefore(ReportJobStatus.RUNNING, ReportJobStatus.QUEUED, cutoff);
+    }
+}
@@ -0,0 +1,37 @@
+package com.increff.pos.dao;
+
+import com.increff.pos.entity.SalesRollupWatermarkEntity;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+@Repository
+public class SalesRollupWatermarkDao extends AbstractDao<SalesRollupWatermarkEntity> {
+
+    private static final Integer WATERMARK_ID = 1;
+
+    public SalesRollupWatermarkDao() {
+        super(SalesRollupWatermarkEntity.class);
+    }
+
+    @Override
+    protected boolean isNew(SalesRollupWatermarkEntity entity) {
+        return entity.getVersion() == null;
+    }
+
+    public Optional<SalesRollupWatermarkEntity> selectWatermark() {
+        return selectById(WATERMARK_ID);
+    }
+
+    public SalesRollupWatermarkEntity updateWatermark(LocalDate firstDate, LocalDate lastDate) {
+        SalesRollupWatermarkEntity watermark = selectWatermark().orElseGet(() -> {
+            SalesRollupWatermarkEntity created = new SalesRollupWatermarkEntity();
+            created.setId(WATERMARK_ID);
+            return created;
+        });
+        watermark.setFirstDate(firstDate);
+        watermark.setLastDate(lastDate);
+        return save(watermark);
+    }
+}
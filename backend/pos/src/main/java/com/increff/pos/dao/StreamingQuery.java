@@ -0,0 +1,26 @@
+package com.increff.pos.dao;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaQuery;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.jpa.HibernateHints;
+
+import java.util.stream.Stream;
+
+final class StreamingQuery {
+
+    private static final int FETCH_SIZE = 500;
+
+    private StreamingQuery() {
+    }
+
+    static <R> Stream<R> stream(EntityManager em, CriteriaQuery<R> query) {
+        boolean mySql = em.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class).getJdbcServices()
+                .getDialect() instanceof MySQLDialect;
+        return em.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, mySql ? Integer.MIN_VALUE : FETCH_SIZE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+}
@@ -0,0 +1,47 @@
+package com.increff.pos.dao;
+
+import com.increff.pos.entity.UploadJobEntity;
+import com.increff.pos.model.domain.UploadJobStatus;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.springframework.stereotype.Repository;
+
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public class UploadJobDao extends AbstractDao<UploadJobEntity> {
+
+    public UploadJobDao() {
+        super(UploadJobEntity.class);
+    }
+
+    @Override
+    protected boolean isNew(UploadJobEntity entity) {
+        return entity.getId() == null;
+    }
+
+    public List<UploadJobEntity> selectByStatusIn(Collection<UploadJobStatus> statuses) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<UploadJobEntity> cq = cb.createQuery(UploadJobEntity.class);
+        Root<UploadJobEntity> root = cq.from(UploadJobEntity.class);
+        cq.select(root).where(root.get("status").in(statuses)).orderBy(cb.asc(root.get("id")));
+        return em.createQuery(cq).getResultList();
+    }
+
+    public List<UploadJobEntity> selectByStatusInAndCompletedAtBefore(Collection<UploadJobStatus> statuses,
+                                                                      ZonedDateTime cutoff) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<UploadJobEntity> cq = cb.createQuery(UploadJobEntity.class);
+        Root<UploadJobEntity> root = cq.from(UploadJobEntity.class);
+        cq.select(root).where(root.get("status").in(statuses), cb.lessThan(root.get("completedAt"), cutoff))
+                .orderBy(cb.asc(root.get("completedAt")), cb.asc(root.get("id")));
+        return em.createQuery(cq).getResultList();
+    }
+
+    public int requeueRunningUpdatedBefore(ZonedDateTime cutoff) {
+        return updateStatusIfUpdatedBefore(UploadJobStatus.RUNNING, UploadJobStatus.QUEUED, cutoff);
+    }
+}
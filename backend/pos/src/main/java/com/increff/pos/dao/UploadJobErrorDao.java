@@ -0,0 +1,31 @@
+package com.increff.pos.dao;
+
+import com.increff.pos.entity.UploadJobErrorEntity;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public class UploadJobErrorDao extends AbstractDao<UploadJobErrorEntity> {
+
+    public UploadJobErrorDao() {
+        super(UploadJobErrorEntity.class);
+    }
+
+    @Override
+    protected boolean isNew(UploadJobErrorEntity entity) {
+        return entity.getId() == null;
+    }
+
+    public List<UploadJobErrorEntity> selectByJobId(Integer jobId) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<UploadJobErrorEntity> cq = cb.createQuery(UploadJobErrorEntity.class);
+        Root<UploadJobErrorEntity> root = cq.from(UploadJobErrorEntity.class);
+        cq.select(root).where(cb.equal(root.get("jobId"), jobId))
+                .orderBy(cb.asc(root.get("fileRow")), cb.asc(root.get("id")));
+        return em.createQuery(cq).getResultList();
+    }
+}
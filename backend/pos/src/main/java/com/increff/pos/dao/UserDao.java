@@ -1,9 +1,6 @@
 package com.increff.pos.dao;
 
 import com.increff.pos.entity.UserEntity;
-import jakarta.persistence.criteria.CriteriaBuilder;
-import jakarta.persistence.criteria.CriteriaQuery;
-import jakarta.persistence.criteria.Root;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -21,10 +18,7 @@ public class UserDao extends AbstractDao<UserEntity> {
     }
 
     public Optional<UserEntity> selectByEmail(String email) {
-        CriteriaBuilder cb = em.getCriteriaBuilder();
-        CriteriaQuery<UserEntity> cq = cb.createQuery(UserEntity.class);
-        Root<UserEntity> root = cq.from(UserEntity.class);
-        cq.select(root).where(cb.equal(root.get("email"), email));
-        return em.createQuery(cq).getResultList().stream().findFirst();
+        return queryRegistry.create(em, QueryRegistry.USER_BY_EMAIL, UserEntity.class)
+                .setParameter("email", email).getResultList().stream().findFirst();
     }
 }
@@ -0,0 +1,35 @@
+package com.increff.pos.dto;
+
+import com.increff.pos.cache.CacheStats;
+import com.increff.pos.cache.CatalogCache;
+import com.increff.pos.cache.CountCache;
+import com.increff.pos.cache.ReportCache;
+import com.increff.pos.model.data.CacheStatsData;
+import com.increff.pos.util.ConversionUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class CacheDto extends AbstractDto {
+
+    @Autowired
+    private CatalogCache catalogCache;
+
+    @Autowired
+    private CountCache countCache;
+
+    @Autowired
+    private ReportCache reportCache;
+
+    @PreAuthorize("hasRole('SUPERVISOR')")
+    public List<CacheStatsData> getStats() {
+        List<CacheStats> stats = new ArrayList<>(catalogCache.stats());
+        stats.add(countCache.stats());
+        stats.addAll(reportCache.stats());
+        return stats.stream().map(ConversionUtil::cacheStatsToData).toList();
+    }
+}
@@ -9,11 +9,14 @@ import com.increff.pos.model.data.PagedResponse;
 import com.increff.pos.model.form.ClientForm;
 import com.increff.pos.model.form.ClientSearchForm;
 import com.increff.pos.model.form.ClientToggleForm;
+import com.increff.pos.model.domain.PaginationMode;
+import com.increff.pos.model.internal.KeysetPage;
 import com.increff.pos.util.ConversionUtil;
+import com.increff.pos.util.CursorUtil;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
@@ -44,10 +47,17 @@ public class ClientDto extends AbstractDto {
     @PreAuthorize("hasAnyRole('OPERATOR','SUPERVISOR')")
     public PagedResponse<ClientData> listClients(ClientSearchForm form) {
         checkValid(form);
+        if (form.getPaginationMode() == PaginationMode.KEYSET) {
+            KeysetPage<ClientEntity> keysetPage = clientApi.getClientsKeyset(form.getClientName(), form.getEnabled(),
+                    CursorUtil.decode(form.getCursor()), form.getPageSize());
+            List<ClientData> data = keysetPage.content().stream().map(ConversionUtil::clientEntityToData).toList();
+            return PagedResponse.keyset(data, CursorUtil.encode(keysetPage.next()), CursorUtil.encode(keysetPage.prev()));
+        }
         Pageable pageable = PageRequest.of(form.getPage(), form.getPageSize(), Sort.by("createdAt").descending());
-        Page<ClientEntity> page = clientApi.getClientsList(form.getClientName(), form.getEnabled(), pageable);
-        List<ClientData> data = page.getContent().stream().map(ConversionUtil::clientEntityToData).toList();
-        return new PagedResponse<>(data, page.getTotalElements());
+        Slice<ClientEntity> slice = clientApi.getClientsList(form.getClientName(), form.getEnabled(), pageable,
+                form.getPaginationMode());
+        List<ClientData> data = slice.getContent().stream().map(ConversionUtil::clientEntityToData).toList();
+        return ConversionUtil.sliceToPagedResponse(data, slice, form.getPaginationMode());
     }
 
     @PreAuthorize("hasAnyRole('SUPERVISOR')")
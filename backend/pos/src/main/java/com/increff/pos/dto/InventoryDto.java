@@ -1,5 +1,6 @@
 package com.increff.pos.dto;
 
+import com.increff.pos.flow.InventoryBatchFlow;
 import com.increff.pos.flow.InventoryFlow;
 import com.increff.pos.model.data.InventoryData;
 import com.increff.pos.model.data.PagedResponse;
@@ -10,10 +11,12 @@ import com.increff.pos.exception.ApiException;
 import com.increff.pos.exception.ApiStatus;
 import com.increff.pos.exception.TsvUploadException;
 import com.increff.pos.model.form.InventorySearchForm;
-import com.increff.pos.model.form.InventoryUploadForm;
+import com.increff.pos.model.domain.PaginationMode;
 import com.increff.pos.model.internal.InventoryUploadModel;
 import com.increff.pos.util.ConversionUtil;
+import com.increff.pos.util.CursorUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -23,7 +26,7 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.util.*;
 
-import static com.increff.pos.util.TsvParseUtils.parseInventoryTsv;
+import static com.increff.pos.util.TsvParseUtils.forEachInventoryRow;
 
 @Service
 public class InventoryDto extends AbstractDto {
@@ -31,6 +34,12 @@ public class InventoryDto extends AbstractDto {
     @Autowired
     private InventoryFlow inventoryFlow;
 
+    @Autowired
+    private InventoryBatchFlow inventoryBatchFlow;
+
+    @Value("${app.upload.tsv.max-rows:5000}")
+    private int maxUploadRows;
+
     @PreAuthorize("hasAnyRole('OPERATOR','SUPERVISOR')")
     public List<InventoryData> getAll() {
         return inventoryFlow.getAllForEnabledClients();
@@ -50,13 +59,19 @@ public class InventoryDto extends AbstractDto {
     @PreAuthorize("hasAnyRole('OPERATOR','SUPERVISOR')")
     public PagedResponse<InventoryData> list(InventorySearchForm form) {
 
+        if (form.getPaginationMode() == PaginationMode.KEYSET) {
+            return inventoryFlow.getKeysetForEnabledClients(form.getBarcode(), form.getProductName(),
+                    CursorUtil.decode(form.getCursor()), form.getPageSize());
+        }
+
         Pageable pageable = PageRequest.of(
                 form.getPage(),
                 form.getPageSize(),
                 Sort.by("productId").descending()
         );
 
-        return inventoryFlow.getPagedForEnabledClients(form.getBarcode(), form.getProductName(), pageable);
+        return inventoryFlow.getPagedForEnabledClients(form.getBarcode(), form.getProductName(), pageable,
+                form.getPaginationMode());
     }
 
     @PreAuthorize("hasRole('SUPERVISOR')")
@@ -66,65 +81,27 @@ public class InventoryDto extends AbstractDto {
             throw new ApiException(ApiStatus.BAD_REQUEST, "Empty file");
         }
 
-        List<InventoryUploadForm> forms = parseInventoryTsv(file);
-
-        TsvUploadResult<InventoryUploadForm> structural = validateStructural(forms);
-
-        if (!structural.isSuccess()) {
-            throw new TsvUploadException(structural.getErrors(), ApiStatus.BAD_REQUEST);
-        }
-
-        List<InventoryUploadModel> uploads = structural.getData().stream().map(ConversionUtil::inventoryUploadFormToModel).toList();
-
-        return processRowWise(uploads);
-    }
-
-
-    private TsvUploadResult<InventoryUploadForm> validateStructural(List<InventoryUploadForm> forms) {
-
+        List<InventoryUploadModel> uploads = new ArrayList<>();
         List<TsvUploadError> errors = new ArrayList<>();
         Set<String> seenBarcodes = new HashSet<>();
-        for (int i = 0; i < forms.size(); i++) {
-            InventoryUploadForm form = forms.get(i);
-            int rowNumber = i + 2;
+        forEachInventoryRow(file, maxUploadRows, (row, form) -> {
             try {
                 checkValid(form);
                 String normalized = form.getBarcode().trim().toLowerCase();
                 if (!seenBarcodes.add(normalized)) {
                     throw new ApiException(ApiStatus.BAD_REQUEST, "Duplicate barcode in file");
                 }
+                uploads.add(ConversionUtil.inventoryUploadFormToModel(form));
             } catch (Exception e) {
-                errors.add(new TsvUploadError(rowNumber, null, e.getMessage()));
+                errors.add(new TsvUploadError(row, null, e.getMessage()));
             }
-        }
-        if (!errors.isEmpty()) {
-            return TsvUploadResult.failure(errors);
-        }
-        return TsvUploadResult.success(forms);
-    }
-
-    private TsvUploadResult<InventoryData> processRowWise(List<InventoryUploadModel> uploads) {
-
-        List<TsvUploadError> errors = new ArrayList<>();
-        List<InventoryData> success = new ArrayList<>();
-        for (int i = 0; i < uploads.size(); i++) {
-            InventoryUploadModel upload = uploads.get(i);
-            int rowNumber = i + 2;
-            try {
-                InventoryData data = inventoryFlow.upsertFromUpload(upload);
-
-                success.add(data);
-
-            } catch (ApiException e) {
-                errors.add(new TsvUploadError(rowNumber, null, e.getMessage()));
-            }
-        }
+        });
 
         if (!errors.isEmpty()) {
-            return TsvUploadResult.failure(errors);
+            throw new TsvUploadException(errors, ApiStatus.BAD_REQUEST);
         }
 
-        return TsvUploadResult.success(success);
+        return inventoryBatchFlow.upsertFromUpload(uploads);
     }
 
 }
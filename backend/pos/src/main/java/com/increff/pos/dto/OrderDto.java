@@ -1,28 +1,36 @@
 package com.increff.pos.dto;
 
 import com.increff.pos.api.OrderApi;
-import com.increff.pos.client.InvoiceClient;
-import com.increff.pos.entity.InvoiceEntity;
+import com.increff.pos.entity.InvoiceJobEntity;
 import com.increff.pos.entity.OrderEntity;
 import com.increff.pos.entity.OrderItemEntity;
+import com.increff.pos.flow.InvoiceJobFlow;
+import com.increff.pos.idempotency.IdempotencyStore;
+import com.increff.pos.flow.OrderBatchFlow;
 import com.increff.pos.flow.OrderFlow;
 import com.increff.pos.model.data.*;
-import com.increff.pos.model.data.InvoiceClientForm;
-import com.increff.pos.model.form.InvoicePdfData;
+import com.increff.pos.model.form.OrderBatchForm;
 import com.increff.pos.model.form.OrderForm;
 import com.increff.pos.model.form.OrderPageForm;
+import com.increff.pos.model.domain.PaginationMode;
+import com.increff.pos.model.internal.KeysetPage;
+import com.increff.pos.model.internal.OrderBatchResult;
 import com.increff.pos.exception.ApiException;
 import com.increff.pos.exception.ApiStatus;
 import com.increff.pos.util.ConversionUtil;
-import com.increff.pos.util.PdfUtil;
+import com.increff.pos.util.CursorUtil;
 import com.increff.pos.util.ValidationUtil;
+import com.increff.pos.worker.InvoiceWorker;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
@@ -32,11 +40,20 @@ public class OrderDto extends AbstractDto {
     @Autowired
     private OrderFlow orderFlow;
 
+    @Autowired
+    private OrderBatchFlow orderBatchFlow;
+
     @Autowired
     private OrderApi orderApi;
 
     @Autowired
-    private InvoiceClient invoiceClient;
+    private InvoiceJobFlow invoiceJobFlow;
+
+    @Autowired
+    private InvoiceWorker invoiceWorker;
+
+    @Autowired
+    private IdempotencyStore idempotencyStore;
 
     @PreAuthorize("hasAnyRole('OPERATOR','SUPERVISOR')")
     public OrderPageData getOrders(OrderPageForm form) {
@@ -46,14 +63,22 @@ public class OrderDto extends AbstractDto {
         int page = Objects.nonNull(form.getPage()) ? form.getPage() : 0;
         int pageSize = Objects.nonNull(form.getPageSize()) ? form.getPageSize() : 10;
 
-        Page<OrderEntity> pageResult = orderApi.search(form.getStatus(), form.getClientId(), dateRange.start(),
-                dateRange.end(), page, pageSize);
+        if (form.getPaginationMode() == PaginationMode.KEYSET) {
+            KeysetPage<OrderEntity> keysetPage = orderApi.searchKeyset(form.getStatus(), form.getClientId(),
+                    dateRange.start(), dateRange.end(), CursorUtil.decode(form.getCursor()), pageSize);
+
+            List<OrderData> orders = keysetPage.content().stream().map(ConversionUtil::orderEntityToData).toList();
+
+            return ConversionUtil.orderKeysetPageToResponse(orders, pageSize, CursorUtil.encode(keysetPage.next()),
+                    CursorUtil.encode(keysetPage.prev()));
+        }
 
-        List<OrderData> orders = pageResult.getContent().stream().map(ConversionUtil::orderEntityToData).toList();
+        Slice<OrderEntity> slice = orderApi.search(form.getStatus(), form.getClientId(), dateRange.start(),
+                dateRange.end(), page, pageSize, form.getPaginationMode());
 
-        OrderPageData response = ConversionUtil.orderPageEntityToResponse(orders, page, pageSize,
-                                                                                    pageResult.getTotalElements());
-        return response;
+        List<OrderData> orders = slice.getContent().stream().map(ConversionUtil::orderEntityToData).toList();
+
+        return ConversionUtil.orderSliceToResponse(orders, page, pageSize, slice, form.getPaginationMode());
     }
 
     @PreAuthorize("hasAnyRole('OPERATOR','SUPERVISOR')")
@@ -64,12 +89,48 @@ public class OrderDto extends AbstractDto {
 
     @PreAuthorize("hasAnyRole('OPERATOR','SUPERVISOR')")
     public OrderData create(OrderForm form) {
+        return create(form, null);
+    }
+
+    @PreAuthorize("hasAnyRole('OPERATOR','SUPERVISOR')")
+    public OrderData create(OrderForm form, String idempotencyKey) {
         checkValid(form);
 
         List<OrderItemEntity> items = form.getItems().stream().map(ConversionUtil::orderItemFormToEntity)
                 .collect(Collectors.toList());
 
-        return ConversionUtil.orderEntityToData(orderFlow.createOrder(items));
+        if (Objects.isNull(idempotencyKey)) {
+            return ConversionUtil.orderEntityToData(orderFlow.createOrder(items));
+        }
+
+        Integer orderId = idempotencyStore.execute("order", idempotencyKey, orderFingerprint(form),
+                () -> orderFlow.createOrder(items).getId());
+        return ConversionUtil.orderEntityToData(orderApi.getCheckById(orderId));
+    }
+
+    @PreAuthorize("hasAnyRole('OPERATOR','SUPERVISOR')")
+    public OrderBatchData createBatch(OrderBatchForm form) {
+        checkValid(form);
+
+        List<OrderBatchResult> results = new ArrayList<>();
+        Map<Integer, List<OrderItemEntity>> itemsByIndex = new LinkedHashMap<>();
+
+        for (int i = 0; i < form.getOrders().size(); i++) {
+            OrderForm order = form.getOrders().get(i);
+            try {
+                checkValid(order);
+                checkValidList(order.getItems());
+                itemsByIndex.put(i, order.getItems().stream().map(ConversionUtil::orderItemFormToEntity)
+                        .collect(Collectors.toList()));
+            } catch (ApiException e) {
+                results.add(OrderBatchResult.failure(i, e));
+            }
+        }
+
+        if (!itemsByIndex.isEmpty()) {
+            results.addAll(orderBatchFlow.createOrders(itemsByIndex));
+        }
+        return ConversionUtil.orderBatchResultsToData(results);
     }
 
     @PreAuthorize("hasAnyRole('OPERATOR','SUPERVISOR')")
@@ -79,17 +140,33 @@ public class OrderDto extends AbstractDto {
     }
 
     @PreAuthorize("hasAnyRole('OPERATOR','SUPERVISOR')")
-    public InvoiceSummaryData generateInvoice(Integer orderId) {
-
-        InvoiceClientForm form = orderFlow.buildInvoiceForm(orderId);
+    public InvoiceJobData generateInvoice(Integer orderId) {
+        return generateInvoice(orderId, null);
+    }
 
-        InvoicePdfData data = invoiceClient.generate(form);
+    @PreAuthorize("hasAnyRole('OPERATOR','SUPERVISOR')")
+    public InvoiceJobData generateInvoice(Integer orderId, String idempotencyKey) {
+        validateOrderId(orderId);
 
-        String filePath = PdfUtil.save(data.getBase64Pdf(), orderId);
+        InvoiceJobEntity job;
+        if (Objects.isNull(idempotencyKey)) {
+            job = invoiceJobFlow.enqueue(orderId);
+        } else {
+            Integer jobId = idempotencyStore.execute("invoice", idempotencyKey, String.valueOf(orderId),
+                    () -> invoiceJobFlow.enqueue(orderId).getId());
+            job = invoiceJobFlow.getJob(jobId);
+        }
+        invoiceWorker.submit(job.getId());
 
-        InvoiceEntity invoice = orderFlow.saveInvoice(orderId, filePath);
+        return ConversionUtil.invoiceJobEntityToData(job);
+    }
 
-        return ConversionUtil.invoiceEntityToSummaryData(invoice);
+    @PreAuthorize("hasAnyRole('OPERATOR','SUPERVISOR')")
+    public InvoiceJobData getInvoiceJob(Integer jobId) {
+        if (Objects.isNull(jobId)) {
+            throw new ApiException(ApiStatus.BAD_REQUEST, "Job ID is required", "jobId", "Job ID is required");
+        }
+        return ConversionUtil.invoiceJobEntityToData(invoiceJobFlow.getJob(jobId));
     }
 
     @PreAuthorize("hasAnyRole('OPERATOR','SUPERVISOR')")
@@ -104,6 +181,11 @@ public class OrderDto extends AbstractDto {
         }
     }
 
+    private static String orderFingerprint(OrderForm form) {
+        return form.getItems().stream().map(item -> item.getProductId() + ":" + item.getQuantity() + ":"
+                + item.getSellingPrice().stripTrailingZeros().toPlainString()).collect(Collectors.joining(","));
+    }
+
     private static DateRange parseAndCheckDateRange(OrderPageForm form) {
         ZonedDateTime start = null;
         ZonedDateTime end = null;
@@ -1,24 +1,28 @@
 package com.increff.pos.dto;
 
-import com.increff.pos.api.ClientApi;
 import com.increff.pos.entity.ProductEntity;
 import com.increff.pos.model.data.PagedResponse;
 import com.increff.pos.model.data.ProductData;
 import com.increff.pos.model.data.TsvUploadError;
 import com.increff.pos.model.data.TsvUploadResult;
 import com.increff.pos.model.form.ProductForm;
+import com.increff.pos.flow.ProductBatchFlow;
 import com.increff.pos.flow.ProductFlow;
 import com.increff.pos.exception.ApiException;
 import com.increff.pos.exception.ApiStatus;
 import com.increff.pos.exception.TsvUploadException;
 import com.increff.pos.model.form.ProductSearchForm;
 import com.increff.pos.model.form.ProductUploadForm;
-import com.increff.pos.model.internal.ProductUploadModel;
+import com.increff.pos.model.domain.PaginationMode;
+import com.increff.pos.model.internal.KeysetPage;
+import com.increff.pos.model.internal.ProductBatchResult;
 import com.increff.pos.util.ConversionUtil;
+import com.increff.pos.util.CursorUtil;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
@@ -26,17 +30,20 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.util.*;
 
-import static com.increff.pos.util.TsvParseUtils.parseProductTsv;
+import static com.increff.pos.util.TsvParseUtils.forEachProductRow;
 
 @Service
 public class ProductDto extends AbstractDto {
 
     @Autowired
-    private ClientApi clientApi;
+    private ProductBatchFlow productBatchFlow;
 
     @Autowired
     private ProductFlow productFlow;
 
+    @Value("${app.upload.tsv.max-rows:5000}")
+    private int maxUploadRows;
+
     @PreAuthorize("hasAnyRole('OPERATOR','SUPERVISOR')")
     public List<ProductData> getAll() {
         return productFlow.getAll().stream().map(ConversionUtil::productEntityToData).toList();
@@ -61,12 +68,18 @@ public class ProductDto extends AbstractDto {
     @PreAuthorize("hasAnyRole('OPERATOR','SUPERVISOR')")
     public PagedResponse<ProductData> listProducts(ProductSearchForm form) {
         checkValid(form);
+        if (form.getPaginationMode() == PaginationMode.KEYSET) {
+            KeysetPage<ProductEntity> keysetPage = productFlow.searchProductsKeyset(form.getClientId(),
+                    form.getBarcode(), form.getProductName(), CursorUtil.decode(form.getCursor()), form.getPageSize());
+            List<ProductData> data = keysetPage.content().stream().map(ConversionUtil::productEntityToData).toList();
+            return PagedResponse.keyset(data, CursorUtil.encode(keysetPage.next()), CursorUtil.encode(keysetPage.prev()));
+        }
         Pageable pageable = PageRequest.of(form.getPage(),form.getPageSize(),
                                                         Sort.by("createdAt").descending());
-        Page<ProductEntity> page = productFlow.searchProducts(form.getClientId(),form.getBarcode(),
-                                                        form.getProductName(),pageable);
-        List<ProductData> data = page.getContent().stream().map(ConversionUtil::productEntityToData).toList();
-        return new PagedResponse<>(data,page.getTotalElements());
+        Slice<ProductEntity> slice = productFlow.searchProducts(form.getClientId(),form.getBarcode(),
+                                                        form.getProductName(),pageable,form.getPaginationMode());
+        List<ProductData> data = slice.getContent().stream().map(ConversionUtil::productEntityToData).toList();
+        return ConversionUtil.sliceToPagedResponse(data,slice,form.getPaginationMode());
     }
 
     @PreAuthorize("hasRole('SUPERVISOR')")
@@ -76,62 +89,43 @@ public class ProductDto extends AbstractDto {
             throw new ApiException(ApiStatus.BAD_REQUEST, "Empty file");
         }
 
-        List<ProductUploadForm> forms = parseProductTsv(file);
-
-        TsvUploadResult<ProductUploadForm> structural = validateUploadForms(forms);
-
-        if (!structural.isSuccess()) {
-            throw new TsvUploadException(structural.getErrors(), ApiStatus.BAD_REQUEST);
-        }
-
-        List<ProductUploadForm> uploads = structural.getData();
-
-        return createRowWise(uploads);
-    }
-
-    private TsvUploadResult<ProductUploadForm> validateUploadForms( List<ProductUploadForm> forms) {
+        List<ProductUploadForm> uploads = new ArrayList<>();
         List<TsvUploadError> errors = new ArrayList<>();
         Set<String> barcodeSet = new HashSet<>();
-        for (int i = 0; i < forms.size(); i++) {
-            ProductUploadForm form = forms.get(i);
-            int rowNumber = i + 2;
+        forEachProductRow(file, maxUploadRows, (row, form) -> {
             try {
                 checkValid(form);
                 if (!barcodeSet.add(form.getBarcode())) {
                     throw new ApiException(ApiStatus.BAD_REQUEST, "Duplicate barcode in file");
                 }
+                uploads.add(form);
             } catch (Exception e) {
-                errors.add(new TsvUploadError(rowNumber, null, e.getMessage()));
+                errors.add(new TsvUploadError(row, null, e.getMessage()));
             }
-        }
+        });
+
         if (!errors.isEmpty()) {
-            return TsvUploadResult.failure(errors);
+            throw new TsvUploadException(errors, ApiStatus.BAD_REQUEST);
         }
-        return TsvUploadResult.success(forms);
+
+        return createInBulk(uploads);
     }
 
-    private TsvUploadResult<ProductData> createRowWise(List<ProductUploadForm> uploads) {
+    private TsvUploadResult<ProductData> createInBulk(List<ProductUploadForm> uploads) {
+
+        List<ProductBatchResult> results = productBatchFlow.createProducts(uploads.stream()
+                .map(ConversionUtil::convertProductUploadFormToUploadModel).toList());
 
         List<TsvUploadError> errors = new ArrayList<>();
         List<ProductData> success = new ArrayList<>();
 
-        Set<String> compositeSet = new HashSet<>();
-
-        for (int i = 0; i < uploads.size(); i++) {
-
-            ProductUploadForm upload = uploads.get(i);
-            int rowNumber = i + 2;
-
-            try {
-                Integer clientId = clientApi.getClientIdByName(upload.getClientName());
-                ProductEntity uploadEntity = ConversionUtil.productUploadFormToEntity(upload, clientId);
-                validateProductCombination(clientId, uploadEntity, compositeSet);
-                ProductEntity entity = productFlow.createFromUpload(uploadEntity);
-                success.add(ConversionUtil.productEntityToData(entity));
-            } catch (ApiException e) {
-                errors.add(new TsvUploadError(rowNumber, null, e.getMessage()));
+        results.stream().sorted(Comparator.comparingInt(ProductBatchResult::index)).forEach(result -> {
+            if (result.error() != null) {
+                errors.add(new TsvUploadError(result.index() + 2, null, result.error().getMessage()));
+            } else {
+                success.add(ConversionUtil.productEntityToData(result.product()));
             }
-        }
+        });
 
         if (!errors.isEmpty()) {
             return TsvUploadResult.failure(errors);
@@ -140,12 +134,4 @@ public class ProductDto extends AbstractDto {
         return TsvUploadResult.success(success);
     }
 
-    private static void validateProductCombination(Integer clientId, ProductEntity uploadEntity, Set<String> compositeSet) {
-        String compositeKey = clientId + "|" + uploadEntity.getProductName() + "|" + uploadEntity.getMrp();
-
-        if (!compositeSet.add(compositeKey)) {
-            throw new ApiException(ApiStatus.CONFLICT, "Duplicate product combination in file");
-        }
-    }
-
 }
\ No newline at end of file
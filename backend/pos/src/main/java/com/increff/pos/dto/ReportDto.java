@@ -1,26 +1,53 @@
 package com.increff.pos.dto;
 
+import com.increff.pos.analytics.SalesColumnStore;
 import com.increff.pos.api.DaySalesApi;
+import com.increff.pos.api.HourSalesApi;
 import com.increff.pos.api.ReportApi;
-import com.increff.pos.entity.DaySalesEntity;
+import com.increff.pos.api.ReportJobApi;
+import com.increff.pos.entity.ReportJobEntity;
+import com.increff.pos.exception.ApiException;
+import com.increff.pos.export.ExportFormat;
+import com.increff.pos.export.ReportExport;
+import com.increff.pos.export.ReportSchemas;
+import com.increff.pos.flow.SalesRollupFlow;
+import com.increff.pos.exception.ApiStatus;
+import com.increff.pos.model.data.DaySalesBackfillData;
 import com.increff.pos.model.data.DaySalesData;
 import com.increff.pos.model.data.DaySalesPageData;
+import com.increff.pos.model.data.ReportJobData;
+import com.increff.pos.model.data.SalesAnalyticsData;
 import com.increff.pos.model.data.SalesReportPageData;
-import com.increff.pos.model.data.SalesReportRowData;
+import com.increff.pos.model.data.SalesRollupData;
+import com.increff.pos.model.data.TodaySalesData;
+import com.increff.pos.model.form.DaySalesBackfillForm;
 import com.increff.pos.model.form.DaySalesReportForm;
+import com.increff.pos.model.form.SalesAnalyticsForm;
 import com.increff.pos.model.form.SalesReportForm;
+import com.increff.pos.model.form.SalesRollupBackfillForm;
+import com.increff.pos.model.domain.PaginationMode;
+import com.increff.pos.model.domain.ReportJobStatus;
+import com.increff.pos.model.domain.ReportJobType;
+import com.increff.pos.model.internal.AnalyticsQuery;
+import com.increff.pos.model.internal.ReportJobDownload;
 import com.increff.pos.model.internal.SalesReportRow;
 import com.increff.pos.util.ConversionUtil;
 import com.increff.pos.util.ValidationUtil;
+import com.increff.pos.worker.DaySalesBackfillWorker;
+import com.increff.pos.worker.ReportJobWorker;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.time.ZonedDateTime;
-import java.util.List;
 import java.util.Objects;
 
 @Service
@@ -32,6 +59,24 @@ public class ReportDto extends AbstractDto{
     @Autowired
     private DaySalesApi daySalesApi;
 
+    @Autowired
+    private SalesRollupFlow salesRollupFlow;
+
+    @Autowired
+    private HourSalesApi hourSalesApi;
+
+    @Autowired
+    private DaySalesBackfillWorker daySalesBackfillWorker;
+
+    @Autowired
+    private SalesColumnStore salesColumnStore;
+
+    @Autowired
+    private ReportJobApi reportJobApi;
+
+    @Autowired
+    private ReportJobWorker reportJobWorker;
+
     @PreAuthorize("hasRole('SUPERVISOR')")
     public DaySalesPageData getDaySales(DaySalesReportForm form) {
         checkValid(form);
@@ -46,12 +91,10 @@ public class ReportDto extends AbstractDto{
 
         Pageable pageable = PageRequest.of(page, pageSize);
 
-        Page<DaySalesEntity> pageResult = daySalesApi.findByDateRange(startDate, endDate, pageable);
-
-        List<DaySalesData> rows = pageResult.getContent().stream().map(ConversionUtil::daySalesEntityToData).toList();
+        Page<DaySalesData> pageResult = daySalesApi.findByDateRange(startDate, endDate, pageable);
 
         DaySalesPageData response = new DaySalesPageData();
-        response.setContent(rows);
+        response.setContent(pageResult.getContent());
         response.setPage(page);
         response.setPageSize(pageSize);
         response.setTotalElements(pageResult.getTotalElements());
@@ -68,11 +111,17 @@ public class ReportDto extends AbstractDto{
 
         ValidationUtil.validateOptionalDateRange(startDate, endDate);
 
+        if (form.getPaginationMode() == PaginationMode.KEYSET) {
+            throw new ApiException(ApiStatus.BAD_REQUEST, "Keyset pagination is not supported for sales report",
+                    "paginationMode", "Keyset pagination is not supported for sales report");
+        }
+
         Integer page = Objects.nonNull(form.getPage()) ? form.getPage() : 0;
         Integer pageSize = Objects.nonNull(form.getPageSize()) ? form.getPageSize() : 10;
 
         Pageable pageable = PageRequest.of(page, pageSize);
 
+        // The report is merged in memory, so every mode gets the exact total and hasNext for free.
         Page<SalesReportRow> pageResult = reportApi.getSalesReport(startDate, endDate, form.getClientId(), pageable);
 
         SalesReportPageData response = new SalesReportPageData();
@@ -80,33 +129,139 @@ public class ReportDto extends AbstractDto{
         response.setPage(page);
         response.setPageSize(pageSize);
         response.setTotalElements(pageResult.getTotalElements());
+        response.setHasNext(pageResult.hasNext());
 
         return response;
     }
 
     @PreAuthorize("hasRole('SUPERVISOR')")
-    public List<SalesReportRowData> getAllSalesReportForExport(SalesReportForm form) {
+    public StreamingResponseBody exportSalesReport(SalesReportForm form, ExportFormat format, boolean gzip) {
         checkValid(form);
 
         ZonedDateTime startDate = form.getStartDate();
         ZonedDateTime endDate = form.getEndDate();
+        Integer clientId = form.getClientId();
 
         ValidationUtil.validateOptionalDateRange(startDate, endDate);
 
-        List<SalesReportRow> allRows = reportApi.getAllSalesReport(startDate, endDate, form.getClientId());
+        return outputStream -> ReportExport.write(outputStream, format, gzip, ReportSchemas.SALES,
+                action -> reportApi.forEachSalesRow(startDate, endDate, clientId, action));
+    }
 
-        return allRows.stream().map(ConversionUtil::salesReportRowToData).toList();
+    @PreAuthorize("hasRole('SUPERVISOR')")
+    public StreamingResponseBody exportDaySales(DaySalesReportForm form, ExportFormat format, boolean gzip) {
+        checkValid(form);
+
+        var startDate = form.getStartDate();
+        var endDate = form.getEndDate();
+
+        ValidationUtil.validateOptionalDateRange(startDate, endDate);
+
+        return outputStream -> ReportExport.write(outputStream, format, gzip, ReportSchemas.DAY_SALES,
+                action -> daySalesApi.forEachByDateRange(startDate, endDate, action));
+    }
+
+    @PreAuthorize("hasRole('SUPERVISOR')")
+    public SalesRollupData backfillSalesRollup(SalesRollupBackfillForm form) {
+        checkValid(form);
+
+        return ConversionUtil.salesRollupWatermarkToData(salesRollupFlow.backfill(form.getStartDate(),
+                form.getEndDate()));
+    }
+
+    @PreAuthorize("hasRole('SUPERVISOR')")
+    public TodaySalesData getTodaySales(Integer clientId) {
+        LocalDate today = LocalDate.now(ZoneId.of("Asia/Kolkata"));
+
+        return ConversionUtil.hourSalesToTodayData(today, clientId, hourSalesApi.getByDate(today, clientId));
     }
 
     @PreAuthorize("hasRole('SUPERVISOR')")
-    public List<DaySalesData> getAllDaySalesForExport(DaySalesReportForm form) {
+    public DaySalesBackfillData backfillDaySales(DaySalesBackfillForm form) {
+        checkValid(form);
+
+        return ConversionUtil.daySalesBackfillProgressToData(daySalesBackfillWorker.start(form.getStartDate(),
+                form.getEndDate()));
+    }
+
+    @PreAuthorize("hasRole('SUPERVISOR')")
+    public DaySalesBackfillData getDaySalesBackfill() {
+        return daySalesBackfillWorker.getProgress().map(ConversionUtil::daySalesBackfillProgressToData)
+                .orElseThrow(() -> new ApiException(ApiStatus.NOT_FOUND, "No day sales backfill has been run"));
+    }
+
+    @PreAuthorize("hasRole('SUPERVISOR')")
+    public SalesAnalyticsData getSalesAnalytics(SalesAnalyticsForm form) {
+        checkValid(form);
+
+        ValidationUtil.validateOptionalDateRange(form.getStartDate(), form.getEndDate());
+        if (form.getRows() == form.getColumns()) {
+            throw new ApiException(ApiStatus.BAD_REQUEST, "Row and column dimensions must differ", "columns",
+                    "Row and column dimensions must differ");
+        }
+
+        AnalyticsQuery query = ConversionUtil.salesAnalyticsFormToQuery(form);
+        return ConversionUtil.analyticsResultToData(query, salesColumnStore.query(query));
+    }
+
+    @PreAuthorize("hasRole('SUPERVISOR')")
+    public ReportJobData submitSalesReportJob(SalesReportForm form, ExportFormat format, boolean gzip) {
+        checkValid(form);
+
+        ZonedDateTime startDate = form.getStartDate();
+        ZonedDateTime endDate = form.getEndDate();
+        if (Objects.isNull(startDate) || Objects.isNull(endDate)) {
+            throw new ApiException(ApiStatus.BAD_REQUEST, "Start and end dates are required for report jobs",
+                    "startDate", "Start and end dates are required for report jobs");
+        }
+        ValidationUtil.validateOptionalDateRange(startDate, endDate);
+
+        return submitReportJob(ConversionUtil.createReportJob(ReportJobType.SALES, startDate, endDate,
+                form.getClientId(), format, gzip));
+    }
+
+    @PreAuthorize("hasRole('SUPERVISOR')")
+    public ReportJobData submitDaySalesReportJob(DaySalesReportForm form, ExportFormat format, boolean gzip) {
         checkValid(form);
 
         ValidationUtil.validateOptionalDateRange(form.getStartDate(), form.getEndDate());
 
-        List<DaySalesEntity> entities = daySalesApi.findAllByDateRange(form.getStartDate(), form.getEndDate());
+        ZoneId ist = ZoneId.of("Asia/Kolkata");
+        return submitReportJob(ConversionUtil.createReportJob(ReportJobType.DAY_SALES,
+                form.getStartDate().atStartOfDay(ist), form.getEndDate().atStartOfDay(ist), null, format, gzip));
+    }
+
+    @PreAuthorize("hasRole('SUPERVISOR')")
+    public ReportJobData getReportJob(Integer jobId) {
+        return ConversionUtil.reportJobEntityToData(reportJobApi.getCheckById(jobId));
+    }
+
+    @PreAuthorize("hasRole('SUPERVISOR')")
+    public ReportJobData cancelReportJob(Integer jobId) {
+        ReportJobEntity job = reportJobApi.cancel(jobId);
+        reportJobWorker.cancel(jobId);
+        return ConversionUtil.reportJobEntityToData(job);
+    }
 
-        return entities.stream().map(ConversionUtil::daySalesEntityToData).toList();
+    @PreAuthorize("hasRole('SUPERVISOR')")
+    public ReportJobDownload downloadReportJob(Integer jobId) {
+        ReportJobEntity job = reportJobApi.getCheckById(jobId);
+        if (job.getStatus() != ReportJobStatus.COMPLETED) {
+            throw new ApiException(ApiStatus.CONFLICT, "Report job is " + job.getStatus(), "jobId",
+                    "Report job is not completed");
+        }
+        Path file = Path.of(job.getFilePath());
+        if (!Files.isReadable(file)) {
+            throw new ApiException(ApiStatus.NOT_FOUND, "Report file is no longer available", "jobId",
+                    "Report file is no longer available");
+        }
+        return new ReportJobDownload(job.getType(), job.getFormat(), job.getGzip(),
+                outputStream -> Files.copy(file, outputStream));
     }
 
+    private ReportJobData submitReportJob(ReportJobEntity job) {
+        ReportJobEntity created = reportJobApi.create(job);
+        reportJobWorker.submit(created.getId());
+        return ConversionUtil.reportJobEntityToData(created);
+    }
 }
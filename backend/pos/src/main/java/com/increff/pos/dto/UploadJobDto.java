@@ -0,0 +1,95 @@
+package com.increff.pos.dto;
+
+import com.increff.pos.api.UploadJobApi;
+import com.increff.pos.entity.UploadJobEntity;
+import com.increff.pos.exception.ApiException;
+import com.increff.pos.exception.ApiStatus;
+import com.increff.pos.model.data.TsvUploadError;
+import com.increff.pos.model.data.UploadJobData;
+import com.increff.pos.model.domain.UploadJobType;
+import com.increff.pos.model.internal.SpooledUpload;
+import com.increff.pos.model.internal.UploadJobErrorExport;
+import com.increff.pos.util.ConversionUtil;
+import com.increff.pos.util.TsvErrorExportUtil;
+import com.increff.pos.worker.UploadJobWorker;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.util.List;
+
+@Service
+public class UploadJobDto extends AbstractDto {
+
+    @Autowired
+    private UploadJobApi uploadJobApi;
+
+    @Autowired
+    private UploadJobWorker uploadJobWorker;
+
+    @PreAuthorize("hasRole('SUPERVISOR')")
+    public UploadJobData submitProductUpload(MultipartFile file) {
+        return submit(UploadJobType.PRODUCT, file);
+    }
+
+    @PreAuthorize("hasRole('SUPERVISOR')")
+    public UploadJobData submitInventoryUpload(MultipartFile file) {
+        return submit(UploadJobType.INVENTORY, file);
+    }
+
+    @PreAuthorize("hasRole('SUPERVISOR')")
+    public UploadJobData getUploadJob(Integer jobId) {
+        return ConversionUtil.uploadJobEntityToData(uploadJobApi.getCheckById(jobId));
+    }
+
+    @PreAuthorize("hasRole('SUPERVISOR')")
+    public UploadJobData cancelUploadJob(Integer jobId) {
+        UploadJobEntity job = uploadJobApi.cancel(jobId);
+        uploadJobWorker.cancel(jobId);
+        return ConversionUtil.uploadJobEntityToData(job);
+    }
+
+    @PreAuthorize("hasRole('SUPERVISOR')")
+    public UploadJobData resumeUploadJob(Integer jobId) {
+        if (uploadJobWorker.isInFlight(jobId)) {
+            throw new ApiException(ApiStatus.CONFLICT, "Upload job is still stopping, try again shortly", "jobId",
+                    "Upload job " + jobId + " is still stopping");
+        }
+        UploadJobEntity job = uploadJobApi.resume(jobId);
+        uploadJobWorker.submit(jobId);
+        return ConversionUtil.uploadJobEntityToData(job);
+    }
+
+    @PreAuthorize("hasRole('SUPERVISOR')")
+    public UploadJobErrorExport exportUploadJobErrors(Integer jobId) {
+        UploadJobEntity job = uploadJobApi.getCheckById(jobId);
+        List<TsvUploadError> errors = uploadJobApi.getErrors(jobId).stream()
+                .map(ConversionUtil::uploadJobErrorEntityToError).toList();
+        String module = job.getType() == UploadJobType.PRODUCT ? "products" : "inventory";
+        try {
+            return new UploadJobErrorExport(TsvErrorExportUtil.generateErrorFilename(module),
+                    TsvErrorExportUtil.exportErrorsToTsv(errors, module));
+        } catch (IOException e) {
+            throw new ApiException(ApiStatus.INTERNAL_ERROR, "Failed to export upload errors");
+        }
+    }
+
+    private UploadJobData submit(UploadJobType type, MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            throw new ApiException(ApiStatus.BAD_REQUEST, "Empty file");
+        }
+
+        SpooledUpload upload = uploadJobWorker.spool(file);
+        UploadJobEntity job;
+        try {
+            job = uploadJobApi.create(ConversionUtil.createUploadJob(type, file.getOriginalFilename(), upload));
+        } catch (RuntimeException e) {
+            uploadJobWorker.discard(upload);
+            throw e;
+        }
+        uploadJobWorker.submit(job.getId());
+        return ConversionUtil.uploadJobEntityToData(job);
+    }
+}
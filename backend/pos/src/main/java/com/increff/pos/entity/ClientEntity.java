@@ -1,5 +1,6 @@
 package com.increff.pos.entity;
 
+import com.increff.pos.idgen.SegmentId;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
@@ -17,10 +18,7 @@ import org.hibernate.validator.constraints.Length;
 public class ClientEntity extends AbstractClientEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.TABLE, generator = "id_gen")
-    @TableGenerator(name = "id_gen", table = "id_generator", pkColumnName = "gen_name", valueColumnName = "gen_value",
-            pkColumnValue = "client_id", allocationSize = 1
-    )
+    @SegmentId(name = "client_id")
     private Integer id;
 
     @Column(nullable = false)
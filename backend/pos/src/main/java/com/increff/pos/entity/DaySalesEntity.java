@@ -1,5 +1,6 @@
 package com.increff.pos.entity;
 
+import com.increff.pos.idgen.SegmentId;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
@@ -19,11 +20,7 @@ import java.time.LocalDate;
 public class DaySalesEntity extends AbstractEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.TABLE, generator = "id_gen")
-    @TableGenerator(
-            name = "id_gen", table = "id_generator", pkColumnName = "gen_name", valueColumnName = "gen_value",
-            pkColumnValue = "day_sales_id", allocationSize = 1
-    )
+    @SegmentId(name = "day_sales_id")
     private Integer id;
 
     @Column(nullable = false, unique = true)
@@ -0,0 +1,43 @@
+package com.increff.pos.entity;
+
+import com.increff.pos.idgen.SegmentId;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Entity
+@Table(
+        name = "pos_hour_sales",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_hour_sales", columnNames = {"date", "sale_hour", "client_id"})
+        }
+)
+@Getter
+@Setter
+public class HourSalesEntity extends AbstractEntity {
+
+    @Id
+    @SegmentId(name = "hour_sales_id")
+    private Integer id;
+
+    @Column(nullable = false)
+    private LocalDate date;
+
+    @Column(name = "sale_hour", nullable = false)
+    private Integer hour;
+
+    @Column(nullable = false)
+    private Integer clientId;
+
+    @Column(nullable = false)
+    private Integer invoicedOrdersCount;
+
+    @Column(nullable = false)
+    private Integer invoicedItemsCount;
+
+    @Column(precision = 15, scale = 2, nullable = false)
+    private BigDecimal totalRevenue;
+}
@@ -0,0 +1,36 @@
+package com.increff.pos.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.ZonedDateTime;
+
+@Entity
+@Table(
+        name = "idempotency_key",
+        indexes = {
+                @Index(name = "idx_idempotency_key_expires_at", columnList = "expires_at")
+        }
+)
+@Getter
+@Setter
+public class IdempotencyKeyEntity extends AbstractEntity {
+
+    @Id
+    @Column(length = 150)
+    private String id;
+
+    @Column(nullable = false, length = 64)
+    private String fingerprint;
+
+    @Column(nullable = false)
+    private Integer resourceId;
+
+    @Column(nullable = false)
+    private ZonedDateTime expiresAt;
+}
@@ -1,5 +1,6 @@
 package com.increff.pos.entity;
 
+import com.increff.pos.idgen.SegmentId;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
@@ -14,11 +15,7 @@ import lombok.Setter;
 public class InventoryEntity extends AbstractEntity{
 
     @Id
-    @GeneratedValue(strategy = GenerationType.TABLE, generator = "id_gen")
-    @TableGenerator(
-            name = "id_gen", table = "id_generator", pkColumnName = "gen_name", valueColumnName = "gen_value",
-            pkColumnValue = "inventory_id", allocationSize = 50
-    )
+    @SegmentId(name = "inventory_id")
     private Integer id;
 
     @Column(nullable = false)
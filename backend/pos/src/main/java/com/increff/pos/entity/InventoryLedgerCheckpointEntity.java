@@ -0,0 +1,22 @@
+package com.increff.pos.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+@Entity
+@Table(name = "inventory_ledger_checkpoint")
+@Getter
+@Setter
+public class InventoryLedgerCheckpointEntity extends AbstractEntity {
+
+    @Id
+    private Integer id;
+
+    @Column(nullable = false)
+    private Long lastSequence;
+
+}
@@ -0,0 +1,53 @@
+package com.increff.pos.entity;
+
+import com.increff.pos.idgen.SegmentId;
+import com.increff.pos.model.domain.InvoiceJobStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.ZonedDateTime;
+
+@Entity
+@Table(
+        name = "invoice_job",
+        indexes = {
+                @Index(name = "idx_invoice_job_order_id", columnList = "order_id"),
+                @Index(name = "idx_invoice_job_status", columnList = "status")
+        },
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_invoice_job_active_order_id", columnNames = "active_order_id")
+        }
+)
+@Getter
+@Setter
+public class InvoiceJobEntity extends AbstractEntity {
+
+    @Id
+    @SegmentId(name = "invoice_job_id")
+    private Integer id;
+
+    @Column(nullable = false)
+    private Integer orderId;
+
+    private Integer activeOrderId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private InvoiceJobStatus status;
+
+    @Column(nullable = false)
+    private Integer attempts = 0;
+
+    @Column(length = 1000)
+    private String errorMessage;
+
+    private ZonedDateTime completedAt;
+}
@@ -1,5 +1,6 @@
 package com.increff.pos.entity;
 
+import com.increff.pos.idgen.SegmentId;
 import com.increff.pos.model.domain.OrderStatus;
 import jakarta.persistence.*;
 import lombok.Getter;
@@ -19,11 +20,7 @@ import lombok.Setter;
 public class OrderEntity extends AbstractEntity{
 
     @Id
-    @GeneratedValue(strategy = GenerationType.TABLE, generator = "id_gen")
-    @TableGenerator(
-            name = "id_gen", table = "id_generator", pkColumnName = "gen_name", valueColumnName = "gen_value",
-            pkColumnValue = "order_id", allocationSize = 50
-    )
+    @SegmentId(name = "order_id")
     private Integer id;
 
     @Column(nullable = false)
@@ -1,5 +1,6 @@
 package com.increff.pos.entity;
 
+import com.increff.pos.idgen.SegmentId;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
@@ -22,11 +23,7 @@ import java.math.BigDecimal;
 public class OrderItemEntity extends AbstractEntity{
 
     @Id
-    @GeneratedValue(strategy = GenerationType.TABLE, generator = "id_gen")
-    @TableGenerator(
-            name = "id_gen", table = "id_generator", pkColumnName = "gen_name", valueColumnName = "gen_value",
-            pkColumnValue = "order_item_id", allocationSize = 50
-    )
+    @SegmentId(name = "order_item_id")
     private Integer id;
 
     @Column(nullable = false)
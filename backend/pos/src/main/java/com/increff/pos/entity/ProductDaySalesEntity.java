@@ -0,0 +1,43 @@
+package com.increff.pos.entity;
+
+import com.increff.pos.idgen.SegmentId;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Entity
+@Table(
+        name = "pos_product_day_sales",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_product_day_sales", columnNames = {"date", "client_id", "product_id"})
+        },
+        indexes = {
+                @Index(name = "idx_product_day_sales_client_date", columnList = "client_id, date")
+        }
+)
+@Getter
+@Setter
+public class ProductDaySalesEntity extends AbstractEntity {
+
+    @Id
+    @SegmentId(name = "product_day_sales_id")
+    private Integer id;
+
+    @Column(nullable = false)
+    private LocalDate date;
+
+    @Column(nullable = false)
+    private Integer clientId;
+
+    @Column(nullable = false)
+    private Integer productId;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    @Column(precision = 15, scale = 2, nullable = false)
+    private BigDecimal revenue;
+}
@@ -1,4 +1,6 @@
 package com.increff.pos.entity;
+
+import com.increff.pos.idgen.SegmentId;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
@@ -19,11 +21,7 @@ import java.math.BigDecimal;
 public class ProductEntity extends AbstractEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.TABLE, generator = "id_gen")
-    @TableGenerator(
-            name = "id_gen", table = "id_generator", pkColumnName = "gen_name", valueColumnName = "gen_value",
-            pkColumnValue = "product_id", allocationSize = 50
-    )
+    @SegmentId(name = "product_id")
     private Integer id;
 
     @Column(nullable = false)
@@ -0,0 +1,72 @@
+package com.increff.pos.entity;
+
+import com.increff.pos.export.ExportFormat;
+import com.increff.pos.idgen.SegmentId;
+import com.increff.pos.model.domain.ReportJobStatus;
+import com.increff.pos.model.domain.ReportJobType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.ZonedDateTime;
+
+@Entity
+@Table(
+        name = "report_job",
+        indexes = {
+                @Index(name = "idx_report_job_status_completed_at", columnList = "status, completed_at")
+        }
+)
+@Getter
+@Setter
+public class ReportJobEntity extends AbstractEntity {
+
+    @Id
+    @SegmentId(name = "report_job_id")
+    private Integer id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ReportJobType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ReportJobStatus status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ExportFormat format;
+
+    @Column(nullable = false)
+    private Boolean gzip;
+
+    @Column(nullable = false)
+    private ZonedDateTime startDate;
+
+    @Column(nullable = false)
+    private ZonedDateTime endDate;
+
+    private Integer clientId;
+
+    @Column(nullable = false)
+    private Integer totalPartitions = 0;
+
+    @Column(nullable = false)
+    private Integer completedPartitions = 0;
+
+    @Column(length = 500)
+    private String filePath;
+
+    private Long fileSize;
+
+    @Column(length = 1000)
+    private String errorMessage;
+
+    private ZonedDateTime completedAt;
+}
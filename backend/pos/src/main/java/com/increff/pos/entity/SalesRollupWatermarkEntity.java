@@ -0,0 +1,27 @@
+package com.increff.pos.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "sales_rollup_watermark")
+@Getter
+@Setter
+public class SalesRollupWatermarkEntity extends AbstractEntity {
+
+    @Id
+    private Integer id;
+
+    @Column(nullable = false)
+    private LocalDate firstDate;
+
+    @Column(nullable = false)
+    private LocalDate lastDate;
+
+}
@@ -0,0 +1,66 @@
+package com.increff.pos.entity;
+
+import com.increff.pos.idgen.SegmentId;
+import com.increff.pos.model.domain.UploadJobStatus;
+import com.increff.pos.model.domain.UploadJobType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.ZonedDateTime;
+
+@Entity
+@Table(
+        name = "upload_job",
+        indexes = {
+                @Index(name = "idx_upload_job_status", columnList = "status")
+        }
+)
+@Getter
+@Setter
+public class UploadJobEntity extends AbstractEntity {
+
+    @Id
+    @SegmentId(name = "upload_job_id")
+    private Integer id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private UploadJobType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private UploadJobStatus status;
+
+    @Column(length = 255)
+    private String fileName;
+
+    @Column(nullable = false, length = 500)
+    private String filePath;
+
+    @Column(nullable = false)
+    private Integer totalRows = 0;
+
+    @Column(nullable = false)
+    private Integer lastCommittedRow = 1;
+
+    @Column(nullable = false)
+    private Integer processedRows = 0;
+
+    @Column(nullable = false)
+    private Integer successRows = 0;
+
+    @Column(nullable = false)
+    private Integer errorRows = 0;
+
+    @Column(length = 1000)
+    private String errorMessage;
+
+    private ZonedDateTime completedAt;
+}
@@ -0,0 +1,35 @@
+package com.increff.pos.entity;
+
+import com.increff.pos.idgen.SegmentId;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+@Entity
+@Table(
+        name = "upload_job_error",
+        indexes = {
+                @Index(name = "idx_upload_job_error_job_row", columnList = "job_id, file_row")
+        }
+)
+@Getter
+@Setter
+public class UploadJobErrorEntity extends AbstractEntity {
+
+    @Id
+    @SegmentId(name = "upload_job_error_id")
+    private Integer id;
+
+    @Column(nullable = false)
+    private Integer jobId;
+
+    @Column(nullable = false)
+    private Integer fileRow;
+
+    @Column(length = 1000)
+    private String message;
+}
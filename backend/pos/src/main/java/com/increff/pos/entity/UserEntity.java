@@ -1,5 +1,6 @@
 package com.increff.pos.entity;
 
+import com.increff.pos.idgen.SegmentId;
 import com.increff.pos.model.domain.UserRole;
 import jakarta.persistence.*;
 import lombok.Getter;
@@ -16,11 +17,7 @@ import lombok.Setter;
 public class UserEntity extends AbstractEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.TABLE, generator = "id_gen")
-    @TableGenerator(
-            name = "id_gen", table = "id_generator", pkColumnName = "gen_name", valueColumnName = "gen_value",
-            pkColumnValue = "user_id", allocationSize = 1
-    )
+    @SegmentId(name = "user_id")
     private Integer id;
 
     @Column(nullable = false)
@@ -0,0 +1,54 @@
+package com.increff.pos.export;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+public class CsvRowWriter extends RowWriter {
+
+    public CsvRowWriter(Writer out) {
+        super(out);
+    }
+
+    @Override
+    protected void writeHeader(List<RowSchema.Column> columns) throws IOException {
+        for (int i = 0; i < columns.size(); i++) {
+            writeCell(i, columns.get(i).label(), true);
+        }
+        endRow();
+    }
+
+    @Override
+    protected void beginRow() {
+    }
+
+    @Override
+    protected void writeCell(int column, String value, boolean text) throws IOException {
+        Writer out = out();
+        if (column > 0) out.write(',');
+        if (!text || !needsQuoting(value)) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') out.write('"');
+            out.write(c);
+        }
+        out.write('"');
+    }
+
+    @Override
+    protected void endRow() throws IOException {
+        out().write('\n');
+    }
+
+    private static boolean needsQuoting(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') return true;
+        }
+        return false;
+    }
+}
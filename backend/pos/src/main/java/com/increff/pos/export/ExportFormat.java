@@ -0,0 +1,75 @@
+package com.increff.pos.export;
+
+import com.increff.pos.exception.ApiException;
+import com.increff.pos.exception.ApiStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.InvalidMimeTypeException;
+import org.springframework.util.MimeTypeUtils;
+
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+public enum ExportFormat {
+    CSV("csv", "text/csv", CsvRowWriter::new),
+    TSV("tsv", "text/tab-separated-values", TsvRowWriter::new),
+    NDJSON("ndjson", "application/x-ndjson", NdjsonRowWriter::new);
+
+    public static final MediaType GZIP = MediaType.parseMediaType("application/gzip");
+
+    private final String extension;
+    private final MediaType mediaType;
+    private final Function<Writer, RowWriter> factory;
+
+    ExportFormat(String extension, String mediaType, Function<Writer, RowWriter> factory) {
+        this.extension = extension;
+        this.mediaType = MediaType.parseMediaType(mediaType);
+        this.factory = factory;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    public RowWriter open(Writer writer) {
+        return factory.apply(writer);
+    }
+
+    public static ExportFormat resolve(String format, String accept) {
+        if (format != null && !format.isBlank()) {
+            return Arrays.stream(values()).filter(value -> value.extension.equalsIgnoreCase(format.trim()))
+                    .findFirst().orElseThrow(() -> new ApiException(ApiStatus.BAD_REQUEST,
+                            "Unsupported export format: " + format, "format", "Use csv, tsv or ndjson"));
+        }
+        if (accept != null && !accept.isBlank()) {
+            for (MediaType mediaType : parseAccept(accept)) {
+                if (mediaType.isWildcardType() || mediaType.getQualityValue() == 0) continue;
+                for (ExportFormat value : values()) {
+                    if (mediaType.includes(value.mediaType)) return value;
+                }
+            }
+        }
+        return CSV;
+    }
+
+    // Most specific first, then a stable sort on quality so q-values decide and specificity breaks ties.
+    private static List<MediaType> parseAccept(String accept) {
+        try {
+            List<MediaType> mediaTypes = new ArrayList<>(MediaType.parseMediaTypes(accept));
+            MimeTypeUtils.sortBySpecificity(mediaTypes);
+            mediaTypes.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+            return mediaTypes;
+        } catch (InvalidMediaTypeException | InvalidMimeTypeException e) {
+            throw new ApiException(ApiStatus.BAD_REQUEST, "Invalid Accept header: " + accept, "Accept",
+                    e.getMessage());
+        }
+    }
+}
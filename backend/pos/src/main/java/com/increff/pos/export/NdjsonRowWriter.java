@@ -0,0 +1,63 @@
+package com.increff.pos.export;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+public class NdjsonRowWriter extends RowWriter {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private String[] keys = new String[0];
+
+    public NdjsonRowWriter(Writer out) {
+        super(out);
+    }
+
+    @Override
+    protected void writeHeader(List<RowSchema.Column> columns) {
+        keys = columns.stream().map(column -> "\"" + column.key() + "\":").toArray(String[]::new);
+    }
+
+    @Override
+    protected void beginRow() throws IOException {
+        out().write('{');
+    }
+
+    @Override
+    protected void writeCell(int column, String value, boolean text) throws IOException {
+        Writer out = out();
+        if (column > 0) out.write(',');
+        out.write(keys[column]);
+        if (!text) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> out.write("\\\"");
+                case '\\' -> out.write("\\\\");
+                case '\n' -> out.write("\\n");
+                case '\r' -> out.write("\\r");
+                case '\t' -> out.write("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        out.write("\\u00");
+                        out.write(HEX[c >> 4]);
+                        out.write(HEX[c & 0xF]);
+                    } else {
+                        out.write(c);
+                    }
+                }
+            }
+        }
+        out.write('"');
+    }
+
+    @Override
+    protected void endRow() throws IOException {
+        out().write("}\n");
+    }
+}
@@ -0,0 +1,31 @@
+package com.increff.pos.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+public final class ReportExport {
+
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    private ReportExport() {
+    }
+
+    public static <T> void write(OutputStream outputStream, ExportFormat format, boolean gzip, RowSchema<T> schema,
+                                 RowSource<T> source) throws IOException {
+        GZIPOutputStream compressed = gzip ? new GZIPOutputStream(outputStream, BUFFER_SIZE) : null;
+        RowWriter out = format.open(new BufferedWriter(new OutputStreamWriter(gzip ? compressed : outputStream,
+                StandardCharsets.UTF_8), BUFFER_SIZE));
+
+        out.header(schema);
+        source.forEach(row -> out.row(schema, row));
+        out.flush();
+
+        if (compressed != null) {
+            compressed.finish();
+        }
+    }
+}
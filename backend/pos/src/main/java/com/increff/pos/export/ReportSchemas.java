@@ -0,0 +1,50 @@
+package com.increff.pos.export;
+
+import com.increff.pos.model.data.DaySalesData;
+import com.increff.pos.model.internal.SalesReportRow;
+
+import java.util.List;
+
+public final class ReportSchemas {
+
+    public static final RowSchema<SalesReportRow> SALES = new RowSchema<>() {
+
+        private final List<Column> columns = List.of(new Column("Product Name", "productName"),
+                new Column("Quantity Sold", "quantitySold"), new Column("Revenue", "revenue"));
+
+        @Override
+        public List<Column> columns() {
+            return columns;
+        }
+
+        @Override
+        public void write(SalesReportRow row, RowWriter out) {
+            out.text(row.getProductName());
+            out.integer(row.getQuantitySold());
+            out.amount(row.getRevenue());
+        }
+    };
+
+    public static final RowSchema<DaySalesData> DAY_SALES = new RowSchema<>() {
+
+        private final List<Column> columns = List.of(new Column("Date", "date"),
+                new Column("Invoiced Orders Count", "invoicedOrdersCount"),
+                new Column("Invoiced Items Count", "invoicedItemsCount"), new Column("Total Revenue", "totalRevenue"));
+
+        @Override
+        public List<Column> columns() {
+            return columns;
+        }
+
+        @Override
+        public void write(DaySalesData row, RowWriter out) {
+            out.date(row.getDate());
+            out.integer(row.getInvoicedOrdersCount());
+            out.integer(row.getInvoicedItemsCount());
+            out.amount(row.getTotalRevenue());
+        }
+    };
+
+    private ReportSchemas() {
+    }
+}
@@ -0,0 +1,13 @@
+package com.increff.pos.export;
+
+import java.util.List;
+
+public interface RowSchema<T> {
+
+    List<Column> columns();
+
+    void write(T row, RowWriter out);
+
+    record Column(String label, String key) {
+    }
+}
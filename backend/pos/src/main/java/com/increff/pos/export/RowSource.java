@@ -0,0 +1,9 @@
+package com.increff.pos.export;
+
+import java.util.function.Consumer;
+
+@FunctionalInterface
+public interface RowSource<T> {
+
+    void forEach(Consumer<T> action);
+}
@@ -0,0 +1,82 @@
+package com.increff.pos.export;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.List;
+
+public abstract class RowWriter {
+
+    private final Writer out;
+    private int column;
+
+    protected RowWriter(Writer out) {
+        this.out = out;
+    }
+
+    public <T> void header(RowSchema<T> schema) {
+        try {
+            writeHeader(schema.columns());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public <T> void row(RowSchema<T> schema, T row) {
+        column = 0;
+        try {
+            beginRow();
+            schema.write(row, this);
+            endRow();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void text(String value) {
+        cell(value == null ? "" : value, true);
+    }
+
+    public void integer(Integer value) {
+        cell(value == null ? "0" : Integer.toString(value), false);
+    }
+
+    public void amount(BigDecimal value) {
+        cell(value == null ? "0.00" : value.setScale(2, RoundingMode.HALF_UP).toPlainString(), false);
+    }
+
+    public void date(LocalDate value) {
+        cell(value == null ? "" : value.toString(), true);
+    }
+
+    public void flush() {
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    protected Writer out() {
+        return out;
+    }
+
+    protected abstract void writeHeader(List<RowSchema.Column> columns) throws IOException;
+
+    protected abstract void beginRow() throws IOException;
+
+    protected abstract void writeCell(int column, String value, boolean text) throws IOException;
+
+    protected abstract void endRow() throws IOException;
+
+    private void cell(String value, boolean text) {
+        try {
+            writeCell(column++, value, text);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
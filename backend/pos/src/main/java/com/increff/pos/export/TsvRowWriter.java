@@ -0,0 +1,43 @@
+package com.increff.pos.export;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+public class TsvRowWriter extends RowWriter {
+
+    public TsvRowWriter(Writer out) {
+        super(out);
+    }
+
+    @Override
+    protected void writeHeader(List<RowSchema.Column> columns) throws IOException {
+        for (int i = 0; i < columns.size(); i++) {
+            writeCell(i, columns.get(i).label(), true);
+        }
+        endRow();
+    }
+
+    @Override
+    protected void beginRow() {
+    }
+
+    @Override
+    protected void writeCell(int column, String value, boolean text) throws IOException {
+        Writer out = out();
+        if (column > 0) out.write('\t');
+        if (!text) {
+            out.write(value);
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            out.write(c == '\t' || c == '\n' || c == '\r' ? ' ' : c);
+        }
+    }
+
+    @Override
+    protected void endRow() throws IOException {
+        out().write('\n');
+    }
+}
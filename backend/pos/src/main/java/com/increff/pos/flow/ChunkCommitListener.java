@@ -0,0 +1,16 @@
+package com.increff.pos.flow;
+
+import com.increff.pos.model.data.TsvUploadError;
+
+import java.util.List;
+
+/**
+ * Called by the batch flows inside the transaction that makes a contiguous range of upload rows durable, so
+ * callers can record their own progress atomically with those rows. Every input index is reported exactly once
+ * and ranges arrive in order. Errors carry the batch flows' usual row number of {@code index + 2}.
+ */
+@FunctionalInterface
+public interface ChunkCommitListener {
+
+    void onCommit(int fromIndex, int toIndex, int succeeded, List<TsvUploadError> errors);
+}
@@ -0,0 +1,132 @@
+package com.increff.pos.flow;
+
+import com.increff.pos.api.ClientApi;
+import com.increff.pos.api.InventoryApi;
+import com.increff.pos.api.ProductApi;
+import com.increff.pos.entity.InventoryEntity;
+import com.increff.pos.entity.ProductEntity;
+import com.increff.pos.exception.ApiException;
+import com.increff.pos.model.data.InventoryData;
+import com.increff.pos.model.data.TsvUploadError;
+import com.increff.pos.model.data.TsvUploadResult;
+import com.increff.pos.model.internal.InventoryUploadModel;
+import com.increff.pos.util.ConversionUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+public class InventoryBatchFlow {
+
+    private static final Logger logger = LoggerFactory.getLogger(InventoryBatchFlow.class);
+
+    @Autowired
+    private InventoryApi inventoryApi;
+
+    @Autowired
+    private ClientApi clientApi;
+
+    @Autowired
+    private ProductApi productApi;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.inventory.upload.chunk-size:500}")
+    private int chunkSize;
+
+    public TsvUploadResult<InventoryData> upsertFromUpload(List<InventoryUploadModel> uploads) {
+        return upsertFromUpload(uploads, null);
+    }
+
+    public TsvUploadResult<InventoryData> upsertFromUpload(List<InventoryUploadModel> uploads,
+                                                           ChunkCommitListener listener) {
+        List<TsvUploadError> errors = new ArrayList<>();
+        List<InventoryData> saved = new ArrayList<>();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        for (int start = 0; start < uploads.size(); start += chunkSize) {
+            int offset = start;
+            List<InventoryUploadModel> chunk = uploads.subList(start, Math.min(start + chunkSize, uploads.size()));
+            List<TsvUploadError> chunkErrors = new ArrayList<>();
+            int last = offset + chunk.size() - 1;
+            try {
+                saved.addAll(transactionTemplate.execute(status -> {
+                    List<InventoryData> written = writeChunk(offset, chunk, chunkErrors);
+                    notify(listener, offset, last, chunk.size() - chunkErrors.size(), chunkErrors);
+                    return written;
+                }));
+                errors.addAll(chunkErrors);
+            } catch (RuntimeException e) {
+                logger.warn("Inventory upload rows {} to {} failed: {}", offset + 2, offset + chunk.size() + 1,
+                        e.getMessage());
+                String message = e instanceof ApiException ? e.getMessage() : "Failed to update inventory";
+                List<TsvUploadError> failed = new ArrayList<>();
+                for (int i = 0; i < chunk.size(); i++) {
+                    failed.add(new TsvUploadError(offset + i + 2, null, message));
+                }
+                if (listener != null) {
+                    transactionTemplate.executeWithoutResult(status -> notify(listener, offset, last, 0, failed));
+                }
+                errors.addAll(failed);
+            }
+        }
+
+        if (!errors.isEmpty()) {
+            return TsvUploadResult.failure(errors);
+        }
+        return TsvUploadResult.success(saved);
+    }
+
+    private static void notify(ChunkCommitListener listener, int from, int to, int succeeded,
+                               List<TsvUploadError> errors) {
+        if (listener != null) {
+            listener.onCommit(from, to, succeeded, List.copyOf(errors));
+        }
+    }
+
+    private List<InventoryData> writeChunk(int offset, List<InventoryUploadModel> chunk, List<TsvUploadError> errors) {
+        List<String> barcodes = chunk.stream().map(InventoryUploadModel::getBarcode).distinct().toList();
+        Map<String, ProductEntity> productByBarcode = productApi.getByBarcodes(barcodes).stream()
+                .collect(Collectors.toMap(p -> p.getBarcode().toLowerCase(), p -> p, (a, b) -> a));
+
+        List<Integer> clientIds = productByBarcode.values().stream().map(ProductEntity::getClientId).distinct()
+                .toList();
+        Set<Integer> enabledClientIds = Set.copyOf(clientApi.getEnabledClientIds(clientIds, true));
+
+        List<InventoryEntity> valid = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            InventoryUploadModel upload = chunk.get(i);
+            ProductEntity product = productByBarcode.get(upload.getBarcode().toLowerCase());
+
+            if (product == null) {
+                errors.add(new TsvUploadError(offset + i + 2, null, "Product not found: " + upload.getBarcode()));
+                continue;
+            }
+            if (!enabledClientIds.contains(product.getClientId())) {
+                errors.add(new TsvUploadError(offset + i + 2, null, "Client is disabled"));
+                continue;
+            }
+
+            InventoryEntity entity = new InventoryEntity();
+            entity.setProductId(product.getId());
+            entity.setQuantity(upload.getQuantity());
+            valid.add(entity);
+        }
+
+        Map<Integer, ProductEntity> productMap = productByBarcode.values().stream()
+                .collect(Collectors.toMap(ProductEntity::getId, p -> p, (a, b) -> a));
+        return inventoryApi.bulkUpsert(valid).stream()
+                .map(inv -> ConversionUtil.inventoryEntityToData(inv, productMap.get(inv.getProductId()))).toList();
+    }
+}
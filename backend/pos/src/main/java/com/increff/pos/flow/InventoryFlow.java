@@ -9,11 +9,14 @@ import com.increff.pos.exception.ApiException;
 import com.increff.pos.exception.ApiStatus;
 import com.increff.pos.model.data.InventoryData;
 import com.increff.pos.model.data.PagedResponse;
-import com.increff.pos.model.internal.InventoryUploadModel;
+import com.increff.pos.model.domain.PaginationMode;
+import com.increff.pos.model.internal.KeysetPage;
+import com.increff.pos.model.internal.PageCursor;
 import com.increff.pos.util.ConversionUtil;
+import com.increff.pos.util.CursorUtil;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -34,18 +37,23 @@ public class InventoryFlow {
     @Autowired
     private ProductApi productApi;
 
+    @Transactional(readOnly = true)
     public List<InventoryData> getAllForEnabledClients() {
-        List<InventoryEntity> inventories = inventoryApi.getAllForEnabledClients();
-        if (inventories.isEmpty()) return List.of();
-        return convertToData(inventories);
+        return inventoryApi.getDataForEnabledClients();
     }
 
+    @Transactional(readOnly = true)
     public PagedResponse<InventoryData> getPagedForEnabledClients(String barcode, String productName,
-                                                                     Pageable pageable) {
-        Page<InventoryEntity> page = inventoryApi.getPagedForEnabledClients(barcode, productName, pageable);
-        if (page.isEmpty()) return new PagedResponse<>(List.of(), 0L);
-        List<InventoryData> data = convertToData(page.getContent());
-        return new PagedResponse<>(data, page.getTotalElements());
+                                                                     Pageable pageable, PaginationMode mode) {
+        Slice<InventoryData> slice = inventoryApi.getDataPagedForEnabledClients(barcode, productName, pageable, mode);
+        return ConversionUtil.sliceToPagedResponse(slice.getContent(), slice, mode);
+    }
+
+    public PagedResponse<InventoryData> getKeysetForEnabledClients(String barcode, String productName,
+                                                                      PageCursor cursor, Integer pageSize) {
+        KeysetPage<InventoryEntity> page = inventoryApi.getKeysetForEnabledClients(barcode, productName, cursor, pageSize);
+        List<InventoryData> data = page.content().isEmpty() ? List.of() : convertToData(page.content());
+        return PagedResponse.keyset(data, CursorUtil.encode(page.next()), CursorUtil.encode(page.prev()));
     }
 
     public InventoryData upsert(InventoryEntity inventory) {
@@ -56,26 +64,10 @@ public class InventoryFlow {
 
     public List<InventoryData> bulkUpsert(List<InventoryEntity> inventories) {
         validateBulkProductsAndClients(inventories);
-        List<InventoryEntity> saved = inventories.stream().map(inventoryApi::upsert).toList();
+        List<InventoryEntity> saved = inventoryApi.bulkUpsert(inventories);
         return convertToData(saved);
     }
 
-    @Transactional(rollbackFor = ApiException.class)
-    public InventoryData upsertFromUpload(InventoryUploadModel upload) {
-
-        ProductEntity product = productApi.getCheckByBarcode(upload.getBarcode());
-
-        clientApi.checkClientEnabled(product.getClientId());
-
-        InventoryEntity entity = new InventoryEntity();
-        entity.setProductId(product.getId());
-        entity.setQuantity(upload.getQuantity());
-
-        InventoryEntity saved = inventoryApi.upsert(entity);
-
-        return ConversionUtil.inventoryEntityToData(saved, product);
-    }
-
     private ProductEntity validateProductAndClient(Integer productId) {
         ProductEntity product = productApi.getCheckProductById(productId);
         clientApi.checkClientEnabled(product.getClientId());
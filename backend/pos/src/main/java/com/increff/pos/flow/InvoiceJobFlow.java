@@ -0,0 +1,79 @@
+package com.increff.pos.flow;
+
+import com.increff.pos.api.InvoiceApi;
+import com.increff.pos.api.InvoiceJobApi;
+import com.increff.pos.api.OrderApi;
+import com.increff.pos.entity.InvoiceJobEntity;
+import com.increff.pos.entity.OrderEntity;
+import com.increff.pos.exception.ApiException;
+import com.increff.pos.exception.ApiStatus;
+import com.increff.pos.model.domain.InvoiceJobStatus;
+import com.increff.pos.model.domain.OrderStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+@Service
+@Transactional
+public class InvoiceJobFlow {
+
+    @Autowired
+    private InvoiceJobApi invoiceJobApi;
+
+    @Autowired
+    private InvoiceApi invoiceApi;
+
+    @Autowired
+    private OrderApi orderApi;
+
+    @Autowired
+    private OrderFlow orderFlow;
+
+    public InvoiceJobEntity enqueue(Integer orderId) {
+        OrderEntity order = orderApi.getCheckByIdForUpdate(orderId);
+        if (!order.getStatus().equals(OrderStatus.CREATED)) {
+            throw new ApiException(ApiStatus.BAD_REQUEST, "Only CREATED orders can be invoiced");
+        }
+        return invoiceJobApi.getUnfinishedByOrderId(orderId).orElseGet(() -> invoiceJobApi.create(orderId));
+    }
+
+    @Transactional(readOnly = true)
+    public InvoiceJobEntity getJob(Integer jobId) {
+        return invoiceJobApi.getCheckById(jobId);
+    }
+
+    public Integer start(Integer jobId) {
+        InvoiceJobEntity job = invoiceJobApi.getCheckById(jobId);
+        if (job.getStatus() != InvoiceJobStatus.QUEUED) {
+            return null;
+        }
+        invoiceJobApi.markRunning(job);
+        return job.getOrderId();
+    }
+
+    public void complete(Integer jobId, String filePath) {
+        InvoiceJobEntity job = invoiceJobApi.getCheckById(jobId);
+        OrderEntity order = orderApi.getCheckByIdForUpdate(job.getOrderId());
+        if (invoiceApi.existsForOrder(order.getId())) {
+            invoiceJobApi.markCompleted(job);
+            return;
+        }
+        if (!order.getStatus().equals(OrderStatus.CREATED)) {
+            invoiceJobApi.markFailed(job, "Order is " + order.getStatus() + ", invoice not recorded");
+            return;
+        }
+        orderFlow.saveInvoice(order.getId(), filePath);
+        invoiceJobApi.markCompleted(job);
+    }
+
+    public void fail(Integer jobId, String errorMessage) {
+        invoiceJobApi.markFailed(invoiceJobApi.getCheckById(jobId), errorMessage);
+    }
+
+    public List<Integer> requeueUnfinished(ZonedDateTime staleBefore) {
+        return invoiceJobApi.requeueUnfinished(staleBefore);
+    }
+}
@@ -0,0 +1,214 @@
+package com.increff.pos.flow;
+
+import com.increff.pos.api.ClientApi;
+import com.increff.pos.api.InventoryApi;
+import com.increff.pos.api.OrderApi;
+import com.increff.pos.api.OrderItemApi;
+import com.increff.pos.api.ProductApi;
+import com.increff.pos.entity.OrderEntity;
+import com.increff.pos.entity.OrderItemEntity;
+import com.increff.pos.entity.ProductEntity;
+import com.increff.pos.exception.ApiException;
+import com.increff.pos.exception.ApiStatus;
+import com.increff.pos.model.domain.OrderStatus;
+import com.increff.pos.model.internal.OrderBatchResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.increff.pos.util.ConversionUtil.createOrderItem;
+
+@Service
+public class OrderBatchFlow {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderBatchFlow.class);
+
+    @Autowired
+    private OrderFlow orderFlow;
+
+    @Autowired
+    private OrderApi orderApi;
+
+    @Autowired
+    private OrderItemApi orderItemApi;
+
+    @Autowired
+    private ProductApi productApi;
+
+    @Autowired
+    private ClientApi clientApi;
+
+    @Autowired
+    private InventoryApi inventoryApi;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.order.batch.chunk-size:100}")
+    private int chunkSize;
+
+    public List<OrderBatchResult> createOrders(Map<Integer, List<OrderItemEntity>> itemsByIndex) {
+        Map<Integer, ProductEntity> productMap = loadProducts(itemsByIndex.values());
+        Set<Integer> enabledClientIds = loadEnabledClientIds(productMap.values());
+
+        List<OrderBatchResult> results = new ArrayList<>();
+        List<PreparedOrder> prepared = new ArrayList<>();
+
+        for (Map.Entry<Integer, List<OrderItemEntity>> entry : itemsByIndex.entrySet()) {
+            try {
+                prepared.add(prepare(entry.getKey(), entry.getValue(), productMap, enabledClientIds));
+            } catch (ApiException e) {
+                results.add(OrderBatchResult.failure(entry.getKey(), e));
+            }
+        }
+
+        for (int start = 0; start < prepared.size(); start += chunkSize) {
+            results.addAll(persistChunk(prepared.subList(start, Math.min(start + chunkSize, prepared.size()))));
+        }
+        return results;
+    }
+
+    private PreparedOrder prepare(Integer index, List<OrderItemEntity> items, Map<Integer, ProductEntity> productMap,
+                                  Set<Integer> enabledClientIds) {
+        Map<Integer, ProductEntity> orderProducts = new HashMap<>();
+        for (OrderItemEntity item : items) {
+            ProductEntity product = productMap.get(item.getProductId());
+            if (product == null) {
+                throw new ApiException(ApiStatus.NOT_FOUND, "One or more products not found", "productId",
+                        "One or more products not found");
+            }
+            orderProducts.put(product.getId(), product);
+        }
+
+        List<OrderItemEntity> aggregatedItems = orderFlow.validateOrderItems(items, orderProducts);
+        Integer clientId = orderFlow.validateAndGetClientId(orderProducts);
+        if (!enabledClientIds.contains(clientId)) {
+            throw new ApiException(ApiStatus.FORBIDDEN, "Client is disabled", "clientId", "Client is disabled");
+        }
+
+        Map<Integer, Integer> quantityByProduct = aggregatedItems.stream().collect(
+                Collectors.toMap(OrderItemEntity::getProductId, OrderItemEntity::getQuantity, Integer::sum));
+        return new PreparedOrder(index, items, aggregatedItems, clientId, quantityByProduct, orderProducts);
+    }
+
+    private List<OrderBatchResult> persistChunk(List<PreparedOrder> chunk) {
+        try {
+            return new TransactionTemplate(transactionManager).execute(status -> writeChunk(chunk));
+        } catch (RuntimeException e) {
+            logger.warn("Batch chunk of {} orders failed, retrying one order at a time: {}", chunk.size(),
+                    e.getMessage());
+            return chunk.stream().map(this::persistSingle).toList();
+        }
+    }
+
+    private List<OrderBatchResult> writeChunk(List<PreparedOrder> chunk) {
+        Set<Integer> productIds = chunk.stream().flatMap(order -> order.quantityByProduct().keySet().stream())
+                .collect(Collectors.toSet());
+        Map<Integer, Integer> available = new HashMap<>(inventoryApi.getAvailableQuantities(productIds));
+
+        List<OrderBatchResult> results = new ArrayList<>();
+        List<PreparedOrder> accepted = new ArrayList<>();
+        Map<Integer, Integer> reserved = new HashMap<>();
+        Map<Integer, ProductEntity> products = new HashMap<>();
+
+        for (PreparedOrder order : chunk) {
+            ApiException shortage = findShortage(order, available);
+            if (shortage != null) {
+                results.add(OrderBatchResult.failure(order.index(), shortage));
+                continue;
+            }
+            order.quantityByProduct().forEach((productId, quantity) -> {
+                available.merge(productId, -quantity, Integer::sum);
+                reserved.merge(productId, quantity, Integer::sum);
+            });
+            products.putAll(order.products());
+            accepted.add(order);
+        }
+
+        if (accepted.isEmpty()) {
+            return results;
+        }
+
+        List<OrderEntity> orders = orderApi.createAll(accepted.stream().map(order -> newOrder(order.clientId()))
+                .toList());
+
+        // The chunk commits as one transaction, so any of its orders identifies the reservation in the stock journal.
+        inventoryApi.reserve(orders.getFirst().getId(), reserved, products);
+
+        List<OrderItemEntity> items = new ArrayList<>();
+        for (int i = 0; i < accepted.size(); i++) {
+            Integer orderId = orders.get(i).getId();
+            accepted.get(i).aggregatedItems().forEach(item -> items.add(createOrderItem(item, orderId)));
+            results.add(OrderBatchResult.success(accepted.get(i).index(), orders.get(i)));
+        }
+        orderItemApi.createAll(items);
+
+        return results;
+    }
+
+    private OrderBatchResult persistSingle(PreparedOrder order) {
+        try {
+            OrderEntity created = new TransactionTemplate(transactionManager)
+                    .execute(status -> orderFlow.createOrder(order.items()));
+            return OrderBatchResult.success(order.index(), created);
+        } catch (ApiException e) {
+            return OrderBatchResult.failure(order.index(), e);
+        } catch (RuntimeException e) {
+            logger.error("Failed to create order at batch index {}: {}", order.index(), e.getMessage(), e);
+            return OrderBatchResult.failure(order.index(),
+                    new ApiException(ApiStatus.INTERNAL_ERROR, "Failed to create order"));
+        }
+    }
+
+    private ApiException findShortage(PreparedOrder order, Map<Integer, Integer> available) {
+        for (Map.Entry<Integer, Integer> entry : order.quantityByProduct().entrySet()) {
+            Integer remaining = available.get(entry.getKey());
+            if (remaining == null) {
+                return new ApiException(ApiStatus.NOT_FOUND, "Inventory not found for one or more products",
+                        "productId", "Inventory not found for one or more products");
+            }
+            if (remaining < entry.getValue()) {
+                return new ApiException(ApiStatus.CONFLICT, "Insufficient inventory for product: "
+                        + order.products().get(entry.getKey()).getProductName(), "quantity", "Insufficient inventory");
+            }
+        }
+        return null;
+    }
+
+    private Map<Integer, ProductEntity> loadProducts(Collection<List<OrderItemEntity>> orders) {
+        List<Integer> productIds = orders.stream().flatMap(List::stream).map(OrderItemEntity::getProductId)
+                .distinct().toList();
+        return productApi.getByIds(productIds).stream()
+                .collect(Collectors.toMap(ProductEntity::getId, p -> p, (a, b) -> a, LinkedHashMap::new));
+    }
+
+    private Set<Integer> loadEnabledClientIds(Collection<ProductEntity> products) {
+        List<Integer> clientIds = products.stream().map(ProductEntity::getClientId).distinct().toList();
+        return Set.copyOf(clientApi.getEnabledClientIds(clientIds, true));
+    }
+
+    private OrderEntity newOrder(Integer clientId) {
+        OrderEntity order = new OrderEntity();
+        order.setClientId(clientId);
+        order.setStatus(OrderStatus.CREATED);
+        return order;
+    }
+
+    private record PreparedOrder(Integer index, List<OrderItemEntity> items, List<OrderItemEntity> aggregatedItems,
+                                 Integer clientId, Map<Integer, Integer> quantityByProduct,
+                                 Map<Integer, ProductEntity> products) {
+    }
+}
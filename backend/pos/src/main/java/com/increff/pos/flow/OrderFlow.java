@@ -1,5 +1,6 @@
 package com.increff.pos.flow;
 
+import com.increff.pos.analytics.SalesColumnStore;
 import com.increff.pos.api.*;
 import com.increff.pos.entity.*;
 import com.increff.pos.model.domain.OrderStatus;
@@ -11,6 +12,7 @@ import com.increff.pos.util.ConversionUtil;
 import com.increff.pos.util.InvoiceConverter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
@@ -44,6 +46,21 @@ public class OrderFlow {
     @Autowired
     private InvoiceApi invoiceApi;
 
+    @Autowired
+    private InvoiceJobApi invoiceJobApi;
+
+    @Autowired
+    private DaySalesApi daySalesApi;
+
+    @Autowired
+    private ProductDaySalesApi productDaySalesApi;
+
+    @Autowired
+    private HourSalesApi hourSalesApi;
+
+    @Autowired
+    private SalesColumnStore salesColumnStore;
+
     public List<OrderItemData> getOrderItems(Integer orderId) {
 
         List<OrderItemEntity> items = orderItemApi.getByOrderId(orderId);
@@ -59,11 +76,8 @@ public class OrderFlow {
     }
 
     public OrderEntity createOrder(List<OrderItemEntity> items) {
-        List<OrderItemEntity> aggregatedItems = aggregateOrderItems(items);
-        Map<Integer, ProductEntity> productMap = getProductMap(aggregatedItems);
-
-        validateSellingPriceAgainstMrp(items, productMap);
-        validateOrderTotalGreaterThanZero(aggregatedItems);
+        Map<Integer, ProductEntity> productMap = getProductMap(items);
+        List<OrderItemEntity> aggregatedItems = validateOrderItems(items, productMap);
 
         Integer clientId = validateAndGetClientId(productMap);
         clientApi.checkClientEnabled(clientId);
@@ -76,6 +90,17 @@ public class OrderFlow {
         return savedOrder;
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<OrderItemEntity> validateOrderItems(List<OrderItemEntity> items,
+                                                    Map<Integer, ProductEntity> productMap) {
+        List<OrderItemEntity> aggregatedItems = aggregateOrderItems(items);
+
+        validateSellingPriceAgainstMrp(items, productMap);
+        validateOrderTotalGreaterThanZero(aggregatedItems);
+
+        return aggregatedItems;
+    }
+
     @Transactional(readOnly = true)
     public byte[] downloadInvoice(Integer orderId) {
 
@@ -144,7 +169,8 @@ public class OrderFlow {
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
     }
 
-    private Integer validateAndGetClientId(Map<Integer, ProductEntity> productMap) {
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Integer validateAndGetClientId(Map<Integer, ProductEntity> productMap) {
         Integer clientId = null;
         for (ProductEntity product : productMap.values()) {
             if (clientId == null) {
@@ -169,14 +195,21 @@ public class OrderFlow {
     private List<OrderItemEntity> processOrderItems(List<OrderItemEntity> items, Integer orderId,
             Map<Integer, ProductEntity> productMap) {
 
-        inventoryApi.validateAndUpdateInventory(items, productMap);
+        inventoryApi.validateAndUpdateInventory(orderId, items, productMap);
 
         return items.stream().map(item -> createOrderItem(item, orderId)).toList();
     }
 
     public OrderEntity cancelOrder(Integer orderId) {
 
-        OrderEntity order = orderApi.getCheckById(orderId);
+        OrderEntity order = orderApi.getCheckByIdForUpdate(orderId);
+
+        if (invoiceJobApi.getUnfinishedByOrderId(orderId).isPresent()) {
+            throw new ApiException(
+                ApiStatus.CONFLICT, "Order has an invoice in progress and cannot be cancelled", "status",
+                "Order has an invoice in progress"
+            );
+        }
 
         if (order.getStatus().equals(OrderStatus.INVOICED)) {
             throw new ApiException(
@@ -187,7 +220,7 @@ public class OrderFlow {
 
         List<OrderItemEntity> items = orderItemApi.getByOrderId(orderId);
 
-        inventoryApi.restoreInventory(items);
+        inventoryApi.restoreInventory(orderId, items);
 
         return orderApi.updateStatus(order, OrderStatus.CANCELLED);
     }
@@ -215,9 +248,24 @@ public class OrderFlow {
         OrderEntity order = orderApi.getCheckById(orderId);
         InvoiceEntity invoice = createInvoiceEntity(orderId, filePath);
         orderApi.updateStatus(order, OrderStatus.INVOICED);
+        recordDaySales(order);
         return invoice;
     }
 
+    private void recordDaySales(OrderEntity order) {
+        List<OrderItemEntity> items = orderItemApi.getByOrderId(order.getId());
+
+        int itemsCount = items.stream().mapToInt(OrderItemEntity::getQuantity).sum();
+        BigDecimal revenue = items.stream()
+                .map(item -> item.getSellingPrice().multiply(BigDecimal.valueOf(item.getQuantity())))
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        daySalesApi.addInvoicedOrder(order.getCreatedAt(), itemsCount, revenue);
+        hourSalesApi.addInvoicedOrder(order.getCreatedAt(), order.getClientId(), itemsCount, revenue);
+        productDaySalesApi.addInvoicedItems(order.getCreatedAt(), order.getClientId(), items);
+        salesColumnStore.appendInvoicedOrder(order.getId(), order.getCreatedAt(), order.getClientId(), items);
+    }
+
     private InvoiceEntity createInvoiceEntity(Integer orderId, String filePath) {
         InvoiceEntity invoice = new InvoiceEntity();
         invoice.setOrderId(orderId);
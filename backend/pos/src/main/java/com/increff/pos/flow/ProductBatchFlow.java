@@ -0,0 +1,207 @@
+package com.increff.pos.flow;
+
+import com.increff.pos.api.ClientApi;
+import com.increff.pos.api.ProductApi;
+import com.increff.pos.entity.ClientEntity;
+import com.increff.pos.entity.ProductEntity;
+import com.increff.pos.exception.ApiException;
+import com.increff.pos.exception.ApiStatus;
+import com.increff.pos.model.data.TsvUploadError;
+import com.increff.pos.model.internal.ProductBatchResult;
+import com.increff.pos.model.internal.ProductUniquenessKey;
+import com.increff.pos.model.internal.ProductUploadModel;
+import com.increff.pos.util.ConversionUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class ProductBatchFlow {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductBatchFlow.class);
+
+    @Autowired
+    private ProductFlow productFlow;
+
+    @Autowired
+    private ProductApi productApi;
+
+    @Autowired
+    private ClientApi clientApi;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.product.upload.chunk-size:500}")
+    private int chunkSize;
+
+    public List<ProductBatchResult> createProducts(List<ProductUploadModel> uploads) {
+        return createProducts(uploads, null);
+    }
+
+    public List<ProductBatchResult> createProducts(List<ProductUploadModel> uploads, ChunkCommitListener listener) {
+        Map<String, ClientEntity> clients = clientApi.getByClientNames(uploads.stream()
+                .map(ProductUploadModel::getClientName).distinct().toList()).stream()
+                .collect(Collectors.toMap(client -> nameKey(client.getClientName()), Function.identity(),
+                        (a, b) -> a));
+
+        List<ProductEntity> candidates = uploads.stream().map(upload -> {
+            ClientEntity client = clients.get(nameKey(upload.getClientName()));
+            return ConversionUtil.convertProductUploadToEntity(upload, client == null ? null : client.getId());
+        }).toList();
+
+        Set<String> existingBarcodes = productApi.getByBarcodes(candidates.stream().map(ProductEntity::getBarcode)
+                .toList()).stream().map(ProductEntity::getBarcode).collect(Collectors.toSet());
+        Set<ProductUniquenessKey> existingKeys = productApi.getByClientIdsAndProductNames(
+                        clients.values().stream().map(ClientEntity::getId).toList(),
+                        candidates.stream().map(ProductEntity::getProductName).distinct().toList())
+                .stream().map(ProductBatchFlow::uniquenessKey).collect(Collectors.toSet());
+
+        List<ProductBatchResult> results = new ArrayList<>();
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        Set<ProductUniquenessKey> fileKeys = new HashSet<>();
+
+        for (int i = 0; i < uploads.size(); i++) {
+            try {
+                validate(uploads.get(i), candidates.get(i), clients, existingBarcodes, existingKeys, fileKeys);
+                acceptedIndexes.add(i);
+            } catch (ApiException e) {
+                results.add(ProductBatchResult.failure(i, e));
+            }
+        }
+
+        List<ProductBatchResult> rejected = List.copyOf(results);
+        int reported = 0;
+        for (int start = 0; start < acceptedIndexes.size(); start += chunkSize) {
+            List<Integer> chunk = acceptedIndexes.subList(start, Math.min(start + chunkSize, acceptedIndexes.size()));
+            results.addAll(persistChunk(chunk, candidates, rejected, reported, listener));
+            reported = chunk.getLast() + 1;
+        }
+        if (listener != null && reported < uploads.size()) {
+            int from = reported;
+            new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                    notify(listener, from, uploads.size() - 1, 0, rejected, null));
+        }
+        return results;
+    }
+
+    private void validate(ProductUploadModel upload, ProductEntity candidate, Map<String, ClientEntity> clients,
+                          Set<String> existingBarcodes, Set<ProductUniquenessKey> existingKeys,
+                          Set<ProductUniquenessKey> fileKeys) {
+        ClientEntity client = clients.get(nameKey(upload.getClientName()));
+        if (client == null) {
+            throw new ApiException(ApiStatus.NOT_FOUND, "Client not found: " + upload.getClientName(),
+                    "clientName", "Client not found: " + upload.getClientName());
+        }
+
+        ProductUniquenessKey key = uniquenessKey(candidate);
+        if (!fileKeys.add(key)) {
+            throw new ApiException(ApiStatus.CONFLICT, "Duplicate product combination in file");
+        }
+        if (existingBarcodes.contains(candidate.getBarcode())) {
+            throw new ApiException(ApiStatus.CONFLICT, "Barcode already exists", "barcode " + candidate.getBarcode(),
+                    "Barcode already exists");
+        }
+        if (existingKeys.contains(key)) {
+            throw new ApiException(ApiStatus.CONFLICT, "Product already exists for this client with same name and MRP",
+                    "product", "Duplicate product for client");
+        }
+        if (!client.getEnabled()) {
+            throw new ApiException(ApiStatus.FORBIDDEN, "Client is disabled", "clientId", "Client is disabled");
+        }
+    }
+
+    private List<ProductBatchResult> persistChunk(List<Integer> indexes, List<ProductEntity> candidates,
+                                                  List<ProductBatchResult> rejected, int from,
+                                                  ChunkCommitListener listener) {
+        List<ProductEntity> products = indexes.stream().map(candidates::get).toList();
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                productApi.createAll(products);
+                notify(listener, from, indexes.getLast(), products.size(), rejected, null);
+            });
+        } catch (RuntimeException e) {
+            logger.warn("Product upload chunk of {} rows failed, retrying one row at a time: {}", indexes.size(),
+                    e.getMessage());
+            List<ProductBatchResult> results = new ArrayList<>();
+            int next = from;
+            for (int index : indexes) {
+                results.add(persistSingle(index, candidates.get(index), rejected, next, listener));
+                next = index + 1;
+            }
+            return results;
+        }
+
+        List<ProductBatchResult> results = new ArrayList<>();
+        for (int i = 0; i < indexes.size(); i++) {
+            results.add(ProductBatchResult.success(indexes.get(i), products.get(i)));
+        }
+        return results;
+    }
+
+    private ProductBatchResult persistSingle(int index, ProductEntity product, List<ProductBatchResult> rejected,
+                                             int from, ChunkCommitListener listener) {
+        product.setId(null);
+        try {
+            return new TransactionTemplate(transactionManager).execute(status -> {
+                ProductEntity created = productFlow.createFromUpload(product);
+                notify(listener, from, index, 1, rejected, null);
+                return ProductBatchResult.success(index, created);
+            });
+        } catch (ApiException e) {
+            return recordFailure(ProductBatchResult.failure(index, e), rejected, from, listener);
+        } catch (RuntimeException e) {
+            logger.error("Failed to create product at upload index {}: {}", index, e.getMessage(), e);
+            return recordFailure(ProductBatchResult.failure(index,
+                    new ApiException(ApiStatus.INTERNAL_ERROR, "Failed to create product")), rejected, from, listener);
+        }
+    }
+
+    private ProductBatchResult recordFailure(ProductBatchResult failure, List<ProductBatchResult> rejected, int from,
+                                             ChunkCommitListener listener) {
+        if (listener != null) {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                    notify(listener, from, failure.index(), 0, rejected, failure));
+        }
+        return failure;
+    }
+
+    private static void notify(ChunkCommitListener listener, int from, int to, int succeeded,
+                               List<ProductBatchResult> rejected, ProductBatchResult failure) {
+        if (listener == null) {
+            return;
+        }
+        List<TsvUploadError> errors = new ArrayList<>();
+        for (ProductBatchResult result : rejected) {
+            if (result.index() >= from && result.index() <= to) {
+                errors.add(new TsvUploadError(result.index() + 2, null, result.error().getMessage()));
+            }
+        }
+        if (failure != null) {
+            errors.add(new TsvUploadError(failure.index() + 2, null, failure.error().getMessage()));
+        }
+        listener.onCommit(from, to, succeeded, errors);
+    }
+
+    private static String nameKey(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    private static ProductUniquenessKey uniquenessKey(ProductEntity product) {
+        return new ProductUniquenessKey(product.getClientId(), product.getProductName(),
+                product.getMrp() == null ? null : product.getMrp().stripTrailingZeros());
+    }
+}
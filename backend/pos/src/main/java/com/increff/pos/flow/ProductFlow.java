@@ -4,10 +4,12 @@ import com.increff.pos.api.ClientApi;
 import com.increff.pos.api.ProductApi;
 import com.increff.pos.entity.ProductEntity;
 import com.increff.pos.exception.ApiException;
+import com.increff.pos.model.domain.PaginationMode;
+import com.increff.pos.model.internal.KeysetPage;
+import com.increff.pos.model.internal.PageCursor;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -47,13 +49,17 @@ public class ProductFlow {
     }
 
     @Transactional(readOnly = true)
-    public Page<ProductEntity> searchProducts(Integer clientId, String barcode, String productName, Pageable pageable) {
+    public Slice<ProductEntity> searchProducts(Integer clientId, String barcode, String productName, Pageable pageable,
+                                               PaginationMode mode) {
         if (clientId != null) clientApi.checkClientEnabled(clientId);
-        Page<ProductEntity> page = productApi.searchProducts(clientId,barcode,productName,pageable);
-        List<Integer> clientIds = page.getContent().stream().map(ProductEntity::getClientId).distinct().toList();
-        List<Integer> enabledClientIds = clientApi.getEnabledClientIds(clientIds,true);
-        List<ProductEntity> filtered = page.getContent().stream().filter(p -> enabledClientIds.contains(p.getClientId())).toList();
-        return new PageImpl<>(filtered,pageable,page.getTotalElements());
+        return productApi.searchProducts(clientId,barcode,productName,pageable,mode);
+    }
+
+    @Transactional(readOnly = true)
+    public KeysetPage<ProductEntity> searchProductsKeyset(Integer clientId, String barcode, String productName,
+                                                          PageCursor cursor, Integer pageSize) {
+        if (clientId != null) clientApi.checkClientEnabled(clientId);
+        return productApi.searchProductsKeyset(clientId, barcode, productName, cursor, pageSize);
     }
 
 }
@@ -0,0 +1,67 @@
+package com.increff.pos.flow;
+
+import com.increff.pos.api.ProductDaySalesApi;
+import com.increff.pos.entity.SalesRollupWatermarkEntity;
+import com.increff.pos.exception.ApiException;
+import com.increff.pos.exception.ApiStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Optional;
+
+@Service
+public class SalesRollupFlow {
+
+    private static final Logger logger = LoggerFactory.getLogger(SalesRollupFlow.class);
+
+    @Autowired
+    private ProductDaySalesApi productDaySalesApi;
+
+    public SalesRollupWatermarkEntity backfill(LocalDate fromDate, LocalDate toDate) {
+        if (fromDate.isAfter(toDate)) {
+            throw new ApiException(ApiStatus.BAD_REQUEST, "Start date must not be after end date", "startDate",
+                    "Start date must not be after end date");
+        }
+        if (!toDate.isBefore(LocalDate.now(ZoneId.of("Asia/Kolkata")))) {
+            throw new ApiException(ApiStatus.BAD_REQUEST, "Only closed days can be rolled up", "endDate",
+                    "Only closed days can be rolled up");
+        }
+
+        Optional<SalesRollupWatermarkEntity> watermark = productDaySalesApi.getWatermark();
+        LocalDate firstDate = fromDate;
+        LocalDate lastDate = toDate;
+        if (watermark.isPresent()) {
+            LocalDate first = watermark.get().getFirstDate();
+            LocalDate last = watermark.get().getLastDate();
+            if (fromDate.isAfter(last.plusDays(1)) || toDate.isBefore(first.minusDays(1))) {
+                throw new ApiException(ApiStatus.BAD_REQUEST, "Backfill range must be contiguous with the rolled up "
+                        + "range " + first + " to " + last, "startDate", "Backfill range leaves a gap");
+            }
+            firstDate = first.isBefore(fromDate) ? first : fromDate;
+            lastDate = last.isAfter(toDate) ? last : toDate;
+        }
+
+        for (LocalDate date = fromDate; !date.isAfter(toDate); date = date.plusDays(1)) {
+            int rows = productDaySalesApi.rebuildForDate(date);
+            logger.info("Rolled up {} product sales rows for IST date {}", rows, date);
+        }
+
+        return productDaySalesApi.updateWatermark(firstDate, lastDate);
+    }
+
+    public void closeThrough(LocalDate lastClosedDate) {
+        Optional<SalesRollupWatermarkEntity> watermark = productDaySalesApi.getWatermark();
+        if (watermark.isEmpty()) {
+            backfill(lastClosedDate, lastClosedDate);
+            return;
+        }
+        LocalDate last = watermark.get().getLastDate();
+        if (last.isBefore(lastClosedDate)) {
+            backfill(last.plusDays(1), lastClosedDate);
+        }
+    }
+}
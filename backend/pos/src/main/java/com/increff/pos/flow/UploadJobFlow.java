@@ -0,0 +1,119 @@
+package com.increff.pos.flow;
+
+import com.increff.pos.api.UploadJobApi;
+import com.increff.pos.model.data.TsvUploadError;
+import com.increff.pos.model.form.InventoryUploadForm;
+import com.increff.pos.model.form.ProductUploadForm;
+import com.increff.pos.model.internal.InventoryUploadModel;
+import com.increff.pos.model.internal.ProductUploadModel;
+import com.increff.pos.model.internal.UploadJobRow;
+import com.increff.pos.util.ConversionUtil;
+import com.increff.pos.util.ValidationUtil;
+import jakarta.validation.ConstraintViolation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class UploadJobFlow {
+
+    @Autowired
+    private UploadJobApi uploadJobApi;
+
+    @Autowired
+    private ProductBatchFlow productBatchFlow;
+
+    @Autowired
+    private InventoryBatchFlow inventoryBatchFlow;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    public void processProductChunk(Integer jobId, List<UploadJobRow<ProductUploadForm>> chunk,
+                                    Set<String> seenBarcodes) {
+        List<TsvUploadError> invalid = new ArrayList<>();
+        List<UploadJobRow<ProductUploadForm>> valid = validate(chunk, seenBarcodes, ProductUploadForm::getBarcode,
+                invalid);
+        List<ProductUploadModel> uploads = valid.stream()
+                .map(row -> ConversionUtil.convertProductUploadFormToUploadModel(row.form())).toList();
+
+        if (!uploads.isEmpty()) {
+            productBatchFlow.createProducts(uploads, progress(jobId, chunk, valid, invalid));
+        }
+        recordRemainder(jobId, chunk, valid, invalid);
+    }
+
+    public void processInventoryChunk(Integer jobId, List<UploadJobRow<InventoryUploadForm>> chunk,
+                                      Set<String> seenBarcodes) {
+        List<TsvUploadError> invalid = new ArrayList<>();
+        List<UploadJobRow<InventoryUploadForm>> valid = validate(chunk, seenBarcodes,
+                InventoryUploadForm::getBarcode, invalid);
+        List<InventoryUploadModel> uploads = valid.stream()
+                .map(row -> ConversionUtil.inventoryUploadFormToModel(row.form())).toList();
+
+        if (!uploads.isEmpty()) {
+            inventoryBatchFlow.upsertFromUpload(uploads, progress(jobId, chunk, valid, invalid));
+        }
+        recordRemainder(jobId, chunk, valid, invalid);
+    }
+
+    private <T> List<UploadJobRow<T>> validate(List<UploadJobRow<T>> chunk, Set<String> seenBarcodes,
+                                               Function<T, String> barcode, List<TsvUploadError> errors) {
+        List<UploadJobRow<T>> valid = new ArrayList<>();
+        for (UploadJobRow<T> row : chunk) {
+            Set<ConstraintViolation<T>> violations = ValidationUtil.validate(row.form());
+            if (!violations.isEmpty()) {
+                errors.add(new TsvUploadError(row.row(), null, violations.stream()
+                        .map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("; "))));
+            } else if (!seenBarcodes.add(barcode.apply(row.form()))) {
+                errors.add(new TsvUploadError(row.row(), null, "Duplicate barcode in file"));
+            } else {
+                valid.add(row);
+            }
+        }
+        return valid;
+    }
+
+    // Runs inside the batch flow's own chunk transaction, so the job's committed row only moves together with
+    // the rows it covers. Rows rejected by validate() are recorded with the first commit that spans them.
+    private <T> ChunkCommitListener progress(Integer jobId, List<UploadJobRow<T>> chunk, List<UploadJobRow<T>> valid,
+                                             List<TsvUploadError> invalid) {
+        return (fromIndex, toIndex, succeeded, errors) -> {
+            int fromRow = fromIndex == 0 ? chunk.getFirst().row() : valid.get(fromIndex - 1).row() + 1;
+            List<TsvUploadError> writeErrors = errors.stream()
+                    .map(error -> new TsvUploadError(valid.get(error.getRowNumber() - 2).row(), null,
+                            error.getErrorMessage()))
+                    .toList();
+            record(jobId, chunk, invalid, fromRow, valid.get(toIndex).row(), succeeded, writeErrors);
+        };
+    }
+
+    private <T> void recordRemainder(Integer jobId, List<UploadJobRow<T>> chunk, List<UploadJobRow<T>> valid,
+                                     List<TsvUploadError> invalid) {
+        int fromRow = valid.isEmpty() ? chunk.getFirst().row() : valid.getLast().row() + 1;
+        int toRow = chunk.getLast().row();
+        if (fromRow > toRow) {
+            return;
+        }
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                record(jobId, chunk, invalid, fromRow, toRow, 0, List.of()));
+    }
+
+    private <T> void record(Integer jobId, List<UploadJobRow<T>> chunk, List<TsvUploadError> invalid, int fromRow,
+                            int toRow, int succeeded, List<TsvUploadError> writeErrors) {
+        List<TsvUploadError> errors = new ArrayList<>(writeErrors);
+        invalid.stream().filter(error -> error.getRowNumber() >= fromRow && error.getRowNumber() <= toRow)
+                .forEach(errors::add);
+        errors.sort(Comparator.comparing(TsvUploadError::getRowNumber));
+        int processed = (int) chunk.stream().filter(row -> row.row() >= fromRow && row.row() <= toRow).count();
+        uploadJobApi.recordChunk(jobId, toRow, processed, succeeded, errors);
+    }
+}
@@ -0,0 +1,181 @@
+package com.increff.pos.idempotency;
+
+import com.increff.pos.cache.BoundedCache;
+import com.increff.pos.cache.CacheStats;
+import com.increff.pos.dao.IdempotencyKeyDao;
+import com.increff.pos.entity.IdempotencyKeyEntity;
+import com.increff.pos.exception.ApiException;
+import com.increff.pos.exception.ApiStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+@Component
+public class IdempotencyStore {
+
+    public static final String HEADER = "Idempotency-Key";
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyStore.class);
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final IdempotencyKeyDao idempotencyKeyDao;
+    private final TransactionTemplate transactionTemplate;
+    private final BoundedCache<String, Outcome> completed;
+    private final ConcurrentMap<String, InFlight> inFlight = new ConcurrentHashMap<>();
+    private final Duration ttl;
+
+    @Autowired
+    public IdempotencyStore(IdempotencyKeyDao idempotencyKeyDao, PlatformTransactionManager transactionManager,
+                            @Value("${app.idempotency.max-size:10000}") int maxSize,
+                            @Value("${app.idempotency.ttl-hours:24}") long ttlHours) {
+        this.idempotencyKeyDao = idempotencyKeyDao;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ttl = Duration.ofHours(ttlHours);
+        this.completed = new BoundedCache<>("idempotency", maxSize, ttl);
+    }
+
+    public Integer execute(String scope, String key, String fingerprint, Supplier<Integer> action) {
+        if (key == null) {
+            return action.get();
+        }
+        checkKey(key);
+
+        String id = scope + ":" + key;
+        String hash = hash(fingerprint);
+
+        Outcome cached = completed.get(id);
+        if (cached != null) {
+            return replay(cached, hash);
+        }
+
+        InFlight mine = new InFlight(hash, new CompletableFuture<>());
+        InFlight running = inFlight.putIfAbsent(id, mine);
+        if (running != null) {
+            return await(running, hash);
+        }
+
+        try {
+            Outcome outcome = runOnce(id, hash, action);
+            completed.put(id, outcome);
+            mine.result().complete(outcome.resourceId());
+            return replay(outcome, hash);
+        } catch (RuntimeException e) {
+            mine.result().completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(id, mine);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        Integer purged = transactionTemplate.execute(status -> idempotencyKeyDao.deleteExpired(now()));
+        if (purged != null && purged > 0) {
+            logger.info("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    public CacheStats stats() {
+        return completed.stats();
+    }
+
+    private Outcome runOnce(String id, String hash, Supplier<Integer> action) {
+        try {
+            return transactionTemplate.execute(status -> {
+                Optional<IdempotencyKeyEntity> existing = idempotencyKeyDao.selectByKey(id);
+                if (existing.isPresent() && existing.get().getExpiresAt().isAfter(now())) {
+                    return toOutcome(existing.get());
+                }
+
+                Integer resourceId = action.get();
+
+                IdempotencyKeyEntity record = existing.orElseGet(IdempotencyKeyEntity::new);
+                record.setId(id);
+                record.setFingerprint(hash);
+                record.setResourceId(resourceId);
+                record.setExpiresAt(now().plus(ttl));
+                idempotencyKeyDao.save(record);
+                return toOutcome(record);
+            });
+        } catch (DataIntegrityViolationException e) {
+            return transactionTemplate.execute(status -> idempotencyKeyDao.selectByKey(id)).map(this::toOutcome)
+                    .orElseThrow(() -> e);
+        }
+    }
+
+    private Integer await(InFlight running, String hash) {
+        if (!running.fingerprint().equals(hash)) {
+            throw keyReused();
+        }
+        try {
+            return running.result().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private Integer replay(Outcome outcome, String hash) {
+        if (!outcome.fingerprint().equals(hash)) {
+            throw keyReused();
+        }
+        return outcome.resourceId();
+    }
+
+    private Outcome toOutcome(IdempotencyKeyEntity entity) {
+        return new Outcome(entity.getFingerprint(), entity.getResourceId());
+    }
+
+    private static void checkKey(String key) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new ApiException(ApiStatus.BAD_REQUEST, "Idempotency-Key must be 1 to " + MAX_KEY_LENGTH
+                    + " characters", HEADER, "Invalid Idempotency-Key");
+        }
+    }
+
+    private static ApiException keyReused() {
+        return new ApiException(ApiStatus.CONFLICT, "Idempotency-Key was already used for a different request",
+                HEADER, "Idempotency-Key was already used for a different request");
+    }
+
+    private static String hash(String fingerprint) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(fingerprint.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static ZonedDateTime now() {
+        return ZonedDateTime.now(ZoneId.of("UTC"));
+    }
+
+    private record Outcome(String fingerprint, Integer resourceId) {
+    }
+
+    private record InFlight(String fingerprint, CompletableFuture<Integer> result) {
+    }
+}
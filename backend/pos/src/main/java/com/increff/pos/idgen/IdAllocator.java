@@ -0,0 +1,6 @@
+package com.increff.pos.idgen;
+
+public interface IdAllocator {
+
+    long next(String segmentName);
+}
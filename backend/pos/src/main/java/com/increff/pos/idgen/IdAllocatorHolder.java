@@ -0,0 +1,20 @@
+package com.increff.pos.idgen;
+
+public final class IdAllocatorHolder {
+
+    private static volatile IdAllocator allocator;
+
+    private IdAllocatorHolder() {}
+
+    public static void set(IdAllocator idAllocator) {
+        allocator = idAllocator;
+    }
+
+    public static IdAllocator get() {
+        IdAllocator current = allocator;
+        if (current == null) {
+            throw new IllegalStateException("ID allocator has not been initialised");
+        }
+        return current;
+    }
+}
@@ -0,0 +1,27 @@
+package com.increff.pos.idgen;
+
+public class IdSegment {
+
+    private long next;
+    private final long end;
+
+    public IdSegment(long start, long end) {
+        this.next = start;
+        this.end = end;
+    }
+
+    public boolean hasNext() {
+        return next < end;
+    }
+
+    public long take() {
+        if (!hasNext()) {
+            throw new IllegalStateException("ID segment exhausted");
+        }
+        return next++;
+    }
+
+    public long remaining() {
+        return end - next;
+    }
+}
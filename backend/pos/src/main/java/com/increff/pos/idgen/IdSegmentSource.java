@@ -0,0 +1,6 @@
+package com.increff.pos.idgen;
+
+public interface IdSegmentSource {
+
+    IdSegment lease(String segmentName, int size);
+}
@@ -0,0 +1,94 @@
+package com.increff.pos.idgen;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Component
+public class SegmentIdAllocator implements IdAllocator {
+
+    private static final Logger logger = LoggerFactory.getLogger(SegmentIdAllocator.class);
+
+    private final IdSegmentSource segmentSource;
+    private final int segmentSize;
+    private final long refillThreshold;
+    private final boolean prefetch;
+    private final ExecutorService refillExecutor;
+    private final ConcurrentMap<String, SegmentBuffer> buffers = new ConcurrentHashMap<>();
+
+    @Autowired
+    public SegmentIdAllocator(IdSegmentSource segmentSource, @Value("${app.id.segment-size:1000}") int segmentSize,
+                              @Value("${app.id.refill-threshold-percent:20}") int refillThresholdPercent) {
+        if (segmentSize < 1) {
+            throw new IllegalArgumentException("Segment size must be at least 1");
+        }
+        this.segmentSource = segmentSource;
+        this.segmentSize = segmentSize;
+        this.prefetch = refillThresholdPercent > 0;
+        this.refillThreshold = (long) segmentSize * refillThresholdPercent / 100;
+        this.refillExecutor = Executors.newSingleThreadExecutor(
+                Thread.ofPlatform().name("id-segment-refill").daemon().factory());
+    }
+
+    @PostConstruct
+    public void register() {
+        IdAllocatorHolder.set(this);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refillExecutor.shutdownNow();
+    }
+
+    @Override
+    public long next(String segmentName) {
+        SegmentBuffer buffer = buffers.computeIfAbsent(segmentName, name -> new SegmentBuffer());
+
+        synchronized (buffer) {
+            if (buffer.current == null || !buffer.current.hasNext()) {
+                buffer.current = takeNextSegment(segmentName, buffer);
+            }
+
+            long id = buffer.current.take();
+
+            if (prefetch && buffer.pending == null && buffer.current.remaining() <= refillThreshold) {
+                buffer.pending = CompletableFuture.supplyAsync(
+                        () -> segmentSource.lease(segmentName, segmentSize), refillExecutor);
+            }
+            return id;
+        }
+    }
+
+    private IdSegment takeNextSegment(String segmentName, SegmentBuffer buffer) {
+        CompletableFuture<IdSegment> pending = buffer.pending;
+        buffer.pending = null;
+
+        if (pending != null) {
+            try {
+                IdSegment segment = pending.join();
+                if (segment.hasNext()) {
+                    return segment;
+                }
+            } catch (CompletionException e) {
+                logger.warn("Background lease of ID segment {} failed, leasing inline", segmentName, e.getCause());
+            }
+        }
+        return segmentSource.lease(segmentName, segmentSize);
+    }
+
+    private static final class SegmentBuffer {
+        private IdSegment current;
+        private CompletableFuture<IdSegment> pending;
+    }
+}
@@ -0,0 +1,18 @@
+package com.increff.pos.idgen;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+
+public class SegmentIdGenerator implements IdentifierGenerator {
+
+    private final String segmentName;
+
+    public SegmentIdGenerator(SegmentId config) {
+        this.segmentName = config.name();
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object entity) {
+        return Math.toIntExact(IdAllocatorHolder.get().next(segmentName));
+    }
+}
@@ -0,0 +1,6 @@
+package com.increff.pos.ledger;
+
+import java.util.Map;
+
+public record JournalEntry(long sequence, Integer orderId, Map<Integer, Integer> deltas) {
+}
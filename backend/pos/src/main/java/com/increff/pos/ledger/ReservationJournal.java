@@ -0,0 +1,162 @@
+package com.increff.pos.ledger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ReservationJournal implements Closeable {
+
+    private final Path path;
+    private final FileChannel channel;
+    private final Object syncLock = new Object();
+
+    private volatile long written;
+    private volatile long synced;
+
+    public ReservationJournal(Path path) {
+        this.path = path;
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open reservation journal " + path, e);
+        }
+    }
+
+    /**
+     * Writes an entry without forcing it to disk. Callers append in sequence order under their own lock and then
+     * call {@link #sync(long)} outside it, so concurrent reservations share one fsync. The order id may be null.
+     */
+    public void append(long sequence, Integer orderId, Map<Integer, Integer> deltas) {
+        StringBuilder line = new StringBuilder().append(sequence).append('|');
+        if (orderId != null) {
+            line.append(orderId);
+        }
+        line.append('|');
+        boolean first = true;
+        for (Map.Entry<Integer, Integer> delta : deltas.entrySet()) {
+            if (!first) line.append(',');
+            line.append(delta.getKey()).append(':').append(delta.getValue());
+            first = false;
+        }
+        line.append('\n');
+
+        ByteBuffer buffer = ByteBuffer.wrap(line.toString().getBytes(StandardCharsets.UTF_8));
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append to reservation journal " + path, e);
+        }
+        written = sequence;
+    }
+
+    /**
+     * Blocks until the entry with the given sequence is on disk. The first waiter forces everything written so far;
+     * waiters queued behind it usually find their entry already covered and return without a force of their own.
+     */
+    public void sync(long sequence) {
+        if (synced >= sequence) {
+            return;
+        }
+        synchronized (syncLock) {
+            if (synced >= sequence) {
+                return;
+            }
+            long target = written;
+            try {
+                channel.force(false);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to sync reservation journal " + path, e);
+            }
+            synced = target;
+        }
+    }
+
+    public List<JournalEntry> readAll() {
+        String content;
+        try {
+            content = Files.readString(path, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read reservation journal " + path, e);
+        }
+
+        List<JournalEntry> entries = new ArrayList<>();
+        int start = 0;
+        int end;
+        while ((end = content.indexOf('\n', start)) >= 0) {
+            JournalEntry entry = parse(content.substring(start, end));
+            if (entry == null) {
+                break;
+            }
+            entries.add(entry);
+            start = end + 1;
+        }
+        return entries;
+    }
+
+    public void truncate() {
+        try {
+            channel.truncate(0);
+            channel.force(true);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to truncate reservation journal " + path, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to close reservation journal " + path, e);
+        }
+    }
+
+    private JournalEntry parse(String line) {
+        int separator = line.indexOf('|');
+        if (separator <= 0) {
+            return null;
+        }
+        try {
+            long sequence = Long.parseLong(line.substring(0, separator));
+            Integer orderId = null;
+            int bodyStart = separator + 1;
+            // Entries written before order ids were journaled have no second separator.
+            int orderSeparator = line.indexOf('|', bodyStart);
+            if (orderSeparator >= 0) {
+                if (orderSeparator > bodyStart) {
+                    orderId = Integer.parseInt(line.substring(bodyStart, orderSeparator));
+                }
+                bodyStart = orderSeparator + 1;
+            }
+            Map<Integer, Integer> deltas = new HashMap<>();
+            String body = line.substring(bodyStart);
+            if (!body.isEmpty()) {
+                for (String pair : body.split(",")) {
+                    int colon = pair.indexOf(':');
+                    deltas.merge(Integer.parseInt(pair.substring(0, colon)),
+                            Integer.parseInt(pair.substring(colon + 1)), Integer::sum);
+                }
+            }
+            return new JournalEntry(sequence, orderId, deltas);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+}
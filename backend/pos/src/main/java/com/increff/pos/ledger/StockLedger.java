@@ -0,0 +1,271 @@
+package com.increff.pos.ledger;
+
+import com.increff.pos.dao.InventoryDao;
+import com.increff.pos.dao.InventoryLedgerCheckpointDao;
+import com.increff.pos.dao.OrderDao;
+import com.increff.pos.entity.InventoryEntity;
+import com.increff.pos.exception.ApiException;
+import com.increff.pos.exception.ApiStatus;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory stock counters backed by a local journal, flushed to the inventory table in batches. It only sees
+ * reservations made on this node, so every order-taking instance must share one node.
+ *
+ * <p>A reservation is journaled and synced before the order transaction commits, tagged with its order id. If the
+ * node dies between that sync and the commit, replay drops the entries of orders that never reached the database.
+ * A reservation that a scheduled flush already wrote before the crash cannot be told apart on replay and stays
+ * applied; that error only ever undercounts stock, and the next absolute upsert of the product corrects it.
+ */
+@Component
+@ConditionalOnProperty(name = "app.inventory.reservation-ledger.enabled", havingValue = "true")
+public class StockLedger {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockLedger.class);
+
+    private final InventoryDao inventoryDao;
+    private final InventoryLedgerCheckpointDao checkpointDao;
+    private final OrderDao orderDao;
+    private final TransactionTemplate transactionTemplate;
+    private final ReservationJournal journal;
+
+    private final ConcurrentMap<Integer, AtomicInteger> available = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final Object journalLock = new Object();
+
+    private Map<Integer, Integer> pending = new HashMap<>();
+    private long lastSequence;
+
+    @Autowired
+    public StockLedger(InventoryDao inventoryDao, InventoryLedgerCheckpointDao checkpointDao, OrderDao orderDao,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${app.inventory.reservation-ledger.journal-path:data/inventory-ledger.journal}")
+                       String journalPath) {
+        this.inventoryDao = inventoryDao;
+        this.checkpointDao = checkpointDao;
+        this.orderDao = orderDao;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.journal = new ReservationJournal(Path.of(journalPath));
+    }
+
+    @PostConstruct
+    public void recover() {
+        logger.warn("Stock reservation ledger is enabled; it only sees reservations made on this node, so every "
+                + "order-taking instance must share one node or stock can be oversold");
+        long checkpoint = transactionTemplate.execute(status -> checkpointDao.selectLastSequence());
+
+        List<JournalEntry> entries = journal.readAll().stream().filter(entry -> entry.sequence() > checkpoint)
+                .toList();
+        Set<Integer> orphaned = findOrphanedReservations(entries);
+        if (!orphaned.isEmpty()) {
+            logger.warn("Dropping journaled reservations of orders that never committed: {}", orphaned);
+        }
+
+        Map<Integer, Integer> unflushed = new HashMap<>();
+        long maxSequence = checkpoint;
+        for (JournalEntry entry : entries) {
+            maxSequence = Math.max(maxSequence, entry.sequence());
+            if (entry.orderId() != null && orphaned.contains(entry.orderId())) continue;
+            entry.deltas().forEach((productId, delta) -> unflushed.merge(productId, delta, Integer::sum));
+        }
+
+        if (maxSequence > checkpoint) {
+            long replayedUpTo = maxSequence;
+            logger.info("Replaying reservation journal entries {} to {}", checkpoint + 1, replayedUpTo);
+            transactionTemplate.executeWithoutResult(status -> writeDeltas(unflushed, replayedUpTo));
+        }
+
+        journal.truncate();
+        lastSequence = maxSequence;
+    }
+
+    public Integer reserve(Integer orderId, Map<Integer, Integer> quantityByProduct) {
+        Map<Integer, Integer> ordered = new TreeMap<>(quantityByProduct);
+        load(ordered.keySet());
+
+        List<Map.Entry<Integer, Integer>> taken = new ArrayList<>();
+        for (Map.Entry<Integer, Integer> entry : ordered.entrySet()) {
+            if (!tryTake(available.get(entry.getKey()), entry.getValue())) {
+                taken.forEach(done -> available.get(done.getKey()).addAndGet(done.getValue()));
+                return entry.getKey();
+            }
+            taken.add(entry);
+        }
+
+        Map<Integer, Integer> deltas = new HashMap<>();
+        ordered.forEach((productId, quantity) -> deltas.put(productId, -quantity));
+        try {
+            record(orderId, deltas);
+        } catch (UncheckedIOException e) {
+            ordered.forEach((productId, quantity) -> available.get(productId).addAndGet(quantity));
+            throw new ApiException(ApiStatus.INTERNAL_ERROR, "Failed to record stock reservation");
+        }
+        return null;
+    }
+
+    public void release(Integer orderId, Map<Integer, Integer> quantityByProduct) {
+        load(quantityByProduct.keySet());
+        record(orderId, new HashMap<>(quantityByProduct));
+        quantityByProduct.forEach((productId, quantity) -> available.get(productId).addAndGet(quantity));
+    }
+
+    public void load(Collection<Integer> productIds) {
+        List<Integer> missing = productIds.stream().filter(productId -> !available.containsKey(productId)).toList();
+        if (missing.isEmpty()) return;
+
+        flushLock.lock();
+        try {
+            List<Integer> stillMissing = missing.stream()
+                    .filter(productId -> !available.containsKey(productId)).toList();
+            if (stillMissing.isEmpty()) return;
+
+            List<InventoryEntity> inventories = transactionTemplate.execute(
+                    status -> inventoryDao.selectByProductIds(stillMissing));
+            if (inventories.size() != stillMissing.size())
+                throw new ApiException(ApiStatus.NOT_FOUND, "Inventory not found for one or more products",
+                        "productId", "Inventory not found for one or more products");
+
+            synchronized (journalLock) {
+                for (InventoryEntity inventory : inventories) {
+                    int quantity = inventory.getQuantity() + pending.getOrDefault(inventory.getProductId(), 0);
+                    available.putIfAbsent(inventory.getProductId(), new AtomicInteger(quantity));
+                }
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    public Integer getAvailable(Integer productId) {
+        AtomicInteger counter = available.get(productId);
+        return counter == null ? null : counter.get();
+    }
+
+    public void evict(Collection<Integer> productIds) {
+        flushLock.lock();
+        try {
+            productIds.forEach(available::remove);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.inventory.reservation-ledger.flush-interval-ms:200}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            Map<Integer, Integer> batch;
+            long upTo;
+            synchronized (journalLock) {
+                if (pending.isEmpty()) return;
+                batch = pending;
+                pending = new HashMap<>();
+                upTo = lastSequence;
+            }
+
+            try {
+                transactionTemplate.executeWithoutResult(status -> writeDeltas(batch, upTo));
+            } catch (RuntimeException e) {
+                synchronized (journalLock) {
+                    batch.forEach((productId, delta) -> pending.merge(productId, delta, Integer::sum));
+                }
+                logger.warn("Failed to flush stock reservations up to sequence {}: {}", upTo, e.getMessage());
+                return;
+            }
+
+            synchronized (journalLock) {
+                if (lastSequence == upTo) journal.truncate();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+        journal.close();
+    }
+
+    private void record(Integer orderId, Map<Integer, Integer> deltas) {
+        long sequence;
+        synchronized (journalLock) {
+            sequence = lastSequence + 1;
+            journal.append(sequence, orderId, deltas);
+            lastSequence = sequence;
+            deltas.forEach((productId, delta) -> pending.merge(productId, delta, Integer::sum));
+        }
+
+        try {
+            journal.sync(sequence);
+        } catch (UncheckedIOException e) {
+            synchronized (journalLock) {
+                deltas.forEach((productId, delta) -> pending.merge(productId, -delta, Integer::sum));
+            }
+            throw e;
+        }
+    }
+
+    // An order with a reservation in the replay but no row never committed. Its rollback release, if one was
+    // journaled, is dropped with it; a release whose reservation was already flushed is still applied.
+    private Set<Integer> findOrphanedReservations(List<JournalEntry> entries) {
+        Set<Integer> reserved = new HashSet<>();
+        for (JournalEntry entry : entries) {
+            if (entry.orderId() != null && entry.deltas().values().stream().anyMatch(delta -> delta < 0)) {
+                reserved.add(entry.orderId());
+            }
+        }
+        if (reserved.isEmpty()) return Set.of();
+
+        List<Integer> committed = transactionTemplate.execute(
+                status -> orderDao.selectExistingIds(List.copyOf(reserved)));
+        reserved.removeAll(committed);
+        return reserved;
+    }
+
+    private void writeDeltas(Map<Integer, Integer> deltas, long upTo) {
+        Map<Integer, Integer> nonZero = new HashMap<>(deltas);
+        nonZero.values().removeIf(delta -> delta == 0);
+        List<Integer> failed = inventoryDao.applyDeltas(nonZero);
+        if (!failed.isEmpty()) {
+            logger.warn("Dropped stock deltas for products without inventory: {}", failed);
+        }
+        checkpointDao.updateLastSequence(upTo);
+    }
+
+    private static boolean tryTake(AtomicInteger counter, int quantity) {
+        int current;
+        do {
+            current = counter.get();
+            if (current < quantity) return false;
+        } while (!counter.compareAndSet(current, current - quantity));
+        return true;
+    }
+}
@@ -0,0 +1,23 @@
+package com.increff.pos.model.data;
+
+import com.increff.pos.model.domain.BackfillStatus;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+@Getter
+@Setter
+public class DaySalesBackfillData {
+
+    private BackfillStatus status;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Integer totalDays;
+    private Integer completedDays;
+    private List<LocalDate> failedDates;
+    private ZonedDateTime startedAt;
+    private ZonedDateTime finishedAt;
+}
@@ -1,17 +1,17 @@
 package com.increff.pos.model.data;
 
+import lombok.AllArgsConstructor;
 import lombok.Getter;
-import lombok.Setter;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Getter
-@Setter
+@AllArgsConstructor
 public class DaySalesData {
 
-    private LocalDate date;
-    private Integer invoicedOrdersCount;
-    private Integer invoicedItemsCount;
-    private BigDecimal totalRevenue;
+    private final LocalDate date;
+    private final Integer invoicedOrdersCount;
+    private final Integer invoicedItemsCount;
+    private final BigDecimal totalRevenue;
 }
@@ -0,0 +1,16 @@
+package com.increff.pos.model.data;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+public class HourSalesData {
+
+    private Integer hour;
+    private Integer invoicedOrdersCount;
+    private Integer invoicedItemsCount;
+    private BigDecimal totalRevenue;
+}
@@ -1,13 +1,18 @@
 package com.increff.pos.model.data;
 
+import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Getter
 @Setter
+@NoArgsConstructor
+@AllArgsConstructor
 public class InventoryData {
 
     private Integer productId;
     private String productName;
     private Integer quantity;
+    private String barcode;
 }
@@ -0,0 +1,19 @@
+package com.increff.pos.model.data;
+
+import com.increff.pos.model.domain.InvoiceJobStatus;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.ZonedDateTime;
+
+@Getter
+@Setter
+public class InvoiceJobData {
+    private Integer jobId;
+    private Integer orderId;
+    private InvoiceJobStatus status;
+    private Integer attempts;
+    private String errorMessage;
+    private ZonedDateTime createdAt;
+    private ZonedDateTime completedAt;
+}
@@ -0,0 +1,16 @@
+package com.increff.pos.model.data;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class OrderBatchData {
+
+    private Integer total;
+    private Integer succeeded;
+    private Integer failed;
+    private List<OrderBatchResultData> results;
+}
@@ -0,0 +1,18 @@
+package com.increff.pos.model.data;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class OrderBatchResultData {
+
+    private Integer index;
+    private Boolean success;
+    private OrderData order;
+    private String status;
+    private String message;
+    private List<FieldErrorData> errors;
+}
@@ -1,5 +1,6 @@
 package com.increff.pos.model.data;
 
+import com.increff.pos.model.domain.PaginationMode;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -13,4 +14,8 @@ public class OrderPageData {
     private Integer page;
     private Integer pageSize;
     private Long totalElements;
+    private String nextCursor;
+    private String prevCursor;
+    private Boolean hasNext;
+    private PaginationMode paginationMode = PaginationMode.OFFSET;
 }
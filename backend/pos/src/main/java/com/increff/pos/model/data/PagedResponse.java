@@ -1,17 +1,34 @@
 package com.increff.pos.model.data;
 
-import lombok.AllArgsConstructor;
+import com.increff.pos.model.domain.PaginationMode;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.util.List;
 
 @Getter
 @Setter
-@AllArgsConstructor
+@NoArgsConstructor
 public class PagedResponse<T> {
 
     private List<T> data;
     private Long total;
+    private String nextCursor;
+    private String prevCursor;
+    private Boolean hasNext;
+    private PaginationMode paginationMode = PaginationMode.OFFSET;
 
+    public PagedResponse(List<T> data, Long total) {
+        this.data = data;
+        this.total = total;
+    }
+
+    public static <T> PagedResponse<T> keyset(List<T> data, String nextCursor, String prevCursor) {
+        PagedResponse<T> response = new PagedResponse<>(data, null);
+        response.setNextCursor(nextCursor);
+        response.setPrevCursor(prevCursor);
+        response.setPaginationMode(PaginationMode.KEYSET);
+        return response;
+    }
 }
@@ -0,0 +1,25 @@
+package com.increff.pos.model.data;
+
+import com.increff.pos.export.ExportFormat;
+import com.increff.pos.model.domain.ReportJobStatus;
+import com.increff.pos.model.domain.ReportJobType;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.ZonedDateTime;
+
+@Getter
+@Setter
+public class ReportJobData {
+    private Integer jobId;
+    private ReportJobType type;
+    private ReportJobStatus status;
+    private ExportFormat format;
+    private Boolean gzip;
+    private Integer totalPartitions;
+    private Integer completedPartitions;
+    private Long fileSize;
+    private String errorMessage;
+    private ZonedDateTime createdAt;
+    private ZonedDateTime completedAt;
+}
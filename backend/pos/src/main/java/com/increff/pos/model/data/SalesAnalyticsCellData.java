@@ -0,0 +1,17 @@
+package com.increff.pos.model.data;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+public class SalesAnalyticsCellData {
+
+    private String row;
+    private String column;
+    private Long quantity;
+    private BigDecimal revenue;
+    private Long lineCount;
+}
@@ -0,0 +1,17 @@
+package com.increff.pos.model.data;
+
+import com.increff.pos.model.domain.AnalyticsDimension;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class SalesAnalyticsData {
+
+    private AnalyticsDimension rows;
+    private AnalyticsDimension columns;
+    private Integer scannedRows;
+    private List<SalesAnalyticsCellData> cells;
+}
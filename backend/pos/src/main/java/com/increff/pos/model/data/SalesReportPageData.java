@@ -1,5 +1,6 @@
 package com.increff.pos.model.data;
 
+import com.increff.pos.model.domain.PaginationMode;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -14,4 +15,6 @@ public class SalesReportPageData {
     private Integer page;
     private Integer pageSize;
     private Long totalElements;
+    private Boolean hasNext;
+    private PaginationMode paginationMode = PaginationMode.OFFSET;
 }
@@ -0,0 +1,14 @@
+package com.increff.pos.model.data;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+@Getter
+@Setter
+public class SalesRollupData {
+
+    private LocalDate firstDate;
+    private LocalDate lastDate;
+}
@@ -0,0 +1,20 @@
+package com.increff.pos.model.data;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Getter
+@Setter
+public class TodaySalesData {
+
+    private LocalDate date;
+    private Integer clientId;
+    private Integer invoicedOrdersCount;
+    private Integer invoicedItemsCount;
+    private BigDecimal totalRevenue;
+    private List<HourSalesData> hours;
+}
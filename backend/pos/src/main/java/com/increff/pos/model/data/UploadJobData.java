@@ -0,0 +1,24 @@
+package com.increff.pos.model.data;
+
+import com.increff.pos.model.domain.UploadJobStatus;
+import com.increff.pos.model.domain.UploadJobType;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.ZonedDateTime;
+
+@Getter
+@Setter
+public class UploadJobData {
+    private Integer jobId;
+    private UploadJobType type;
+    private UploadJobStatus status;
+    private String fileName;
+    private Integer totalRows;
+    private Integer processedRows;
+    private Integer successRows;
+    private Integer errorRows;
+    private String errorMessage;
+    private ZonedDateTime createdAt;
+    private ZonedDateTime completedAt;
+}
@@ -0,0 +1,9 @@
+package com.increff.pos.model.domain;
+
+public enum AnalyticsDimension {
+    DAY,
+    WEEK,
+    MONTH,
+    CLIENT,
+    PRODUCT
+}
@@ -0,0 +1,7 @@
+package com.increff.pos.model.domain;
+
+public enum BackfillStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,8 @@
+package com.increff.pos.model.domain;
+
+public enum InvoiceJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,8 @@
+package com.increff.pos.model.domain;
+
+public enum PaginationMode {
+    OFFSET,
+    KEYSET,
+    HAS_NEXT,
+    CACHED_COUNT
+}
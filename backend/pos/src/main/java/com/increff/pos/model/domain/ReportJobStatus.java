@@ -0,0 +1,10 @@
+package com.increff.pos.model.domain;
+
+public enum ReportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED,
+    CANCELLED,
+    EXPIRED
+}
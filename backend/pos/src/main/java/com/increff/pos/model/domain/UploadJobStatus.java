@@ -0,0 +1,10 @@
+package com.increff.pos.model.domain;
+
+public enum UploadJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED,
+    CANCELLED,
+    EXPIRED
+}
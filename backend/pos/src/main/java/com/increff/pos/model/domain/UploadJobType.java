@@ -0,0 +1,6 @@
+package com.increff.pos.model.domain;
+
+public enum UploadJobType {
+    PRODUCT,
+    INVENTORY
+}
@@ -0,0 +1,17 @@
+package com.increff.pos.model.form;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class OrderBatchForm {
+
+    @NotEmpty(message = "Batch must contain at least one order")
+    @Size(max = 1000, message = "Batch cannot contain more than 1000 orders")
+    private List<OrderForm> orders;
+}
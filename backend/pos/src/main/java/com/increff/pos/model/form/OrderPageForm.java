@@ -1,6 +1,7 @@
 package com.increff.pos.model.form;
 
 import com.increff.pos.model.domain.OrderStatus;
+import com.increff.pos.model.domain.PaginationMode;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -16,4 +17,7 @@ public class OrderPageForm {
 
     private Integer page = 0;
     private Integer pageSize = 10;
+
+    private PaginationMode paginationMode = PaginationMode.OFFSET;
+    private String cursor;
 }
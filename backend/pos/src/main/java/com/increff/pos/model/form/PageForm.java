@@ -1,5 +1,6 @@
 package com.increff.pos.model.form;
 
+import com.increff.pos.model.domain.PaginationMode;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
@@ -19,4 +20,8 @@ public class PageForm {
     @Max(100)
     private Integer pageSize;
 
+    private PaginationMode paginationMode = PaginationMode.OFFSET;
+
+    private String cursor;
+
 }
@@ -0,0 +1,29 @@
+package com.increff.pos.model.form;
+
+import com.increff.pos.model.domain.AnalyticsDimension;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+@Getter
+@Setter
+public class SalesAnalyticsForm {
+
+    @NotNull(message = "Row dimension is required")
+    private AnalyticsDimension rows;
+
+    private AnalyticsDimension columns;
+
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Integer clientId;
+    private Integer productId;
+
+    @Min(value = 1, message = "Top per row must be at least 1")
+    @Max(value = 1000, message = "Top per row must not exceed 1000")
+    private Integer topPerRow;
+}
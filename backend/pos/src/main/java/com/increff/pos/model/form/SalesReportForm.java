@@ -1,5 +1,6 @@
 package com.increff.pos.model.form;
 
+import com.increff.pos.model.domain.PaginationMode;
 import jakarta.validation.constraints.NotNull;
 import lombok.Getter;
 import lombok.Setter;
@@ -21,4 +22,8 @@ public class SalesReportForm {
     private Integer page;
 
     private Integer pageSize;
+
+    // Ignored apart from rejecting KEYSET: the report is merged in memory, so every response carries the exact total
+    // and is reported as OFFSET.
+    private PaginationMode paginationMode = PaginationMode.OFFSET;
 }
@@ -0,0 +1,4 @@
+package com.increff.pos.model.internal;
+
+public record AnalyticsCell(int row, int column, long quantity, long revenuePaise, long lineCount) {
+}
@@ -0,0 +1,8 @@
+package com.increff.pos.model.internal;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+
+public record AnalyticsLineRow(Integer orderId, ZonedDateTime createdAt, Integer clientId, Integer productId,
+                               Integer quantity, BigDecimal sellingPrice) {
+}
@@ -0,0 +1,9 @@
+package com.increff.pos.model.internal;
+
+import com.increff.pos.model.domain.AnalyticsDimension;
+
+import java.time.LocalDate;
+
+public record AnalyticsQuery(AnalyticsDimension rows, AnalyticsDimension columns, LocalDate startDate,
+                             LocalDate endDate, Integer clientId, Integer productId, Integer topPerRow) {
+}
@@ -0,0 +1,6 @@
+package com.increff.pos.model.internal;
+
+import java.util.List;
+
+public record AnalyticsResult(List<AnalyticsCell> cells, int scannedRows) {
+}
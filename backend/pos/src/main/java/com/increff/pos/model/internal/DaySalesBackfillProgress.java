@@ -0,0 +1,12 @@
+package com.increff.pos.model.internal;
+
+import com.increff.pos.model.domain.BackfillStatus;
+
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+public record DaySalesBackfillProgress(BackfillStatus status, LocalDate startDate, LocalDate endDate, int totalDays,
+                                       int completedDays, List<LocalDate> failedDates, ZonedDateTime startedAt,
+                                       ZonedDateTime finishedAt) {
+}
@@ -0,0 +1,9 @@
+package com.increff.pos.model.internal;
+
+import java.util.List;
+
+public record KeysetPage<T>(
+        List<T> content,
+        PageCursor next,
+        PageCursor prev
+) {}
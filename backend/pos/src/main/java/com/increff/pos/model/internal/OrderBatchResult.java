@@ -0,0 +1,15 @@
+package com.increff.pos.model.internal;
+
+import com.increff.pos.entity.OrderEntity;
+import com.increff.pos.exception.ApiException;
+
+public record OrderBatchResult(int index, OrderEntity order, ApiException error) {
+
+    public static OrderBatchResult success(int index, OrderEntity order) {
+        return new OrderBatchResult(index, order, null);
+    }
+
+    public static OrderBatchResult failure(int index, ApiException error) {
+        return new OrderBatchResult(index, null, error);
+    }
+}
@@ -0,0 +1,7 @@
+package com.increff.pos.model.internal;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+
+public record OrderSalesRow(ZonedDateTime createdAt, Integer clientId, Long itemsCount, BigDecimal revenue) {
+}
@@ -0,0 +1,9 @@
+package com.increff.pos.model.internal;
+
+import java.time.ZonedDateTime;
+
+public record PageCursor(
+        ZonedDateTime createdAt,
+        Integer id,
+        boolean backward
+) {}
@@ -0,0 +1,15 @@
+package com.increff.pos.model.internal;
+
+import com.increff.pos.entity.ProductEntity;
+import com.increff.pos.exception.ApiException;
+
+public record ProductBatchResult(int index, ProductEntity product, ApiException error) {
+
+    public static ProductBatchResult success(int index, ProductEntity product) {
+        return new ProductBatchResult(index, product, null);
+    }
+
+    public static ProductBatchResult failure(int index, ApiException error) {
+        return new ProductBatchResult(index, null, error);
+    }
+}
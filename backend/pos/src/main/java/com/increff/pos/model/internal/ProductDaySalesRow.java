@@ -0,0 +1,6 @@
+package com.increff.pos.model.internal;
+
+import java.math.BigDecimal;
+
+public record ProductDaySalesRow(Integer productId, Integer clientId, Long quantity, BigDecimal revenue) {
+}
@@ -0,0 +1,8 @@
+package com.increff.pos.model.internal;
+
+import com.increff.pos.export.ExportFormat;
+import com.increff.pos.model.domain.ReportJobType;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+public record ReportJobDownload(ReportJobType type, ExportFormat format, boolean gzip, StreamingResponseBody body) {
+}
@@ -9,6 +9,7 @@ import java.math.BigDecimal;
 @Setter
 public class SalesReportRow {
 
+    private Integer productId;
     private String productName;
     private Integer quantitySold;
     private BigDecimal revenue;
@@ -18,4 +19,11 @@ public class SalesReportRow {
         this.quantitySold = quantitySold;
         this.revenue = revenue;
     }
+
+    public SalesReportRow(Integer productId, String productName, Long quantitySold, BigDecimal revenue) {
+        this.productId = productId;
+        this.productName = productName;
+        this.quantitySold = quantitySold != null ? Math.toIntExact(quantitySold) : 0;
+        this.revenue = revenue != null ? revenue : BigDecimal.ZERO;
+    }
 }
@@ -0,0 +1,6 @@
+package com.increff.pos.model.internal;
+
+import java.nio.file.Path;
+
+public record SpooledUpload(Path path, int totalRows) {
+}
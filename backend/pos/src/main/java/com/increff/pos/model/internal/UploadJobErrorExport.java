@@ -0,0 +1,4 @@
+package com.increff.pos.model.internal;
+
+public record UploadJobErrorExport(String filename, byte[] body) {
+}
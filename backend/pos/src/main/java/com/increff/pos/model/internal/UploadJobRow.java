@@ -0,0 +1,4 @@
+package com.increff.pos.model.internal;
+
+public record UploadJobRow<T>(int row, T form) {
+}
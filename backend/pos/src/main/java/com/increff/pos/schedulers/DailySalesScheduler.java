@@ -4,6 +4,7 @@ import com.increff.pos.api.DaySalesApi;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
@@ -19,7 +20,10 @@ public class DailySalesScheduler {
     @Autowired
     private DaySalesApi daySalesApi;
 
-    @Scheduled(cron = "0 0 0 * * ?", zone = "Asia/Kolkata")
+    @Value("${app.day-sales.reconcile-days:2}")
+    private int reconcileDays;
+
+    @Scheduled(cron = "${app.day-sales.full-scan-cron:-}", zone = "Asia/Kolkata")
     public void calculateDailySales() {
 
         LocalDate yesterdayIst = ZonedDateTime.now(ZoneId.of("Asia/Kolkata")).toLocalDate().minusDays(1);
@@ -31,4 +35,21 @@ public class DailySalesScheduler {
             logger.error("Failed to calculate daily sales for date {}: {}", yesterdayIst, e.getMessage(), e);
         }
     }
+
+    @Scheduled(cron = "${app.day-sales.reconcile-cron:0 15 * * * ?}", zone = "Asia/Kolkata")
+    public void reconcileRecentDays() {
+
+        LocalDate todayIst = ZonedDateTime.now(ZoneId.of("Asia/Kolkata")).toLocalDate();
+
+        for (int i = 0; i < reconcileDays; i++) {
+            LocalDate date = todayIst.minusDays(i);
+            try {
+                if (daySalesApi.reconcileForDate(date)) {
+                    logger.warn("Repaired day sales counters for IST date {}", date);
+                }
+            } catch (Exception e) {
+                logger.error("Failed to reconcile day sales for date {}: {}", date, e.getMessage(), e);
+            }
+        }
+    }
 }
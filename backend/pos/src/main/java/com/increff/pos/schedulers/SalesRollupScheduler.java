@@ -0,0 +1,34 @@
+package com.increff.pos.schedulers;
+
+import com.increff.pos.flow.SalesRollupFlow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+@Service
+public class SalesRollupScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(SalesRollupScheduler.class);
+
+    @Autowired
+    private SalesRollupFlow salesRollupFlow;
+
+    @Scheduled(cron = "${app.sales-rollup.close-cron:0 5 0 * * ?}", zone = "Asia/Kolkata")
+    public void closePreviousDay() {
+
+        LocalDate yesterdayIst = ZonedDateTime.now(ZoneId.of("Asia/Kolkata")).toLocalDate().minusDays(1);
+
+        logger.info("Closing product sales rollup through IST date {}", yesterdayIst);
+        try {
+            salesRollupFlow.closeThrough(yesterdayIst);
+        } catch (Exception e) {
+            logger.error("Failed to close product sales rollup through {}: {}", yesterdayIst, e.getMessage(), e);
+        }
+    }
+}
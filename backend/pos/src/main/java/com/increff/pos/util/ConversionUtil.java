@@ -1,24 +1,45 @@
 package com.increff.pos.util;
 
+import com.increff.pos.cache.CacheStats;
 import com.increff.pos.entity.*;
 import com.increff.pos.exception.ApiException;
 import com.increff.pos.exception.ApiStatus;
+import com.increff.pos.export.ExportFormat;
 import com.increff.pos.model.data.*;
 import com.increff.pos.model.form.*;
+import com.increff.pos.model.domain.AnalyticsDimension;
+import com.increff.pos.model.domain.PaginationMode;
+import com.increff.pos.model.domain.ReportJobType;
+import com.increff.pos.model.domain.UploadJobType;
+import com.increff.pos.model.internal.AnalyticsQuery;
+import com.increff.pos.model.internal.AnalyticsResult;
 import com.increff.pos.model.internal.DaySalesAggregate;
+import com.increff.pos.model.internal.DaySalesBackfillProgress;
 import com.increff.pos.model.internal.InventoryUploadModel;
+import com.increff.pos.model.internal.OrderBatchResult;
 import com.increff.pos.model.internal.ProductUploadModel;
 import com.increff.pos.model.internal.SalesReportRow;
+import com.increff.pos.model.internal.SpooledUpload;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
 import org.modelmapper.convention.MatchingStrategies;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -89,6 +110,7 @@ public final class ConversionUtil {
         ProductEntity product = productMap.get(item.getProductId());
         if (Objects.nonNull(product)) {
             data.setProductName(product.getProductName());
+            data.setBarcode(product.getBarcode());
         }
         return data;
     }
@@ -172,8 +194,159 @@ public final class ConversionUtil {
         return map(entity, InvoiceSummaryData.class);
     }
 
+    public static InvoiceJobData invoiceJobEntityToData(InvoiceJobEntity entity) {
+        InvoiceJobData data = new InvoiceJobData();
+        data.setJobId(entity.getId());
+        data.setOrderId(entity.getOrderId());
+        data.setStatus(entity.getStatus());
+        data.setAttempts(entity.getAttempts());
+        data.setErrorMessage(entity.getErrorMessage());
+        data.setCreatedAt(entity.getCreatedAt());
+        data.setCompletedAt(entity.getCompletedAt());
+        return data;
+    }
+
+    public static ReportJobEntity createReportJob(ReportJobType type, ZonedDateTime startDate,
+                                                  ZonedDateTime endDate, Integer clientId, ExportFormat format,
+                                                  boolean gzip) {
+        ReportJobEntity job = new ReportJobEntity();
+        job.setType(type);
+        job.setStartDate(startDate);
+        job.setEndDate(endDate);
+        job.setClientId(clientId);
+        job.setFormat(format);
+        job.setGzip(gzip);
+        return job;
+    }
+
+    public static ReportJobData reportJobEntityToData(ReportJobEntity entity) {
+        ReportJobData data = new ReportJobData();
+        data.setJobId(entity.getId());
+        data.setType(entity.getType());
+        data.setStatus(entity.getStatus());
+        data.setFormat(entity.getFormat());
+        data.setGzip(entity.getGzip());
+        data.setTotalPartitions(entity.getTotalPartitions());
+        data.setCompletedPartitions(entity.getCompletedPartitions());
+        data.setFileSize(entity.getFileSize());
+        data.setErrorMessage(entity.getErrorMessage());
+        data.setCreatedAt(entity.getCreatedAt());
+        data.setCompletedAt(entity.getCompletedAt());
+        return data;
+    }
+
+    public static UploadJobEntity createUploadJob(UploadJobType type, String fileName, SpooledUpload upload) {
+        UploadJobEntity job = new UploadJobEntity();
+        job.setType(type);
+        job.setFileName(fileName);
+        job.setFilePath(upload.path().toString());
+        job.setTotalRows(upload.totalRows());
+        return job;
+    }
+
+    public static UploadJobData uploadJobEntityToData(UploadJobEntity entity) {
+        UploadJobData data = new UploadJobData();
+        data.setJobId(entity.getId());
+        data.setType(entity.getType());
+        data.setStatus(entity.getStatus());
+        data.setFileName(entity.getFileName());
+        data.setTotalRows(entity.getTotalRows());
+        data.setProcessedRows(entity.getProcessedRows());
+        data.setSuccessRows(entity.getSuccessRows());
+        data.setErrorRows(entity.getErrorRows());
+        data.setErrorMessage(entity.getErrorMessage());
+        data.setCreatedAt(entity.getCreatedAt());
+        data.setCompletedAt(entity.getCompletedAt());
+        return data;
+    }
+
+    public static TsvUploadError uploadJobErrorEntityToError(UploadJobErrorEntity entity) {
+        return new TsvUploadError(entity.getFileRow(), null, entity.getMessage());
+    }
+
+    public static SalesRollupData salesRollupWatermarkToData(SalesRollupWatermarkEntity entity) {
+        SalesRollupData data = new SalesRollupData();
+        data.setFirstDate(entity.getFirstDate());
+        data.setLastDate(entity.getLastDate());
+        return data;
+    }
+
+    public static AnalyticsQuery salesAnalyticsFormToQuery(SalesAnalyticsForm form) {
+        return new AnalyticsQuery(form.getRows(), form.getColumns(), form.getStartDate(), form.getEndDate(),
+                form.getClientId(), form.getProductId(), form.getTopPerRow());
+    }
+
+    public static SalesAnalyticsData analyticsResultToData(AnalyticsQuery query, AnalyticsResult result) {
+        SalesAnalyticsData data = new SalesAnalyticsData();
+        data.setRows(query.rows());
+        data.setColumns(query.columns());
+        data.setScannedRows(result.scannedRows());
+        data.setCells(result.cells().stream().map(cell -> {
+            SalesAnalyticsCellData cellData = new SalesAnalyticsCellData();
+            cellData.setRow(analyticsKeyToLabel(query.rows(), cell.row()));
+            cellData.setColumn(analyticsKeyToLabel(query.columns(), cell.column()));
+            cellData.setQuantity(cell.quantity());
+            cellData.setRevenue(BigDecimal.valueOf(cell.revenuePaise(), 2));
+            cellData.setLineCount(cell.lineCount());
+            return cellData;
+        }).toList());
+        return data;
+    }
+
+    private static String analyticsKeyToLabel(AnalyticsDimension dimension, int key) {
+        if (dimension == null) return null;
+        return switch (dimension) {
+            case DAY, WEEK -> LocalDate.ofEpochDay(key).toString();
+            case MONTH -> YearMonth.of(key / 12, key % 12 + 1).toString();
+            case CLIENT, PRODUCT -> String.valueOf(key);
+        };
+    }
+
+    public static DaySalesBackfillData daySalesBackfillProgressToData(DaySalesBackfillProgress progress) {
+        DaySalesBackfillData data = new DaySalesBackfillData();
+        data.setStatus(progress.status());
+        data.setStartDate(progress.startDate());
+        data.setEndDate(progress.endDate());
+        data.setTotalDays(progress.totalDays());
+        data.setCompletedDays(progress.completedDays());
+        data.setFailedDates(progress.failedDates());
+        data.setStartedAt(progress.startedAt());
+        data.setFinishedAt(progress.finishedAt());
+        return data;
+    }
+
+    public static TodaySalesData hourSalesToTodayData(LocalDate date, Integer clientId, List<HourSalesEntity> buckets) {
+        Map<Integer, HourSalesData> byHour = new TreeMap<>();
+        for (HourSalesEntity bucket : buckets) {
+            HourSalesData hour = byHour.computeIfAbsent(bucket.getHour(), ConversionUtil::emptyHourSales);
+            hour.setInvoicedOrdersCount(hour.getInvoicedOrdersCount() + bucket.getInvoicedOrdersCount());
+            hour.setInvoicedItemsCount(hour.getInvoicedItemsCount() + bucket.getInvoicedItemsCount());
+            hour.setTotalRevenue(hour.getTotalRevenue().add(bucket.getTotalRevenue()));
+        }
+
+        TodaySalesData data = new TodaySalesData();
+        data.setDate(date);
+        data.setClientId(clientId);
+        data.setHours(List.copyOf(byHour.values()));
+        data.setInvoicedOrdersCount(byHour.values().stream().mapToInt(HourSalesData::getInvoicedOrdersCount).sum());
+        data.setInvoicedItemsCount(byHour.values().stream().mapToInt(HourSalesData::getInvoicedItemsCount).sum());
+        data.setTotalRevenue(byHour.values().stream().map(HourSalesData::getTotalRevenue)
+                .reduce(BigDecimal.ZERO, BigDecimal::add).setScale(2, RoundingMode.HALF_UP));
+        return data;
+    }
+
+    private static HourSalesData emptyHourSales(Integer hour) {
+        HourSalesData data = new HourSalesData();
+        data.setHour(hour);
+        data.setInvoicedOrdersCount(0);
+        data.setInvoicedItemsCount(0);
+        data.setTotalRevenue(BigDecimal.ZERO);
+        return data;
+    }
+
     public static DaySalesData daySalesEntityToData(DaySalesEntity entity) {
-        return map(entity, DaySalesData.class);
+        return new DaySalesData(entity.getDate(), entity.getInvoicedOrdersCount(), entity.getInvoicedItemsCount(),
+                entity.getTotalRevenue());
     }
 
     public static DaySalesEntity daySalesAggregateToEntity(LocalDate date, DaySalesAggregate aggregate) {
@@ -224,12 +397,54 @@ public final class ConversionUtil {
         return sourceList.stream().map(source -> modelMapper.map(source, targetClass)).collect(Collectors.toList());
     }
 
-    public static OrderPageData orderPageEntityToResponse(List<OrderData> orders, int page, int pageSize, long totalElements) {
+    public static OrderPageData orderSliceToResponse(List<OrderData> orders, int page, int pageSize,
+                                                     Slice<OrderEntity> slice, PaginationMode mode) {
         OrderPageData response = new OrderPageData();
         response.setContent(orders);
         response.setPage(page);
         response.setPageSize(pageSize);
-        response.setTotalElements(totalElements);
+        response.setTotalElements(totalOf(slice));
+        response.setHasNext(slice.hasNext());
+        response.setPaginationMode(mode);
+        return response;
+    }
+
+    public static <T> Page<T> listToPage(List<T> rows, Pageable pageable) {
+        int from = (int) Math.min(pageable.getOffset(), rows.size());
+        int to = Math.min(from + pageable.getPageSize(), rows.size());
+        return new PageImpl<>(rows.subList(from, to), pageable, rows.size());
+    }
+
+    public static List<SalesReportRow> mergeSalesReportRows(List<SalesReportRow> rows) {
+        Map<Integer, SalesReportRow> merged = new LinkedHashMap<>();
+        for (SalesReportRow row : rows) {
+            merged.merge(row.getProductId(), row, (a, b) -> new SalesReportRow(a.getProductId(), a.getProductName(),
+                    (long) a.getQuantitySold() + b.getQuantitySold(), a.getRevenue().add(b.getRevenue())));
+        }
+        List<SalesReportRow> result = new ArrayList<>(merged.values());
+        result.sort(Comparator.comparing(SalesReportRow::getRevenue).reversed());
+        return result;
+    }
+
+    public static <T> PagedResponse<T> sliceToPagedResponse(List<T> data, Slice<?> slice, PaginationMode mode) {
+        PagedResponse<T> response = new PagedResponse<>(data, totalOf(slice));
+        response.setHasNext(slice.hasNext());
+        response.setPaginationMode(mode);
+        return response;
+    }
+
+    public static Long totalOf(Slice<?> slice) {
+        return slice instanceof Page<?> page ? page.getTotalElements() : null;
+    }
+
+    public static OrderPageData orderKeysetPageToResponse(List<OrderData> orders, int pageSize, String nextCursor,
+                                                          String prevCursor) {
+        OrderPageData response = new OrderPageData();
+        response.setContent(orders);
+        response.setPageSize(pageSize);
+        response.setNextCursor(nextCursor);
+        response.setPrevCursor(prevCursor);
+        response.setPaginationMode(PaginationMode.KEYSET);
         return response;
     }
 
@@ -238,4 +453,44 @@ public final class ConversionUtil {
         entity.setClientId(clientId);
         return entity;
     }
-}
\ No newline at end of file
+
+    public static CacheStatsData cacheStatsToData(CacheStats stats) {
+        CacheStatsData data = new CacheStatsData();
+        data.setName(stats.name());
+        data.setSize(stats.size());
+        data.setMaxSize(stats.maxSize());
+        data.setHits(stats.hits());
+        data.setMisses(stats.misses());
+        data.setEvictions(stats.evictions());
+        long lookups = stats.hits() + stats.misses();
+        data.setHitRatio(lookups == 0 ? 0.0 : (double) stats.hits() / lookups);
+        return data;
+    }
+
+    public static OrderBatchData orderBatchResultsToData(List<OrderBatchResult> results) {
+        List<OrderBatchResultData> rows = results.stream().sorted(Comparator.comparingInt(OrderBatchResult::index))
+                .map(ConversionUtil::orderBatchResultToData).toList();
+        int succeeded = (int) rows.stream().filter(OrderBatchResultData::getSuccess).count();
+
+        OrderBatchData data = new OrderBatchData();
+        data.setTotal(rows.size());
+        data.setSucceeded(succeeded);
+        data.setFailed(rows.size() - succeeded);
+        data.setResults(rows);
+        return data;
+    }
+
+    private static OrderBatchResultData orderBatchResultToData(OrderBatchResult result) {
+        OrderBatchResultData data = new OrderBatchResultData();
+        data.setIndex(result.index());
+        data.setSuccess(result.error() == null);
+        if (result.error() == null) {
+            data.setOrder(orderEntityToData(result.order()));
+        } else {
+            data.setStatus(result.error().getStatus().name());
+            data.setMessage(result.error().getMessage());
+            data.setErrors(result.error().getErrors());
+        }
+        return data;
+    }
+}
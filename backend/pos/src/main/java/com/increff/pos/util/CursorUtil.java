@@ -0,0 +1,55 @@
+package com.increff.pos.util;
+
+import com.increff.pos.exception.ApiException;
+import com.increff.pos.exception.ApiStatus;
+import com.increff.pos.model.internal.PageCursor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.Objects;
+
+public final class CursorUtil {
+
+    private static final String SEPARATOR = "|";
+    private static final String FORWARD = "n";
+    private static final String BACKWARD = "p";
+
+    private CursorUtil() {
+
+    }
+
+    public static String encode(PageCursor cursor) {
+        if (Objects.isNull(cursor)) return null;
+
+        String raw = cursor.createdAt().toInstant() + SEPARATOR + cursor.id() + SEPARATOR
+                + (cursor.backward() ? BACKWARD : FORWARD);
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PageCursor decode(String cursor) {
+        if (Objects.isNull(cursor) || cursor.isBlank()) return null;
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+
+            if (parts.length != 3 || !(FORWARD.equals(parts[2]) || BACKWARD.equals(parts[2]))) {
+                throw invalidCursor();
+            }
+
+            return new PageCursor(Instant.parse(parts[0]).atZone(ZoneOffset.UTC), Integer.valueOf(parts[1]),
+                    BACKWARD.equals(parts[2]));
+        } catch (ApiException e) {
+            throw e;
+        } catch (Exception e) {
+            throw invalidCursor();
+        }
+    }
+
+    private static ApiException invalidCursor() {
+        return new ApiException(ApiStatus.BAD_REQUEST, "Invalid page cursor", "cursor", "Invalid page cursor");
+    }
+}
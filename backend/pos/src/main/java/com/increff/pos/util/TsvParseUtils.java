@@ -7,10 +7,12 @@ import com.increff.pos.model.form.ProductUploadForm;
 import org.jspecify.annotations.NonNull;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -19,45 +21,63 @@ import static com.increff.pos.util.ConversionUtil.normalize;
 
 public class TsvParseUtils {
 
-    public static List<ProductUploadForm> parseProductTsv(MultipartFile file) {
-
-        List<String[]> rows = parse(file);
+    public static final int DEFAULT_MAX_ROWS = 5000;
+    private static final int MAX_COLUMNS = 64;
+    private static final int MAX_FIELD_LENGTH = 4096;
 
-        if (rows.size() > 5000) {
-            throw new ApiException(ApiStatus.BAD_REQUEST, "Maximum 5000 rows allowed");
-        }
+    @FunctionalInterface
+    public interface RowHandler<T> {
+        void accept(int row, T form);
+    }
 
+    public static List<ProductUploadForm> parseProductTsv(MultipartFile file) {
         List<ProductUploadForm> forms = new ArrayList<>();
-
-        for (String[] r : rows) {
-
-            ProductUploadForm form = getProductUploadForm(r);
-
-            normalizeProductUploadForm(form);
-
-            forms.add(form);
-        }
-
+        forEachProductRow(file, DEFAULT_MAX_ROWS, (row, form) -> forms.add(form));
         return forms;
     }
 
     public static List<InventoryUploadForm> parseInventoryTsv(MultipartFile file) {
+        List<InventoryUploadForm> forms = new ArrayList<>();
+        forEachInventoryRow(file, DEFAULT_MAX_ROWS, (row, form) -> forms.add(form));
+        return forms;
+    }
 
-        List<String[]> rows = parse(file);
+    public static void forEachProductRow(MultipartFile file, int maxRows, RowHandler<ProductUploadForm> handler) {
+        try (InputStream in = file.getInputStream()) {
+            forEachProductRow(in, maxRows, handler);
+        } catch (IOException e) {
+            throw new ApiException(ApiStatus.BAD_REQUEST, "Failed to parse TSV file");
+        }
+    }
 
-        if (rows.size() > 5000) {
-            throw new ApiException(ApiStatus.BAD_REQUEST, "Maximum 5000 rows allowed");
+    public static void forEachInventoryRow(MultipartFile file, int maxRows, RowHandler<InventoryUploadForm> handler) {
+        try (InputStream in = file.getInputStream()) {
+            forEachInventoryRow(in, maxRows, handler);
+        } catch (IOException e) {
+            throw new ApiException(ApiStatus.BAD_REQUEST, "Failed to parse TSV file");
         }
-        List<InventoryUploadForm> forms = new ArrayList<>();
+    }
 
-        for (String[] r : rows) {
+    public static void forEachProductRow(InputStream in, int maxRows, RowHandler<ProductUploadForm> handler) {
+        parse(in, maxRows, (row, fields) -> {
+            ProductUploadForm form = getProductUploadForm(fields);
+            normalizeProductUploadForm(form);
+            handler.accept(row, form);
+        });
+    }
 
-            InventoryUploadForm form = getInventoryUploadForm(r);
+    public static void forEachInventoryRow(InputStream in, int maxRows, RowHandler<InventoryUploadForm> handler) {
+        parse(in, maxRows, (row, fields) -> {
+            InventoryUploadForm form = getInventoryUploadForm(fields);
             normalizeInventoryUploadForm(form);
-            forms.add(form);
-        }
+            handler.accept(row, form);
+        });
+    }
 
-        return forms;
+    public static int countRows(InputStream in, int maxRows) {
+        int[] rows = {0};
+        parse(in, maxRows, (row, fields) -> rows[0]++);
+        return rows[0];
     }
 
     private static void normalizeInventoryUploadForm(InventoryUploadForm form) {
@@ -66,27 +86,34 @@ public class TsvParseUtils {
         }
     }
 
-    private static @NonNull InventoryUploadForm getInventoryUploadForm(String[] r) {
+    private static @NonNull InventoryUploadForm getInventoryUploadForm(List<String> r) {
         InventoryUploadForm form = new InventoryUploadForm();
 
-        form.setBarcode(r.length > 0 ? r[0] : null);
+        form.setBarcode(r.size() > 0 ? r.get(0) : null);
 
-        form.setQuantity(parseIntegerSafely(r.length > 1 ? r[1] : null));
+        form.setQuantity(parseIntegerSafely(r.size() > 1 ? r.get(1) : null));
         return form;
     }
 
-    private static List<String[]> parse(MultipartFile file) {
-        try (BufferedReader br = new BufferedReader(
-                new InputStreamReader(file.getInputStream()))) {
-
-            return br.lines().skip(1).map(line -> line.split("\t", -1)).toList();
-
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to parse TSV file");
+    private static void parse(InputStream in, int maxRows, RowHandler<List<String>> handler) {
+        try (TsvTokenizer tokenizer = new TsvTokenizer(
+                new InputStreamReader(in, StandardCharsets.UTF_8), MAX_COLUMNS, MAX_FIELD_LENGTH)) {
+
+            if (tokenizer.next() == null) {
+                return;
+            }
+            for (List<String> fields = tokenizer.next(); fields != null; fields = tokenizer.next()) {
+                if (tokenizer.row() - 1 > maxRows) {
+                    throw new ApiException(ApiStatus.BAD_REQUEST, "Maximum " + maxRows + " rows allowed");
+                }
+                handler.accept(tokenizer.row(), fields);
+            }
+
+        } catch (IOException e) {
+            throw new ApiException(ApiStatus.BAD_REQUEST, "Failed to parse TSV file");
         }
     }
 
-
     private static void normalizeProductUploadForm(ProductUploadForm form) {
         if(Objects.nonNull(form.getProductName())){
             form.setProductName(normalize(form.getProductName()));
@@ -101,13 +128,13 @@ public class TsvParseUtils {
         }
     }
 
-    private static @NonNull ProductUploadForm getProductUploadForm(String[] r) {
+    private static @NonNull ProductUploadForm getProductUploadForm(List<String> r) {
         ProductUploadForm form = new ProductUploadForm();
-        form.setProductName(r.length > 0 ? r[0] : null);
-        form.setMrp(parseBigDecimalSafely(r.length > 1 ? r[1] : null));
-        form.setClientName(r.length > 2 ? r[2] : null);
-        form.setBarcode(r.length > 3 ? r[3] : null);
-        form.setImageUrl(r.length > 4 ? r[4] : null);
+        form.setProductName(r.size() > 0 ? r.get(0) : null);
+        form.setMrp(parseBigDecimalSafely(r.size() > 1 ? r.get(1) : null));
+        form.setClientName(r.size() > 2 ? r.get(2) : null);
+        form.setBarcode(r.size() > 3 ? r.get(3) : null);
+        form.setImageUrl(r.size() > 4 ? r.get(4) : null);
         return form;
     }
 
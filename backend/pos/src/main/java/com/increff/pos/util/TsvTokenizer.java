@@ -0,0 +1,152 @@
+package com.increff.pos.util;
+
+import com.increff.pos.exception.ApiException;
+import com.increff.pos.exception.ApiStatus;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class TsvTokenizer implements Closeable {
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    private final Reader reader;
+    private final int maxColumns;
+    private final int maxFieldLength;
+
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private final StringBuilder field = new StringBuilder();
+    private final List<String> fields = new ArrayList<>();
+
+    private int position;
+    private int limit;
+    private int row;
+    private boolean started;
+
+    public TsvTokenizer(Reader reader, int maxColumns, int maxFieldLength) {
+        this.reader = reader;
+        this.maxColumns = maxColumns;
+        this.maxFieldLength = maxFieldLength;
+    }
+
+    public List<String> next() throws IOException {
+        fields.clear();
+        if (!fill()) {
+            return null;
+        }
+        row++;
+        field.setLength(0);
+
+        boolean quoted = false;
+        boolean closed = false;
+        boolean fieldStarted = false;
+
+        while (true) {
+            if (!fill()) {
+                if (quoted) {
+                    throw error("Unterminated quoted field");
+                }
+                endField();
+                return fields;
+            }
+            char c = buffer[position++];
+
+            if (quoted) {
+                if (c != '"') {
+                    append(c);
+                } else if (peek() == '"') {
+                    position++;
+                    append('"');
+                } else {
+                    quoted = false;
+                    closed = true;
+                }
+                continue;
+            }
+
+            switch (c) {
+                case '\t' -> {
+                    endField();
+                    closed = false;
+                    fieldStarted = false;
+                }
+                case '\n' -> {
+                    endField();
+                    return fields;
+                }
+                case '\r' -> {
+                    if (peek() == '\n') {
+                        position++;
+                    }
+                    endField();
+                    return fields;
+                }
+                default -> {
+                    if (closed) {
+                        throw error("Unexpected character after closing quote");
+                    }
+                    if (c == '"' && !fieldStarted) {
+                        quoted = true;
+                    } else {
+                        append(c);
+                    }
+                    fieldStarted = true;
+                }
+            }
+        }
+    }
+
+    public int row() {
+        return row;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void append(char c) {
+        if (field.length() >= maxFieldLength) {
+            throw error("Field exceeds " + maxFieldLength + " characters");
+        }
+        field.append(c);
+    }
+
+    private void endField() {
+        if (fields.size() >= maxColumns) {
+            throw error("Row has more than " + maxColumns + " columns");
+        }
+        fields.add(field.toString());
+        field.setLength(0);
+    }
+
+    private int peek() throws IOException {
+        return fill() ? buffer[position] : -1;
+    }
+
+    private boolean fill() throws IOException {
+        if (position < limit) {
+            return true;
+        }
+        int read = reader.read(buffer, 0, buffer.length);
+        position = 0;
+        limit = Math.max(read, 0);
+        if (!started && limit > 0) {
+            started = true;
+            if (buffer[0] == '\uFEFF') {
+                position = 1;
+                return fill();
+            }
+        }
+        return position < limit;
+    }
+
+    private ApiException error(String message) {
+        int column = fields.size() + 1;
+        String detail = "Row " + row + ", column " + column + ": " + message;
+        return new ApiException(ApiStatus.BAD_REQUEST, detail, "row " + row, detail);
+    }
+}
@@ -0,0 +1,158 @@
+package com.increff.pos.worker;
+
+import com.increff.pos.api.DaySalesApi;
+import com.increff.pos.api.HourSalesApi;
+import com.increff.pos.exception.ApiException;
+import com.increff.pos.exception.ApiStatus;
+import com.increff.pos.model.domain.BackfillStatus;
+import com.increff.pos.model.internal.DaySalesBackfillProgress;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+public class DaySalesBackfillWorker {
+
+    private static final Logger logger = LoggerFactory.getLogger(DaySalesBackfillWorker.class);
+    private static final ZoneId IST = ZoneId.of("Asia/Kolkata");
+
+    private final DaySalesApi daySalesApi;
+    private final HourSalesApi hourSalesApi;
+    private final ExecutorService executor;
+    private final int maxDays;
+    private final int maxCatchUpDays;
+
+    private Run current;
+
+    @Autowired
+    public DaySalesBackfillWorker(DaySalesApi daySalesApi, HourSalesApi hourSalesApi,
+                                  @Value("${app.day-sales.backfill.threads:4}") int threads,
+                                  @Value("${app.day-sales.backfill.max-days:366}") int maxDays,
+                                  @Value("${app.day-sales.backfill.max-catch-up-days:31}") int maxCatchUpDays) {
+        this.daySalesApi = daySalesApi;
+        this.hourSalesApi = hourSalesApi;
+        this.executor = Executors.newFixedThreadPool(threads,
+                Thread.ofVirtual().name("day-sales-backfill-", 0).factory());
+        this.maxDays = maxDays;
+        this.maxCatchUpDays = maxCatchUpDays;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void catchUp() {
+        LocalDate today = LocalDate.now(IST);
+        Optional<LocalDate> lastComputed = daySalesApi.getLatestDateBefore(today);
+        if (lastComputed.isEmpty()) return;
+
+        LocalDate from = lastComputed.get().plusDays(1);
+        LocalDate earliest = today.minusDays(maxCatchUpDays);
+        if (from.isBefore(earliest)) {
+            logger.warn("Day sales missing since {}, catching up only from {}", from, earliest);
+            from = earliest;
+        }
+        if (from.isBefore(today)) {
+            logger.info("Catching up day sales from {} to {}", from, today.minusDays(1));
+            start(from, today.minusDays(1));
+        }
+    }
+
+    public synchronized DaySalesBackfillProgress start(LocalDate fromDate, LocalDate toDate) {
+        if (fromDate.isAfter(toDate)) {
+            throw new ApiException(ApiStatus.BAD_REQUEST, "Start date must not be after end date", "startDate",
+                    "Start date must not be after end date");
+        }
+        if (toDate.isAfter(LocalDate.now(IST))) {
+            throw new ApiException(ApiStatus.BAD_REQUEST, "End date must not be in the future", "endDate",
+                    "End date must not be in the future");
+        }
+        int totalDays = Math.toIntExact(ChronoUnit.DAYS.between(fromDate, toDate) + 1);
+        if (totalDays > maxDays) {
+            throw new ApiException(ApiStatus.BAD_REQUEST, "Backfill range must not exceed " + maxDays + " days",
+                    "endDate", "Backfill range too large");
+        }
+        if (current != null && current.finishedAt == null) {
+            throw new ApiException(ApiStatus.CONFLICT, "A day sales backfill is already running");
+        }
+
+        Run run = new Run(fromDate, toDate, totalDays);
+        current = run;
+
+        CompletableFuture<?>[] days = fromDate.datesUntil(toDate.plusDays(1))
+                .map(date -> CompletableFuture.runAsync(() -> process(run, date), executor))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(days).whenComplete((result, error) -> finish(run));
+        return run.snapshot();
+    }
+
+    public synchronized Optional<DaySalesBackfillProgress> getProgress() {
+        return Optional.ofNullable(current).map(Run::snapshot);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+
+    private void process(Run run, LocalDate date) {
+        try {
+            daySalesApi.reconcileForDate(date);
+            hourSalesApi.rebuildForDate(date);
+        } catch (RuntimeException e) {
+            logger.error("Day sales backfill failed for IST date {}: {}", date, e.getMessage(), e);
+            run.failedDates.add(date);
+        } finally {
+            run.completedDays.incrementAndGet();
+        }
+    }
+
+    private synchronized void finish(Run run) {
+        run.finishedAt = ZonedDateTime.now(ZoneId.of("UTC"));
+        logger.info("Day sales backfill {} to {} finished with {} failed days", run.startDate, run.endDate,
+                run.failedDates.size());
+    }
+
+    private static final class Run {
+
+        private final LocalDate startDate;
+        private final LocalDate endDate;
+        private final int totalDays;
+        private final AtomicInteger completedDays = new AtomicInteger();
+        private final ConcurrentLinkedQueue<LocalDate> failedDates = new ConcurrentLinkedQueue<>();
+        private final ZonedDateTime startedAt = ZonedDateTime.now(ZoneId.of("UTC"));
+        private ZonedDateTime finishedAt;
+
+        private Run(LocalDate startDate, LocalDate endDate, int totalDays) {
+            this.startDate = startDate;
+            this.endDate = endDate;
+            this.totalDays = totalDays;
+        }
+
+        private DaySalesBackfillProgress snapshot() {
+            List<LocalDate> failed = failedDates.stream().sorted().toList();
+            BackfillStatus status = finishedAt == null ? BackfillStatus.RUNNING
+                    : failed.isEmpty() ? BackfillStatus.COMPLETED : BackfillStatus.FAILED;
+            return new DaySalesBackfillProgress(status, startDate, endDate, totalDays, completedDays.get(), failed,
+                    startedAt, finishedAt);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.increff.pos.worker;
+
+import com.increff.pos.client.InvoiceClient;
+import com.increff.pos.flow.InvoiceJobFlow;
+import com.increff.pos.flow.OrderFlow;
+import com.increff.pos.model.data.InvoiceClientForm;
+import com.increff.pos.model.form.InvoicePdfData;
+import com.increff.pos.util.PdfUtil;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class InvoiceWorker {
+
+    private static final Logger logger = LoggerFactory.getLogger(InvoiceWorker.class);
+
+    private final InvoiceJobFlow invoiceJobFlow;
+    private final OrderFlow orderFlow;
+    private final InvoiceClient invoiceClient;
+    private final ExecutorService executor;
+    private final long staleAfterMinutes;
+    private final Set<Integer> inFlight = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public InvoiceWorker(InvoiceJobFlow invoiceJobFlow, OrderFlow orderFlow, InvoiceClient invoiceClient,
+                         @Value("${app.invoice.worker.threads:4}") int threads,
+                         @Value("${app.invoice.worker.stale-after-minutes:10}") long staleAfterMinutes) {
+        this.invoiceJobFlow = invoiceJobFlow;
+        this.orderFlow = orderFlow;
+        this.invoiceClient = invoiceClient;
+        this.executor = Executors.newFixedThreadPool(threads,
+                Thread.ofVirtual().name("invoice-worker-", 0).factory());
+        this.staleAfterMinutes = staleAfterMinutes;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        // A RUNNING job touched within the lease may belong to another node that is still working on it.
+        ZonedDateTime staleBefore = ZonedDateTime.now(ZoneId.of("UTC")).minusMinutes(staleAfterMinutes);
+        List<Integer> jobIds = invoiceJobFlow.requeueUnfinished(staleBefore);
+        if (!jobIds.isEmpty()) {
+            logger.info("Resubmitting {} unfinished invoice jobs", jobIds.size());
+        }
+        jobIds.forEach(this::submit);
+    }
+
+    public void submit(Integer jobId) {
+        if (!inFlight.add(jobId)) return;
+        try {
+            executor.execute(() -> {
+                try {
+                    run(jobId);
+                } finally {
+                    inFlight.remove(jobId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(jobId);
+            logger.warn("Invoice job {} not submitted, worker is shutting down", jobId);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+
+    private void run(Integer jobId) {
+        Integer orderId;
+        try {
+            orderId = invoiceJobFlow.start(jobId);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to start invoice job {}: {}", jobId, e.getMessage());
+            return;
+        }
+        if (Objects.isNull(orderId)) return;
+
+        try {
+            InvoiceClientForm form = orderFlow.buildInvoiceForm(orderId);
+            InvoicePdfData pdf = invoiceClient.generate(form);
+            String filePath = PdfUtil.save(pdf.getBase64Pdf(), orderId);
+            invoiceJobFlow.complete(jobId, filePath);
+        } catch (RuntimeException e) {
+            logger.error("Invoice job {} for order {} failed: {}", jobId, orderId, e.getMessage(), e);
+            try {
+                invoiceJobFlow.fail(jobId, e.getMessage());
+            } catch (RuntimeException failure) {
+                logger.error("Failed to record failure of invoice job {}: {}", jobId, failure.getMessage());
+            }
+        }
+    }
+}
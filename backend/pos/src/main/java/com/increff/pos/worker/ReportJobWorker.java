@@ -0,0 +1,241 @@
+package com.increff.pos.worker;
+
+import com.increff.pos.api.DaySalesApi;
+import com.increff.pos.api.ReportApi;
+import com.increff.pos.api.ReportJobApi;
+import com.increff.pos.entity.ReportJobEntity;
+import com.increff.pos.export.ReportExport;
+import com.increff.pos.export.ReportSchemas;
+import com.increff.pos.model.domain.ReportJobType;
+import com.increff.pos.model.internal.SalesReportRow;
+import com.increff.pos.util.ConversionUtil;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class ReportJobWorker {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportJobWorker.class);
+    private static final ZoneId IST = ZoneId.of("Asia/Kolkata");
+
+    private final ReportJobApi reportJobApi;
+    private final ReportApi reportApi;
+    private final DaySalesApi daySalesApi;
+    private final ExecutorService executor;
+    private final Path directory;
+    private final int partitionDays;
+    private final long maxAgeHours;
+    private final long maxDiskBytes;
+    private final long staleAfterMinutes;
+
+    private final Set<Integer> inFlight = ConcurrentHashMap.newKeySet();
+    private final Set<Integer> cancelled = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public ReportJobWorker(ReportJobApi reportJobApi, ReportApi reportApi, DaySalesApi daySalesApi,
+                           @Value("${app.report-jobs.threads:2}") int threads,
+                           @Value("${app.report-jobs.dir:data/report-jobs}") String directory,
+                           @Value("${app.report-jobs.partition-days:7}") int partitionDays,
+                           @Value("${app.report-jobs.max-age-hours:24}") long maxAgeHours,
+                           @Value("${app.report-jobs.max-disk-mb:1024}") long maxDiskMb,
+                           @Value("${app.report-jobs.stale-after-minutes:10}") long staleAfterMinutes) {
+        this.reportJobApi = reportJobApi;
+        this.reportApi = reportApi;
+        this.daySalesApi = daySalesApi;
+        this.executor = Executors.newFixedThreadPool(threads, Thread.ofVirtual().name("report-job-", 0).factory());
+        this.directory = Path.of(directory);
+        this.partitionDays = partitionDays;
+        this.maxAgeHours = maxAgeHours;
+        this.maxDiskBytes = maxDiskMb * 1024 * 1024;
+        this.staleAfterMinutes = staleAfterMinutes;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        // Running jobs record progress per partition, so one touched within the lease is still owned by a live node.
+        ZonedDateTime staleBefore = ZonedDateTime.now(ZoneId.of("UTC")).minusMinutes(staleAfterMinutes);
+        List<Integer> jobIds = reportJobApi.requeueUnfinished(staleBefore);
+        if (!jobIds.isEmpty()) {
+            logger.info("Resubmitting {} unfinished report jobs", jobIds.size());
+        }
+        jobIds.forEach(this::submit);
+    }
+
+    public void submit(Integer jobId) {
+        if (inFlight.add(jobId)) {
+            executor.execute(() -> run(jobId));
+        }
+    }
+
+    public void cancel(Integer jobId) {
+        if (inFlight.contains(jobId)) {
+            cancelled.add(jobId);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.report-jobs.purge-interval-ms:600000}")
+    public void purge() {
+        ZonedDateTime cutoff = ZonedDateTime.now(ZoneId.of("UTC")).minusHours(maxAgeHours);
+        List<ReportJobEntity> completed = reportJobApi.getCompletedOldestFirst();
+
+        long totalBytes = completed.stream().mapToLong(ReportJobWorker::sizeOf).sum();
+        for (ReportJobEntity job : completed) {
+            boolean tooOld = job.getCompletedAt().isBefore(cutoff);
+            if (!tooOld && totalBytes <= maxDiskBytes) {
+                break;
+            }
+            expire(job);
+            totalBytes -= sizeOf(job);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+
+    private void run(Integer jobId) {
+        Path partial = directory.resolve("report-job-" + jobId + ".part");
+        try {
+            ReportJobEntity job = reportJobApi.getCheckById(jobId);
+            if (!reportJobApi.start(jobId, countPartitions(job))) {
+                return;
+            }
+
+            Files.createDirectories(directory);
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(partial))) {
+                if (job.getType() == ReportJobType.SALES) {
+                    writeSales(job, out);
+                } else {
+                    writeDaySales(job, out);
+                }
+            }
+
+            Path target = directory.resolve(fileName(job));
+            Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            if (!reportJobApi.complete(jobId, target.toString(), Files.size(target))) {
+                Files.deleteIfExists(target);
+            }
+        } catch (CancellationException e) {
+            logger.info("Report job {} cancelled", jobId);
+            deleteQuietly(partial);
+        } catch (IOException | RuntimeException e) {
+            logger.error("Report job {} failed: {}", jobId, e.getMessage(), e);
+            deleteQuietly(partial);
+            reportJobApi.fail(jobId, e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage());
+        } finally {
+            cancelled.remove(jobId);
+            inFlight.remove(jobId);
+        }
+    }
+
+    private void writeSales(ReportJobEntity job, OutputStream out) throws IOException {
+        List<ZonedDateTime> bounds = salesBoundaries(job.getStartDate(), job.getEndDate().plusNanos(1));
+        List<SalesReportRow> rows = new ArrayList<>();
+        for (int i = 0; i + 1 < bounds.size(); i++) {
+            checkCancelled(job.getId());
+            rows.addAll(reportApi.getSalesPartition(bounds.get(i), bounds.get(i + 1), job.getClientId()));
+            rows = ConversionUtil.mergeSalesReportRows(rows);
+            reportJobApi.updateProgress(job.getId(), i + 1);
+        }
+        checkCancelled(job.getId());
+        ReportExport.write(out, job.getFormat(), job.getGzip(), ReportSchemas.SALES, rows::forEach);
+    }
+
+    private void writeDaySales(ReportJobEntity job, OutputStream out) throws IOException {
+        LocalDate startDate = job.getStartDate().withZoneSameInstant(IST).toLocalDate();
+        LocalDate endDate = job.getEndDate().withZoneSameInstant(IST).toLocalDate();
+        ReportExport.write(out, job.getFormat(), job.getGzip(), ReportSchemas.DAY_SALES, action -> {
+            int partition = 0;
+            for (LocalDate from = startDate; !from.isAfter(endDate); from = from.plusDays(partitionDays)) {
+                checkCancelled(job.getId());
+                LocalDate to = from.plusDays(partitionDays - 1);
+                daySalesApi.forEachByDateRange(from, to.isAfter(endDate) ? endDate : to, action);
+                reportJobApi.updateProgress(job.getId(), ++partition);
+            }
+        });
+    }
+
+    private int countPartitions(ReportJobEntity job) {
+        if (job.getType() == ReportJobType.SALES) {
+            return salesBoundaries(job.getStartDate(), job.getEndDate().plusNanos(1)).size() - 1;
+        }
+        LocalDate startDate = job.getStartDate().withZoneSameInstant(IST).toLocalDate();
+        LocalDate endDate = job.getEndDate().withZoneSameInstant(IST).toLocalDate();
+        long days = ChronoUnit.DAYS.between(startDate, endDate) + 1;
+        return Math.toIntExact((days + partitionDays - 1) / partitionDays);
+    }
+
+    private List<ZonedDateTime> salesBoundaries(ZonedDateTime start, ZonedDateTime endExclusive) {
+        List<ZonedDateTime> bounds = new ArrayList<>();
+        bounds.add(start);
+        ZonedDateTime cursor = start;
+        while (cursor.isBefore(endExclusive)) {
+            ZonedDateTime next = cursor.withZoneSameInstant(IST).toLocalDate().plusDays(partitionDays)
+                    .atStartOfDay(IST);
+            cursor = next.isBefore(endExclusive) ? next : endExclusive;
+            bounds.add(cursor);
+        }
+        return bounds;
+    }
+
+    private void checkCancelled(Integer jobId) {
+        if (cancelled.contains(jobId)) {
+            throw new CancellationException("Report job " + jobId + " cancelled");
+        }
+    }
+
+    private void expire(ReportJobEntity job) {
+        if (job.getFilePath() != null) {
+            deleteQuietly(Path.of(job.getFilePath()));
+        }
+        reportJobApi.markExpired(job.getId());
+        logger.info("Expired report job {}", job.getId());
+    }
+
+    private static String fileName(ReportJobEntity job) {
+        String name = "report-job-" + job.getId() + "." + job.getFormat().extension();
+        return job.getGzip() ? name + ".gz" : name;
+    }
+
+    private static long sizeOf(ReportJobEntity job) {
+        return job.getFileSize() == null ? 0 : job.getFileSize();
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.warn("Failed to delete report file {}: {}", path, e.getMessage());
+        }
+    }
+}
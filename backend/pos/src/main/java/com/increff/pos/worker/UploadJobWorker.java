@@ -0,0 +1,237 @@
+package com.increff.pos.worker;
+
+import com.increff.pos.api.UploadJobApi;
+import com.increff.pos.entity.UploadJobEntity;
+import com.increff.pos.exception.ApiException;
+import com.increff.pos.exception.ApiStatus;
+import com.increff.pos.flow.UploadJobFlow;
+import com.increff.pos.model.domain.UploadJobStatus;
+import com.increff.pos.model.domain.UploadJobType;
+import com.increff.pos.model.form.InventoryUploadForm;
+import com.increff.pos.model.form.ProductUploadForm;
+import com.increff.pos.model.internal.SpooledUpload;
+import com.increff.pos.model.internal.UploadJobRow;
+import com.increff.pos.util.TsvParseUtils;
+import com.increff.pos.util.ValidationUtil;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+@Component
+public class UploadJobWorker {
+
+    private static final Logger logger = LoggerFactory.getLogger(UploadJobWorker.class);
+
+    private final UploadJobApi uploadJobApi;
+    private final UploadJobFlow uploadJobFlow;
+    private final ExecutorService executor;
+    private final Path directory;
+    private final int chunkSize;
+    private final int maxRows;
+    private final long maxAgeHours;
+    private final long staleAfterMinutes;
+
+    private final Set<Integer> inFlight = ConcurrentHashMap.newKeySet();
+    private final Set<Integer> cancelled = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public UploadJobWorker(UploadJobApi uploadJobApi, UploadJobFlow uploadJobFlow,
+                           @Value("${app.upload-jobs.threads:2}") int threads,
+                           @Value("${app.upload-jobs.dir:data/upload-jobs}") String directory,
+                           @Value("${app.upload-jobs.chunk-size:500}") int chunkSize,
+                           @Value("${app.upload-jobs.max-rows:1000000}") int maxRows,
+                           @Value("${app.upload-jobs.max-age-hours:72}") long maxAgeHours,
+                           @Value("${app.upload-jobs.stale-after-minutes:10}") long staleAfterMinutes) {
+        this.uploadJobApi = uploadJobApi;
+        this.uploadJobFlow = uploadJobFlow;
+        this.executor = Executors.newFixedThreadPool(threads, Thread.ofVirtual().name("upload-job-", 0).factory());
+        this.directory = Path.of(directory);
+        this.chunkSize = chunkSize;
+        this.maxRows = maxRows;
+        this.maxAgeHours = maxAgeHours;
+        this.staleAfterMinutes = staleAfterMinutes;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        // Running jobs record every committed chunk, so one touched within the lease is still owned by a live node.
+        ZonedDateTime staleBefore = ZonedDateTime.now(ZoneId.of("UTC")).minusMinutes(staleAfterMinutes);
+        List<Integer> jobIds = uploadJobApi.requeueUnfinished(staleBefore);
+        if (!jobIds.isEmpty()) {
+            logger.info("Resuming {} unfinished upload jobs", jobIds.size());
+        }
+        jobIds.forEach(this::submit);
+    }
+
+    public SpooledUpload spool(MultipartFile file) {
+        Path target = directory.resolve("upload-" + UUID.randomUUID() + ".tsv");
+        try (InputStream in = file.getInputStream()) {
+            Files.createDirectories(directory);
+            Files.copy(in, target);
+        } catch (IOException e) {
+            logger.error("Failed to spool upload {}: {}", file.getOriginalFilename(), e.getMessage(), e);
+            deleteQuietly(target);
+            throw new ApiException(ApiStatus.INTERNAL_ERROR, "Failed to store uploaded file");
+        }
+
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(target))) {
+            return new SpooledUpload(target, TsvParseUtils.countRows(in, maxRows));
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(target);
+            throw e instanceof ApiException apiException ? apiException
+                    : new ApiException(ApiStatus.BAD_REQUEST, "Failed to parse TSV file");
+        }
+    }
+
+    public void discard(SpooledUpload upload) {
+        deleteQuietly(upload.path());
+    }
+
+    public void submit(Integer jobId) {
+        if (inFlight.add(jobId)) {
+            executor.execute(() -> run(jobId));
+        }
+    }
+
+    public void cancel(Integer jobId) {
+        if (inFlight.contains(jobId)) {
+            cancelled.add(jobId);
+        }
+    }
+
+    public boolean isInFlight(Integer jobId) {
+        return inFlight.contains(jobId);
+    }
+
+    @Scheduled(fixedDelayString = "${app.upload-jobs.purge-interval-ms:3600000}")
+    public void purge() {
+        ZonedDateTime cutoff = ZonedDateTime.now(ZoneId.of("UTC")).minusHours(maxAgeHours);
+        for (UploadJobEntity job : uploadJobApi.getResumableCompletedBefore(cutoff)) {
+            if (inFlight.contains(job.getId())) {
+                continue;
+            }
+            deleteQuietly(Path.of(job.getFilePath()));
+            uploadJobApi.markExpired(job.getId());
+            logger.info("Expired upload job {}", job.getId());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+
+    private void run(Integer jobId) {
+        try {
+            UploadJobEntity job = uploadJobApi.getCheckById(jobId);
+            Path file = Path.of(job.getFilePath());
+            if (!uploadJobApi.start(jobId)) {
+                return;
+            }
+
+            if (job.getType() == UploadJobType.PRODUCT) {
+                process(jobId, file, job.getLastCommittedRow(), TsvParseUtils::forEachProductRow,
+                        ProductUploadForm::getBarcode,
+                        (chunk, seen) -> uploadJobFlow.processProductChunk(jobId, chunk, seen));
+            } else {
+                process(jobId, file, job.getLastCommittedRow(), TsvParseUtils::forEachInventoryRow,
+                        InventoryUploadForm::getBarcode,
+                        (chunk, seen) -> uploadJobFlow.processInventoryChunk(jobId, chunk, seen));
+            }
+
+            checkCancelled(jobId);
+            if (uploadJobApi.complete(jobId)) {
+                deleteQuietly(file);
+            }
+        } catch (CancellationException e) {
+            logger.info("Upload job {} cancelled", jobId);
+        } catch (IOException | RuntimeException e) {
+            logger.error("Upload job {} failed: {}", jobId, e.getMessage(), e);
+            uploadJobApi.fail(jobId, e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage());
+        } finally {
+            cancelled.remove(jobId);
+            inFlight.remove(jobId);
+        }
+    }
+
+    private <T> void process(Integer jobId, Path file, int resumeAfter, RowReader<T> reader,
+                             Function<T, String> barcode, BiConsumer<List<UploadJobRow<T>>, Set<String>> processor)
+            throws IOException {
+        Set<String> seenBarcodes = new HashSet<>();
+        List<UploadJobRow<T>> chunk = new ArrayList<>(chunkSize);
+
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+            reader.read(in, maxRows, (row, form) -> {
+                if (row <= resumeAfter) {
+                    if (ValidationUtil.validate(form).isEmpty()) {
+                        seenBarcodes.add(barcode.apply(form));
+                    }
+                    return;
+                }
+                chunk.add(new UploadJobRow<>(row, form));
+                if (chunk.size() == chunkSize) {
+                    flush(jobId, chunk, seenBarcodes, processor);
+                }
+            });
+        }
+        if (!chunk.isEmpty()) {
+            flush(jobId, chunk, seenBarcodes, processor);
+        }
+    }
+
+    private <T> void flush(Integer jobId, List<UploadJobRow<T>> chunk, Set<String> seenBarcodes,
+                           BiConsumer<List<UploadJobRow<T>>, Set<String>> processor) {
+        checkCancelled(jobId);
+        processor.accept(List.copyOf(chunk), seenBarcodes);
+        chunk.clear();
+    }
+
+    private void checkCancelled(Integer jobId) {
+        if (cancelled.contains(jobId)) {
+            throw new CancellationException("Upload job " + jobId + " cancelled");
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.warn("Failed to delete upload file {}: {}", path, e.getMessage());
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowReader<T> {
+        void read(InputStream in, int maxRows, TsvParseUtils.RowHandler<T> handler);
+    }
+}
@@ -0,0 +1,171 @@
+package com.increff.pos.analytics;
+
+import com.increff.pos.dao.ReportDao;
+import com.increff.pos.entity.OrderItemEntity;
+import com.increff.pos.exception.ApiException;
+import com.increff.pos.exception.ApiStatus;
+import com.increff.pos.model.domain.AnalyticsDimension;
+import com.increff.pos.model.internal.AnalyticsCell;
+import com.increff.pos.model.internal.AnalyticsLineRow;
+import com.increff.pos.model.internal.AnalyticsQuery;
+import com.increff.pos.model.internal.AnalyticsResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SalesColumnStoreTest {
+
+    private static final ZoneId IST = ZoneId.of("Asia/Kolkata");
+
+    private final ReportDao reportDao = mock(ReportDao.class);
+    private final SalesColumnStore store = new SalesColumnStore(reportDao, mock(PlatformTransactionManager.class),
+            true, 2, 2, 1);
+
+    @AfterEach
+    void tearDown() {
+        store.shutdown();
+    }
+
+    @Test
+    void should_group_revenue_by_client_and_month() {
+        // Arrange
+        when(reportDao.streamInvoicedLineItems()).thenReturn(Stream.of(
+                line(1, LocalDate.of(2024, 1, 10), 7, 100, 2, "10.50"),
+                line(2, LocalDate.of(2024, 1, 20), 7, 101, 1, "5.00"),
+                line(3, LocalDate.of(2024, 2, 1), 7, 100, 1, "10.50"),
+                line(4, LocalDate.of(2024, 1, 5), 8, 200, 3, "1.00")));
+        store.load();
+
+        // Act
+        AnalyticsResult result = store.query(new AnalyticsQuery(AnalyticsDimension.CLIENT, AnalyticsDimension.MONTH,
+                null, null, null, null, null));
+
+        // Assert
+        assertEquals(4, result.scannedRows());
+        assertEquals(List.of(
+                new AnalyticsCell(7, 2024 * 12, 3, 2600, 2),
+                new AnalyticsCell(7, 2024 * 12 + 1, 1, 1050, 1),
+                new AnalyticsCell(8, 2024 * 12, 3, 300, 1)), result.cells());
+    }
+
+    @Test
+    void should_filter_by_ist_day_range_and_keep_top_products_per_client() {
+        // Arrange
+        when(reportDao.streamInvoicedLineItems()).thenReturn(IntStream.range(0, 200_000)
+                .mapToObj(i -> line(i, LocalDate.of(2024, 1, 1 + i % 20), 1 + i % 2, 100 + i % 5, 1, "1.00")));
+        store.load();
+
+        // Act
+        AnalyticsResult result = store.query(new AnalyticsQuery(AnalyticsDimension.CLIENT, AnalyticsDimension.PRODUCT,
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 10), null, null, 2));
+
+        // Assert
+        assertEquals(4, result.cells().size());
+        assertEquals(1, result.cells().get(0).row());
+        assertEquals(2, result.cells().get(2).row());
+        long lines = result.cells().stream().mapToLong(AnalyticsCell::lineCount).sum();
+        assertTrue(lines < 100_000);
+    }
+
+    @Test
+    void should_append_invoiced_orders_once_after_load() {
+        // Arrange
+        store.appendInvoicedOrder(1, ZonedDateTime.of(2024, 1, 10, 12, 0, 0, 0, IST), 7, List.of(item(100, 2, "10.50")));
+        store.appendInvoicedOrder(2, ZonedDateTime.of(2024, 1, 10, 12, 0, 0, 0, IST), 7, List.of(item(100, 1, "10.50")));
+        when(reportDao.streamInvoicedLineItems()).thenReturn(Stream.of(line(1, LocalDate.of(2024, 1, 10), 7, 100, 2,
+                "10.50")));
+
+        // Act
+        store.load();
+        store.appendInvoicedOrder(3, ZonedDateTime.of(2024, 1, 10, 12, 0, 0, 0, IST), 7, List.of(item(100, 1, "10.50")));
+        AnalyticsResult result = store.query(new AnalyticsQuery(AnalyticsDimension.PRODUCT, null, null, null, null,
+                null, null));
+
+        // Assert
+        assertEquals(3, result.scannedRows());
+        assertEquals(4, result.cells().get(0).quantity());
+        assertEquals(4200, result.cells().get(0).revenuePaise());
+    }
+
+    @Test
+    void should_reject_queries_until_loaded() {
+        // Act
+        ApiException ex = assertThrows(ApiException.class, () -> store.query(new AnalyticsQuery(
+                AnalyticsDimension.DAY, null, null, null, null, null, null)));
+
+        // Assert
+        assertEquals(ApiStatus.CONFLICT, ex.getStatus());
+    }
+
+    @Test
+    void should_discard_partial_load_and_keep_pending_orders_for_retry() {
+        // Arrange
+        Stream<AnalyticsLineRow> broken = IntStream.range(0, 9000).mapToObj(i -> {
+            if (i == 8999) {
+                throw new IllegalStateException("connection reset");
+            }
+            return line(i, LocalDate.of(2024, 1, 10), 7, 100, 1, "1.00");
+        });
+        when(reportDao.streamInvoicedLineItems()).thenReturn(broken)
+                .thenReturn(Stream.of(line(1, LocalDate.of(2024, 1, 10), 7, 100, 2, "10.50")));
+        store.appendInvoicedOrder(2, ZonedDateTime.of(2024, 1, 11, 12, 0, 0, 0, IST), 7, List.of(item(100, 1, "10.50")));
+
+        // Act
+        boolean first = store.load();
+        ApiException loading = assertThrows(ApiException.class, () -> store.query(new AnalyticsQuery(
+                AnalyticsDimension.DAY, null, null, null, null, null, null)));
+        store.loadWithRetry();
+        AnalyticsResult result = store.query(new AnalyticsQuery(AnalyticsDimension.PRODUCT, null, null, null, null,
+                null, null));
+
+        // Assert
+        assertFalse(first);
+        assertEquals(ApiStatus.CONFLICT, loading.getStatus());
+        assertEquals("Sales analytics is still loading (last attempt failed: connection reset), retry shortly",
+                loading.getMessage());
+        assertEquals(2, result.scannedRows());
+        assertEquals(3, result.cells().get(0).quantity());
+    }
+
+    @Test
+    void should_report_failure_once_load_attempts_are_exhausted() {
+        // Arrange
+        when(reportDao.streamInvoicedLineItems()).thenThrow(new IllegalStateException("db down"));
+
+        // Act
+        store.loadWithRetry();
+        ApiException ex = assertThrows(ApiException.class, () -> store.query(new AnalyticsQuery(
+                AnalyticsDimension.DAY, null, null, null, null, null, null)));
+
+        // Assert
+        verify(reportDao, times(2)).streamInvoicedLineItems();
+        assertTrue(store.isFailed());
+        assertEquals(ApiStatus.INTERNAL_ERROR, ex.getStatus());
+        assertEquals("Sales analytics failed to load: db down", ex.getMessage());
+    }
+
+    private static AnalyticsLineRow line(int orderId, LocalDate day, int clientId, int productId, int quantity,
+                                         String price) {
+        return new AnalyticsLineRow(orderId, day.atTime(12, 0).atZone(IST), clientId, productId, quantity,
+                new BigDecimal(price));
+    }
+
+    private static OrderItemEntity item(int productId, int quantity, String price) {
+        OrderItemEntity item = new OrderItemEntity();
+        item.setProductId(productId);
+        item.setQuantity(quantity);
+        item.setSellingPrice(new BigDecimal(price));
+        return item;
+    }
+}
@@ -1,21 +1,28 @@
 package com.increff.pos.api;
 
+import com.increff.pos.cache.EntityVersionTracker;
+import com.increff.pos.cache.ReportCache;
 import com.increff.pos.dao.DaySalesDao;
 import com.increff.pos.dao.ReportDao;
 import com.increff.pos.entity.DaySalesEntity;
+import com.increff.pos.model.data.DaySalesData;
 import com.increff.pos.model.internal.DaySalesAggregate;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -30,6 +37,9 @@ class DaySalesApiTest {
     @Mock
     private ReportDao reportDao;
 
+    @Spy
+    private ReportCache reportCache = new ReportCache(mock(EntityVersionTracker.class), 100, 3600, 60);
+
     @InjectMocks
     private DaySalesApi daySalesApi;
 
@@ -39,21 +49,74 @@ class DaySalesApiTest {
         LocalDate date = LocalDate.of(2024, 1, 15);
         DaySalesAggregate aggregate = new DaySalesAggregate(19L, 50L, BigDecimal.valueOf(1000.0));
 
-        DaySalesEntity expectedEntity = new DaySalesEntity();
-        expectedEntity.setDate(date);
-        expectedEntity.setTotalRevenue(BigDecimal.valueOf(1000.0));
-        expectedEntity.setInvoicedOrdersCount(10);
-        expectedEntity.setInvoicedItemsCount(50);
-
         when(reportDao.selectDaySalesByDate(any(), any())).thenReturn(aggregate);
-        when(daySalesDao.save(any(DaySalesEntity.class))).thenReturn(expectedEntity);
 
         // Act
         daySalesApi.calculateForDate(date);
 
         // Assert
         verify(reportDao).selectDaySalesByDate(any(), any());
-        verify(daySalesDao).save(any(DaySalesEntity.class));
+        verify(daySalesDao).upsert(date, 19, 50, new BigDecimal("1000.00"));
+        verify(daySalesDao, never()).save(any(DaySalesEntity.class));
+    }
+
+    @Test
+    void should_repair_drifted_counters_in_place() {
+        // Arrange
+        LocalDate date = LocalDate.of(2024, 1, 15);
+        DaySalesEntity current = new DaySalesEntity();
+        current.setDate(date);
+        current.setInvoicedOrdersCount(9);
+        current.setInvoicedItemsCount(48);
+        current.setTotalRevenue(new BigDecimal("990.00"));
+
+        when(daySalesDao.selectByDateForUpdate(date)).thenReturn(Optional.of(current));
+        when(reportDao.selectDaySalesByDate(any(), any()))
+                .thenReturn(new DaySalesAggregate(10L, 50L, new BigDecimal("1000.00")));
+
+        // Act
+        boolean repaired = daySalesApi.reconcileForDate(date);
+
+        // Assert
+        assertTrue(repaired);
+        assertEquals(10, current.getInvoicedOrdersCount());
+        assertEquals(50, current.getInvoicedItemsCount());
+        assertEquals(0, new BigDecimal("1000.00").compareTo(current.getTotalRevenue()));
+        verify(daySalesDao, never()).save(any());
+    }
+
+    @Test
+    void should_leave_matching_counters_untouched() {
+        // Arrange
+        LocalDate date = LocalDate.of(2024, 1, 15);
+        DaySalesEntity current = new DaySalesEntity();
+        current.setDate(date);
+        current.setInvoicedOrdersCount(10);
+        current.setInvoicedItemsCount(50);
+        current.setTotalRevenue(new BigDecimal("1000.00"));
+
+        when(daySalesDao.selectByDateForUpdate(date)).thenReturn(Optional.of(current));
+        when(reportDao.selectDaySalesByDate(any(), any()))
+                .thenReturn(new DaySalesAggregate(10L, 50L, new BigDecimal("1000")));
+
+        // Act
+        boolean repaired = daySalesApi.reconcileForDate(date);
+
+        // Assert
+        assertFalse(repaired);
+    }
+
+    @Test
+    void should_add_invoiced_order_to_ist_date_of_order() {
+        // Arrange
+        ZonedDateTime createdAt = ZonedDateTime.of(2024, 1, 15, 20, 0, 0, 0, ZoneId.of("UTC"));
+
+        // Act
+        daySalesApi.addInvoicedOrder(createdAt, 3, new BigDecimal("29.997"));
+
+        // Assert
+        verify(daySalesDao).increment(LocalDate.of(2024, 1, 16), 1, 3, new BigDecimal("30.00"));
+        verify(reportCache).evictDay(LocalDate.of(2024, 1, 16));
     }
 
     @Test
@@ -61,7 +124,7 @@ class DaySalesApiTest {
         // Arrange
         LocalDate startDate = LocalDate.of(2024, 1, 1);
         LocalDate endDate = LocalDate.of(2024, 1, 31);
-        Pageable pageable = mock(Pageable.class);
+        Pageable pageable = PageRequest.of(0, 10);
 
         DaySalesEntity entity1 = new DaySalesEntity();
         entity1.setDate(LocalDate.of(2024, 1, 15));
@@ -71,18 +134,17 @@ class DaySalesApiTest {
         entity2.setDate(LocalDate.of(2024, 1, 16));
         entity2.setTotalRevenue(BigDecimal.valueOf(1500.0));
 
-        Page<DaySalesEntity> expectedPage = new PageImpl<>(List.of(entity1, entity2));
-
-        when(daySalesDao.selectByDateRange(startDate, endDate, pageable)).thenReturn(expectedPage);
+        when(daySalesDao.selectAllByDateRange(startDate, endDate)).thenReturn(List.of(entity1, entity2));
 
         // Act
-        Page<DaySalesEntity> result = daySalesApi.findByDateRange(startDate, endDate, pageable);
+        Page<DaySalesData> result = daySalesApi.findByDateRange(startDate, endDate, pageable);
 
         // Assert
         assertEquals(2, result.getContent().size());
         assertEquals(BigDecimal.valueOf(1000.0), result.getContent().get(0).getTotalRevenue());
         assertEquals(BigDecimal.valueOf(1500.0), result.getContent().get(1).getTotalRevenue());
-        verify(daySalesDao).selectByDateRange(startDate, endDate, pageable);
+        assertEquals(2, result.getTotalElements());
+        verify(daySalesDao).selectAllByDateRange(startDate, endDate);
     }
 
     @Test
@@ -104,7 +166,7 @@ class DaySalesApiTest {
         when(daySalesDao.selectAllByDateRange(startDate, endDate)).thenReturn(expectedList);
 
         // Act
-        List<DaySalesEntity> result = daySalesApi.findAllByDateRange(startDate, endDate);
+        List<DaySalesData> result = daySalesApi.findAllByDateRange(startDate, endDate);
 
         // Assert
         assertEquals(2, result.size());
@@ -112,4 +174,28 @@ class DaySalesApiTest {
         assertEquals(BigDecimal.valueOf(1500.0), result.get(1).getTotalRevenue());
         verify(daySalesDao).selectAllByDateRange(startDate, endDate);
     }
+
+    @Test
+    void should_cache_day_sales_data_detached_from_entities() {
+        // Arrange
+        LocalDate startDate = LocalDate.of(2024, 1, 1);
+        LocalDate endDate = LocalDate.of(2024, 1, 31);
+
+        DaySalesEntity entity = new DaySalesEntity();
+        entity.setDate(LocalDate.of(2024, 1, 15));
+        entity.setInvoicedOrdersCount(2);
+        entity.setTotalRevenue(BigDecimal.valueOf(1000.0));
+
+        when(daySalesDao.selectAllByDateRange(startDate, endDate)).thenReturn(List.of(entity));
+
+        // Act
+        daySalesApi.findAllByDateRange(startDate, endDate);
+        entity.setTotalRevenue(BigDecimal.valueOf(1.0));
+        List<DaySalesData> cached = daySalesApi.findAllByDateRange(startDate, endDate);
+
+        // Assert
+        assertEquals(BigDecimal.valueOf(1000.0), cached.get(0).getTotalRevenue());
+        assertEquals(2, cached.get(0).getInvoicedOrdersCount());
+        verify(daySalesDao, times(1)).selectAllByDateRange(startDate, endDate);
+    }
 }
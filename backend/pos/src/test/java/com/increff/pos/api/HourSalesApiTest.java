@@ -0,0 +1,99 @@
+package com.increff.pos.api;
+
+import com.increff.pos.dao.DaySalesDao;
+import com.increff.pos.dao.HourSalesDao;
+import com.increff.pos.dao.ReportDao;
+import com.increff.pos.entity.HourSalesEntity;
+import com.increff.pos.model.internal.OrderSalesRow;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HourSalesApiTest {
+
+    private static final ZoneId UTC = ZoneId.of("UTC");
+
+    @Mock
+    private HourSalesDao hourSalesDao;
+
+    @Mock
+    private DaySalesDao daySalesDao;
+
+    @Mock
+    private ReportDao reportDao;
+
+    @InjectMocks
+    private HourSalesApi hourSalesApi;
+
+    @Test
+    void should_add_invoiced_order_to_ist_hour_bucket() {
+        // Arrange
+        ZonedDateTime createdAt = ZonedDateTime.of(2024, 1, 15, 20, 10, 0, 0, UTC);
+
+        // Act
+        hourSalesApi.addInvoicedOrder(createdAt, 4, 3, new BigDecimal("29.997"));
+
+        // Assert
+        verify(hourSalesDao).increment(LocalDate.of(2024, 1, 16), 1, 4, 1, 3, new BigDecimal("30.00"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void should_rebuild_buckets_per_ist_hour_and_client() {
+        // Arrange
+        LocalDate date = LocalDate.of(2024, 1, 16);
+        when(reportDao.selectOrderSales(any(), any())).thenReturn(List.of(
+                new OrderSalesRow(ZonedDateTime.of(2024, 1, 15, 20, 10, 0, 0, UTC), 4, 3L, new BigDecimal("30")),
+                new OrderSalesRow(ZonedDateTime.of(2024, 1, 15, 20, 50, 0, 0, UTC), 4, 2L, new BigDecimal("20")),
+                new OrderSalesRow(ZonedDateTime.of(2024, 1, 15, 20, 50, 0, 0, UTC), 5, 1L, new BigDecimal("5"))));
+
+        // Act
+        int buckets = hourSalesApi.rebuildForDate(date);
+
+        // Assert
+        assertEquals(3, buckets);
+        ArgumentCaptor<List<HourSalesEntity>> saved = ArgumentCaptor.forClass(List.class);
+        verify(hourSalesDao).deleteByDate(date);
+        verify(hourSalesDao).saveAll(saved.capture());
+        HourSalesEntity first = saved.getValue().get(0);
+        assertEquals(1, first.getHour());
+        assertEquals(4, first.getClientId());
+        assertEquals(1, first.getInvoicedOrdersCount());
+        assertEquals(new BigDecimal("30.00"), first.getTotalRevenue());
+        HourSalesEntity second = saved.getValue().get(1);
+        assertEquals(2, second.getHour());
+        assertEquals(4, second.getClientId());
+        assertEquals(2, second.getInvoicedItemsCount());
+    }
+
+    @Test
+    void should_lock_day_before_snapshotting_and_replacing_buckets() {
+        // Arrange
+        LocalDate date = LocalDate.of(2024, 1, 16);
+        when(reportDao.selectOrderSales(any(), any())).thenReturn(List.of());
+
+        // Act
+        hourSalesApi.rebuildForDate(date);
+
+        // Assert
+        InOrder inOrder = inOrder(daySalesDao, reportDao, hourSalesDao);
+        inOrder.verify(daySalesDao).selectByDateForUpdate(date);
+        inOrder.verify(reportDao).selectOrderSales(any(), any());
+        inOrder.verify(hourSalesDao).deleteByDate(date);
+    }
+}
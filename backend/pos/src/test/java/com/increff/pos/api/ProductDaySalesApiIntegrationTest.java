@@ -0,0 +1,112 @@
+package com.increff.pos.api;
+
+import com.increff.pos.dao.DaySalesDao;
+import com.increff.pos.dao.ProductDaySalesDao;
+import com.increff.pos.entity.ClientEntity;
+import com.increff.pos.entity.OrderItemEntity;
+import com.increff.pos.entity.ProductEntity;
+import com.increff.pos.model.internal.SalesReportRow;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ProductDaySalesApiIntegrationTest {
+
+    private static final ZoneId IST = ZoneId.of("Asia/Kolkata");
+
+    @Autowired
+    private ProductDaySalesApi productDaySalesApi;
+
+    @Autowired
+    private ProductDaySalesDao productDaySalesDao;
+
+    @Autowired
+    private DaySalesDao daySalesDao;
+
+    @Autowired
+    private ClientApi clientApi;
+
+    @Autowired
+    private ProductApi productApi;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void testInvoiceIncrementDuringRebuildIsAppliedAfterRebuildCommits() throws Exception {
+        LocalDate date = LocalDate.of(2003, 7, 19);
+        ProductEntity product = createProduct();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> daySalesDao.upsert(date, 0, 0, BigDecimal.ZERO));
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> invoice = transactionTemplate.execute(status -> {
+                productDaySalesApi.rebuildForDate(date);
+                Future<?> pending = executor.submit(() -> transactionTemplate.executeWithoutResult(inner -> {
+                    daySalesDao.increment(date, 1, 2, new BigDecimal("20.00"));
+                    productDaySalesApi.addInvoicedItems(date.atTime(10, 0).atZone(IST), product.getClientId(),
+                            List.of(item(product.getId())));
+                }));
+                pause();
+                assertFalse(pending.isDone());
+                return pending;
+            });
+            invoice.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdown();
+        }
+
+        List<SalesReportRow> rows = transactionTemplate.execute(status ->
+                productDaySalesDao.selectSalesRows(date, date, product.getClientId()));
+        assertEquals(1, rows.size());
+        assertEquals(2, rows.getFirst().getQuantitySold());
+        assertEquals(0, new BigDecimal("20.00").compareTo(rows.getFirst().getRevenue()));
+    }
+
+    private static void pause() {
+        try {
+            Thread.sleep(300);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private ProductEntity createProduct() {
+        String suffix = String.valueOf(System.nanoTime());
+        ClientEntity client = new ClientEntity();
+        client.setClientName("day-rollup-" + suffix);
+        client = clientApi.createClient(client);
+
+        ProductEntity product = new ProductEntity();
+        product.setClientId(client.getId());
+        product.setProductName("day-rollup-product");
+        product.setBarcode("day-rollup-" + suffix);
+        product.setMrp(new BigDecimal("15.00"));
+        return productApi.createProduct(product);
+    }
+
+    private OrderItemEntity item(Integer productId) {
+        OrderItemEntity item = new OrderItemEntity();
+        item.setProductId(productId);
+        item.setQuantity(2);
+        item.setSellingPrice(new BigDecimal("10.00"));
+        return item;
+    }
+}
@@ -1,20 +1,31 @@
 package com.increff.pos.api;
 
+import com.increff.pos.cache.EntityVersionTracker;
+import com.increff.pos.cache.ReportCache;
+import com.increff.pos.dao.PartitionedSalesReportQuery;
+import com.increff.pos.dao.ProductDaySalesDao;
 import com.increff.pos.dao.ReportDao;
+import com.increff.pos.dao.SalesRollupWatermarkDao;
+import com.increff.pos.entity.SalesRollupWatermarkEntity;
 import com.increff.pos.model.internal.SalesReportRow;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -23,6 +34,18 @@ class ReportApiTest {
     @Mock
     private ReportDao reportDao;
 
+    @Mock
+    private PartitionedSalesReportQuery partitionedSalesReportQuery;
+
+    @Mock
+    private ProductDaySalesDao productDaySalesDao;
+
+    @Mock
+    private SalesRollupWatermarkDao salesRollupWatermarkDao;
+
+    @Spy
+    private ReportCache reportCache = new ReportCache(mock(EntityVersionTracker.class), 100, 3600, 60);
+
     @InjectMocks
     private ReportApi reportApi;
 
@@ -32,14 +55,12 @@ class ReportApiTest {
         ZonedDateTime startDate = ZonedDateTime.parse("2024-01-01T00:00:00Z");
         ZonedDateTime endDate = ZonedDateTime.parse("2024-01-31T23:59:59Z");
         Integer clientId = 1;
-        org.springframework.data.domain.Pageable pageable = mock(org.springframework.data.domain.Pageable.class);
+        PageRequest pageable = PageRequest.of(0, 10);
 
         SalesReportRow row1 = new SalesReportRow("Product A", 10, new BigDecimal("1000.00"));
         SalesReportRow row2 = new SalesReportRow("Product B", 5, new BigDecimal("500.00"));
 
-        Page<SalesReportRow> expectedPage = new PageImpl<>(List.of(row1, row2));
-
-        when(reportDao.selectByFiltersSalesPage(startDate, endDate, clientId, pageable)).thenReturn(expectedPage);
+        when(partitionedSalesReportQuery.selectAll(startDate, endDate, clientId)).thenReturn(List.of(row1, row2));
 
         // Act
         Page<SalesReportRow> result = reportApi.getSalesReport(startDate, endDate, clientId, pageable);
@@ -52,7 +73,28 @@ class ReportApiTest {
         assertEquals("Product B", result.getContent().get(1).getProductName());
         assertEquals(5, result.getContent().get(1).getQuantitySold());
         assertEquals(new BigDecimal("500.00"), result.getContent().get(1).getRevenue());
-        verify(reportDao).selectByFiltersSalesPage(startDate, endDate, clientId, pageable);
+        assertEquals(2, result.getTotalElements());
+        verify(partitionedSalesReportQuery).selectAll(startDate, endDate, clientId);
+    }
+
+    @Test
+    void should_serve_later_pages_from_cached_result() {
+        // Arrange
+        ZonedDateTime startDate = ZonedDateTime.parse("2024-01-01T00:00:00Z");
+        ZonedDateTime endDate = ZonedDateTime.parse("2024-01-31T23:59:59Z");
+        SalesReportRow row1 = new SalesReportRow("Product A", 10, new BigDecimal("1000.00"));
+        SalesReportRow row2 = new SalesReportRow("Product B", 5, new BigDecimal("500.00"));
+        when(partitionedSalesReportQuery.selectAll(startDate, endDate, null)).thenReturn(List.of(row1, row2));
+
+        // Act
+        Page<SalesReportRow> first = reportApi.getSalesReport(startDate, endDate, null, PageRequest.of(0, 1));
+        Page<SalesReportRow> second = reportApi.getSalesReport(startDate, endDate, null, PageRequest.of(1, 1));
+
+        // Assert
+        assertEquals("Product A", first.getContent().get(0).getProductName());
+        assertEquals("Product B", second.getContent().get(0).getProductName());
+        assertEquals(2, second.getTotalElements());
+        verify(partitionedSalesReportQuery, times(1)).selectAll(startDate, endDate, null);
     }
 
     @Test
@@ -67,7 +109,7 @@ class ReportApiTest {
 
         List<SalesReportRow> expectedList = List.of(row1, row2);
 
-        when(reportDao.selectAllSalesReport(startDate, endDate, clientId)).thenReturn(expectedList);
+        when(partitionedSalesReportQuery.selectAll(startDate, endDate, clientId)).thenReturn(expectedList);
 
         // Act
         List<SalesReportRow> result = reportApi.getAllSalesReport(startDate, endDate, clientId);
@@ -80,6 +122,63 @@ class ReportApiTest {
         assertEquals("Product D", result.get(1).getProductName());
         assertEquals(8, result.get(1).getQuantitySold());
         assertEquals(new BigDecimal("800.00"), result.get(1).getRevenue());
-        verify(reportDao).selectAllSalesReport(startDate, endDate, clientId);
+        verify(partitionedSalesReportQuery).selectAll(startDate, endDate, clientId);
+    }
+
+    @Test
+    void should_merge_rollup_days_with_raw_head_and_tail() {
+        // Arrange
+        ZoneId ist = ZoneId.of("Asia/Kolkata");
+        ZonedDateTime startDate = ZonedDateTime.of(2024, 1, 1, 12, 0, 0, 0, ist);
+        ZonedDateTime endDate = ZonedDateTime.of(2024, 1, 10, 12, 0, 0, 0, ist);
+
+        SalesRollupWatermarkEntity watermark = new SalesRollupWatermarkEntity();
+        watermark.setFirstDate(LocalDate.of(2023, 12, 1));
+        watermark.setLastDate(LocalDate.of(2024, 1, 8));
+        when(salesRollupWatermarkDao.selectWatermark()).thenReturn(Optional.of(watermark));
+
+        when(productDaySalesDao.selectSalesRows(LocalDate.of(2024, 1, 2), LocalDate.of(2024, 1, 8), 1))
+                .thenReturn(List.of(new SalesReportRow(10, "Product A", 10L, new BigDecimal("100.00")),
+                        new SalesReportRow(20, "Product B", 1L, new BigDecimal("500.00"))));
+        when(reportDao.selectSalesRows(startDate, LocalDate.of(2024, 1, 2).atStartOfDay(ist), 1))
+                .thenReturn(List.of(new SalesReportRow(10, "Product A", 2L, new BigDecimal("20.00"))));
+        when(reportDao.selectSalesRows(LocalDate.of(2024, 1, 9).atStartOfDay(ist), endDate.plusNanos(1), 1))
+                .thenReturn(List.of(new SalesReportRow(10, "Product A", 50L, new BigDecimal("500.00"))));
+
+        // Act
+        List<SalesReportRow> result = reportApi.getAllSalesReport(startDate, endDate, 1);
+
+        // Assert
+        assertEquals(2, result.size());
+        assertEquals("Product A", result.get(0).getProductName());
+        assertEquals(62, result.get(0).getQuantitySold());
+        assertEquals(new BigDecimal("620.00"), result.get(0).getRevenue());
+        assertEquals("Product B", result.get(1).getProductName());
+        verify(partitionedSalesReportQuery, never()).selectAll(any(), any(), any());
+    }
+
+    @Test
+    void should_page_merged_rows_in_memory() {
+        // Arrange
+        ZonedDateTime startDate = ZonedDateTime.parse("2024-01-01T00:00:00+05:30[Asia/Kolkata]");
+        ZonedDateTime endDate = ZonedDateTime.parse("2024-01-03T00:00:00+05:30[Asia/Kolkata]").minusNanos(1);
+
+        SalesRollupWatermarkEntity watermark = new SalesRollupWatermarkEntity();
+        watermark.setFirstDate(LocalDate.of(2024, 1, 1));
+        watermark.setLastDate(LocalDate.of(2024, 1, 31));
+        when(salesRollupWatermarkDao.selectWatermark()).thenReturn(Optional.of(watermark));
+        when(productDaySalesDao.selectSalesRows(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 2), null))
+                .thenReturn(List.of(new SalesReportRow(1, "Product A", 1L, new BigDecimal("10.00")),
+                        new SalesReportRow(2, "Product B", 1L, new BigDecimal("30.00")),
+                        new SalesReportRow(3, "Product C", 1L, new BigDecimal("20.00"))));
+
+        // Act
+        Page<SalesReportRow> result = reportApi.getSalesReport(startDate, endDate, null, PageRequest.of(1, 2));
+
+        // Assert
+        assertEquals(3, result.getTotalElements());
+        assertEquals(1, result.getContent().size());
+        assertEquals("Product A", result.getContent().get(0).getProductName());
+        verify(reportDao, never()).selectSalesRows(any(), any(), any());
     }
 }
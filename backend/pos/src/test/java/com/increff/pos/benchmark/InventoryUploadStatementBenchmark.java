@@ -0,0 +1,124 @@
+package com.increff.pos.benchmark;
+
+import com.increff.pos.api.ClientApi;
+import com.increff.pos.api.ProductApi;
+import com.increff.pos.entity.ClientEntity;
+import com.increff.pos.entity.InventoryEntity;
+import com.increff.pos.flow.InventoryBatchFlow;
+import com.increff.pos.flow.InventoryFlow;
+import com.increff.pos.flow.ProductBatchFlow;
+import com.increff.pos.model.data.InventoryData;
+import com.increff.pos.model.data.TsvUploadResult;
+import com.increff.pos.model.internal.InventoryUploadModel;
+import com.increff.pos.model.internal.ProductUploadModel;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {"spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false"})
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class InventoryUploadStatementBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(InventoryUploadStatementBenchmark.class);
+
+    private static final int ROWS = 5_000;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ClientApi clientApi;
+
+    @Autowired
+    private ProductApi productApi;
+
+    @Autowired
+    private ProductBatchFlow productBatchFlow;
+
+    @Autowired
+    private InventoryFlow inventoryFlow;
+
+    @Autowired
+    private InventoryBatchFlow inventoryBatchFlow;
+
+    @Test
+    void compare_row_wise_and_chunked_inventory_upload() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        List<InventoryUploadModel> rowWiseUploads = createProducts();
+        statistics.clear();
+        long rowWiseStart = System.nanoTime();
+        rowWiseUploads.forEach(upload -> transactionTemplate.executeWithoutResult(status -> upsertRow(upload)));
+        long rowWiseMillis = (System.nanoTime() - rowWiseStart) / 1_000_000;
+        long rowWiseStatements = statistics.getPrepareStatementCount();
+
+        List<InventoryUploadModel> chunkedUploads = createProducts();
+        statistics.clear();
+        long chunkedStart = System.nanoTime();
+        TsvUploadResult<InventoryData> chunkedResult = inventoryBatchFlow.upsertFromUpload(chunkedUploads);
+        long chunkedMillis = (System.nanoTime() - chunkedStart) / 1_000_000;
+        long chunkedStatements = statistics.getPrepareStatementCount();
+
+        logger.info("{}-row inventory upload: row-wise {} statements in {} ms | chunked {} statements in {} ms | "
+                + "{}x fewer statements", ROWS, rowWiseStatements, rowWiseMillis, chunkedStatements, chunkedMillis,
+                rowWiseStatements / Math.max(chunkedStatements, 1));
+
+        assertTrue(chunkedResult.isSuccess());
+        assertEquals(ROWS, chunkedResult.getData().size());
+        assertTrue(rowWiseStatements >= ROWS);
+        assertTrue(rowWiseStatements >= 50 * chunkedStatements);
+    }
+
+    // The single-item path behind the inventory upsert endpoint, one transaction per file row.
+    private void upsertRow(InventoryUploadModel upload) {
+        InventoryEntity inventory = new InventoryEntity();
+        inventory.setProductId(productApi.getCheckByBarcode(upload.getBarcode()).getId());
+        inventory.setQuantity(upload.getQuantity());
+        inventoryFlow.upsert(inventory);
+    }
+
+    private List<InventoryUploadModel> createProducts() {
+        ClientEntity client = new ClientEntity();
+        client.setClientName("inventory-upload-bench-" + System.nanoTime());
+        client = clientApi.createClient(client);
+
+        String prefix = "iub-" + System.nanoTime() + "-";
+        String clientName = client.getClientName();
+        productBatchFlow.createProducts(IntStream.range(0, ROWS).mapToObj(i -> {
+            ProductUploadModel upload = new ProductUploadModel();
+            upload.setClientName(clientName);
+            upload.setProductName("product-" + i);
+            upload.setBarcode(prefix + i);
+            upload.setMrp(BigDecimal.TEN);
+            return upload;
+        }).toList());
+
+        return IntStream.range(0, ROWS).mapToObj(i -> {
+            InventoryUploadModel upload = new InventoryUploadModel();
+            upload.setBarcode(prefix + i);
+            upload.setQuantity(i);
+            return upload;
+        }).toList();
+    }
+}
@@ -0,0 +1,137 @@
+package com.increff.pos.benchmark;
+
+import com.increff.pos.api.ClientApi;
+import com.increff.pos.api.InventoryApi;
+import com.increff.pos.api.ProductApi;
+import com.increff.pos.dao.IdSegmentDao;
+import com.increff.pos.entity.ClientEntity;
+import com.increff.pos.entity.InventoryEntity;
+import com.increff.pos.entity.OrderItemEntity;
+import com.increff.pos.entity.ProductEntity;
+import com.increff.pos.flow.OrderFlow;
+import com.increff.pos.idgen.IdAllocator;
+import com.increff.pos.idgen.IdAllocatorHolder;
+import com.increff.pos.idgen.SegmentIdAllocator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class OrderCreateThroughputBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderCreateThroughputBenchmark.class);
+
+    private static final int THREADS = 8;
+    private static final int ORDERS_PER_THREAD = 250;
+    private static final int WARMUP_ORDERS_PER_THREAD = 25;
+
+    @Autowired
+    private OrderFlow orderFlow;
+
+    @Autowired
+    private ClientApi clientApi;
+
+    @Autowired
+    private ProductApi productApi;
+
+    @Autowired
+    private InventoryApi inventoryApi;
+
+    @Autowired
+    private IdSegmentDao idSegmentDao;
+
+    @Autowired
+    private IdAllocator idAllocator;
+
+    @Test
+    void compare_order_creation_throughput() throws Exception {
+        List<Integer> productIds = createProducts("id-bench");
+
+        // Segment size 1 with no prefetch takes a SELECT ... FOR UPDATE round trip per ID, like the old
+        // @TableGenerator path did for every insert.
+        SegmentIdAllocator perInsert = new SegmentIdAllocator(idSegmentDao, 1, 0);
+        try {
+            IdAllocatorHolder.set(perInsert);
+            run(productIds, WARMUP_ORDERS_PER_THREAD);
+            double baseline = run(productIds, ORDERS_PER_THREAD);
+
+            IdAllocatorHolder.set(idAllocator);
+            run(productIds, WARMUP_ORDERS_PER_THREAD);
+            double segmented = run(productIds, ORDERS_PER_THREAD);
+
+            logger.info("Order create throughput ({} threads): per-insert lease={} orders/s, segment allocator={} "
+                    + "orders/s, ratio={}x", THREADS, String.format("%.1f", baseline),
+                    String.format("%.1f", segmented), String.format("%.2f", segmented / baseline));
+        } finally {
+            IdAllocatorHolder.set(idAllocator);
+            perInsert.shutdown();
+        }
+    }
+
+    private double run(List<Integer> productIds, int ordersPerThread) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            long start = System.nanoTime();
+            List<Future<?>> futures = new ArrayList<>();
+            for (Integer productId : productIds) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < ordersPerThread; i++) {
+                        orderFlow.createOrder(List.of(orderItem(productId)));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+            return productIds.size() * ordersPerThread / seconds;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private List<Integer> createProducts(String prefix) {
+        ClientEntity client = new ClientEntity();
+        client.setClientName(prefix + "-client-" + System.nanoTime());
+        client = clientApi.createClient(client);
+
+        List<Integer> productIds = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            ProductEntity product = new ProductEntity();
+            product.setClientId(client.getId());
+            product.setProductName(prefix + "-product-" + t);
+            product.setBarcode(prefix + "-" + System.nanoTime() + "-" + t);
+            product.setMrp(BigDecimal.valueOf(100));
+            product = productApi.createProduct(product);
+
+            InventoryEntity inventory = new InventoryEntity();
+            inventory.setProductId(product.getId());
+            inventory.setQuantity(1_000_000);
+            inventoryApi.upsert(inventory);
+
+            productIds.add(product.getId());
+        }
+        return productIds;
+    }
+
+    private OrderItemEntity orderItem(Integer productId) {
+        OrderItemEntity item = new OrderItemEntity();
+        item.setProductId(productId);
+        item.setQuantity(1);
+        item.setSellingPrice(BigDecimal.valueOf(50));
+        return item;
+    }
+}
@@ -0,0 +1,164 @@
+package com.increff.pos.benchmark;
+
+import com.increff.pos.api.ClientApi;
+import com.increff.pos.api.InventoryApi;
+import com.increff.pos.api.ProductApi;
+import com.increff.pos.dao.InventoryDao;
+import com.increff.pos.dao.ProductDao;
+import com.increff.pos.entity.ClientEntity;
+import com.increff.pos.entity.InventoryEntity;
+import com.increff.pos.entity.OrderItemEntity;
+import com.increff.pos.entity.ProductEntity;
+import com.increff.pos.flow.OrderFlow;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.List;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class QueryRegistryBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryRegistryBenchmark.class);
+
+    private static final int WARMUP = 2_000;
+    private static final int ITERATIONS = 20_000;
+    private static final int ORDER_ITERATIONS = 1_000;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ProductDao productDao;
+
+    @Autowired
+    private InventoryDao inventoryDao;
+
+    @Autowired
+    private ClientApi clientApi;
+
+    @Autowired
+    private ProductApi productApi;
+
+    @Autowired
+    private InventoryApi inventoryApi;
+
+    @Autowired
+    private OrderFlow orderFlow;
+
+    @Test
+    void compare_criteria_and_registered_queries() {
+        ProductEntity product = createProduct();
+        String barcode = product.getBarcode();
+        List<Integer> productIds = List.of(product.getId());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Cost criteriaBarcode = measure(ITERATIONS, () -> criteriaSelectByBarcode(barcode));
+            Cost registryBarcode = measure(ITERATIONS, () -> productDao.selectByBarcode(barcode));
+            Cost criteriaInventory = measure(ITERATIONS, () -> criteriaSelectInventories(productIds));
+            Cost registryInventory = measure(ITERATIONS, () -> inventoryDao.selectByProductIds(productIds));
+
+            report("selectByBarcode", criteriaBarcode, registryBarcode);
+            report("selectByProductIds", criteriaInventory, registryInventory);
+        });
+
+        Cost orderCreate = measure(ORDER_ITERATIONS, () -> orderFlow.createOrder(List.of(orderItem(product.getId()))));
+        logger.info("order create: {} us cpu/call, {} KB allocated/call", format(orderCreate.cpuMicros()),
+                format(orderCreate.allocatedKb()));
+    }
+
+    private Cost measure(int iterations, Runnable call) {
+        for (int i = 0; i < WARMUP; i++) {
+            call.run();
+        }
+        long threadId = Thread.currentThread().threadId();
+        long cpuStart = THREADS.getCurrentThreadCpuTime();
+        long allocStart = THREADS.getThreadAllocatedBytes(threadId);
+
+        for (int i = 0; i < iterations; i++) {
+            call.run();
+        }
+
+        long cpu = THREADS.getCurrentThreadCpuTime() - cpuStart;
+        long alloc = THREADS.getThreadAllocatedBytes(threadId) - allocStart;
+        return new Cost(cpu / 1_000.0 / iterations, alloc / 1_024.0 / iterations);
+    }
+
+    private void report(String name, Cost criteria, Cost registry) {
+        logger.info("{}: criteria {} us cpu, {} KB/call | registry {} us cpu, {} KB/call | registry/criteria cpu {}x, "
+                        + "alloc {}x", name, format(criteria.cpuMicros()), format(criteria.allocatedKb()),
+                format(registry.cpuMicros()), format(registry.allocatedKb()),
+                format(registry.cpuMicros() / criteria.cpuMicros()),
+                format(registry.allocatedKb() / criteria.allocatedKb()));
+    }
+
+    private static String format(double value) {
+        return String.format("%.2f", value);
+    }
+
+    private void criteriaSelectByBarcode(String barcode) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<ProductEntity> cq = cb.createQuery(ProductEntity.class);
+        Root<ProductEntity> root = cq.from(ProductEntity.class);
+        cq.select(root).where(cb.equal(root.get("barcode"), barcode));
+        em.createQuery(cq).getResultList();
+    }
+
+    private void criteriaSelectInventories(List<Integer> productIds) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<InventoryEntity> cq = cb.createQuery(InventoryEntity.class);
+        Root<InventoryEntity> root = cq.from(InventoryEntity.class);
+        cq.select(root).where(root.get("productId").in(productIds));
+        em.createQuery(cq).getResultList();
+    }
+
+    private ProductEntity createProduct() {
+        ClientEntity client = new ClientEntity();
+        client.setClientName("query-bench-" + System.nanoTime());
+        client = clientApi.createClient(client);
+
+        ProductEntity product = new ProductEntity();
+        product.setClientId(client.getId());
+        product.setProductName("query-bench-product");
+        product.setBarcode("qb-" + System.nanoTime());
+        product.setMrp(BigDecimal.valueOf(100));
+        product = productApi.createProduct(product);
+
+        InventoryEntity inventory = new InventoryEntity();
+        inventory.setProductId(product.getId());
+        inventory.setQuantity(1_000_000);
+        inventoryApi.upsert(inventory);
+
+        return product;
+    }
+
+    private OrderItemEntity orderItem(Integer productId) {
+        OrderItemEntity item = new OrderItemEntity();
+        item.setProductId(productId);
+        item.setQuantity(1);
+        item.setSellingPrice(BigDecimal.valueOf(50));
+        return item;
+    }
+
+    private record Cost(double cpuMicros, double allocatedKb) { }
+}
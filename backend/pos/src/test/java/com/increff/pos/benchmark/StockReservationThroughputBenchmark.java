@@ -0,0 +1,133 @@
+package com.increff.pos.benchmark;
+
+import com.increff.pos.api.ClientApi;
+import com.increff.pos.api.InventoryApi;
+import com.increff.pos.api.ProductApi;
+import com.increff.pos.entity.ClientEntity;
+import com.increff.pos.entity.InventoryEntity;
+import com.increff.pos.entity.OrderItemEntity;
+import com.increff.pos.entity.ProductEntity;
+import com.increff.pos.flow.OrderFlow;
+import com.increff.pos.ledger.StockLedger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "app.inventory.reservation-ledger.enabled=true",
+        "app.inventory.reservation-ledger.journal-path=target/benchmark-inventory-ledger.journal"
+})
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class StockReservationThroughputBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockReservationThroughputBenchmark.class);
+
+    private static final int THREADS = 16;
+    private static final int ORDERS_PER_THREAD = 200;
+    private static final int WARMUP_ORDERS_PER_THREAD = 20;
+
+    @Autowired
+    private OrderFlow orderFlow;
+
+    @Autowired
+    private ClientApi clientApi;
+
+    @Autowired
+    private ProductApi productApi;
+
+    @Autowired
+    private InventoryApi inventoryApi;
+
+    @Autowired
+    private StockLedger stockLedger;
+
+    @Test
+    void compare_hot_sku_order_throughput() throws Exception {
+        Integer productId = createHotProduct();
+        Object inventoryApiTarget = AopTestUtils.getTargetObject(inventoryApi);
+
+        try {
+            ReflectionTestUtils.setField(inventoryApiTarget, "stockLedger", null);
+            run(productId, WARMUP_ORDERS_PER_THREAD);
+            double dbOnly = run(productId, ORDERS_PER_THREAD);
+
+            ReflectionTestUtils.setField(inventoryApiTarget, "stockLedger", stockLedger);
+            stockLedger.evict(List.of(productId));
+            run(productId, WARMUP_ORDERS_PER_THREAD);
+            double ledger = run(productId, ORDERS_PER_THREAD);
+            stockLedger.flush();
+
+            logger.info("Hot SKU order throughput ({} threads): db-only={} orders/s, reservation ledger={} orders/s",
+                    THREADS, String.format("%.1f", dbOnly), String.format("%.1f", ledger));
+            assertTrue(dbOnly > 0 && ledger > 0);
+        } finally {
+            ReflectionTestUtils.setField(inventoryApiTarget, "stockLedger", stockLedger);
+        }
+    }
+
+    private double run(Integer productId, int ordersPerThread) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            long start = System.nanoTime();
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < ordersPerThread; i++) {
+                        orderFlow.createOrder(List.of(orderItem(productId)));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+            return THREADS * ordersPerThread / seconds;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private Integer createHotProduct() {
+        ClientEntity client = new ClientEntity();
+        client.setClientName("ledger-bench-client-" + System.nanoTime());
+        client = clientApi.createClient(client);
+
+        ProductEntity product = new ProductEntity();
+        product.setClientId(client.getId());
+        product.setProductName("ledger-bench-product");
+        product.setBarcode("ledger-bench-" + System.nanoTime());
+        product.setMrp(BigDecimal.valueOf(100));
+        product = productApi.createProduct(product);
+
+        InventoryEntity inventory = new InventoryEntity();
+        inventory.setProductId(product.getId());
+        inventory.setQuantity(1_000_000);
+        inventoryApi.upsert(inventory);
+
+        return product.getId();
+    }
+
+    private OrderItemEntity orderItem(Integer productId) {
+        OrderItemEntity item = new OrderItemEntity();
+        item.setProductId(productId);
+        item.setQuantity(1);
+        item.setSellingPrice(BigDecimal.valueOf(50));
+        return item;
+    }
+}
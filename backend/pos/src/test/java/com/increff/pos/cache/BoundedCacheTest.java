@@ -0,0 +1,77 @@
+package com.increff.pos.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedCacheTest {
+
+    @Test
+    void should_return_cached_value_and_count_hits_and_misses() {
+        // Arrange
+        BoundedCache<String, Long> cache = new BoundedCache<>("test", 10, Duration.ofMinutes(1));
+        AtomicInteger loads = new AtomicInteger();
+
+        // Act
+        Long first = cache.computeIfAbsent("a", k -> (long) loads.incrementAndGet());
+        Long second = cache.computeIfAbsent("a", k -> (long) loads.incrementAndGet());
+
+        // Assert
+        assertEquals(1L, first);
+        assertEquals(1L, second);
+        assertEquals(1, loads.get());
+        CacheStats stats = cache.stats();
+        assertEquals(1, stats.hits());
+        assertEquals(1, stats.misses());
+    }
+
+    @Test
+    void should_evict_least_recently_used_entry_when_full() {
+        // Arrange
+        BoundedCache<String, Long> cache = new BoundedCache<>("test", 2, Duration.ofMinutes(1));
+        cache.put("a", 1L);
+        cache.put("b", 2L);
+        cache.get("a");
+
+        // Act
+        cache.put("c", 3L);
+
+        // Assert
+        assertNull(cache.get("b"));
+        assertEquals(1L, cache.get("a"));
+        assertEquals(3L, cache.get("c"));
+        assertEquals(1, cache.stats().evictions());
+    }
+
+    @Test
+    void should_expire_entries_after_ttl() {
+        // Arrange
+        BoundedCache<String, Long> cache = new BoundedCache<>("test", 10, Duration.ZERO);
+        cache.put("a", 1L);
+
+        // Act
+        Long value = cache.get("a");
+
+        // Assert
+        assertNull(value);
+        assertEquals(0, cache.stats().size());
+    }
+
+    @Test
+    void should_invalidate_matching_keys() {
+        // Arrange
+        BoundedCache<String, Long> cache = new BoundedCache<>("test", 10, Duration.ofMinutes(1));
+        cache.put("order|1", 1L);
+        cache.put("product|1", 2L);
+
+        // Act
+        cache.invalidateIf(key -> key.startsWith("order|"));
+
+        // Assert
+        assertNull(cache.get("order|1"));
+        assertEquals(2L, cache.get("product|1"));
+    }
+}
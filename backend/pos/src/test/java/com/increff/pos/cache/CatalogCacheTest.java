@@ -0,0 +1,114 @@
+package com.increff.pos.cache;
+
+import com.increff.pos.entity.ProductEntity;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogCacheTest {
+
+    @Test
+    void should_serve_repeated_lookups_from_cache_as_copies() {
+        // Arrange
+        CatalogCache cache = new CatalogCache(10, 60);
+        AtomicInteger loads = new AtomicInteger();
+        ProductEntity stored = product(1, "b-1");
+
+        // Act
+        ProductEntity first = cache.products().getById(1, id -> {
+            loads.incrementAndGet();
+            return Optional.of(stored);
+        }).orElseThrow();
+        first.setProductName("mutated");
+        ProductEntity second = cache.products().getById(1, id -> {
+            loads.incrementAndGet();
+            return Optional.of(stored);
+        }).orElseThrow();
+
+        // Assert
+        assertEquals(1, loads.get());
+        assertNotSame(first, second);
+        assertEquals("product-1", second.getProductName());
+    }
+
+    @Test
+    void should_resolve_barcode_from_entry_loaded_by_id() {
+        // Arrange
+        CatalogCache cache = new CatalogCache(10, 60);
+        cache.products().getById(1, id -> Optional.of(product(1, "b-1")));
+
+        // Act
+        Optional<ProductEntity> found = cache.products().getByKey("b-1", barcode -> Optional.empty());
+
+        // Assert
+        assertTrue(found.isPresent());
+        assertEquals(1, found.get().getId());
+    }
+
+    @Test
+    void should_drop_old_barcode_on_evict() {
+        // Arrange
+        CatalogCache cache = new CatalogCache(10, 60);
+        cache.products().getByKey("old", barcode -> Optional.of(product(1, "old")));
+
+        // Act
+        cache.products().evict(1, "new");
+        Optional<ProductEntity> byOld = cache.products().getByKey("old", barcode -> Optional.empty());
+
+        // Assert
+        assertTrue(byOld.isEmpty());
+    }
+
+    @Test
+    void should_not_store_value_loaded_before_concurrent_evict() {
+        // Arrange
+        CatalogCache cache = new CatalogCache(10, 60);
+        AtomicInteger loads = new AtomicInteger();
+
+        // Act
+        cache.products().getById(1, id -> {
+            loads.incrementAndGet();
+            cache.products().evict(1);
+            return Optional.of(product(1, "stale"));
+        });
+        cache.products().getById(1, id -> {
+            loads.incrementAndGet();
+            return Optional.of(product(1, "fresh"));
+        });
+
+        // Assert
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void should_load_only_missing_ids_in_batch() {
+        // Arrange
+        CatalogCache cache = new CatalogCache(10, 60);
+        cache.products().getById(1, id -> Optional.of(product(1, "b-1")));
+
+        // Act
+        List<ProductEntity> products = cache.products().getByIds(List.of(1, 2), missing -> {
+            assertEquals(List.of(2), missing);
+            return List.of(product(2, "b-2"));
+        });
+
+        // Assert
+        assertEquals(2, products.size());
+        assertEquals(1, cache.stats().getFirst().hits());
+    }
+
+    private ProductEntity product(Integer id, String barcode) {
+        ProductEntity product = new ProductEntity();
+        product.setId(id);
+        product.setBarcode(barcode);
+        product.setProductName("product-" + id);
+        product.setClientId(1);
+        product.setMrp(BigDecimal.TEN);
+        return product;
+    }
+}
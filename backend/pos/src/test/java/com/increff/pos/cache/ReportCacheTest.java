@@ -0,0 +1,98 @@
+package com.increff.pos.cache;
+
+import com.increff.pos.entity.ProductEntity;
+import com.increff.pos.model.internal.SalesReportRow;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReportCacheTest {
+
+    private static final ZoneId IST = ZoneId.of("Asia/Kolkata");
+
+    private final EntityVersionTracker versionTracker = mock(EntityVersionTracker.class);
+    private final ReportCache cache = new ReportCache(versionTracker, 10, 3600, 60,
+            Clock.fixed(LocalDate.of(2024, 2, 10).atStartOfDay(IST).toInstant(), IST));
+
+    @Test
+    void should_reload_only_ranges_covering_evicted_day() {
+        // Arrange
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<List<SalesReportRow>> loader = () -> {
+            loads.incrementAndGet();
+            return List.of(new SalesReportRow("Product A", 1, BigDecimal.TEN));
+        };
+        ZonedDateTime janStart = LocalDate.of(2024, 1, 1).atStartOfDay(IST);
+        ZonedDateTime janEnd = LocalDate.of(2024, 1, 31).atStartOfDay(IST);
+        ZonedDateTime febStart = LocalDate.of(2024, 2, 1).atStartOfDay(IST);
+        ZonedDateTime febEnd = LocalDate.of(2024, 2, 5).atStartOfDay(IST);
+        cache.getSales(janStart, janEnd, null, loader);
+        cache.getSales(febStart, febEnd, null, loader);
+
+        // Act
+        cache.evictDay(LocalDate.of(2024, 2, 3));
+        cache.getSales(janStart, janEnd, null, loader);
+        cache.getSales(febStart, febEnd, null, loader);
+
+        // Assert
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void should_miss_after_product_change() {
+        // Arrange
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<List<SalesReportRow>> loader = () -> {
+            loads.incrementAndGet();
+            return List.of();
+        };
+        ZonedDateTime start = LocalDate.of(2024, 1, 1).atStartOfDay(IST);
+        when(versionTracker.version(ProductEntity.class)).thenReturn(1L, 2L);
+
+        // Act
+        cache.getSales(start, null, 7, loader);
+        cache.getSales(start, null, 7, loader);
+
+        // Assert
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void should_treat_unbounded_day_sales_range_as_covering_every_day() {
+        // Arrange
+        AtomicInteger loads = new AtomicInteger();
+        cache.getDaySales(null, null, () -> {
+            loads.incrementAndGet();
+            return List.of();
+        });
+
+        // Act
+        cache.evictDay(LocalDate.of(2020, 6, 1));
+        cache.getDaySales(null, null, () -> {
+            loads.incrementAndGet();
+            return List.of();
+        });
+
+        // Assert
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void should_report_stats_for_closed_and_open_partitions() {
+        // Act
+        List<CacheStats> stats = cache.stats();
+
+        // Assert
+        assertEquals(4, stats.size());
+    }
+}
@@ -1,9 +1,13 @@
 package com.increff.pos.dao;
 
 import com.increff.pos.entity.ClientEntity;
+import com.increff.pos.model.domain.PaginationMode;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -79,4 +83,69 @@ class ClientDaoIntegrationTest {
         assertFalse(notExists);
     }
 
+    @Test
+    void testSelectByFiltersHasNextSkipsCount() {
+        for (int i = 0; i < 3; i++) {
+            ClientEntity client = new ClientEntity();
+            client.setClientName("Slice Client " + i);
+            client.setEnabled(true);
+            clientDao.save(client);
+        }
+
+        Slice<ClientEntity> first = clientDao.selectByFilters("Slice Client", null, PageRequest.of(0, 2),
+                PaginationMode.HAS_NEXT);
+        Slice<ClientEntity> second = clientDao.selectByFilters("Slice Client", null, PageRequest.of(1, 2),
+                PaginationMode.HAS_NEXT);
+
+        assertFalse(first instanceof Page);
+        assertEquals(2, first.getContent().size());
+        assertTrue(first.hasNext());
+        assertEquals(1, second.getContent().size());
+        assertFalse(second.hasNext());
+    }
+
+    @Test
+    void testSelectByFiltersCachedCountRefreshesAfterWrite() {
+        ClientEntity client = new ClientEntity();
+        client.setClientName("Counted Client 1");
+        client.setEnabled(true);
+        clientDao.save(client);
+
+        Page<ClientEntity> before = (Page<ClientEntity>) clientDao.selectByFilters("Counted Client", null,
+                PageRequest.of(0, 1), PaginationMode.CACHED_COUNT);
+
+        ClientEntity another = new ClientEntity();
+        another.setClientName("Counted Client 2");
+        another.setEnabled(true);
+        clientDao.save(another);
+
+        Page<ClientEntity> after = (Page<ClientEntity>) clientDao.selectByFilters("Counted Client", null,
+                PageRequest.of(0, 1), PaginationMode.CACHED_COUNT);
+
+        assertEquals(1, before.getTotalElements());
+        assertEquals(2, after.getTotalElements());
+    }
+
+    @Test
+    void testSelectCachedByIdEvictedOnSave() {
+        ClientEntity client = new ClientEntity();
+        client.setClientName("Cached Client");
+        client.setEnabled(true);
+        ClientEntity saved = clientDao.save(client);
+
+        ClientEntity before = clientDao.selectCachedById(saved.getId()).orElseThrow();
+
+        ClientEntity managed = clientDao.selectById(saved.getId()).orElseThrow();
+        managed.setEnabled(false);
+        managed.setClientName("Renamed Client");
+        clientDao.save(managed);
+
+        ClientEntity after = clientDao.selectCachedById(saved.getId()).orElseThrow();
+
+        assertTrue(before.getEnabled());
+        assertFalse(after.getEnabled());
+        assertTrue(clientDao.selectCachedByClientName("Cached Client").isEmpty());
+        assertEquals(saved.getId(), clientDao.selectCachedByClientName("Renamed Client").orElseThrow().getId());
+    }
+
 }
@@ -3,14 +3,21 @@ package com.increff.pos.dao;
 import com.increff.pos.entity.ClientEntity;
 import com.increff.pos.entity.InventoryEntity;
 import com.increff.pos.entity.ProductEntity;
+import com.increff.pos.model.data.InventoryData;
+import com.increff.pos.model.domain.PaginationMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -29,6 +36,9 @@ class InventoryDaoIntegrationTest {
     @Autowired
     private ClientDao clientDao;
 
+    @PersistenceContext
+    private EntityManager em;
+
     private static int barcodeCounter = 1;
     private static int clientCounter = 1;
 
@@ -139,6 +149,31 @@ class InventoryDaoIntegrationTest {
         assertEquals(enabledProduct.getId(), found.get(0).getProductId());
     }
 
+    @Test
+    void testSelectDataPagedForEnabledClientsProjectsProductFields() {
+        ProductEntity product = createTestProduct();
+
+        InventoryEntity inventory = new InventoryEntity();
+        inventory.setProductId(product.getId());
+        inventory.setQuantity(42);
+        inventoryDao.save(inventory);
+        em.flush();
+        em.clear();
+
+        Page<InventoryData> page = (Page<InventoryData>) inventoryDao.selectDataPagedForEnabledClients(
+                product.getBarcode(), null, PageRequest.of(0, 10), PaginationMode.OFFSET);
+
+        assertEquals(1, page.getTotalElements());
+        InventoryData data = page.getContent().getFirst();
+        assertEquals(product.getId(), data.getProductId());
+        assertEquals(42, data.getQuantity());
+        assertEquals("Test Product", data.getProductName());
+        assertEquals(product.getBarcode(), data.getBarcode());
+        assertFalse(em.contains(inventory));
+        assertTrue(inventoryDao.selectDataForEnabledClients().stream()
+                .anyMatch(row -> row.getProductId().equals(product.getId())));
+    }
+
     @Test
     void testSaveAll() {
         ProductEntity product1 = createTestProduct();
@@ -159,4 +194,63 @@ class InventoryDaoIntegrationTest {
         assertNotNull(saved.get(0).getId());
         assertNotNull(saved.get(1).getId());
     }
+
+    @Test
+    void testUpsertAllInsertsAndUpdatesInOneCall() {
+        ProductEntity first = createTestProduct();
+        ProductEntity second = createTestProduct();
+
+        InventoryEntity existing = new InventoryEntity();
+        existing.setProductId(first.getId());
+        existing.setQuantity(5);
+        Integer existingId = inventoryDao.save(existing).getId();
+
+        InventoryEntity update = new InventoryEntity();
+        update.setProductId(first.getId());
+        update.setQuantity(12);
+        InventoryEntity insert = new InventoryEntity();
+        insert.setProductId(second.getId());
+        insert.setQuantity(7);
+
+        List<InventoryEntity> result = inventoryDao.upsertAll(List.of(update, insert));
+
+        assertEquals(2, result.size());
+        assertEquals(12, inventoryDao.selectByProductId(first.getId()).orElseThrow().getQuantity());
+        assertEquals(existingId, inventoryDao.selectByProductId(first.getId()).orElseThrow().getId());
+        assertEquals(7, inventoryDao.selectByProductId(second.getId()).orElseThrow().getQuantity());
+        assertNotNull(inventoryDao.selectByProductId(second.getId()).orElseThrow().getId());
+    }
+
+    @Test
+    void testDecrementIfAvailableReportsInsufficientRows() {
+        ProductEntity stocked = createTestProduct();
+        ProductEntity scarce = createTestProduct();
+        inventoryDao.upsertAll(List.of(inventory(stocked.getId(), 10), inventory(scarce.getId(), 1)));
+
+        List<Integer> failed = inventoryDao.decrementIfAvailable(Map.of(stocked.getId(), 4, scarce.getId(), 2));
+        em.clear();
+
+        assertEquals(List.of(scarce.getId()), failed);
+        assertEquals(6, inventoryDao.selectByProductId(stocked.getId()).orElseThrow().getQuantity());
+        assertEquals(1, inventoryDao.selectByProductId(scarce.getId()).orElseThrow().getQuantity());
+    }
+
+    @Test
+    void testIncrementRestoresStock() {
+        ProductEntity product = createTestProduct();
+        inventoryDao.upsertAll(List.of(inventory(product.getId(), 3)));
+
+        List<Integer> failed = inventoryDao.increment(Map.of(product.getId(), 5));
+        em.clear();
+
+        assertTrue(failed.isEmpty());
+        assertEquals(8, inventoryDao.selectByProductId(product.getId()).orElseThrow().getQuantity());
+    }
+
+    private InventoryEntity inventory(Integer productId, int quantity) {
+        InventoryEntity inventory = new InventoryEntity();
+        inventory.setProductId(productId);
+        inventory.setQuantity(quantity);
+        return inventory;
+    }
 }
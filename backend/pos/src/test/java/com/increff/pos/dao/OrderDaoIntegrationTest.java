@@ -3,6 +3,10 @@ package com.increff.pos.dao;
 import com.increff.pos.entity.ClientEntity;
 import com.increff.pos.entity.OrderEntity;
 import com.increff.pos.model.domain.OrderStatus;
+import com.increff.pos.model.internal.KeysetPage;
+import com.increff.pos.model.domain.PaginationMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -13,6 +17,8 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -28,6 +34,9 @@ class OrderDaoIntegrationTest {
     @Autowired
     private ClientDao clientDao;
 
+    @PersistenceContext
+    private EntityManager em;
+
     private static int clientCounter = 1;
 
     private ClientEntity createTestClient() {
@@ -84,7 +93,8 @@ class OrderDaoIntegrationTest {
         orderDao.save(order2);
 
         Pageable pageable = PageRequest.of(0, 10);
-        Page<OrderEntity> page = orderDao.selectByFilters(null, null, null, null, pageable);
+        Page<OrderEntity> page = (Page<OrderEntity>) orderDao.selectByFilters(null, null, null, null,
+                pageable, PaginationMode.OFFSET);
 
         assertEquals(2, page.getTotalElements());
         assertEquals(2, page.getContent().size());
@@ -105,7 +115,8 @@ class OrderDaoIntegrationTest {
         orderDao.save(invoicedOrder);
 
         Pageable pageable = PageRequest.of(0, 10);
-        Page<OrderEntity> page = orderDao.selectByFilters(OrderStatus.CREATED, null, null, null, pageable);
+        Page<OrderEntity> page = (Page<OrderEntity>) orderDao.selectByFilters(OrderStatus.CREATED, null, null, null,
+                pageable, PaginationMode.OFFSET);
 
         assertEquals(1, page.getTotalElements());
         assertEquals(OrderStatus.CREATED, page.getContent().get(0).getStatus());
@@ -129,7 +140,8 @@ class OrderDaoIntegrationTest {
         orderDao.save(order2);
 
         Pageable pageable = PageRequest.of(0, 10);
-        Page<OrderEntity> page = orderDao.selectByFilters(null, client1.getId(), null, null, pageable);
+        Page<OrderEntity> page = (Page<OrderEntity>) orderDao.selectByFilters(null, client1.getId(), null, null,
+                pageable, PaginationMode.OFFSET);
 
         assertEquals(1, page.getTotalElements());
         assertEquals(client1.getId(), page.getContent().get(0).getClientId());
@@ -149,8 +161,49 @@ class OrderDaoIntegrationTest {
         orderDao.save(order);
 
         Pageable pageable = PageRequest.of(0, 10);
-        Page<OrderEntity> page = orderDao.selectByFilters(null, null, yesterday, tomorrow, pageable);
+        Page<OrderEntity> page = (Page<OrderEntity>) orderDao.selectByFilters(null, null, yesterday, tomorrow,
+                pageable, PaginationMode.OFFSET);
 
         assertEquals(1, page.getTotalElements());
     }
+
+    @Test
+    void testKeysetPagingForwardAndBackward() {
+        ClientEntity client = createTestClient();
+        List<Integer> createdIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            OrderEntity order = new OrderEntity();
+            order.setClientId(client.getId());
+            order.setStatus(OrderStatus.CREATED);
+            createdIds.add(orderDao.save(order).getId());
+        }
+        em.flush();
+        em.clear();
+
+        KeysetPage<OrderEntity> first = orderDao.selectKeysetByFilters(null, client.getId(), null, null, null, 2);
+        KeysetPage<OrderEntity> second = orderDao.selectKeysetByFilters(null, client.getId(), null, null,
+                first.next(), 2);
+        KeysetPage<OrderEntity> third = orderDao.selectKeysetByFilters(null, client.getId(), null, null,
+                second.next(), 2);
+        KeysetPage<OrderEntity> back = orderDao.selectKeysetByFilters(null, client.getId(), null, null,
+                second.prev(), 2);
+
+        assertEquals(2, first.content().size());
+        assertNull(first.prev());
+        assertNotNull(first.next());
+        assertEquals(2, second.content().size());
+        assertEquals(1, third.content().size());
+        assertNull(third.next());
+
+        List<Integer> seen = new ArrayList<>();
+        first.content().forEach(o -> seen.add(o.getId()));
+        second.content().forEach(o -> seen.add(o.getId()));
+        third.content().forEach(o -> seen.add(o.getId()));
+        assertEquals(5, seen.stream().distinct().count());
+        assertTrue(seen.containsAll(createdIds));
+
+        assertEquals(first.content().stream().map(OrderEntity::getId).toList(),
+                back.content().stream().map(OrderEntity::getId).toList());
+        assertNull(back.prev());
+    }
 }
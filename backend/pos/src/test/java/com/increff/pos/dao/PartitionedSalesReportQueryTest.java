@@ -0,0 +1,132 @@
+package com.increff.pos.dao;
+
+import com.increff.pos.model.internal.SalesReportRow;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class PartitionedSalesReportQueryTest {
+
+    private static final ZoneId IST = ZoneId.of("Asia/Kolkata");
+
+    private final ReportDao reportDao = mock(ReportDao.class);
+    private final PartitionedSalesReportQuery query = new PartitionedSalesReportQuery(reportDao,
+            mock(PlatformTransactionManager.class), 2, 14, 92);
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        query.shutdown();
+    }
+
+    @Test
+    void should_run_short_ranges_as_single_query() {
+        // Arrange
+        ZonedDateTime start = ZonedDateTime.of(2024, 1, 1, 0, 0, 0, 0, IST);
+        ZonedDateTime end = ZonedDateTime.of(2024, 1, 7, 23, 59, 59, 0, IST);
+        List<SalesReportRow> rows = List.of(new SalesReportRow("Pen", 1, new BigDecimal("10.00")));
+        when(reportDao.selectAllSalesReport(start, end, 1)).thenReturn(rows);
+
+        // Act
+        List<SalesReportRow> result = query.selectAll(start, end, 1);
+
+        // Assert
+        assertSame(rows, result);
+        verify(reportDao, never()).selectSalesRows(any(), any(), any());
+    }
+
+    @Test
+    void should_not_fan_out_from_inside_a_caller_transaction() {
+        // Arrange
+        ZonedDateTime start = ZonedDateTime.of(2024, 1, 1, 0, 0, 0, 0, IST);
+        ZonedDateTime end = ZonedDateTime.of(2024, 3, 1, 0, 0, 0, 0, IST);
+        when(reportDao.selectAllSalesReport(start, end, 1)).thenReturn(List.of());
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        // Act
+        try {
+            query.selectAll(start, end, 1);
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+
+        // Assert
+        verify(reportDao).selectAllSalesReport(start, end, 1);
+        verify(reportDao, never()).selectSalesRows(any(), any(), any());
+    }
+
+    @Test
+    void should_merge_weekly_partitions_by_product_and_sort_by_revenue() {
+        // Arrange
+        ZonedDateTime start = ZonedDateTime.of(2024, 1, 1, 0, 0, 0, 0, IST);
+        ZonedDateTime end = ZonedDateTime.of(2024, 1, 31, 0, 0, 0, 0, IST).minusNanos(1);
+        when(reportDao.selectSalesRows(any(), any(), isNull())).thenReturn(
+                List.of(new SalesReportRow(1, "Pen", 1L, new BigDecimal("10.00"))));
+        when(reportDao.selectSalesRows(start, LocalDate.of(2024, 1, 8).atStartOfDay(IST), null)).thenReturn(
+                List.of(new SalesReportRow(2, "Book", 1L, new BigDecimal("100.00"))));
+
+        // Act
+        List<SalesReportRow> result = query.selectAll(start, end, null);
+
+        // Assert
+        verify(reportDao, times(5)).selectSalesRows(any(), any(), isNull());
+        verify(reportDao).selectSalesRows(LocalDate.of(2024, 1, 29).atStartOfDay(IST), end.plusNanos(1), null);
+        verify(reportDao, never()).selectAllSalesReport(any(), any(), any());
+        assertEquals(2, result.size());
+        assertEquals("Book", result.get(0).getProductName());
+        assertEquals("Pen", result.get(1).getProductName());
+        assertEquals(4, result.get(1).getQuantitySold());
+        assertEquals(new BigDecimal("40.00"), result.get(1).getRevenue());
+    }
+
+    @Test
+    void should_fail_instead_of_truncating_quantity_that_overflows_an_int() {
+        // Arrange
+        ZonedDateTime start = ZonedDateTime.of(2024, 1, 1, 0, 0, 0, 0, IST);
+        ZonedDateTime end = ZonedDateTime.of(2024, 1, 31, 0, 0, 0, 0, IST);
+        when(reportDao.selectSalesRows(any(), any(), isNull())).thenReturn(
+                List.of(new SalesReportRow(1, "Pen", (long) Integer.MAX_VALUE, new BigDecimal("10.00"))));
+
+        // Act & Assert
+        assertThrows(ArithmeticException.class, () -> query.selectAll(start, end, null));
+    }
+
+    @Test
+    void should_use_monthly_partitions_for_long_ranges() {
+        // Arrange
+        ZonedDateTime start = ZonedDateTime.of(2024, 1, 15, 0, 0, 0, 0, IST);
+        ZonedDateTime end = ZonedDateTime.of(2024, 6, 30, 23, 59, 59, 0, IST);
+        when(reportDao.selectSalesRows(any(), any(), any())).thenReturn(List.of());
+
+        // Act
+        query.selectAll(start, end, 3);
+
+        // Assert
+        verify(reportDao, times(6)).selectSalesRows(any(), any(), eq(3));
+        verify(reportDao).selectSalesRows(start, LocalDate.of(2024, 2, 1).atStartOfDay(IST), 3);
+    }
+
+    @Test
+    void should_propagate_partition_failure() {
+        // Arrange
+        ZonedDateTime start = ZonedDateTime.of(2024, 1, 1, 0, 0, 0, 0, IST);
+        ZonedDateTime end = ZonedDateTime.of(2024, 2, 1, 0, 0, 0, 0, IST);
+        when(reportDao.selectSalesRows(any(), any(), any())).thenThrow(new IllegalStateException("boom"));
+
+        // Act
+        IllegalStateException ex = assertThrows(IllegalStateException.class, () -> query.selectAll(start, end, 1));
+
+        // Assert
+        assertEquals("boom", ex.getMessage());
+    }
+}
@@ -0,0 +1,62 @@
+package com.increff.pos.dao;
+
+import com.increff.pos.entity.ClientEntity;
+import com.increff.pos.entity.ProductEntity;
+import com.increff.pos.model.internal.KeysetPage;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+@ActiveProfiles("test")
+class ProductDaoSearchIntegrationTest {
+
+    @Autowired
+    private ProductDao productDao;
+
+    @Autowired
+    private ClientDao clientDao;
+
+    @Test
+    void testKeysetSearchSkipsDisabledClientsInsideTheQuery() {
+        String suffix = String.valueOf(System.nanoTime());
+        ClientEntity enabledClient = createClient("Enabled Client " + suffix, true);
+        ClientEntity disabledClient = createClient("Disabled Client " + suffix, false);
+
+        createProduct(disabledClient, "keyset-" + suffix, "KS-D1-" + suffix);
+        createProduct(disabledClient, "keyset-" + suffix, "KS-D2-" + suffix);
+        ProductEntity first = createProduct(enabledClient, "keyset-" + suffix, "KS-E1-" + suffix);
+        ProductEntity second = createProduct(enabledClient, "keyset-" + suffix, "KS-E2-" + suffix);
+
+        KeysetPage<ProductEntity> page = productDao.selectKeysetByFilters(null, null, "keyset-" + suffix, null, 2);
+
+        assertEquals(2, page.content().size());
+        assertTrue(page.content().stream().allMatch(p -> p.getClientId().equals(enabledClient.getId())));
+        assertTrue(page.content().stream().anyMatch(p -> p.getId().equals(first.getId())));
+        assertTrue(page.content().stream().anyMatch(p -> p.getId().equals(second.getId())));
+        assertNull(page.next());
+    }
+
+    private ClientEntity createClient(String name, boolean enabled) {
+        ClientEntity client = new ClientEntity();
+        client.setClientName(name);
+        client.setEnabled(enabled);
+        return clientDao.save(client);
+    }
+
+    private ProductEntity createProduct(ClientEntity client, String name, String barcode) {
+        ProductEntity product = new ProductEntity();
+        product.setProductName(name);
+        product.setMrp(new BigDecimal("10.00"));
+        product.setClientId(client.getId());
+        product.setBarcode(barcode);
+        return productDao.save(product);
+    }
+}
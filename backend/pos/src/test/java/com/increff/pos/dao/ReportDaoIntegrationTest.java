@@ -10,9 +10,6 @@ import com.increff.pos.model.internal.SalesReportRow;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -77,14 +74,12 @@ class ReportDaoIntegrationTest {
 
         ZonedDateTime startDate = ZonedDateTime.now().minusDays(1);
         ZonedDateTime endDate = ZonedDateTime.now().plusDays(1);
-        Pageable pageable = PageRequest.of(0, 10);
 
-        Page<SalesReportRow> report = reportDao.selectByFiltersSalesPage(startDate, endDate, null, pageable);
+        List<SalesReportRow> report = reportDao.selectAllSalesReport(startDate, endDate, null);
 
-        assertEquals(1, report.getTotalElements());
-        assertEquals(1, report.getContent().size());
+        assertEquals(1, report.size());
 
-        SalesReportRow row = report.getContent().get(0);
+        SalesReportRow row = report.get(0);
         assertEquals("Test Product", row.getProductName());
         assertEquals(5, row.getQuantitySold());
         assertEquals(new BigDecimal("400.00"), row.getRevenue());
@@ -96,17 +91,15 @@ class ReportDaoIntegrationTest {
 
         ZonedDateTime startDate = ZonedDateTime.now().minusDays(1);
         ZonedDateTime endDate = ZonedDateTime.now().plusDays(1);
-        Pageable pageable = PageRequest.of(0, 10);
 
         List<ClientEntity> clients = clientDao.selectAll();
         Integer clientId = clients.get(0).getId();
 
-        Page<SalesReportRow> report = reportDao.selectByFiltersSalesPage(startDate, endDate, clientId, pageable);
+        List<SalesReportRow> report = reportDao.selectAllSalesReport(startDate, endDate, clientId);
 
-        assertEquals(1, report.getTotalElements());
-        assertEquals(1, report.getContent().size());
+        assertEquals(1, report.size());
 
-        SalesReportRow row = report.getContent().get(0);
+        SalesReportRow row = report.get(0);
         assertEquals("Test Product", row.getProductName());
         assertEquals(5, row.getQuantitySold());
         assertEquals(new BigDecimal("400.00"), row.getRevenue());
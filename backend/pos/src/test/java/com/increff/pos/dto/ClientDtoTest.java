@@ -7,6 +7,7 @@ import com.increff.pos.model.data.PagedResponse;
 import com.increff.pos.model.form.ClientForm;
 import com.increff.pos.model.form.ClientSearchForm;
 import com.increff.pos.model.form.ClientToggleForm;
+import com.increff.pos.model.domain.PaginationMode;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -205,7 +206,7 @@ class ClientDtoTest {
         ClientEntity entity = createClientEntity(1, "Test Client", true);
         Page<ClientEntity> page = new PageImpl<>(List.of(entity));
 
-        when(clientApi.getClientsList(any(), any(), any())).thenReturn(page);
+        when(clientApi.getClientsList(any(), any(), any(), eq(PaginationMode.OFFSET))).thenReturn(page);
 
         // Act
         PagedResponse<ClientData> result = clientDto.listClients(form);
@@ -216,7 +217,7 @@ class ClientDtoTest {
         assertEquals(1, result.getTotal());
         assertEquals("Test Client", result.getData().get(0).getClientName());
         assertTrue(result.getData().get(0).getEnabled());
-        verify(clientApi).getClientsList(any(), any(), any());
+        verify(clientApi).getClientsList(any(), any(), any(), eq(PaginationMode.OFFSET));
     }
 
     private com.increff.pos.entity.ClientEntity createClientEntity(Integer id, String name, Boolean enabled) {
@@ -1,17 +1,21 @@
 package com.increff.pos.dto;
 
+import com.increff.pos.model.domain.InvoiceJobStatus;
 import com.increff.pos.model.domain.OrderStatus;
-import com.increff.pos.entity.InvoiceEntity;
+import com.increff.pos.entity.InvoiceJobEntity;
 import com.increff.pos.exception.ApiException;
-import com.increff.pos.model.data.InvoiceClientForm;
-import com.increff.pos.model.data.InvoiceSummaryData;
+import com.increff.pos.exception.ApiStatus;
+import com.increff.pos.model.data.InvoiceJobData;
+import com.increff.pos.model.data.OrderBatchData;
 import com.increff.pos.model.data.OrderData;
 import com.increff.pos.model.data.OrderItemData;
 import com.increff.pos.model.data.OrderPageData;
-import com.increff.pos.model.form.InvoicePdfData;
+import com.increff.pos.model.form.OrderBatchForm;
 import com.increff.pos.model.form.OrderForm;
 import com.increff.pos.model.form.OrderItemForm;
 import com.increff.pos.model.form.OrderPageForm;
+import com.increff.pos.model.internal.OrderBatchResult;
+import com.increff.pos.model.domain.PaginationMode;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -34,7 +38,16 @@ class OrderDtoTest {
     private com.increff.pos.flow.OrderFlow orderFlow;
 
     @Mock
-    private com.increff.pos.client.InvoiceClient invoiceClient;
+    private com.increff.pos.flow.OrderBatchFlow orderBatchFlow;
+
+    @Mock
+    private com.increff.pos.flow.InvoiceJobFlow invoiceJobFlow;
+
+    @Mock
+    private com.increff.pos.worker.InvoiceWorker invoiceWorker;
+
+    @Mock
+    private com.increff.pos.idempotency.IdempotencyStore idempotencyStore;
 
     @Mock
     private com.increff.pos.api.OrderItemApi orderItemApi;
@@ -165,7 +178,8 @@ class OrderDtoTest {
         com.increff.pos.entity.OrderEntity order = createOrderEntity(1, OrderStatus.CREATED);
         Page<com.increff.pos.entity.OrderEntity> orderPage = new PageImpl<>(Arrays.asList(order));
         
-        when(orderApi.search(eq(OrderStatus.CREATED), isNull(), isNull(), isNull(), eq(0), eq(10)))
+        when(orderApi.search(eq(OrderStatus.CREATED), isNull(), isNull(), isNull(), eq(0), eq(10),
+                eq(PaginationMode.OFFSET)))
             .thenReturn(orderPage);
 
         // Act
@@ -178,7 +192,8 @@ class OrderDtoTest {
         assertEquals(1, result.getTotalElements());
         assertEquals(1, result.getContent().size());
         assertEquals(OrderStatus.CREATED, result.getContent().get(0).getStatus());
-        verify(orderApi, times(1)).search(eq(OrderStatus.CREATED), isNull(), isNull(), isNull(), eq(0), eq(10));
+        verify(orderApi, times(1)).search(eq(OrderStatus.CREATED), isNull(), isNull(), isNull(), eq(0), eq(10),
+                eq(PaginationMode.OFFSET));
     }
 
     @Test
@@ -191,7 +206,7 @@ class OrderDtoTest {
         ApiException exception = assertThrows(ApiException.class, () -> orderDto.getOrders(form));
         assertEquals("BAD_REQUEST", exception.getStatus().name());
         assertTrue(exception.getMessage().contains("Invalid date format"));
-        verify(orderApi, never()).search(any(), any(), any(), any(), anyInt(), anyInt());
+        verify(orderApi, never()).search(any(), any(), any(), any(), anyInt(), anyInt(), any());
     }
 
     @Test
@@ -227,29 +242,101 @@ class OrderDtoTest {
     }
 
     @Test
-    void testGenerateInvoice() {
+    void testGenerateInvoice_enqueuesJobAndSubmitsToWorker() {
         // Arrange
         Integer orderId = 1;
-        InvoiceClientForm invoiceClientData = new InvoiceClientForm();
-        InvoicePdfData invoicePdfForm = new InvoicePdfData();
-        invoicePdfForm.setBase64Pdf("base64pdfcontent");
-        
-        InvoiceEntity invoiceEntity = new InvoiceEntity();
-        invoiceEntity.setOrderId(orderId);
-        invoiceEntity.setFilePath("/path/to/invoice.pdf");
+        InvoiceJobEntity job = new InvoiceJobEntity();
+        job.setId(7);
+        job.setOrderId(orderId);
+        job.setStatus(InvoiceJobStatus.QUEUED);
+        job.setAttempts(0);
 
-        when(orderFlow.buildInvoiceForm(orderId)).thenReturn(invoiceClientData);
-        when(invoiceClient.generate(invoiceClientData)).thenReturn(invoicePdfForm);
-        when(orderFlow.saveInvoice(eq(orderId), any())).thenReturn(invoiceEntity);
+        when(invoiceJobFlow.enqueue(orderId)).thenReturn(job);
 
         // Act
-        InvoiceSummaryData result = orderDto.generateInvoice(orderId);
+        InvoiceJobData result = orderDto.generateInvoice(orderId);
 
         // Assert
-        assertNotNull(result);
-        verify(orderFlow).buildInvoiceForm(orderId);
-        verify(invoiceClient).generate(invoiceClientData);
-        verify(orderFlow).saveInvoice(eq(orderId), any());
+        assertEquals(7, result.getJobId());
+        assertEquals(orderId, result.getOrderId());
+        assertEquals(InvoiceJobStatus.QUEUED, result.getStatus());
+        verify(invoiceWorker).submit(7);
+        verify(orderFlow, never()).saveInvoice(any(), any());
+    }
+
+    @Test
+    void createOrder_withIdempotencyKey_returnsOrderRecordedForKey() {
+        // Arrange
+        OrderForm form = new OrderForm();
+        OrderItemForm itemForm = new OrderItemForm();
+        itemForm.setProductId(1);
+        itemForm.setQuantity(2);
+        itemForm.setSellingPrice(new BigDecimal("10.990"));
+        form.setItems(Arrays.asList(itemForm));
+
+        when(idempotencyStore.execute(eq("order"), eq("retry-1"), eq("1:2:10.99"), any())).thenReturn(5);
+        when(orderApi.getCheckById(5)).thenReturn(createOrderEntity(5, OrderStatus.CREATED));
+
+        // Act
+        OrderData result = orderDto.create(form, "retry-1");
+
+        // Assert
+        assertEquals(5, result.getOrderId());
+        verify(orderFlow, never()).createOrder(any());
+    }
+
+    @Test
+    void testGenerateInvoice_withIdempotencyKey_returnsRecordedJob() {
+        // Arrange
+        InvoiceJobEntity job = new InvoiceJobEntity();
+        job.setId(7);
+        job.setOrderId(1);
+        job.setStatus(InvoiceJobStatus.COMPLETED);
+        job.setAttempts(1);
+
+        when(idempotencyStore.execute(eq("invoice"), eq("retry-1"), eq("1"), any())).thenReturn(7);
+        when(invoiceJobFlow.getJob(7)).thenReturn(job);
+
+        // Act
+        InvoiceJobData result = orderDto.generateInvoice(1, "retry-1");
+
+        // Assert
+        assertEquals(7, result.getJobId());
+        assertEquals(InvoiceJobStatus.COMPLETED, result.getStatus());
+        verify(invoiceJobFlow, never()).enqueue(any());
+    }
+
+    @Test
+    void testGenerateInvoice_notCreated_doesNotSubmit() {
+        // Arrange
+        when(invoiceJobFlow.enqueue(1)).thenThrow(new ApiException(ApiStatus.BAD_REQUEST,
+                "Only CREATED orders can be invoiced"));
+
+        // Act & Assert
+        ApiException exception = assertThrows(ApiException.class, () -> orderDto.generateInvoice(1));
+        assertEquals(ApiStatus.BAD_REQUEST, exception.getStatus());
+        verify(invoiceWorker, never()).submit(any());
+    }
+
+    @Test
+    void testGetInvoiceJob_returnsStatus() {
+        // Arrange
+        InvoiceJobEntity job = new InvoiceJobEntity();
+        job.setId(7);
+        job.setOrderId(1);
+        job.setStatus(InvoiceJobStatus.FAILED);
+        job.setAttempts(1);
+        job.setErrorMessage("Invoice service returned null response");
+
+        when(invoiceJobFlow.getJob(7)).thenReturn(job);
+
+        // Act
+        InvoiceJobData result = orderDto.getInvoiceJob(7);
+
+        // Assert
+        assertEquals(InvoiceJobStatus.FAILED, result.getStatus());
+        assertEquals(1, result.getAttempts());
+        assertEquals("Invoice service returned null response", result.getErrorMessage());
     }
 
     @Test
@@ -277,6 +364,51 @@ class OrderDtoTest {
         verify(orderFlow, never()).downloadInvoice(any());
     }
 
+    @Test
+    void createBatch_mixedOrders_reportsResultPerOrder() {
+        // Arrange
+        OrderForm valid = new OrderForm();
+        OrderItemForm itemForm = new OrderItemForm();
+        itemForm.setProductId(1);
+        itemForm.setQuantity(2);
+        itemForm.setSellingPrice(new BigDecimal("10.00"));
+        valid.setItems(List.of(itemForm));
+
+        OrderForm invalid = new OrderForm();
+        invalid.setItems(List.of());
+
+        OrderBatchForm form = new OrderBatchForm();
+        form.setOrders(List.of(invalid, valid));
+
+        com.increff.pos.entity.OrderEntity savedOrder = createOrderEntity(7, OrderStatus.CREATED);
+        when(orderBatchFlow.createOrders(any())).thenReturn(List.of(OrderBatchResult.success(1, savedOrder)));
+
+        // Act
+        OrderBatchData result = orderDto.createBatch(form);
+
+        // Assert
+        assertEquals(2, result.getTotal());
+        assertEquals(1, result.getSucceeded());
+        assertEquals(1, result.getFailed());
+        assertFalse(result.getResults().get(0).getSuccess());
+        assertEquals("BAD_REQUEST", result.getResults().get(0).getStatus());
+        assertTrue(result.getResults().get(1).getSuccess());
+        assertEquals(7, result.getResults().get(1).getOrder().getOrderId());
+        verify(orderBatchFlow).createOrders(argThat(map -> map.size() == 1 && map.containsKey(1)));
+    }
+
+    @Test
+    void createBatch_emptyBatch_throwsException() {
+        // Arrange
+        OrderBatchForm form = new OrderBatchForm();
+        form.setOrders(List.of());
+
+        // Act & Assert
+        ApiException exception = assertThrows(ApiException.class, () -> orderDto.createBatch(form));
+        assertEquals("BAD_REQUEST", exception.getStatus().name());
+        verify(orderBatchFlow, never()).createOrders(any());
+    }
+
     private com.increff.pos.entity.OrderEntity createOrderEntity(Integer id, OrderStatus status) {
         com.increff.pos.entity.OrderEntity order = new com.increff.pos.entity.OrderEntity();
         order.setId(id);
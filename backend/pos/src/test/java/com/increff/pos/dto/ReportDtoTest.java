@@ -2,11 +2,10 @@ package com.increff.pos.dto;
 
 import com.increff.pos.api.DaySalesApi;
 import com.increff.pos.api.ReportApi;
-import com.increff.pos.entity.DaySalesEntity;
+import com.increff.pos.export.ExportFormat;
 import com.increff.pos.model.data.DaySalesData;
 import com.increff.pos.model.data.DaySalesPageData;
 import com.increff.pos.model.data.SalesReportPageData;
-import com.increff.pos.model.data.SalesReportRowData;
 import com.increff.pos.model.form.DaySalesReportForm;
 import com.increff.pos.model.form.SalesReportForm;
 import com.increff.pos.model.internal.SalesReportRow;
@@ -19,13 +18,19 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.ZonedDateTime;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -49,11 +54,9 @@ class ReportDtoTest {
         form.setPage(0);
         form.setPageSize(10);
 
-        DaySalesEntity entity = new DaySalesEntity();
-        entity.setDate(LocalDate.of(2024, 1, 15));
-        entity.setTotalRevenue(BigDecimal.valueOf(1000.0));
+        DaySalesData data = new DaySalesData(LocalDate.of(2024, 1, 15), 1, 1, BigDecimal.valueOf(1000.0));
 
-        Page<DaySalesEntity> pageResult = new PageImpl<>(List.of(entity));
+        Page<DaySalesData> pageResult = new PageImpl<>(List.of(data));
 
         when(daySalesApi.findByDateRange(any(), any(), any())).thenReturn(pageResult);
 
@@ -97,53 +100,77 @@ class ReportDtoTest {
     }
 
     @Test
-    void should_get_all_sales_report_for_export() {
+    void should_stream_sales_report_export_as_csv() throws Exception {
         // Arrange
         SalesReportForm form = new SalesReportForm();
         form.setStartDate(ZonedDateTime.parse("2024-01-01T00:00:00Z"));
         form.setEndDate(ZonedDateTime.parse("2024-01-31T23:59:59Z"));
         form.setClientId(1);
 
-        SalesReportRow row = new SalesReportRow("Test Product", 10, BigDecimal.valueOf(1000.0));
-        List<SalesReportRow> allRows = List.of(row);
+        doAnswer(invocation -> {
+            Consumer<SalesReportRow> action = invocation.getArgument(3);
+            action.accept(new SalesReportRow("Test Product", 10, BigDecimal.valueOf(1000.0)));
+            action.accept(new SalesReportRow("Soap, Large", 2, new BigDecimal("19.995")));
+            return null;
+        }).when(reportApi).forEachSalesRow(any(), any(), eq(1), any());
 
-        when(reportApi.getAllSalesReport(any(), any(), any())).thenReturn(allRows);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
 
         // Act
-        List<SalesReportRowData> result = reportDto.getAllSalesReportForExport(form);
+        reportDto.exportSalesReport(form, ExportFormat.CSV, false).writeTo(outputStream);
 
         // Assert
-        assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals("Test Product", result.get(0).getProductName());
-        assertEquals(10, result.get(0).getQuantitySold());
-        assertEquals(1000.0, result.get(0).getRevenue());
-        verify(reportApi).getAllSalesReport(any(), any(), any());
+        assertEquals("Product Name,Quantity Sold,Revenue\nTest Product,10,1000.00\n\"Soap, Large\",2,20.00\n",
+                outputStream.toString(StandardCharsets.UTF_8));
+        verify(reportApi).forEachSalesRow(any(), any(), eq(1), any());
     }
 
     @Test
-    void should_get_all_day_sales_for_export() {
+    void should_stream_day_sales_export_as_csv() throws Exception {
         // Arrange
         DaySalesReportForm form = new DaySalesReportForm();
         form.setStartDate(LocalDate.of(2024, 1, 1));
         form.setEndDate(LocalDate.of(2024, 1, 31));
 
-        DaySalesEntity entity = new DaySalesEntity();
-        entity.setDate(LocalDate.of(2024, 1, 15));
-        entity.setTotalRevenue(BigDecimal.valueOf(1000.0));
+        doAnswer(invocation -> {
+            Consumer<DaySalesData> action = invocation.getArgument(2);
+            action.accept(new DaySalesData(LocalDate.of(2024, 1, 15), 3, 7, new BigDecimal("1000.00")));
+            return null;
+        }).when(daySalesApi).forEachByDateRange(any(), any(), any());
 
-        List<DaySalesEntity> entities = List.of(entity);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // Act
+        reportDto.exportDaySales(form, ExportFormat.CSV, false).writeTo(outputStream);
 
-        when(daySalesApi.findAllByDateRange(any(), any())).thenReturn(entities);
+        // Assert
+        assertEquals("Date,Invoiced Orders Count,Invoiced Items Count,Total Revenue\n2024-01-15,3,7,1000.00\n",
+                outputStream.toString(StandardCharsets.UTF_8));
+        verify(daySalesApi).forEachByDateRange(eq(LocalDate.of(2024, 1, 1)), eq(LocalDate.of(2024, 1, 31)), any());
+    }
+
+    @Test
+    void should_stream_gzipped_ndjson_day_sales_export() throws Exception {
+        // Arrange
+        DaySalesReportForm form = new DaySalesReportForm();
+        form.setStartDate(LocalDate.of(2024, 1, 1));
+        form.setEndDate(LocalDate.of(2024, 1, 31));
+
+        doAnswer(invocation -> {
+            Consumer<DaySalesData> action = invocation.getArgument(2);
+            action.accept(new DaySalesData(LocalDate.of(2024, 1, 15), 3, 7, new BigDecimal("1000")));
+            return null;
+        }).when(daySalesApi).forEachByDateRange(any(), any(), any());
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
 
         // Act
-        List<DaySalesData> result = reportDto.getAllDaySalesForExport(form);
+        reportDto.exportDaySales(form, ExportFormat.NDJSON, true).writeTo(outputStream);
 
         // Assert
-        assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(LocalDate.of(2024, 1, 15), result.get(0).getDate());
-        assertEquals(BigDecimal.valueOf(1000.0), result.get(0).getTotalRevenue());
-        verify(daySalesApi).findAllByDateRange(any(), any());
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(outputStream.toByteArray()))) {
+            assertEquals("{\"date\":\"2024-01-15\",\"invoicedOrdersCount\":3,\"invoicedItemsCount\":7,"
+                    + "\"totalRevenue\":1000.00}\n", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
     }
 }
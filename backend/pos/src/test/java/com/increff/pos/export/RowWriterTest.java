@@ -0,0 +1,72 @@
+package com.increff.pos.export;
+
+import com.increff.pos.exception.ApiException;
+import com.increff.pos.exception.ApiStatus;
+import com.increff.pos.model.internal.SalesReportRow;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RowWriterTest {
+
+    @Test
+    void should_replace_separators_inside_tsv_text() {
+        // Arrange
+        StringWriter buffer = new StringWriter();
+        RowWriter out = ExportFormat.TSV.open(buffer);
+
+        // Act
+        out.header(ReportSchemas.SALES);
+        out.row(ReportSchemas.SALES, new SalesReportRow("Soap\tLarge\nPack", 2, new BigDecimal("19.995")));
+        out.flush();
+
+        // Assert
+        assertEquals("Product Name\tQuantity Sold\tRevenue\nSoap Large Pack\t2\t20.00\n", buffer.toString());
+    }
+
+    @Test
+    void should_escape_ndjson_strings() {
+        // Arrange
+        StringWriter buffer = new StringWriter();
+        RowWriter out = ExportFormat.NDJSON.open(buffer);
+
+        // Act
+        out.header(ReportSchemas.SALES);
+        out.row(ReportSchemas.SALES, new SalesReportRow("12\" \\ pipe\u0001", null, null));
+        out.flush();
+
+        // Assert
+        assertEquals("{\"productName\":\"12\\\" \\\\ pipe\\u0001\",\"quantitySold\":0,\"revenue\":0.00}\n",
+                buffer.toString());
+    }
+
+    @Test
+    void should_negotiate_format_from_parameter_then_accept_header() {
+        // Act & Assert
+        assertEquals(ExportFormat.TSV, ExportFormat.resolve("TSV", "application/x-ndjson"));
+        assertEquals(ExportFormat.NDJSON, ExportFormat.resolve(null, "*/*, application/x-ndjson"));
+        assertEquals(ExportFormat.CSV, ExportFormat.resolve(null, "application/json"));
+        assertEquals(ExportFormat.CSV, ExportFormat.resolve(null, null));
+        assertThrows(ApiException.class, () -> ExportFormat.resolve("xml", null));
+    }
+
+    @Test
+    void should_prefer_higher_quality_then_more_specific_accept_entries() {
+        // Act & Assert
+        assertEquals(ExportFormat.NDJSON, ExportFormat.resolve(null, "text/csv;q=0.5, application/x-ndjson"));
+        assertEquals(ExportFormat.TSV, ExportFormat.resolve(null, "text/*;q=0.9, text/tab-separated-values"));
+        assertEquals(ExportFormat.CSV, ExportFormat.resolve(null, "application/x-ndjson;q=0, text/csv;q=0.1"));
+    }
+
+    @Test
+    void should_reject_malformed_accept_header_as_bad_request() {
+        // Act
+        ApiException exception = assertThrows(ApiException.class, () -> ExportFormat.resolve(null, "csv"));
+
+        // Assert
+        assertEquals(ApiStatus.BAD_REQUEST, exception.getStatus());
+    }
+}
@@ -0,0 +1,104 @@
+package com.increff.pos.flow;
+
+import com.increff.pos.api.ClientApi;
+import com.increff.pos.api.InventoryApi;
+import com.increff.pos.api.ProductApi;
+import com.increff.pos.entity.ClientEntity;
+import com.increff.pos.entity.ProductEntity;
+import com.increff.pos.model.data.InventoryData;
+import com.increff.pos.model.data.TsvUploadError;
+import com.increff.pos.model.data.TsvUploadResult;
+import com.increff.pos.model.internal.InventoryUploadModel;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "app.inventory.upload.chunk-size=2")
+@ActiveProfiles("test")
+class InventoryBatchFlowIntegrationTest {
+
+    @Autowired
+    private InventoryBatchFlow inventoryBatchFlow;
+
+    @Autowired
+    private InventoryApi inventoryApi;
+
+    @Autowired
+    private ClientApi clientApi;
+
+    @Autowired
+    private ProductApi productApi;
+
+    @Test
+    void testUpsertFromUploadCommitsEachChunkAndReportsFileRows() {
+        String suffix = String.valueOf(System.nanoTime());
+        ClientEntity client = createClient("inventory-upload-" + suffix);
+        ClientEntity disabled = createClient("inventory-disabled-" + suffix);
+        ProductEntity pen = createProduct(client, "pen", "pen-" + suffix);
+        ProductEntity book = createProduct(client, "book", "book-" + suffix);
+        ProductEntity cup = createProduct(client, "cup", "cup-" + suffix);
+        ProductEntity mug = createProduct(client, "mug", "mug-" + suffix);
+        createProduct(disabled, "ink", "ink-" + suffix);
+        clientApi.toggle(disabled.getId(), false);
+
+        List<int[]> commits = new ArrayList<>();
+        TsvUploadResult<InventoryData> result = inventoryBatchFlow.upsertFromUpload(List.of(
+                upload("pen-" + suffix, 5),
+                upload("missing-" + suffix, 1),
+                upload("book-" + suffix, -1),
+                upload("cup-" + suffix, 7),
+                upload("ink-" + suffix, 3),
+                upload("mug-" + suffix, 9)
+        ), (from, to, succeeded, errors) -> commits.add(new int[]{from, to, succeeded, errors.size()}));
+
+        assertFalse(result.isSuccess());
+        List<TsvUploadError> errors = result.getErrors();
+        assertEquals(List.of(3, 4, 5, 6), errors.stream().map(TsvUploadError::getRowNumber).toList());
+        assertEquals("Product not found: missing-" + suffix, errors.get(0).getErrorMessage());
+        assertEquals("Quantity cannot be negative", errors.get(1).getErrorMessage());
+        assertEquals("Quantity cannot be negative", errors.get(2).getErrorMessage());
+        assertEquals("Client is disabled", errors.get(3).getErrorMessage());
+
+        assertEquals(3, commits.size());
+        assertArrayEquals(new int[]{0, 1, 1, 1}, commits.get(0));
+        assertArrayEquals(new int[]{2, 3, 0, 2}, commits.get(1));
+        assertArrayEquals(new int[]{4, 5, 1, 1}, commits.get(2));
+
+        Map<Integer, Integer> quantities = inventoryApi.getAvailableQuantities(
+                List.of(pen.getId(), book.getId(), cup.getId(), mug.getId()));
+        assertEquals(5, quantities.get(pen.getId()));
+        assertFalse(quantities.containsKey(book.getId()));
+        assertFalse(quantities.containsKey(cup.getId()));
+        assertEquals(9, quantities.get(mug.getId()));
+    }
+
+    private ClientEntity createClient(String name) {
+        ClientEntity client = new ClientEntity();
+        client.setClientName(name);
+        return clientApi.createClient(client);
+    }
+
+    private ProductEntity createProduct(ClientEntity client, String name, String barcode) {
+        ProductEntity product = new ProductEntity();
+        product.setClientId(client.getId());
+        product.setProductName(name);
+        product.setBarcode(barcode);
+        product.setMrp(new BigDecimal("10.00"));
+        return productApi.createProduct(product);
+    }
+
+    private InventoryUploadModel upload(String barcode, int quantity) {
+        InventoryUploadModel upload = new InventoryUploadModel();
+        upload.setBarcode(barcode);
+        upload.setQuantity(quantity);
+        return upload;
+    }
+}
@@ -0,0 +1,158 @@
+package com.increff.pos.flow;
+
+import com.increff.pos.api.ClientApi;
+import com.increff.pos.api.InventoryApi;
+import com.increff.pos.api.OrderApi;
+import com.increff.pos.api.ProductApi;
+import com.increff.pos.client.InvoiceClient;
+import com.increff.pos.entity.ClientEntity;
+import com.increff.pos.entity.InventoryEntity;
+import com.increff.pos.entity.InvoiceJobEntity;
+import com.increff.pos.entity.OrderEntity;
+import com.increff.pos.entity.OrderItemEntity;
+import com.increff.pos.entity.ProductEntity;
+import com.increff.pos.exception.ApiException;
+import com.increff.pos.exception.ApiStatus;
+import com.increff.pos.model.domain.InvoiceJobStatus;
+import com.increff.pos.model.domain.OrderStatus;
+import com.increff.pos.model.form.InvoicePdfData;
+import com.increff.pos.worker.InvoiceWorker;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class InvoiceJobFlowIntegrationTest {
+
+    @MockitoBean
+    private InvoiceClient invoiceClient;
+
+    @Autowired
+    private InvoiceJobFlow invoiceJobFlow;
+
+    @Autowired
+    private InvoiceWorker invoiceWorker;
+
+    @Autowired
+    private OrderFlow orderFlow;
+
+    @Autowired
+    private OrderApi orderApi;
+
+    @Autowired
+    private ClientApi clientApi;
+
+    @Autowired
+    private ProductApi productApi;
+
+    @Autowired
+    private InventoryApi inventoryApi;
+
+    @Test
+    void testEnqueueRunAndCompleteInvoicesOrder() throws InterruptedException {
+        InvoicePdfData pdf = new InvoicePdfData();
+        pdf.setBase64Pdf(Base64.getEncoder().encodeToString("%PDF".getBytes(StandardCharsets.UTF_8)));
+        when(invoiceClient.generate(any())).thenReturn(pdf);
+        OrderEntity order = createOrder();
+
+        InvoiceJobEntity job = invoiceJobFlow.enqueue(order.getId());
+        assertEquals(job.getId(), invoiceJobFlow.enqueue(order.getId()).getId());
+        invoiceWorker.submit(job.getId());
+
+        InvoiceJobEntity finished = awaitFinished(job.getId());
+        assertEquals(InvoiceJobStatus.COMPLETED, finished.getStatus());
+        assertNull(finished.getActiveOrderId());
+        assertEquals(OrderStatus.INVOICED, orderApi.getCheckById(order.getId()).getStatus());
+    }
+
+    @Test
+    void testCancelIsRejectedWhileInvoiceJobIsQueued() {
+        OrderEntity order = createOrder();
+        InvoiceJobEntity job = invoiceJobFlow.enqueue(order.getId());
+
+        ApiException ex = assertThrows(ApiException.class, () -> orderFlow.cancelOrder(order.getId()));
+
+        assertEquals(ApiStatus.CONFLICT, ex.getStatus());
+        assertEquals(OrderStatus.CREATED, orderApi.getCheckById(order.getId()).getStatus());
+        assertEquals(InvoiceJobStatus.QUEUED, invoiceJobFlow.getJob(job.getId()).getStatus());
+    }
+
+    @Test
+    void testCompleteFailsJobWhenOrderIsNoLongerCreated() {
+        OrderEntity order = createOrder();
+        InvoiceJobEntity job = invoiceJobFlow.enqueue(order.getId());
+        invoiceJobFlow.start(job.getId());
+        orderApi.updateStatus(orderApi.getCheckById(order.getId()), OrderStatus.CANCELLED);
+
+        invoiceJobFlow.complete(job.getId(), "invoices/unused.pdf");
+
+        InvoiceJobEntity failed = invoiceJobFlow.getJob(job.getId());
+        assertEquals(InvoiceJobStatus.FAILED, failed.getStatus());
+        assertEquals("Order is CANCELLED, invoice not recorded", failed.getErrorMessage());
+        assertEquals(OrderStatus.CANCELLED, orderApi.getCheckById(order.getId()).getStatus());
+    }
+
+    @Test
+    void testRequeueUnfinishedReclaimsOnlyStaleRunningJobs() {
+        OrderEntity order = createOrder();
+        InvoiceJobEntity job = invoiceJobFlow.enqueue(order.getId());
+        invoiceJobFlow.start(job.getId());
+
+        List<Integer> fresh = invoiceJobFlow.requeueUnfinished(ZonedDateTime.now(ZoneId.of("UTC")).minusMinutes(10));
+        assertFalse(fresh.contains(job.getId()));
+        assertEquals(InvoiceJobStatus.RUNNING, invoiceJobFlow.getJob(job.getId()).getStatus());
+
+        List<Integer> stale = invoiceJobFlow.requeueUnfinished(ZonedDateTime.now(ZoneId.of("UTC")).plusMinutes(1));
+        assertTrue(stale.contains(job.getId()));
+        assertEquals(InvoiceJobStatus.QUEUED, invoiceJobFlow.getJob(job.getId()).getStatus());
+    }
+
+    private InvoiceJobEntity awaitFinished(Integer jobId) throws InterruptedException {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            InvoiceJobEntity job = invoiceJobFlow.getJob(jobId);
+            if (job.getStatus() == InvoiceJobStatus.COMPLETED || job.getStatus() == InvoiceJobStatus.FAILED) {
+                return job;
+            }
+            Thread.sleep(50);
+        }
+        return fail("Invoice job " + jobId + " did not finish");
+    }
+
+    private OrderEntity createOrder() {
+        ClientEntity client = new ClientEntity();
+        client.setClientName("invoice-client-" + System.nanoTime());
+        client = clientApi.createClient(client);
+
+        ProductEntity product = new ProductEntity();
+        product.setClientId(client.getId());
+        product.setProductName("invoice-product");
+        product.setBarcode("invoice-" + System.nanoTime());
+        product.setMrp(BigDecimal.valueOf(100));
+        product = productApi.createProduct(product);
+
+        InventoryEntity inventory = new InventoryEntity();
+        inventory.setProductId(product.getId());
+        inventory.setQuantity(10);
+        inventoryApi.upsert(inventory);
+
+        OrderItemEntity item = new OrderItemEntity();
+        item.setProductId(product.getId());
+        item.setQuantity(2);
+        item.setSellingPrice(BigDecimal.valueOf(50));
+        return orderFlow.createOrder(List.of(item));
+    }
+}
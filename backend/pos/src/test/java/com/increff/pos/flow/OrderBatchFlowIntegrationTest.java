@@ -0,0 +1,90 @@
+package com.increff.pos.flow;
+
+import com.increff.pos.api.ClientApi;
+import com.increff.pos.api.InventoryApi;
+import com.increff.pos.api.ProductApi;
+import com.increff.pos.entity.ClientEntity;
+import com.increff.pos.entity.InventoryEntity;
+import com.increff.pos.entity.OrderItemEntity;
+import com.increff.pos.entity.ProductEntity;
+import com.increff.pos.exception.ApiStatus;
+import com.increff.pos.model.internal.OrderBatchResult;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderBatchFlowIntegrationTest {
+
+    @Autowired
+    private OrderBatchFlow orderBatchFlow;
+
+    @Autowired
+    private ClientApi clientApi;
+
+    @Autowired
+    private ProductApi productApi;
+
+    @Autowired
+    private InventoryApi inventoryApi;
+
+    @Test
+    void testCreateOrdersReservesStockAcrossBatch() {
+        Integer productId = createProductWithStock(5);
+
+        Map<Integer, List<OrderItemEntity>> batch = new LinkedHashMap<>();
+        batch.put(0, List.of(item(productId, 3)));
+        batch.put(1, List.of(item(productId, 3)));
+        batch.put(2, List.of(item(productId, 2)));
+        batch.put(3, List.of(item(Integer.MAX_VALUE, 1)));
+
+        List<OrderBatchResult> results = orderBatchFlow.createOrders(batch).stream()
+                .sorted(Comparator.comparingInt(OrderBatchResult::index)).toList();
+
+        assertEquals(4, results.size());
+        assertNotNull(results.get(0).order());
+        assertEquals(ApiStatus.CONFLICT, results.get(1).error().getStatus());
+        assertNotNull(results.get(2).order());
+        assertEquals(ApiStatus.NOT_FOUND, results.get(3).error().getStatus());
+        assertNotEquals(results.get(0).order().getId(), results.get(2).order().getId());
+        assertEquals(0, inventoryApi.getAvailableQuantities(List.of(productId)).get(productId));
+    }
+
+    private Integer createProductWithStock(int quantity) {
+        ClientEntity client = new ClientEntity();
+        client.setClientName("batch-client-" + System.nanoTime());
+        client = clientApi.createClient(client);
+
+        ProductEntity product = new ProductEntity();
+        product.setClientId(client.getId());
+        product.setProductName("batch-product");
+        product.setBarcode("batch-" + System.nanoTime());
+        product.setMrp(BigDecimal.valueOf(100));
+        product = productApi.createProduct(product);
+
+        InventoryEntity inventory = new InventoryEntity();
+        inventory.setProductId(product.getId());
+        inventory.setQuantity(quantity);
+        inventoryApi.upsert(inventory);
+
+        return product.getId();
+    }
+
+    private OrderItemEntity item(Integer productId, int quantity) {
+        OrderItemEntity item = new OrderItemEntity();
+        item.setProductId(productId);
+        item.setQuantity(quantity);
+        item.setSellingPrice(BigDecimal.valueOf(50));
+        return item;
+    }
+}
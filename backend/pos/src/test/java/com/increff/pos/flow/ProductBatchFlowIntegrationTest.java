@@ -0,0 +1,84 @@
+package com.increff.pos.flow;
+
+import com.increff.pos.api.ClientApi;
+import com.increff.pos.api.ProductApi;
+import com.increff.pos.entity.ClientEntity;
+import com.increff.pos.entity.ProductEntity;
+import com.increff.pos.exception.ApiStatus;
+import com.increff.pos.model.internal.ProductBatchResult;
+import com.increff.pos.model.internal.ProductUploadModel;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ProductBatchFlowIntegrationTest {
+
+    @Autowired
+    private ProductBatchFlow productBatchFlow;
+
+    @Autowired
+    private ClientApi clientApi;
+
+    @Autowired
+    private ProductApi productApi;
+
+    @Test
+    void testCreateProductsValidatesAgainstDatabaseAndFile() {
+        String suffix = String.valueOf(System.nanoTime());
+        ClientEntity client = createClient("upload-client-" + suffix);
+        ClientEntity disabled = createClient("upload-disabled-" + suffix);
+        clientApi.toggle(disabled.getId(), false);
+
+        ProductEntity existing = new ProductEntity();
+        existing.setClientId(client.getId());
+        existing.setProductName("existing");
+        existing.setBarcode("existing-" + suffix);
+        existing.setMrp(new BigDecimal("50.00"));
+        productApi.createProduct(existing);
+
+        List<ProductBatchResult> results = productBatchFlow.createProducts(List.of(
+                upload(client.getClientName(), "pen", "pen-" + suffix, "10"),
+                upload("missing-" + suffix, "pen", "missing-" + suffix, "10"),
+                upload(client.getClientName(), "pencil", "existing-" + suffix, "5"),
+                upload(client.getClientName(), "pen", "pen-copy-" + suffix, "10.00"),
+                upload(client.getClientName(), "existing", "existing-copy-" + suffix, "50"),
+                upload(disabled.getClientName(), "pen", "disabled-" + suffix, "10"),
+                upload(client.getClientName(), "book", "book-" + suffix, "99.50")
+        )).stream().sorted(Comparator.comparingInt(ProductBatchResult::index)).toList();
+
+        assertEquals(7, results.size());
+        assertNotNull(results.get(0).product().getId());
+        assertEquals(ApiStatus.NOT_FOUND, results.get(1).error().getStatus());
+        assertEquals("Barcode already exists", results.get(2).error().getMessage());
+        assertEquals("Duplicate product combination in file", results.get(3).error().getMessage());
+        assertEquals("Product already exists for this client with same name and MRP",
+                results.get(4).error().getMessage());
+        assertEquals(ApiStatus.FORBIDDEN, results.get(5).error().getStatus());
+        assertNotNull(results.get(6).product().getId());
+        assertEquals(2, productApi.getByBarcodes(List.of("pen-" + suffix, "book-" + suffix)).size());
+    }
+
+    private ClientEntity createClient(String name) {
+        ClientEntity client = new ClientEntity();
+        client.setClientName(name);
+        return clientApi.createClient(client);
+    }
+
+    private ProductUploadModel upload(String clientName, String productName, String barcode, String mrp) {
+        ProductUploadModel upload = new ProductUploadModel();
+        upload.setClientName(clientName);
+        upload.setProductName(productName);
+        upload.setBarcode(barcode);
+        upload.setMrp(new BigDecimal(mrp));
+        return upload;
+    }
+}
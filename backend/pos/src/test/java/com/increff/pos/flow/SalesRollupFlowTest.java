@@ -0,0 +1,139 @@
+package com.increff.pos.flow;
+
+import com.increff.pos.api.ProductDaySalesApi;
+import com.increff.pos.entity.SalesRollupWatermarkEntity;
+import com.increff.pos.exception.ApiException;
+import com.increff.pos.exception.ApiStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SalesRollupFlowTest {
+
+    private static final LocalDate TODAY = LocalDate.now(ZoneId.of("Asia/Kolkata"));
+
+    @Mock
+    private ProductDaySalesApi productDaySalesApi;
+
+    @InjectMocks
+    private SalesRollupFlow salesRollupFlow;
+
+    @Test
+    void should_rebuild_each_day_and_set_watermark_on_first_backfill() {
+        // Arrange
+        LocalDate from = TODAY.minusDays(3);
+        LocalDate to = TODAY.minusDays(1);
+        when(productDaySalesApi.getWatermark()).thenReturn(Optional.empty());
+
+        // Act
+        salesRollupFlow.backfill(from, to);
+
+        // Assert
+        verify(productDaySalesApi).rebuildForDate(from);
+        verify(productDaySalesApi).rebuildForDate(from.plusDays(1));
+        verify(productDaySalesApi).rebuildForDate(to);
+        verify(productDaySalesApi).updateWatermark(from, to);
+    }
+
+    @Test
+    void should_widen_watermark_when_backfilling_an_adjacent_range() {
+        // Arrange
+        when(productDaySalesApi.getWatermark()).thenReturn(Optional.of(
+                watermark(TODAY.minusDays(5), TODAY.minusDays(2))));
+
+        // Act
+        salesRollupFlow.backfill(TODAY.minusDays(7), TODAY.minusDays(6));
+
+        // Assert
+        verify(productDaySalesApi, times(2)).rebuildForDate(any());
+        verify(productDaySalesApi).updateWatermark(TODAY.minusDays(7), TODAY.minusDays(2));
+    }
+
+    @Test
+    void should_reject_backfill_that_leaves_a_gap() {
+        // Arrange
+        when(productDaySalesApi.getWatermark()).thenReturn(Optional.of(
+                watermark(TODAY.minusDays(5), TODAY.minusDays(2))));
+
+        // Act
+        ApiException exception = assertThrows(ApiException.class,
+                () -> salesRollupFlow.backfill(TODAY.minusDays(10), TODAY.minusDays(7)));
+
+        // Assert
+        assertEquals(ApiStatus.BAD_REQUEST, exception.getStatus());
+        verify(productDaySalesApi, never()).rebuildForDate(any());
+        verify(productDaySalesApi, never()).updateWatermark(any(), any());
+    }
+
+    @Test
+    void should_reject_backfill_of_a_day_that_is_not_closed() {
+        // Act
+        ApiException exception = assertThrows(ApiException.class,
+                () -> salesRollupFlow.backfill(TODAY.minusDays(1), TODAY));
+
+        // Assert
+        assertEquals(ApiStatus.BAD_REQUEST, exception.getStatus());
+        verifyNoInteractions(productDaySalesApi);
+    }
+
+    @Test
+    void should_close_only_the_days_after_the_watermark() {
+        // Arrange
+        when(productDaySalesApi.getWatermark()).thenReturn(Optional.of(
+                watermark(TODAY.minusDays(10), TODAY.minusDays(3))));
+
+        // Act
+        salesRollupFlow.closeThrough(TODAY.minusDays(1));
+
+        // Assert
+        verify(productDaySalesApi).rebuildForDate(TODAY.minusDays(2));
+        verify(productDaySalesApi).rebuildForDate(TODAY.minusDays(1));
+        verify(productDaySalesApi, times(2)).rebuildForDate(any());
+        verify(productDaySalesApi).updateWatermark(TODAY.minusDays(10), TODAY.minusDays(1));
+    }
+
+    @Test
+    void should_do_nothing_when_already_closed_through_date() {
+        // Arrange
+        when(productDaySalesApi.getWatermark()).thenReturn(Optional.of(
+                watermark(TODAY.minusDays(10), TODAY.minusDays(1))));
+
+        // Act
+        salesRollupFlow.closeThrough(TODAY.minusDays(1));
+
+        // Assert
+        verify(productDaySalesApi, never()).rebuildForDate(any());
+        verify(productDaySalesApi, never()).updateWatermark(any(), any());
+    }
+
+    @Test
+    void should_start_watermark_at_closed_day_when_none_exists() {
+        // Arrange
+        when(productDaySalesApi.getWatermark()).thenReturn(Optional.empty());
+
+        // Act
+        salesRollupFlow.closeThrough(TODAY.minusDays(1));
+
+        // Assert
+        verify(productDaySalesApi).rebuildForDate(TODAY.minusDays(1));
+        verify(productDaySalesApi).updateWatermark(TODAY.minusDays(1), TODAY.minusDays(1));
+    }
+
+    private SalesRollupWatermarkEntity watermark(LocalDate first, LocalDate last) {
+        SalesRollupWatermarkEntity watermark = new SalesRollupWatermarkEntity();
+        watermark.setFirstDate(first);
+        watermark.setLastDate(last);
+        return watermark;
+    }
+}
@@ -0,0 +1,119 @@
+package com.increff.pos.flow;
+
+import com.increff.pos.api.ClientApi;
+import com.increff.pos.api.ProductApi;
+import com.increff.pos.api.UploadJobApi;
+import com.increff.pos.entity.ClientEntity;
+import com.increff.pos.entity.ProductEntity;
+import com.increff.pos.entity.UploadJobEntity;
+import com.increff.pos.entity.UploadJobErrorEntity;
+import com.increff.pos.model.domain.UploadJobStatus;
+import com.increff.pos.model.domain.UploadJobType;
+import com.increff.pos.model.internal.SpooledUpload;
+import com.increff.pos.util.ConversionUtil;
+import com.increff.pos.worker.UploadJobWorker;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.spy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class UploadJobFlowIntegrationTest {
+
+    @TempDir
+    Path directory;
+
+    @Autowired
+    private UploadJobFlow uploadJobFlow;
+
+    @Autowired
+    private UploadJobApi uploadJobApi;
+
+    @Autowired
+    private ClientApi clientApi;
+
+    @Autowired
+    private ProductApi productApi;
+
+    @Test
+    void testResumeAfterFailedChunkContinuesFromLastCommittedRow() throws Exception {
+        String suffix = String.valueOf(System.nanoTime());
+        ClientEntity client = new ClientEntity();
+        client.setClientName("upload-job-" + suffix);
+        client = clientApi.createClient(client);
+
+        ProductEntity existing = new ProductEntity();
+        existing.setClientId(client.getId());
+        existing.setProductName("existing");
+        existing.setBarcode("mug-" + suffix);
+        existing.setMrp(new BigDecimal("15.00"));
+        productApi.createProduct(existing);
+
+        String clientName = client.getClientName();
+        Path file = Files.writeString(directory.resolve("products.tsv"), "productName\tmrp\tclientName\tbarcode\n"
+                + "pen\t10\t" + clientName + "\tpen-" + suffix + "\n"
+                + "book\t20\t" + clientName + "\tbook-" + suffix + "\n"
+                + "cup\t30\t" + clientName + "\tcup-" + suffix + "\n"
+                + "mug\t40\t" + clientName + "\tmug-" + suffix + "\n"
+                + "ink\t50\t" + clientName + "\tpen-" + suffix + "\n");
+        UploadJobEntity job = uploadJobApi.create(ConversionUtil.createUploadJob(UploadJobType.PRODUCT,
+                "products.tsv", new SpooledUpload(file, 5)));
+
+        UploadJobFlow flow = spy(uploadJobFlow);
+        doCallRealMethod().doThrow(new IllegalStateException("simulated crash"))
+                .when(flow).processProductChunk(any(), any(), any());
+        UploadJobWorker worker = new UploadJobWorker(uploadJobApi, flow, 1, directory.toString(), 2, 100, 72);
+        try {
+            worker.submit(job.getId());
+            UploadJobEntity failed = awaitStatus(job.getId(), UploadJobStatus.FAILED);
+            assertEquals("simulated crash", failed.getErrorMessage());
+            assertEquals(3, failed.getLastCommittedRow());
+            assertEquals(2, failed.getProcessedRows());
+            assertEquals(2, failed.getSuccessRows());
+            assertEquals(2, productApi.getByBarcodes(List.of("pen-" + suffix, "book-" + suffix, "cup-" + suffix))
+                    .size());
+
+            doCallRealMethod().when(flow).processProductChunk(any(), any(), any());
+            uploadJobApi.resume(job.getId());
+            worker.submit(job.getId());
+            UploadJobEntity completed = awaitStatus(job.getId(), UploadJobStatus.COMPLETED);
+
+            assertEquals(6, completed.getLastCommittedRow());
+            assertEquals(5, completed.getProcessedRows());
+            assertEquals(3, completed.getSuccessRows());
+            assertEquals(2, completed.getErrorRows());
+            List<UploadJobErrorEntity> errors = uploadJobApi.getErrors(job.getId());
+            assertEquals(List.of(5, 6), errors.stream().map(UploadJobErrorEntity::getFileRow).toList());
+            assertEquals("Barcode already exists", errors.get(0).getMessage());
+            assertEquals("Duplicate barcode in file", errors.get(1).getMessage());
+            assertEquals(3, productApi.getByBarcodes(List.of("pen-" + suffix, "book-" + suffix, "cup-" + suffix))
+                    .size());
+            assertFalse(Files.exists(file));
+        } finally {
+            worker.shutdown();
+        }
+    }
+
+    private UploadJobEntity awaitStatus(Integer jobId, UploadJobStatus status) throws InterruptedException {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            UploadJobEntity job = uploadJobApi.getCheckById(jobId);
+            if (job.getStatus() == status) {
+                return job;
+            }
+            Thread.sleep(50);
+        }
+        return fail("Upload job " + jobId + " did not reach " + status);
+    }
+}
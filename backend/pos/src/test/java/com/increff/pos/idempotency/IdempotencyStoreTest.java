@@ -0,0 +1,167 @@
+package com.increff.pos.idempotency;
+
+import com.increff.pos.dao.IdempotencyKeyDao;
+import com.increff.pos.entity.IdempotencyKeyEntity;
+import com.increff.pos.exception.ApiException;
+import com.increff.pos.exception.ApiStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class IdempotencyStoreTest {
+
+    private IdempotencyKeyDao idempotencyKeyDao;
+    private IdempotencyStore store;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyKeyDao = mock(IdempotencyKeyDao.class);
+        when(idempotencyKeyDao.selectByKey(anyString())).thenReturn(Optional.empty());
+        store = newStore();
+    }
+
+    @Test
+    void should_replay_original_result_without_rerunning_action() {
+        // Arrange
+        AtomicInteger runs = new AtomicInteger();
+
+        // Act
+        Integer first = store.execute("order", "key-1", "1:2:10", () -> 100 + runs.incrementAndGet());
+        Integer second = store.execute("order", "key-1", "1:2:10", () -> 100 + runs.incrementAndGet());
+
+        // Assert
+        assertEquals(101, first);
+        assertEquals(101, second);
+        assertEquals(1, runs.get());
+        verify(idempotencyKeyDao, times(1)).save(any(IdempotencyKeyEntity.class));
+    }
+
+    @Test
+    void should_reject_key_reused_for_different_request() {
+        // Arrange
+        store.execute("order", "key-1", "1:2:10", () -> 101);
+
+        // Act & Assert
+        ApiException exception = assertThrows(ApiException.class,
+                () -> store.execute("order", "key-1", "1:3:10", () -> 102));
+        assertEquals(ApiStatus.CONFLICT, exception.getStatus());
+    }
+
+    @Test
+    void should_run_action_directly_without_key() {
+        // Arrange
+        AtomicInteger runs = new AtomicInteger();
+
+        // Act
+        store.execute("order", null, "1:2:10", runs::incrementAndGet);
+        store.execute("order", null, "1:2:10", runs::incrementAndGet);
+
+        // Assert
+        assertEquals(2, runs.get());
+        verifyNoInteractions(idempotencyKeyDao);
+    }
+
+    @Test
+    void should_allow_retry_after_failed_execution() {
+        // Arrange
+        ApiException failure = new ApiException(ApiStatus.CONFLICT, "Insufficient inventory");
+
+        // Act
+        assertThrows(ApiException.class, () -> store.execute("order", "key-1", "1:2:10", () -> {
+            throw failure;
+        }));
+        Integer retried = store.execute("order", "key-1", "1:2:10", () -> 101);
+
+        // Assert
+        assertEquals(101, retried);
+    }
+
+    @Test
+    void should_replay_persisted_key_after_restart() throws Exception {
+        // Arrange
+        IdempotencyKeyEntity persisted = new IdempotencyKeyEntity();
+        persisted.setId("invoice:key-1");
+        persisted.setFingerprint(sha256("7"));
+        persisted.setResourceId(55);
+        persisted.setExpiresAt(ZonedDateTime.now(ZoneId.of("UTC")).plusHours(1));
+        when(idempotencyKeyDao.selectByKey("invoice:key-1")).thenReturn(Optional.of(persisted));
+        AtomicInteger runs = new AtomicInteger();
+
+        // Act
+        Integer result = newStore().execute("invoice", "key-1", "7", runs::incrementAndGet);
+
+        // Assert
+        assertEquals(55, result);
+        assertEquals(0, runs.get());
+    }
+
+    @Test
+    void should_coalesce_concurrent_duplicates_onto_first_execution() throws Exception {
+        // Arrange
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        // Act
+        Future<Integer> first = executor.submit(() -> store.execute("order", "key-1", "1:2:10", () -> {
+            runs.incrementAndGet();
+            entered.countDown();
+            awaitQuietly(release);
+            return 101;
+        }));
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        Future<Integer> second = executor.submit(() -> store.execute("order", "key-1", "1:2:10", () -> {
+            runs.incrementAndGet();
+            return 102;
+        }));
+        Future<Integer> third = executor.submit(() -> store.execute("order", "key-1", "1:2:10", () -> {
+            runs.incrementAndGet();
+            return 103;
+        }));
+        Thread.sleep(50);
+        release.countDown();
+
+        // Assert
+        assertEquals(101, first.get(5, TimeUnit.SECONDS));
+        assertEquals(101, second.get(5, TimeUnit.SECONDS));
+        assertEquals(101, third.get(5, TimeUnit.SECONDS));
+        assertEquals(1, runs.get());
+        executor.shutdownNow();
+    }
+
+    private IdempotencyStore newStore() {
+        return new IdempotencyStore(idempotencyKeyDao, mock(PlatformTransactionManager.class), 100, 24);
+    }
+
+    private static String sha256(String value) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                .digest(value.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.increff.pos.idgen;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SegmentIdAllocatorTest {
+
+    private SegmentIdAllocator allocator;
+
+    @AfterEach
+    void tearDown() {
+        if (allocator != null) {
+            allocator.shutdown();
+        }
+    }
+
+    @Test
+    void should_hand_out_sequential_ids_from_leased_segment() {
+        // Arrange
+        InMemorySegmentSource source = new InMemorySegmentSource();
+        allocator = new SegmentIdAllocator(source, 10, 0);
+
+        // Act
+        long first = allocator.next("order_id");
+        long second = allocator.next("order_id");
+
+        // Assert
+        assertEquals(1L, first);
+        assertEquals(2L, second);
+        assertEquals(1, source.leaseCount.get());
+    }
+
+    @Test
+    void should_lease_new_segment_when_current_is_exhausted() {
+        // Arrange
+        InMemorySegmentSource source = new InMemorySegmentSource();
+        allocator = new SegmentIdAllocator(source, 3, 0);
+
+        // Act
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            ids.add(allocator.next("order_id"));
+        }
+
+        // Assert
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L), ids);
+        assertEquals(3, source.leaseCount.get());
+    }
+
+    @Test
+    void should_keep_segments_independent_per_name() {
+        // Arrange
+        InMemorySegmentSource source = new InMemorySegmentSource();
+        allocator = new SegmentIdAllocator(source, 5, 0);
+
+        // Act
+        long orderId = allocator.next("order_id");
+        long productId = allocator.next("product_id");
+
+        // Assert
+        assertEquals(1L, orderId);
+        assertEquals(1L, productId);
+    }
+
+    @Test
+    void should_prefetch_next_segment_before_current_is_exhausted() throws Exception {
+        // Arrange
+        InMemorySegmentSource source = new InMemorySegmentSource();
+        allocator = new SegmentIdAllocator(source, 10, 50);
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            allocator.next("order_id");
+        }
+        long waitUntil = System.currentTimeMillis() + 2000;
+        while (source.leaseCount.get() < 2 && System.currentTimeMillis() < waitUntil) {
+            Thread.sleep(10);
+        }
+
+        // Assert
+        assertEquals(2, source.leaseCount.get());
+        assertEquals(6L, allocator.next("order_id"));
+    }
+
+    @Test
+    void should_fall_back_to_inline_lease_when_prefetch_fails() {
+        // Arrange
+        InMemorySegmentSource source = new InMemorySegmentSource();
+        source.failOnLease = 2;
+        allocator = new SegmentIdAllocator(source, 2, 100);
+
+        // Act
+        long first = allocator.next("order_id");
+        long second = allocator.next("order_id");
+        long third = allocator.next("order_id");
+
+        // Assert
+        assertEquals(1L, first);
+        assertEquals(2L, second);
+        assertEquals(3L, third);
+    }
+
+    @Test
+    void should_not_hand_out_duplicate_ids_under_concurrency() throws Exception {
+        // Arrange
+        InMemorySegmentSource source = new InMemorySegmentSource();
+        allocator = new SegmentIdAllocator(source, 50, 20);
+        int threads = 8;
+        int idsPerThread = 2000;
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // Act
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < idsPerThread; i++) {
+                    ids.add(allocator.next("order_id"));
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // Assert
+        assertEquals(threads * idsPerThread, ids.size());
+    }
+
+    @Test
+    void should_reject_non_positive_segment_size() {
+        InMemorySegmentSource source = new InMemorySegmentSource();
+        assertThrows(IllegalArgumentException.class, () -> new SegmentIdAllocator(source, 0, 20));
+    }
+
+    private static class InMemorySegmentSource implements IdSegmentSource {
+
+        private final Map<String, Long> values = new ConcurrentHashMap<>();
+        private final AtomicInteger leaseCount = new AtomicInteger();
+        private final AtomicInteger attempts = new AtomicInteger();
+        private volatile int failOnLease;
+
+        @Override
+        public synchronized IdSegment lease(String segmentName, int size) {
+            if (attempts.incrementAndGet() == failOnLease) {
+                throw new IllegalStateException("lease failed");
+            }
+            leaseCount.incrementAndGet();
+            long start = values.getOrDefault(segmentName, 1L);
+            values.put(segmentName, start + size);
+            return new IdSegment(start, start + size);
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package com.increff.pos.ledger;
+
+import com.increff.pos.dao.InventoryDao;
+import com.increff.pos.dao.InventoryLedgerCheckpointDao;
+import com.increff.pos.dao.OrderDao;
+import com.increff.pos.entity.InventoryEntity;
+import com.increff.pos.exception.ApiException;
+import com.increff.pos.exception.ApiStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+class StockLedgerTest {
+
+    private static final Integer ORDER_ID = 7;
+
+    @TempDir
+    Path tempDir;
+
+    private InventoryDao inventoryDao;
+    private InventoryLedgerCheckpointDao checkpointDao;
+    private OrderDao orderDao;
+    private StockLedger ledger;
+
+    @BeforeEach
+    void setUp() {
+        inventoryDao = mock(InventoryDao.class);
+        checkpointDao = mock(InventoryLedgerCheckpointDao.class);
+        orderDao = mock(OrderDao.class);
+        when(inventoryDao.applyDeltas(anyMap())).thenReturn(List.of());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (ledger != null) {
+            ledger.shutdown();
+        }
+    }
+
+    @Test
+    void should_never_oversell_under_concurrent_reservations() throws Exception {
+        // Arrange
+        stubInventory(inventory(1, 100));
+        ledger = newLedger();
+        int threads = 16;
+        int attemptsPerThread = 50;
+        AtomicInteger reserved = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // Act
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int quantity = t % 3 + 1;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < attemptsPerThread; i++) {
+                    if (ledger.reserve(ORDER_ID, Map.of(1, quantity)) == null) {
+                        reserved.addAndGet(quantity);
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        ledger.flush();
+
+        // Assert
+        assertTrue(reserved.get() <= 100);
+        assertEquals(100 - reserved.get(), ledger.getAvailable(1));
+        assertEquals(-reserved.get(), sumFlushedDeltas(1));
+    }
+
+    @Test
+    void should_journal_every_concurrent_reservation_before_returning() throws Exception {
+        // Arrange
+        stubInventory(inventory(1, 1000));
+        ledger = newLedger();
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+
+        // Act
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 20; i++) {
+                    ledger.reserve(ORDER_ID, Map.of(1, 1));
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        ReservationJournal reader = new ReservationJournal(tempDir.resolve("ledger.journal"));
+        List<JournalEntry> entries = reader.readAll();
+        reader.close();
+
+        // Assert
+        assertEquals(threads * 20, entries.size());
+        assertEquals(threads * 20L, entries.getLast().sequence());
+        assertEquals(-threads * 20, entries.stream().mapToInt(entry -> entry.deltas().get(1)).sum());
+    }
+
+    @Test
+    void should_reserve_all_products_or_none() {
+        // Arrange
+        stubInventory(inventory(1, 10), inventory(2, 1));
+        ledger = newLedger();
+
+        // Act
+        Integer failed = ledger.reserve(ORDER_ID, Map.of(1, 5, 2, 2));
+
+        // Assert
+        assertEquals(2, failed);
+        assertEquals(10, ledger.getAvailable(1));
+        assertEquals(1, ledger.getAvailable(2));
+    }
+
+    @Test
+    void should_restore_stock_on_release() {
+        // Arrange
+        stubInventory(inventory(1, 10));
+        ledger = newLedger();
+        ledger.reserve(ORDER_ID, Map.of(1, 4));
+
+        // Act
+        ledger.release(ORDER_ID, Map.of(1, 4));
+        ledger.flush();
+
+        // Assert
+        assertEquals(10, ledger.getAvailable(1));
+        verify(inventoryDao).applyDeltas(Map.of());
+    }
+
+    @Test
+    void should_throw_not_found_when_inventory_missing() {
+        // Arrange
+        stubInventory();
+        ledger = newLedger();
+
+        // Act
+        ApiException exception = assertThrows(ApiException.class, () -> ledger.reserve(ORDER_ID, Map.of(1, 1)));
+
+        // Assert
+        assertEquals(ApiStatus.NOT_FOUND, exception.getStatus());
+    }
+
+    @Test
+    void should_replay_unflushed_journal_entries_on_startup() {
+        // Arrange
+        Path journalPath = tempDir.resolve("ledger.journal");
+        ReservationJournal journal = new ReservationJournal(journalPath);
+        journal.append(1, null, Map.of(1, -2));
+        journal.append(2, null, Map.of(1, -3, 2, -1));
+        journal.append(3, null, Map.of(1, 1));
+        journal.close();
+        when(checkpointDao.selectLastSequence()).thenReturn(1L);
+
+        // Act
+        ledger = new StockLedger(inventoryDao, checkpointDao, orderDao, mock(PlatformTransactionManager.class),
+                journalPath.toString());
+        ledger.recover();
+
+        // Assert
+        verify(inventoryDao).applyDeltas(Map.of(1, -2, 2, -1));
+        verify(checkpointDao).updateLastSequence(3L);
+    }
+
+    @Test
+    void should_drop_reservations_of_orders_that_never_committed_on_replay() {
+        // Arrange
+        Path journalPath = tempDir.resolve("ledger.journal");
+        ReservationJournal journal = new ReservationJournal(journalPath);
+        journal.append(1, 10, Map.of(1, -2));
+        journal.append(2, 11, Map.of(1, -3));
+        journal.append(3, 12, Map.of(2, -1));
+        journal.append(4, 12, Map.of(2, 1));
+        journal.append(5, 13, Map.of(1, 4));
+        journal.close();
+        when(checkpointDao.selectLastSequence()).thenReturn(0L);
+        when(orderDao.selectExistingIds(anyList())).thenReturn(List.of(10));
+
+        // Act
+        ledger = new StockLedger(inventoryDao, checkpointDao, orderDao, mock(PlatformTransactionManager.class),
+                journalPath.toString());
+        ledger.recover();
+
+        // Assert
+        verify(inventoryDao).applyDeltas(Map.of(1, 2));
+        verify(checkpointDao).updateLastSequence(5L);
+    }
+
+    @Test
+    void should_keep_deltas_pending_when_flush_fails() {
+        // Arrange
+        stubInventory(inventory(1, 10));
+        ledger = newLedger();
+        ledger.reserve(ORDER_ID, Map.of(1, 3));
+        when(inventoryDao.applyDeltas(anyMap())).thenThrow(new RuntimeException("db down"))
+                .thenReturn(List.of());
+
+        // Act
+        ledger.flush();
+        ledger.flush();
+
+        // Assert
+        verify(inventoryDao, times(2)).applyDeltas(Map.of(1, -3));
+        verify(checkpointDao).updateLastSequence(1L);
+    }
+
+    private StockLedger newLedger() {
+        StockLedger created = new StockLedger(inventoryDao, checkpointDao, orderDao,
+                mock(PlatformTransactionManager.class), tempDir.resolve("ledger.journal").toString());
+        created.recover();
+        return created;
+    }
+
+    @SuppressWarnings("unchecked")
+    private int sumFlushedDeltas(Integer productId) {
+        ArgumentCaptor<Map<Integer, Integer>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(inventoryDao, atLeast(0)).applyDeltas(captor.capture());
+        return captor.getAllValues().stream().mapToInt(deltas -> deltas.getOrDefault(productId, 0)).sum();
+    }
+
+    private void stubInventory(InventoryEntity... inventories) {
+        when(inventoryDao.selectByProductIds(anyList())).thenAnswer(invocation -> {
+            List<Integer> productIds = invocation.getArgument(0);
+            return List.of(inventories).stream()
+                    .filter(inventory -> productIds.contains(inventory.getProductId())).toList();
+        });
+    }
+
+    private InventoryEntity inventory(Integer productId, Integer quantity) {
+        InventoryEntity inventory = new InventoryEntity();
+        inventory.setProductId(productId);
+        inventory.setQuantity(quantity);
+        return inventory;
+    }
+}
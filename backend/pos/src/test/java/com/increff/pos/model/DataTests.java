@@ -37,11 +37,7 @@ public class DataTests {
 
     @Test
     void testDaySalesData() {
-        DaySalesData d = new DaySalesData();
-        d.setDate(LocalDate.of(2023, 1, 1));
-        d.setInvoicedOrdersCount(10);
-        d.setInvoicedItemsCount(50);
-        d.setTotalRevenue(new BigDecimal("1000.00"));
+        DaySalesData d = new DaySalesData(LocalDate.of(2023, 1, 1), 10, 50, new BigDecimal("1000.00"));
         assertEquals(LocalDate.of(2023, 1, 1), d.getDate());
         assertEquals(10, d.getInvoicedOrdersCount());
         assertEquals(50, d.getInvoicedItemsCount());
@@ -52,8 +48,7 @@ public class DataTests {
     void testDaySalesPageData() {
         DaySalesPageData d = new DaySalesPageData();
         List<DaySalesData> content = new ArrayList<>();
-        DaySalesData daySales = new DaySalesData();
-        daySales.setDate(LocalDate.of(2023, 1, 1));
+        DaySalesData daySales = new DaySalesData(LocalDate.of(2023, 1, 1), 0, 0, BigDecimal.ZERO);
         content.add(daySales);
         d.setContent(content);
         d.setPage(0);
@@ -7,6 +7,7 @@ import org.junit.jupiter.api.Assertions;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDate;
 import java.time.ZoneId;
@@ -117,4 +118,33 @@ class DailySalesSchedulerTest {
         // Assert
         verify(daySalesApi).calculateForDate(expectedDate);
     }
+
+    @Test
+    void should_reconcile_today_and_previous_days_in_ist() {
+        // Arrange
+        ReflectionTestUtils.setField(dailySalesScheduler, "reconcileDays", 2);
+        LocalDate todayIst = ZonedDateTime.now(ZoneId.of("Asia/Kolkata")).toLocalDate();
+        when(daySalesApi.reconcileForDate(any(LocalDate.class))).thenReturn(false);
+
+        // Act
+        dailySalesScheduler.reconcileRecentDays();
+
+        // Assert
+        verify(daySalesApi).reconcileForDate(todayIst);
+        verify(daySalesApi).reconcileForDate(todayIst.minusDays(1));
+        verify(daySalesApi, never()).calculateForDate(any(LocalDate.class));
+    }
+
+    @Test
+    void should_continue_reconciling_after_a_day_fails() {
+        // Arrange
+        ReflectionTestUtils.setField(dailySalesScheduler, "reconcileDays", 2);
+        LocalDate todayIst = ZonedDateTime.now(ZoneId.of("Asia/Kolkata")).toLocalDate();
+        when(daySalesApi.reconcileForDate(todayIst)).thenThrow(new RuntimeException("Database error"));
+        when(daySalesApi.reconcileForDate(todayIst.minusDays(1))).thenReturn(true);
+
+        // Act & Assert
+        Assertions.assertDoesNotThrow(() -> dailySalesScheduler.reconcileRecentDays());
+        verify(daySalesApi).reconcileForDate(todayIst.minusDays(1));
+    }
 }
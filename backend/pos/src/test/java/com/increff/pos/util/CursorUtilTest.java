@@ -0,0 +1,43 @@
+package com.increff.pos.util;
+
+import com.increff.pos.exception.ApiException;
+import com.increff.pos.exception.ApiStatus;
+import com.increff.pos.model.internal.PageCursor;
+import org.junit.jupiter.api.Test;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CursorUtilTest {
+
+    @Test
+    void should_round_trip_cursor() {
+        // Arrange
+        PageCursor cursor = new PageCursor(ZonedDateTime.of(2024, 1, 15, 10, 30, 0, 123_456_000, ZoneOffset.UTC),
+                42, true);
+
+        // Act
+        PageCursor decoded = CursorUtil.decode(CursorUtil.encode(cursor));
+
+        // Assert
+        assertEquals(cursor.createdAt().toInstant(), decoded.createdAt().toInstant());
+        assertEquals(42, decoded.id());
+        assertTrue(decoded.backward());
+    }
+
+    @Test
+    void should_return_null_for_missing_cursor() {
+        assertNull(CursorUtil.decode(null));
+        assertNull(CursorUtil.decode(" "));
+        assertNull(CursorUtil.encode(null));
+    }
+
+    @Test
+    void should_reject_malformed_cursor() {
+        // Act & Assert
+        ApiException ex = assertThrows(ApiException.class, () -> CursorUtil.decode("not-a-cursor"));
+        assertEquals(ApiStatus.BAD_REQUEST, ex.getStatus());
+    }
+}
@@ -0,0 +1,126 @@
+package com.increff.pos.util;
+
+import com.increff.pos.exception.ApiException;
+import com.increff.pos.exception.ApiStatus;
+import com.increff.pos.model.form.InventoryUploadForm;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TsvTokenizerTest {
+
+    @Test
+    void should_split_rows_and_handle_crlf_and_trailing_newline() throws IOException {
+        // Arrange
+        TsvTokenizer tokenizer = tokenizer("a\tb\r\nc\t\r\nd\n");
+
+        // Act
+        List<List<String>> rows = readAll(tokenizer);
+
+        // Assert
+        assertEquals(List.of(List.of("a", "b"), List.of("c", ""), List.of("d")), rows);
+        assertEquals(3, tokenizer.row());
+    }
+
+    @Test
+    void should_unescape_quoted_fields_with_tabs_and_newlines() throws IOException {
+        // Act
+        List<List<String>> rows = readAll(tokenizer("\"a\tb\"\t\"say \"\"hi\"\"\"\n\"line\nbreak\"\tx"));
+
+        // Assert
+        assertEquals(List.of(List.of("a\tb", "say \"hi\""), List.of("line\nbreak", "x")), rows);
+    }
+
+    @Test
+    void should_skip_byte_order_mark() throws IOException {
+        // Act
+        List<List<String>> rows = readAll(tokenizer("\uFEFFbarcode\tquantity\n"));
+
+        // Assert
+        assertEquals(List.of(List.of("barcode", "quantity")), rows);
+    }
+
+    @Test
+    void should_report_position_of_unterminated_quote() throws IOException {
+        // Arrange
+        TsvTokenizer tokenizer = tokenizer("a\tb\nc\t\"open");
+        tokenizer.next();
+
+        // Act
+        ApiException ex = assertThrows(ApiException.class, tokenizer::next);
+
+        // Assert
+        assertEquals(ApiStatus.BAD_REQUEST, ex.getStatus());
+        assertEquals("Row 2, column 2: Unterminated quoted field", ex.getMessage());
+    }
+
+    @Test
+    void should_enforce_column_and_field_limits_while_reading() {
+        // Act
+        ApiException columns = assertThrows(ApiException.class, () -> readAll(tokenizer("a\tb\tc\n", 2, 10)));
+        ApiException length = assertThrows(ApiException.class, () -> readAll(tokenizer("ok\ntoo-long", 2, 5)));
+
+        // Assert
+        assertEquals("Row 1, column 3: Row has more than 2 columns", columns.getMessage());
+        assertEquals("Row 2, column 1: Field exceeds 5 characters", length.getMessage());
+    }
+
+    @Test
+    void should_stop_parsing_once_row_cap_is_exceeded() {
+        // Arrange
+        MockMultipartFile file = new MockMultipartFile("file", "inventory.tsv", "text/tab-separated-values",
+                "barcode\tquantity\nb1\t1\nb2\t2\nb3\t3\n".getBytes(StandardCharsets.UTF_8));
+        List<Integer> seen = new ArrayList<>();
+
+        // Act
+        ApiException ex = assertThrows(ApiException.class, () -> TsvParseUtils.forEachInventoryRow(file, 2,
+                (row, form) -> seen.add(row)));
+
+        // Assert
+        assertEquals("Maximum 2 rows allowed", ex.getMessage());
+        assertEquals(List.of(2, 3), seen);
+    }
+
+    @Test
+    void should_pass_record_numbers_and_normalized_forms_to_handler() {
+        // Arrange
+        MockMultipartFile file = new MockMultipartFile("file", "inventory.tsv", "text/tab-separated-values",
+                "barcode\tquantity\r\n\" B1 \"\t5\r\n".getBytes(StandardCharsets.UTF_8));
+        List<InventoryUploadForm> forms = new ArrayList<>();
+        List<Integer> rows = new ArrayList<>();
+
+        // Act
+        TsvParseUtils.forEachInventoryRow(file, 10, (row, form) -> {
+            rows.add(row);
+            forms.add(form);
+        });
+
+        // Assert
+        assertEquals(List.of(2), rows);
+        assertEquals("b1", forms.get(0).getBarcode());
+        assertEquals(5, forms.get(0).getQuantity());
+    }
+
+    private static TsvTokenizer tokenizer(String content) {
+        return tokenizer(content, 64, 4096);
+    }
+
+    private static TsvTokenizer tokenizer(String content, int maxColumns, int maxFieldLength) {
+        return new TsvTokenizer(new StringReader(content), maxColumns, maxFieldLength);
+    }
+
+    private static List<List<String>> readAll(TsvTokenizer tokenizer) throws IOException {
+        List<List<String>> rows = new ArrayList<>();
+        for (List<String> row = tokenizer.next(); row != null; row = tokenizer.next()) {
+            rows.add(List.copyOf(row));
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,120 @@
+package com.increff.pos.worker;
+
+import com.increff.pos.api.DaySalesApi;
+import com.increff.pos.api.HourSalesApi;
+import com.increff.pos.exception.ApiException;
+import com.increff.pos.exception.ApiStatus;
+import com.increff.pos.model.domain.BackfillStatus;
+import com.increff.pos.model.internal.DaySalesBackfillProgress;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class DaySalesBackfillWorkerTest {
+
+    private final DaySalesApi daySalesApi = mock(DaySalesApi.class);
+    private final HourSalesApi hourSalesApi = mock(HourSalesApi.class);
+    private final DaySalesBackfillWorker worker = new DaySalesBackfillWorker(daySalesApi, hourSalesApi, 2, 31, 7);
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        worker.shutdown();
+    }
+
+    @Test
+    void should_reconcile_every_day_and_report_failed_days() throws InterruptedException {
+        // Arrange
+        LocalDate from = LocalDate.of(2024, 1, 1);
+        LocalDate failing = LocalDate.of(2024, 1, 3);
+        when(daySalesApi.reconcileForDate(failing)).thenThrow(new IllegalStateException("boom"));
+
+        // Act
+        worker.start(from, LocalDate.of(2024, 1, 5));
+        DaySalesBackfillProgress progress = awaitFinished();
+
+        // Assert
+        assertEquals(BackfillStatus.FAILED, progress.status());
+        assertEquals(5, progress.totalDays());
+        assertEquals(5, progress.completedDays());
+        assertEquals(List.of(failing), progress.failedDates());
+        verify(daySalesApi, times(5)).reconcileForDate(any());
+        verify(hourSalesApi, times(4)).rebuildForDate(any());
+    }
+
+    @Test
+    void should_reject_second_backfill_while_running() throws InterruptedException {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        when(daySalesApi.reconcileForDate(any())).thenAnswer(invocation -> release.await(5, TimeUnit.SECONDS));
+        worker.start(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 1));
+
+        // Act
+        ApiException ex = assertThrows(ApiException.class,
+                () -> worker.start(LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 1)));
+        release.countDown();
+
+        // Assert
+        assertEquals(ApiStatus.CONFLICT, ex.getStatus());
+        assertEquals(BackfillStatus.COMPLETED, awaitFinished().status());
+    }
+
+    @Test
+    void should_reject_range_larger_than_limit() {
+        // Act
+        ApiException ex = assertThrows(ApiException.class,
+                () -> worker.start(LocalDate.of(2023, 1, 1), LocalDate.of(2023, 3, 1)));
+
+        // Assert
+        assertEquals(ApiStatus.BAD_REQUEST, ex.getStatus());
+        verifyNoInteractions(daySalesApi);
+    }
+
+    @Test
+    void should_catch_up_days_missed_since_last_computed_date() throws InterruptedException {
+        // Arrange
+        LocalDate today = LocalDate.now(ZoneId.of("Asia/Kolkata"));
+        when(daySalesApi.getLatestDateBefore(today)).thenReturn(Optional.of(today.minusDays(4)));
+
+        // Act
+        worker.catchUp();
+        DaySalesBackfillProgress progress = awaitFinished();
+
+        // Assert
+        assertEquals(today.minusDays(3), progress.startDate());
+        assertEquals(today.minusDays(1), progress.endDate());
+        verify(daySalesApi, times(3)).reconcileForDate(any());
+    }
+
+    @Test
+    void should_skip_catch_up_when_yesterday_is_computed() {
+        // Arrange
+        LocalDate today = LocalDate.now(ZoneId.of("Asia/Kolkata"));
+        when(daySalesApi.getLatestDateBefore(today)).thenReturn(Optional.of(today.minusDays(1)));
+
+        // Act
+        worker.catchUp();
+
+        // Assert
+        assertTrue(worker.getProgress().isEmpty());
+    }
+
+    private DaySalesBackfillProgress awaitFinished() throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (System.nanoTime() < deadline) {
+            DaySalesBackfillProgress progress = worker.getProgress().orElseThrow();
+            if (progress.status() != BackfillStatus.RUNNING) return progress;
+            Thread.sleep(10);
+        }
+        return fail("Backfill did not finish");
+    }
+}
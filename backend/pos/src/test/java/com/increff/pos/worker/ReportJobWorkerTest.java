@@ -0,0 +1,162 @@
+package com.increff.pos.worker;
+
+import com.increff.pos.api.DaySalesApi;
+import com.increff.pos.api.ReportApi;
+import com.increff.pos.api.ReportJobApi;
+import com.increff.pos.entity.ReportJobEntity;
+import com.increff.pos.export.ExportFormat;
+import com.increff.pos.model.domain.ReportJobType;
+import com.increff.pos.model.internal.SalesReportRow;
+import com.increff.pos.util.ConversionUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReportJobWorkerTest {
+
+    private static final ZoneId IST = ZoneId.of("Asia/Kolkata");
+
+    @TempDir
+    Path directory;
+
+    private final ReportJobApi reportJobApi = mock(ReportJobApi.class);
+    private final ReportApi reportApi = mock(ReportApi.class);
+    private final DaySalesApi daySalesApi = mock(DaySalesApi.class);
+    private ReportJobWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        worker = new ReportJobWorker(reportJobApi, reportApi, daySalesApi, 1, directory.toString(), 7, 24, 1, 10);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        worker.shutdown();
+    }
+
+    @Test
+    void should_requeue_only_jobs_idle_longer_than_the_stale_lease() {
+        // Arrange
+        when(reportJobApi.requeueUnfinished(any())).thenReturn(List.of());
+        ZonedDateTime before = ZonedDateTime.now(ZoneId.of("UTC"));
+
+        // Act
+        worker.recover();
+
+        // Assert
+        ArgumentCaptor<ZonedDateTime> staleBefore = ArgumentCaptor.forClass(ZonedDateTime.class);
+        verify(reportJobApi).requeueUnfinished(staleBefore.capture());
+        assertFalse(staleBefore.getValue().isBefore(before.minusMinutes(10)));
+        assertTrue(staleBefore.getValue().isBefore(before.minusMinutes(9)));
+    }
+
+    @Test
+    void should_merge_weekly_partitions_and_write_report_file() throws IOException {
+        // Arrange
+        ReportJobEntity job = salesJob(ZonedDateTime.of(2024, 1, 1, 0, 0, 0, 0, IST),
+                ZonedDateTime.of(2024, 1, 20, 23, 59, 59, 0, IST));
+        when(reportJobApi.getCheckById(1)).thenReturn(job);
+        when(reportJobApi.start(1, 3)).thenReturn(true);
+        when(reportJobApi.complete(eq(1), anyString(), anyLong())).thenReturn(true);
+        when(reportApi.getSalesPartition(any(), any(), isNull())).thenReturn(
+                List.of(new SalesReportRow(10, "Pen", 2L, new BigDecimal("20.00"))));
+
+        // Act
+        worker.submit(1);
+
+        // Assert
+        ArgumentCaptor<String> path = ArgumentCaptor.forClass(String.class);
+        verify(reportJobApi, timeout(2000)).complete(eq(1), path.capture(), anyLong());
+        verify(reportApi, times(3)).getSalesPartition(any(), any(), isNull());
+        verify(reportJobApi).updateProgress(1, 3);
+        assertEquals("Product Name,Quantity Sold,Revenue\nPen,6,60.00\n",
+                Files.readString(Path.of(path.getValue())));
+        assertFalse(Files.exists(directory.resolve("report-job-1.part")));
+    }
+
+    @Test
+    void should_fail_job_when_partition_query_throws() {
+        // Arrange
+        ReportJobEntity job = salesJob(ZonedDateTime.of(2024, 1, 1, 0, 0, 0, 0, IST),
+                ZonedDateTime.of(2024, 1, 2, 0, 0, 0, 0, IST));
+        when(reportJobApi.getCheckById(1)).thenReturn(job);
+        when(reportJobApi.start(eq(1), anyInt())).thenReturn(true);
+        when(reportApi.getSalesPartition(any(), any(), isNull())).thenThrow(new IllegalStateException("boom"));
+
+        // Act
+        worker.submit(1);
+
+        // Assert
+        verify(reportJobApi, timeout(2000)).fail(1, "boom");
+        verify(reportJobApi, never()).complete(any(), any(), anyLong());
+        assertFalse(Files.exists(directory.resolve("report-job-1.part")));
+    }
+
+    @Test
+    void should_skip_job_that_is_no_longer_queued() {
+        // Arrange
+        ReportJobEntity job = salesJob(ZonedDateTime.of(2024, 1, 1, 0, 0, 0, 0, IST),
+                ZonedDateTime.of(2024, 1, 2, 0, 0, 0, 0, IST));
+        when(reportJobApi.getCheckById(1)).thenReturn(job);
+        when(reportJobApi.start(eq(1), anyInt())).thenReturn(false);
+
+        // Act
+        worker.submit(1);
+
+        // Assert
+        verify(reportJobApi, timeout(2000)).start(eq(1), anyInt());
+        verifyNoInteractions(reportApi);
+    }
+
+    @Test
+    void should_expire_old_files_and_oldest_files_over_quota() throws IOException {
+        // Arrange
+        ZonedDateTime now = ZonedDateTime.now(ZoneId.of("UTC"));
+        ReportJobEntity stale = completedJob(1, now.minusHours(30), 10);
+        ReportJobEntity oldest = completedJob(2, now.minusHours(3), 700 * 1024);
+        ReportJobEntity newest = completedJob(3, now.minusHours(1), 700 * 1024);
+        when(reportJobApi.getCompletedOldestFirst()).thenReturn(List.of(stale, oldest, newest));
+
+        // Act
+        worker.purge();
+
+        // Assert
+        verify(reportJobApi).markExpired(1);
+        verify(reportJobApi).markExpired(2);
+        verify(reportJobApi, never()).markExpired(3);
+        assertFalse(Files.exists(Path.of(stale.getFilePath())));
+        assertFalse(Files.exists(Path.of(oldest.getFilePath())));
+        assertTrue(Files.exists(Path.of(newest.getFilePath())));
+    }
+
+    private ReportJobEntity salesJob(ZonedDateTime start, ZonedDateTime end) {
+        ReportJobEntity job = ConversionUtil.createReportJob(ReportJobType.SALES, start, end, null,
+                ExportFormat.CSV, false);
+        job.setId(1);
+        return job;
+    }
+
+    private ReportJobEntity completedJob(Integer id, ZonedDateTime completedAt, long size) throws IOException {
+        Path file = Files.write(directory.resolve("report-job-" + id + ".csv"), new byte[]{1});
+        ReportJobEntity job = ConversionUtil.createReportJob(ReportJobType.SALES, completedAt, completedAt, null,
+                ExportFormat.CSV, false);
+        job.setId(id);
+        job.setFilePath(file.toString());
+        job.setFileSize(size);
+        job.setCompletedAt(completedAt);
+        return job;
+    }
+}
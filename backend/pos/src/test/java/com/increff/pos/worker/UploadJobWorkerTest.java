@@ -0,0 +1,205 @@
+package com.increff.pos.worker;
+
+import com.increff.pos.api.UploadJobApi;
+import com.increff.pos.entity.UploadJobEntity;
+import com.increff.pos.exception.ApiException;
+import com.increff.pos.flow.UploadJobFlow;
+import com.increff.pos.model.domain.UploadJobStatus;
+import com.increff.pos.model.domain.UploadJobType;
+import com.increff.pos.model.form.InventoryUploadForm;
+import com.increff.pos.model.internal.SpooledUpload;
+import com.increff.pos.model.internal.UploadJobRow;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class UploadJobWorkerTest {
+
+    @TempDir
+    Path directory;
+
+    private final UploadJobApi uploadJobApi = mock(UploadJobApi.class);
+    private final UploadJobFlow uploadJobFlow = mock(UploadJobFlow.class);
+    private UploadJobWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        worker = new UploadJobWorker(uploadJobApi, uploadJobFlow, 1, directory.toString(), 2, 100, 72, 10);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        worker.shutdown();
+    }
+
+    @Test
+    void should_requeue_only_jobs_idle_longer_than_the_stale_lease() {
+        // Arrange
+        when(uploadJobApi.requeueUnfinished(any())).thenReturn(List.of());
+        ZonedDateTime before = ZonedDateTime.now(ZoneId.of("UTC"));
+
+        // Act
+        worker.recover();
+
+        // Assert
+        ArgumentCaptor<ZonedDateTime> staleBefore = ArgumentCaptor.forClass(ZonedDateTime.class);
+        verify(uploadJobApi).requeueUnfinished(staleBefore.capture());
+        assertFalse(staleBefore.getValue().isBefore(before.minusMinutes(10)));
+        assertTrue(staleBefore.getValue().isBefore(before.minusMinutes(9)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void should_resume_after_last_committed_row_in_chunks() throws IOException {
+        // Arrange
+        Path file = spooledFile("barcode\tquantity\nb1\t1\nb2\t2\nb3\t3\nb4\t4\nb5\t5\n");
+        UploadJobEntity job = inventoryJob(file, 3);
+        when(uploadJobApi.getCheckById(1)).thenReturn(job);
+        when(uploadJobApi.start(1)).thenReturn(true);
+        when(uploadJobApi.complete(1)).thenReturn(true);
+
+        // Act
+        worker.submit(1);
+
+        // Assert
+        ArgumentCaptor<List<UploadJobRow<InventoryUploadForm>>> chunks = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<Set<String>> seen = ArgumentCaptor.forClass(Set.class);
+        verify(uploadJobApi, timeout(2000)).complete(1);
+        worker.shutdown();
+        verify(uploadJobFlow, times(2)).processInventoryChunk(eq(1), chunks.capture(), seen.capture());
+        assertEquals(List.of(4, 5), chunks.getAllValues().get(0).stream().map(UploadJobRow::row).toList());
+        assertEquals(List.of(6), chunks.getAllValues().get(1).stream().map(UploadJobRow::row).toList());
+        assertEquals("b3", chunks.getAllValues().get(0).get(0).form().getBarcode());
+        assertEquals(Set.of("b1", "b2"), seen.getValue());
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    void should_fail_job_and_keep_file_when_chunk_throws() throws IOException {
+        // Arrange
+        Path file = spooledFile("barcode\tquantity\nb1\t1\n");
+        when(uploadJobApi.getCheckById(1)).thenReturn(inventoryJob(file, 1));
+        when(uploadJobApi.start(1)).thenReturn(true);
+        doThrow(new IllegalStateException("boom")).when(uploadJobFlow).processInventoryChunk(eq(1), any(), any());
+
+        // Act
+        worker.submit(1);
+
+        // Assert
+        verify(uploadJobApi, timeout(2000)).fail(1, "boom");
+        verify(uploadJobApi, never()).complete(any());
+        assertTrue(Files.exists(file));
+    }
+
+    @Test
+    void should_skip_job_that_is_no_longer_queued() throws IOException {
+        // Arrange
+        Path file = spooledFile("barcode\tquantity\nb1\t1\n");
+        when(uploadJobApi.getCheckById(1)).thenReturn(inventoryJob(file, 1));
+        when(uploadJobApi.start(1)).thenReturn(false);
+
+        // Act
+        worker.submit(1);
+
+        // Assert
+        verify(uploadJobApi, timeout(2000)).start(1);
+        verifyNoInteractions(uploadJobFlow);
+    }
+
+    @Test
+    void should_count_rows_when_spooling_and_reject_malformed_files() throws IOException {
+        // Arrange
+        MockMultipartFile valid = new MockMultipartFile("file", "stock.tsv", "text/tab-separated-values",
+                "barcode\tquantity\nb1\t1\nb2\t2\n".getBytes(StandardCharsets.UTF_8));
+        MockMultipartFile malformed = new MockMultipartFile("file", "stock.tsv", "text/tab-separated-values",
+                "barcode\tquantity\n\"b1\t1\n".getBytes(StandardCharsets.UTF_8));
+
+        // Act
+        SpooledUpload upload = worker.spool(valid);
+        ApiException ex = assertThrows(ApiException.class, () -> worker.spool(malformed));
+
+        // Assert
+        assertEquals(2, upload.totalRows());
+        assertTrue(Files.exists(upload.path()));
+        assertEquals("Row 2, column 1: Unterminated quoted field", ex.getMessage());
+        try (var files = Files.list(directory)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void should_report_job_in_flight_until_its_run_unwinds() throws Exception {
+        // Arrange
+        Path file = spooledFile("barcode\tquantity\nb1\t1\n");
+        when(uploadJobApi.getCheckById(1)).thenReturn(inventoryJob(file, 1));
+        when(uploadJobApi.start(1)).thenReturn(true);
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            entered.countDown();
+            release.await();
+            return null;
+        }).when(uploadJobFlow).processInventoryChunk(eq(1), any(), any());
+
+        // Act
+        worker.submit(1);
+        entered.await();
+        boolean whileRunning = worker.isInFlight(1);
+        release.countDown();
+
+        // Assert
+        assertTrue(whileRunning);
+        verify(uploadJobApi, timeout(2000)).complete(1);
+        worker.shutdown();
+        assertFalse(worker.isInFlight(1));
+    }
+
+    @Test
+    void should_delete_spooled_file_and_expire_stale_resumable_jobs() throws IOException {
+        // Arrange
+        Path file = spooledFile("barcode\tquantity\nb1\t1\n");
+        UploadJobEntity job = inventoryJob(file, 1);
+        job.setStatus(UploadJobStatus.FAILED);
+        when(uploadJobApi.getResumableCompletedBefore(any())).thenReturn(List.of(job));
+
+        // Act
+        worker.purge();
+
+        // Assert
+        ArgumentCaptor<ZonedDateTime> cutoff = ArgumentCaptor.forClass(ZonedDateTime.class);
+        verify(uploadJobApi).getResumableCompletedBefore(cutoff.capture());
+        verify(uploadJobApi).markExpired(1);
+        assertFalse(Files.exists(file));
+        assertTrue(cutoff.getValue().isBefore(ZonedDateTime.now(ZoneId.of("UTC")).minusHours(71)));
+    }
+
+    private Path spooledFile(String content) throws IOException {
+        return Files.writeString(directory.resolve("upload.tsv"), content);
+    }
+
+    private UploadJobEntity inventoryJob(Path file, int lastCommittedRow) {
+        UploadJobEntity job = new UploadJobEntity();
+        job.setId(1);
+        job.setType(UploadJobType.INVENTORY);
+        job.setFilePath(file.toString());
+        job.setLastCommittedRow(lastCommittedRow);
+        return job;
+    }
+}